@@ -29,6 +29,7 @@ import world.bentobox.bentobox.listeners.BannedCommands;
 import world.bentobox.bentobox.listeners.BlockEndDragon;
 import world.bentobox.bentobox.listeners.DeathListener;
 import world.bentobox.bentobox.listeners.JoinLeaveListener;
+import world.bentobox.bentobox.listeners.OccupancyListener;
 import world.bentobox.bentobox.listeners.PanelListenerManager;
 import world.bentobox.bentobox.listeners.PortalTeleportationListener;
 import world.bentobox.bentobox.listeners.StandardSpawnProtectionListener;
@@ -37,13 +38,16 @@ import world.bentobox.bentobox.managers.BlueprintsManager;
 import world.bentobox.bentobox.managers.CommandsManager;
 import world.bentobox.bentobox.managers.FlagsManager;
 import world.bentobox.bentobox.managers.HooksManager;
+import world.bentobox.bentobox.managers.IslandCreationManager;
 import world.bentobox.bentobox.managers.IslandDeletionManager;
+import world.bentobox.bentobox.managers.IslandPoolManager;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.IslandsManager;
 import world.bentobox.bentobox.managers.LocalesManager;
 import world.bentobox.bentobox.managers.PlaceholdersManager;
 import world.bentobox.bentobox.managers.PlayersManager;
 import world.bentobox.bentobox.managers.RanksManager;
+import world.bentobox.bentobox.managers.TickBudgetManager;
 import world.bentobox.bentobox.managers.WebManager;
 import world.bentobox.bentobox.util.heads.HeadGetter;
 import world.bentobox.bentobox.versions.ServerCompatibility;
@@ -71,7 +75,10 @@ public class BentoBox extends JavaPlugin {
     private HooksManager hooksManager;
     private PlaceholdersManager placeholdersManager;
     private IslandDeletionManager islandDeletionManager;
+    private IslandPoolManager islandPoolManager;
     private WebManager webManager;
+    private TickBudgetManager tickBudgetManager;
+    private IslandCreationManager islandCreationManager;
 
     // Settings
     private Settings settings;
@@ -154,6 +161,12 @@ public class BentoBox extends JavaPlugin {
         // Load blueprints manager
         blueprintsManager = new BlueprintsManager(this);
 
+        // Runs pastes, deletions and cleanings within a time budget each tick
+        tickBudgetManager = new TickBudgetManager(this);
+
+        // Runs the stages of making islands with a limit on each
+        islandCreationManager = new IslandCreationManager(this);
+
         // Locales manager must be loaded before addons
         localesManager = new LocalesManager(this);
 
@@ -191,6 +204,12 @@ public class BentoBox extends JavaPlugin {
                 islandsManager.asyncSaveAll();
             }, getSettings().getDatabaseBackupPeriod() * 20 * 60L, getSettings().getDatabaseBackupPeriod() * 20 * 60L);
 
+            // Remove unused players from memory every minute
+            Bukkit.getScheduler().runTaskTimer(instance, playersManager::evictPlayers, 20 * 60L, 20 * 60L);
+
+            // Give up on islands that have been in a creation stage for too long every minute
+            Bukkit.getScheduler().runTaskTimer(instance, islandCreationManager::releaseTimedOut, 20 * 60L, 20 * 60L);
+
             // Make sure all flag listeners are registered.
             flagsManager.registerListeners();
 
@@ -258,9 +277,16 @@ public class BentoBox extends JavaPlugin {
         manager.registerEvents(new BannedCommands(this), this);
         // Death counter
         manager.registerEvents(new DeathListener(this), this);
+        // Placeholder cache invalidation
+        manager.registerEvents(placeholdersManager, this);
+        // Players on islands
+        manager.registerEvents(new OccupancyListener(this), this);
         // Island Delete Manager
         islandDeletionManager = new IslandDeletionManager(this);
         manager.registerEvents(islandDeletionManager, this);
+        // Islands made ahead of time
+        islandPoolManager = new IslandPoolManager(this);
+        manager.registerEvents(islandPoolManager, this);
     }
 
     @Override
@@ -465,6 +491,14 @@ public class BentoBox extends JavaPlugin {
         return islandDeletionManager;
     }
 
+    /**
+     * @return the {@link IslandPoolManager}
+     * @since 1.14.0
+     */
+    public IslandPoolManager getIslandPoolManager() {
+        return islandPoolManager;
+    }
+
     /**
      * @return an optional of the Bstats instance
      * @since 1.1
@@ -482,6 +516,22 @@ public class BentoBox extends JavaPlugin {
         return webManager;
     }
 
+    /**
+     * @return the {@link TickBudgetManager}
+     * @since 1.14.0
+     */
+    public TickBudgetManager getTickBudgetManager() {
+        return tickBudgetManager;
+    }
+
+    /**
+     * @return the {@link IslandCreationManager}
+     * @since 1.14.0
+     */
+    public IslandCreationManager getIslandCreationManager() {
+        return islandCreationManager;
+    }
+
     // Overriding default JavaPlugin methods
 
     /* (non-Javadoc)
@@ -110,6 +110,29 @@ public class Settings implements ConfigObject {
     @ConfigEntry(path = "general.database.mongodb-connection-uri", since = "1.14.0")
     private String mongodbConnectionUri = "";
 
+    @ConfigComment("Number of queued save or delete operations for a single table that triggers a warning in the console.")
+    @ConfigComment("Queues are checked every 30 seconds. Set to 0 to disable the warning.")
+    @ConfigComment("Use /bbox dbstats to see the current statistics of each table.")
+    @ConfigEntry(path = "general.database.stats.queue-warning-size", since = "1.14.0")
+    private int databaseQueueWarningSize = 500;
+
+    @ConfigComment("Time in milliseconds between a save being queued and being committed above which it is considered slow.")
+    @ConfigComment("Slow operations are reported in the console every 30 seconds. Set to 0 to disable the warning.")
+    @ConfigEntry(path = "general.database.stats.slow-operation-threshold", since = "1.14.0")
+    private int databaseSlowOperationThreshold = 5000;
+
+    @ConfigComment("Maximum number of players kept in memory. When there are more, the players that have not been")
+    @ConfigComment("used for the longest time are removed from memory. Online players and the owners of islands")
+    @ConfigComment("with online members are always kept. Players are removed once a minute, so there can be more")
+    @ConfigComment("for a short time. Set to 0 for no limit.")
+    @ConfigEntry(path = "general.player-cache.max-size", since = "1.14.0")
+    private int playerCacheMaxSize = 5000;
+
+    @ConfigComment("Time in minutes after which a player that has not been used is removed from memory.")
+    @ConfigComment("Set to 0 to keep players in memory until the server stops.")
+    @ConfigEntry(path = "general.player-cache.idle-timeout", since = "1.14.0")
+    private int playerCacheIdleTimeout = 30;
+
     @ConfigComment("Allow FTB Autonomous Activator to work (will allow a pseudo player [CoFH] to place and break blocks and hang items)")
     @ConfigComment("Add other fake player names here if required")
     @ConfigEntry(path = "general.fakeplayers", experimental = true)
@@ -213,20 +236,55 @@ public class Settings implements ConfigObject {
     @ConfigEntry(path = "island.clear-radius", since = "1.6.0")
     private int clearRadius = 5;
 
-    @ConfigComment("Number of blocks to paste per tick when pasting blueprints.")
-    @ConfigComment("Smaller values will help reduce noticeable lag but will make pasting take slightly longer.")
-    @ConfigComment("On the contrary, greater values will make pasting take less time, but this benefit is quickly severely impacted by the")
-    @ConfigComment("resulting amount of chunks that must be loaded to fulfill the process, which often causes the server to hang out.")
-    @ConfigEntry(path = "island.paste-speed")
+    @ConfigComment("Not used anymore: blueprints are copied off the main thread and pasted within the tick budget below.")
+    @ConfigEntry(path = "island.paste-speed", hidden = true)
     private int pasteSpeed = 64;
 
-    @ConfigComment("Island deletion: Number of chunks per world to regenerate per second.")
-    @ConfigComment("If there is a nether and end then 3x this number will be regenerated per second.")
-    @ConfigComment("Smaller values will help reduce noticeable lag but will make deleting take longer.")
+    @ConfigComment("Island deletion: Number of chunks per world to load ahead while regenerating them.")
+    @ConfigComment("Regenerating the chunks is limited by the tick budget below.")
     @ConfigComment("A setting of 0 will leave island blocks (not recommended).")
     @ConfigEntry(path = "island.delete-speed", since = "1.7.0")
     private int deleteSpeed = 1;
 
+    @ConfigComment("Longest time in milliseconds that blueprint pasting, island deletion and super flat chunk cleaning")
+    @ConfigComment("can take together each tick. The time is shared between all the pastes, deletions and cleanings in progress.")
+    @ConfigComment("When ticks take longer than 50 ms, they are given less time, so that the server does not lag.")
+    @ConfigEntry(path = "island.tick-budget.max", since = "1.14.0")
+    private int maxTickBudget = 25;
+
+    @ConfigComment("Shortest time in milliseconds they are given each tick, even when the server is busy.")
+    @ConfigEntry(path = "island.tick-budget.min", since = "1.14.0")
+    private int minTickBudget = 2;
+
+    @ConfigComment("Most memory in megabytes that the blocks of blueprints can use.")
+    @ConfigComment("Blueprints are loaded when they are first pasted. When they use more memory than this,")
+    @ConfigComment("the blueprints that were pasted the longest time ago are unloaded until they are pasted again.")
+    @ConfigEntry(path = "island.blueprint-cache-size", since = "1.14.0")
+    private int blueprintCacheSize = 64;
+
+    @ConfigComment("Number of islands of the default blueprint bundle that are made ahead of time for each game mode.")
+    @ConfigComment("New players get one of them straight away instead of waiting for their island to be pasted.")
+    @ConfigComment("Islands are made one at a time when the server is idle, and the pool is kept across restarts.")
+    @ConfigComment("Set to 0 to not make islands ahead of time.")
+    @ConfigEntry(path = "island.pool.size", since = "1.14.0")
+    private int islandPoolSize = 0;
+
+    @ConfigComment("Most islands that can be at each stage of being made at the same time.")
+    @ConfigComment("Islands that have to wait are queued, and their players are told their place in the queue.")
+    @ConfigComment("Set to 0 for no limit.")
+    @ConfigComment("Finding a location for an island and adding it to the grid. Keep it at 1 so that two islands")
+    @ConfigComment("are never given the same location.")
+    @ConfigEntry(path = "island.creation.max-locating", since = "1.14.0")
+    private int maxIslandsLocating = 1;
+
+    @ConfigComment("Pasting islands, including loading and generating their chunks.")
+    @ConfigEntry(path = "island.creation.max-pasting", since = "1.14.0")
+    private int maxIslandsPasting = 4;
+
+    @ConfigComment("Teleporting players to their new island.")
+    @ConfigEntry(path = "island.creation.max-teleporting", since = "1.14.0")
+    private int maxIslandsTeleporting = 8;
+
     // Automated ownership transfer
     @ConfigComment("Toggles the automated ownership transfer.")
     @ConfigComment("It automatically transfers the ownership of an island to one of its members in case the current owner is inactive.")
@@ -492,14 +550,18 @@ public class Settings implements ConfigObject {
 
     /**
      * @param pasteSpeed the pasteSpeed to set
+     * @deprecated Not used anymore, as pasting is limited by the {@link #getMaxTickBudget() tick budget}
      */
+    @Deprecated
     public void setPasteSpeed(int pasteSpeed) {
         this.pasteSpeed = pasteSpeed;
     }
 
     /**
-     * @return paste speed in blocks per tick
+     * @return the pasteSpeed
+     * @deprecated Not used anymore, as pasting is limited by the {@link #getMaxTickBudget() tick budget}
      */
+    @Deprecated
     public int getPasteSpeed() {
         return this.pasteSpeed;
     }
@@ -520,6 +582,118 @@ public class Settings implements ConfigObject {
         this.deleteSpeed = deleteSpeed;
     }
 
+    /**
+     * @return longest time in milliseconds that world changing jobs can take each tick
+     * @since 1.14.0
+     */
+    public int getMaxTickBudget() {
+        return maxTickBudget;
+    }
+
+    /**
+     * @param maxTickBudget longest time in milliseconds that world changing jobs can take each tick
+     * @since 1.14.0
+     */
+    public void setMaxTickBudget(int maxTickBudget) {
+        this.maxTickBudget = maxTickBudget;
+    }
+
+    /**
+     * @return shortest time in milliseconds that world changing jobs are given each tick
+     * @since 1.14.0
+     */
+    public int getMinTickBudget() {
+        return minTickBudget;
+    }
+
+    /**
+     * @param minTickBudget shortest time in milliseconds that world changing jobs are given each tick
+     * @since 1.14.0
+     */
+    public void setMinTickBudget(int minTickBudget) {
+        this.minTickBudget = minTickBudget;
+    }
+
+    /**
+     * @return most memory in megabytes that the blocks of loaded blueprints can use
+     * @since 1.14.0
+     */
+    public int getBlueprintCacheSize() {
+        return blueprintCacheSize;
+    }
+
+    /**
+     * @param blueprintCacheSize most memory in megabytes that the blocks of loaded blueprints can use
+     * @since 1.14.0
+     */
+    public void setBlueprintCacheSize(int blueprintCacheSize) {
+        this.blueprintCacheSize = blueprintCacheSize;
+    }
+
+    /**
+     * @return number of islands made ahead of time for each game mode
+     * @since 1.14.0
+     */
+    public int getIslandPoolSize() {
+        return islandPoolSize;
+    }
+
+    /**
+     * @param islandPoolSize number of islands made ahead of time for each game mode
+     * @since 1.14.0
+     */
+    public void setIslandPoolSize(int islandPoolSize) {
+        this.islandPoolSize = islandPoolSize;
+    }
+
+    /**
+     * @return most islands that can be looking for a location at the same time, 0 for no limit
+     * @since 1.14.0
+     */
+    public int getMaxIslandsLocating() {
+        return maxIslandsLocating;
+    }
+
+    /**
+     * @param maxIslandsLocating most islands that can be looking for a location at the same time, 0 for no limit
+     * @since 1.14.0
+     */
+    public void setMaxIslandsLocating(int maxIslandsLocating) {
+        this.maxIslandsLocating = maxIslandsLocating;
+    }
+
+    /**
+     * @return most islands that can be pasted at the same time, 0 for no limit
+     * @since 1.14.0
+     */
+    public int getMaxIslandsPasting() {
+        return maxIslandsPasting;
+    }
+
+    /**
+     * @param maxIslandsPasting most islands that can be pasted at the same time, 0 for no limit
+     * @since 1.14.0
+     */
+    public void setMaxIslandsPasting(int maxIslandsPasting) {
+        this.maxIslandsPasting = maxIslandsPasting;
+    }
+
+    /**
+     * @return most players that can be teleported to their new island at the same time, 0 for no limit
+     * @since 1.14.0
+     */
+    public int getMaxIslandsTeleporting() {
+        return maxIslandsTeleporting;
+    }
+
+    /**
+     * @param maxIslandsTeleporting most players that can be teleported to their new island at the same time, 0 for no limit
+     * @since 1.14.0
+     */
+    public void setMaxIslandsTeleporting(int maxIslandsTeleporting) {
+        this.maxIslandsTeleporting = maxIslandsTeleporting;
+    }
+
     public boolean isEnableAutoOwnershipTransfer() {
         return enableAutoOwnershipTransfer;
     }
@@ -696,6 +870,70 @@ public class Settings implements ConfigObject {
         this.mongodbConnectionUri = mongodbConnectionUri;
     }
 
+    /**
+     * @return the number of queued operations for a single table that triggers a warning
+     * @since 1.14.0
+     */
+    public int getDatabaseQueueWarningSize() {
+        return databaseQueueWarningSize;
+    }
+
+    /**
+     * @param databaseQueueWarningSize the number of queued operations for a single table that triggers a warning
+     * @since 1.14.0
+     */
+    public void setDatabaseQueueWarningSize(int databaseQueueWarningSize) {
+        this.databaseQueueWarningSize = databaseQueueWarningSize;
+    }
+
+    /**
+     * @return the time in milliseconds above which a database operation is considered slow
+     * @since 1.14.0
+     */
+    public int getDatabaseSlowOperationThreshold() {
+        return databaseSlowOperationThreshold;
+    }
+
+    /**
+     * @param databaseSlowOperationThreshold the time in milliseconds above which a database operation is considered slow
+     * @since 1.14.0
+     */
+    public void setDatabaseSlowOperationThreshold(int databaseSlowOperationThreshold) {
+        this.databaseSlowOperationThreshold = databaseSlowOperationThreshold;
+    }
+
+    /**
+     * @return the maximum number of players kept in memory, 0 for no limit
+     * @since 1.14.0
+     */
+    public int getPlayerCacheMaxSize() {
+        return playerCacheMaxSize;
+    }
+
+    /**
+     * @param playerCacheMaxSize the maximum number of players kept in memory, 0 for no limit
+     * @since 1.14.0
+     */
+    public void setPlayerCacheMaxSize(int playerCacheMaxSize) {
+        this.playerCacheMaxSize = playerCacheMaxSize;
+    }
+
+    /**
+     * @return the time in minutes after which an unused player is removed from memory, 0 to disable
+     * @since 1.14.0
+     */
+    public int getPlayerCacheIdleTimeout() {
+        return playerCacheIdleTimeout;
+    }
+
+    /**
+     * @param playerCacheIdleTimeout the time in minutes after which an unused player is removed from memory, 0 to disable
+     * @since 1.14.0
+     */
+    public void setPlayerCacheIdleTimeout(int playerCacheIdleTimeout) {
+        this.playerCacheIdleTimeout = playerCacheIdleTimeout;
+    }
+
     /**
      * Returns the Material of the item to preferably use when one needs to fill gaps in Panels.
      * @return the Material of the item to preferably use when one needs to fill gaps in Panels.
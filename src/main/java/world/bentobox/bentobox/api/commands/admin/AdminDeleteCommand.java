@@ -1,6 +1,5 @@
 package world.bentobox.bentobox.api.commands.admin;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -141,7 +140,7 @@ public class AdminDeleteCommand extends ConfirmableCommand {
             // Don't show every player on the server. Require at least the first letter
             return Optional.empty();
         }
-        List<String> options = new ArrayList<>(Util.getOnlinePlayerList(user));
+        List<String> options = Util.getKnownPlayerList(user, lastArg);
         return Optional.of(Util.tabLimit(options, lastArg));
     }
 }
\ No newline at end of file
@@ -53,6 +53,8 @@ public class AdminPurgeUnownedCommand extends ConfirmableCommand {
                 .filter(i -> !i.getPurgeProtected())
                 .filter(i -> i.getWorld().equals(this.getWorld()))
                 .filter(Island::isUnowned)
+                // Islands made ahead of time for new players
+                .filter(i -> !getPlugin().getIslandPoolManager().isPooled(i))
                 .map(Island::getUniqueId)
                 .collect(Collectors.toSet());
 
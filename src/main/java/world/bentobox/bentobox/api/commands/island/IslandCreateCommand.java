@@ -38,6 +38,11 @@ public class IslandCreateCommand extends CompositeCommand {
 
     @Override
     public boolean canExecute(User user, String label, List<String> args) {
+        if (!getPlugin().getBlueprintsManager().isBlueprintsLoaded(getAddon())) {
+            // Islands cannot be pasted yet
+            user.sendMessage("general.errors.blueprints-loading");
+            return false;
+        }
         // Check if the island is reserved
         @Nullable
         Island island = getIslands().getIsland(getWorld(), user);
@@ -59,6 +59,11 @@ public class IslandResetCommand extends ConfirmableCommand {
             user.sendMessage("general.errors.no-island");
             return false;
         }
+        if (!getPlugin().getBlueprintsManager().isBlueprintsLoaded((GameModeAddon) getAddon())) {
+            // Islands cannot be pasted yet
+            user.sendMessage("general.errors.blueprints-loading");
+            return false;
+        }
         int resetsLeft = getPlayers().getResetsLeft(getWorld(), user.getUniqueId());
         if (resetsLeft != -1) {
             // Resets are not unlimited here
@@ -4,12 +4,16 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.inventory.ItemStack;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 
 import world.bentobox.bentobox.util.ItemParser;
 
@@ -31,6 +35,17 @@ public class BentoBoxLocale {
      */
     private Set<String> prefixes;
 
+    /**
+     * Texts of this locale compiled into templates, by reference
+     * @since 1.14.0
+     */
+    private final Map<String, TranslationTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the text of a prefix, used to compile the texts
+     */
+    private Function<String, String> prefixTexts = prefix -> null;
+
     public BentoBoxLocale(Locale locale, YamlConfiguration config) {
         this.locale = locale;
         this.config = config;
@@ -129,6 +144,35 @@ public class BentoBoxLocale {
      */
     public void set(@NonNull String reference, @NonNull String value) {
         config.set(reference, value);
+        templates.put(reference, TranslationTemplate.compile(value, prefixTexts));
+    }
+
+    /**
+     * Gets the compiled text of a reference
+     * @param reference - the YAML node where the text is
+     * @return template of the text, or null if the text has not been compiled
+     * @since 1.14.0
+     */
+    @Nullable
+    public TranslationTemplate getTemplate(String reference) {
+        return templates.get(reference);
+    }
+
+    /**
+     * Compiles the texts of this locale that are not compiled yet. The texts that use prefixes
+     * are compiled again, as the prefixes may have changed.
+     * @param prefixTexts - gets the text of a prefix by its name, or null if there is no such prefix
+     * @since 1.14.0
+     */
+    public void compileTemplates(@NonNull Function<String, String> prefixTexts) {
+        this.prefixTexts = prefixTexts;
+        for (String reference : config.getKeys(true)) {
+            TranslationTemplate template = templates.get(reference);
+            // Prefixes are used as they are written
+            if ((template == null || template.isPrefixed()) && !reference.startsWith("prefixes.") && config.isString(reference)) {
+                templates.put(reference, TranslationTemplate.compile(config.getString(reference), prefixTexts));
+            }
+        }
     }
 
     public boolean contains(String reference) {
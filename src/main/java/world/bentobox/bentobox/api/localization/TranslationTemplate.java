@@ -0,0 +1,217 @@
+package world.bentobox.bentobox.api.localization;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.bukkit.ChatColor;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.util.Util;
+
+/**
+ * A locale text compiled into a template.
+ * <p>
+ * The text is compiled once, when the locales are loaded: the prefixes such as {@code [prefix_bentobox]} are
+ * replaced by the text of the prefix, and the color codes are translated. What is left are the literal parts
+ * of the text and the slots for the variables, such as {@code [name]}, so formatting the text only has to
+ * fill in the slots.
+ *
+ * @since 1.14.0
+ */
+public class TranslationTemplate {
+
+    private static final String PREFIX_SLOT = "[prefix_";
+
+    /**
+     * Literal parts of the text, with the colors translated. There is one more literal than there are slots.
+     */
+    private final String[] literals;
+    /**
+     * Slots as written in the text, for example "[name]"
+     */
+    private final String[] slots;
+    /**
+     * True for the slots that come from the text of a prefix
+     */
+    private final boolean[] prefixSlots;
+    private final boolean prefixed;
+    private final int length;
+
+    /**
+     * Splits a text and the prefixes it uses into literals and slots
+     */
+    private static class Compiler {
+        private final Function<String, String> prefixes;
+        private final StringBuilder literal = new StringBuilder();
+        private final List<String> literals = new ArrayList<>();
+        private final List<String> slots = new ArrayList<>();
+        private final List<Boolean> prefixSlots = new ArrayList<>();
+        private boolean prefixed;
+
+        private Compiler(Function<String, String> prefixes) {
+            this.prefixes = prefixes;
+        }
+
+        private void split(String text, boolean prefix) {
+            int start = 0;
+            int open = text.indexOf('[');
+            while (open >= 0) {
+                int close = text.indexOf(']', open + 1);
+                if (close < 0) {
+                    break;
+                }
+                // The slot starts at the last opening bracket before the closing one
+                int slotStart = text.lastIndexOf('[', close);
+                literal.append(text, start, slotStart);
+                String slot = text.substring(slotStart, close + 1);
+                // Prefixes are not used inside prefixes
+                String prefixText = null;
+                if (!prefix && slot.startsWith(PREFIX_SLOT)) {
+                    prefixed = true;
+                    prefixText = prefixes.apply(slot.substring(PREFIX_SLOT.length(), slot.length() - 1));
+                }
+                if (prefixText != null) {
+                    split(prefixText, true);
+                } else {
+                    endLiteral();
+                    slots.add(slot);
+                    prefixSlots.add(prefix);
+                }
+                start = close + 1;
+                open = text.indexOf('[', start);
+            }
+            literal.append(text, start, text.length());
+        }
+
+        private void endLiteral() {
+            literals.add(translateColors(literal.toString()));
+            literal.setLength(0);
+        }
+    }
+
+    private TranslationTemplate(@NonNull String text, @NonNull Function<String, String> prefixes) {
+        Compiler compiler = new Compiler(prefixes);
+        compiler.split(text, false);
+        compiler.endLiteral();
+        literals = compiler.literals.toArray(new String[0]);
+        slots = compiler.slots.toArray(new String[0]);
+        prefixSlots = new boolean[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            prefixSlots[i] = compiler.prefixSlots.get(i);
+        }
+        prefixed = compiler.prefixed;
+        int literalLength = 0;
+        for (String l : literals) {
+            literalLength += l.length();
+        }
+        length = literalLength;
+    }
+
+    /**
+     * Compiles a text from a locale file
+     * @param text - text from a locale file
+     * @param prefixes - gets the text of a prefix by its name, for example "bentobox" for [prefix_bentobox],
+     *                 or null if there is no such prefix. Prefixes that are not found are left as slots.
+     * @return template of the text
+     */
+    @NonNull
+    public static TranslationTemplate compile(@NonNull String text, @NonNull Function<String, String> prefixes) {
+        return new TranslationTemplate(text, prefixes);
+    }
+
+    /**
+     * @return true if the text uses prefixes, so it must be compiled again if the prefixes change
+     */
+    public boolean isPrefixed() {
+        return prefixed;
+    }
+
+    /**
+     * @return true if some of the slots come from the text of a prefix
+     */
+    public boolean hasPrefixSlots() {
+        for (boolean prefixSlot : prefixSlots) {
+            if (prefixSlot) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param slot - slot, for example "[name]"
+     * @return true if the slot is in this text
+     */
+    public boolean hasSlot(@NonNull String slot) {
+        for (String s : slots) {
+            if (s.equals(slot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Formats this text. The colors of the variables are translated.
+     * @param prefixVariables - variables that are only inserted into the slots that come from a prefix,
+     *                        for example "[gamemode]". They come before the other variables.
+     * @param variables - variables to insert into the text. Variables go in pairs, for example
+     *                  "[name]", "tastybento"
+     * @return text with variables replaced. Slots without a value are left as they are.
+     */
+    @NonNull
+    public String format(@NonNull Map<String, String> prefixVariables, String... variables) {
+        if (slots.length == 0 && variables.length == 0) {
+            return literals[0];
+        }
+        StringBuilder builder = new StringBuilder(length + 16);
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(literals[i]);
+            String value = prefixSlots[i] ? prefixVariables.get(slots[i]) : null;
+            if (value == null) {
+                value = getVariable(slots[i], variables);
+            }
+            builder.append(value == null ? slots[i] : translateColors(value));
+        }
+        builder.append(literals[slots.length]);
+        String text = builder.toString();
+
+        // Variables that are not written as a slot are replaced in the whole text
+        for (int i = 0; i + 1 < variables.length; i += 2) {
+            if (!isSlot(variables[i]) && text.contains(variables[i])) {
+                text = text.replace(variables[i], translateColors(variables[i + 1]));
+            }
+        }
+        return text;
+    }
+
+    @Nullable
+    private static String getVariable(String slot, String[] variables) {
+        for (int i = 0; i + 1 < variables.length; i += 2) {
+            if (slot.equals(variables[i])) {
+                return variables[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private static boolean isSlot(String variable) {
+        return variable.length() > 1 && variable.charAt(0) == '[' && variable.indexOf(']') == variable.length() - 1
+                && variable.indexOf('[', 1) < 0;
+    }
+
+    /**
+     * Translates the color codes and strips the space after them
+     * @param text - text
+     * @return text with colors
+     */
+    private static String translateColors(String text) {
+        if (text.indexOf('&') < 0 && text.indexOf(ChatColor.COLOR_CHAR) < 0) {
+            return text;
+        }
+        return Util.stripSpaceAfterColorCodes(ChatColor.translateAlternateColorCodes('&', text));
+    }
+}
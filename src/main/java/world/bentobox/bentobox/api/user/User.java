@@ -1,14 +1,20 @@
 package world.bentobox.bentobox.api.user;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
-import org.apache.commons.lang.math.NumberUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.GameMode;
@@ -29,6 +35,8 @@ import org.eclipse.jdt.annotation.Nullable;
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.addons.Addon;
 import world.bentobox.bentobox.api.events.OfflineMessageEvent;
+import world.bentobox.bentobox.api.localization.TranslationTemplate;
+import world.bentobox.bentobox.managers.LocalesManager;
 import world.bentobox.bentobox.util.Util;
 
 /**
@@ -44,7 +52,18 @@ import world.bentobox.bentobox.util.Util;
  */
 public class User {
 
-    private static Map<UUID, User> users = new HashMap<>();
+    /**
+     * Registry of users. Online players stay until they quit. Offline users are kept for
+     * {@link #OFFLINE_USER_TTL} after they were last asked for, so placeholders and panels that show
+     * offline players do not create a new instance every time. No more than {@link #MAX_OFFLINE_USERS}
+     * offline users are kept: the least recently used ones are removed first.
+     * The registry can be used from any thread.
+     */
+    private static final Map<UUID, User> users = new ConcurrentHashMap<>();
+    private static final long OFFLINE_USER_TTL = TimeUnit.MINUTES.toMillis(5);
+    static final int MAX_OFFLINE_USERS = 1000;
+    private static final long EXPIRY_PERIOD = TimeUnit.MINUTES.toMillis(1);
+    private static final AtomicLong lastExpiry = new AtomicLong(System.currentTimeMillis());
 
     /**
      * Clears all users from the user list
@@ -77,8 +96,9 @@ public class User {
         if (player == null) {
             return null;
         }
-        if (users.containsKey(player.getUniqueId())) {
-            return users.get(player.getUniqueId());
+        User user = getRegistered(player.getUniqueId());
+        if (user != null && user.player == player) {
+            return user;
         }
         return new User(player);
     }
@@ -93,11 +113,13 @@ public class User {
         if (uuid == null) {
             return null;
         }
-        if (users.containsKey(uuid)) {
-            return users.get(uuid);
+        User user = getRegistered(uuid);
+        // An offline user is replaced if the player has come online
+        if (user != null && (user.player != null || Bukkit.getPlayer(uuid) == null)) {
+            return user;
         }
         // Return player, or null if they are not online
-        return new User(uuid);
+        return register(new User(uuid));
     }
 
     /**
@@ -111,10 +133,11 @@ public class User {
         if (offlinePlayer == null) {
             return null;
         }
-        if (users.containsKey(offlinePlayer.getUniqueId())) {
-            return users.get(offlinePlayer.getUniqueId());
+        User user = getRegistered(offlinePlayer.getUniqueId());
+        if (user != null && (user.player != null || !offlinePlayer.isOnline())) {
+            return user;
         }
-        return new User(offlinePlayer);
+        return register(new User(offlinePlayer));
     }
 
     /**
@@ -127,6 +150,57 @@ public class User {
         }
     }
 
+    /**
+     * Gets a user from the registry and marks it as used
+     * @param uuid - UUID
+     * @return user or null if not registered
+     */
+    @Nullable
+    private static User getRegistered(@NonNull UUID uuid) {
+        expireOfflineUsers();
+        User user = users.get(uuid);
+        if (user != null) {
+            user.lastUsed = System.currentTimeMillis();
+        }
+        return user;
+    }
+
+    private static User register(@NonNull User user) {
+        users.put(user.playerUUID, user);
+        if (users.size() - Bukkit.getOnlinePlayers().size() > MAX_OFFLINE_USERS) {
+            evictOfflineUsers();
+        }
+        return user;
+    }
+
+    /**
+     * Removes the least recently used offline users when there are more than {@link #MAX_OFFLINE_USERS}.
+     * A tenth more are removed, so that the users are not sorted again each time one is registered.
+     */
+    private static synchronized void evictOfflineUsers() {
+        List<User> offline = users.values().stream().filter(u -> !u.isOnline())
+                .sorted(Comparator.comparingLong(u -> u.lastUsed))
+                .collect(Collectors.toList());
+        if (offline.size() <= MAX_OFFLINE_USERS) {
+            return;
+        }
+        int excess = offline.size() - MAX_OFFLINE_USERS + MAX_OFFLINE_USERS / 10;
+        offline.stream().limit(excess).forEach(u -> users.remove(u.playerUUID, u));
+    }
+
+    /**
+     * Removes the offline users that have not been used for some time. Only runs once per period,
+     * on the thread that notices it is due.
+     */
+    private static void expireOfflineUsers() {
+        long now = System.currentTimeMillis();
+        long last = lastExpiry.get();
+        if (now - last < EXPIRY_PERIOD || !lastExpiry.compareAndSet(last, now)) {
+            return;
+        }
+        users.values().removeIf(u -> !u.isOnline() && now - u.lastUsed > OFFLINE_USER_TTL);
+    }
+
     // ----------------------------------------------------
 
     private static BentoBox plugin = BentoBox.getInstance();
@@ -140,6 +214,61 @@ public class User {
 
     private Addon addon;
 
+    /**
+     * Last time this user was taken from the registry
+     */
+    private volatile long lastUsed = System.currentTimeMillis();
+
+    /**
+     * Numeric permission values of this player by permission prefix, read from all of the player's permissions
+     * in one go. The map is never changed once built, and is replaced with null when the permissions change.
+     */
+    @Nullable
+    private volatile Map<String, PermissionValue> permissionValues;
+
+    /**
+     * Numeric permissions that share the same prefix, e.g. {@code bskyblock.island.range.50} and
+     * {@code bskyblock.island.range.100}
+     */
+    private static class PermissionValue {
+        private int max;
+        private boolean negative;
+        private boolean star;
+        private final List<String> invalid = new ArrayList<>();
+        private volatile boolean reported;
+
+        private void add(String permission, String suffix) {
+            if (suffix.equals("*")) {
+                star = true;
+                return;
+            }
+            int v;
+            try {
+                v = Integer.parseInt(suffix);
+            } catch (NumberFormatException e) {
+                invalid.add(permission);
+                return;
+            }
+            // An explicit negative number means unlimited and wins over the other values
+            if (v < 0 && !negative) {
+                negative = true;
+                max = v;
+            } else if (!negative) {
+                max = Math.max(max, v);
+            }
+        }
+
+        /**
+         * @return the value, or empty if the default value must be used
+         */
+        private OptionalInt get() {
+            if (negative) {
+                return OptionalInt.of(max);
+            }
+            return star ? OptionalInt.empty() : OptionalInt.of(max);
+        }
+    }
+
     private User(CommandSender sender) {
         player = null;
         playerUUID = null;
@@ -255,6 +384,7 @@ public class User {
             }
         }
         player.recalculatePermissions();
+        invalidatePermissionValues();
         return !player.hasPermission(name);
     }
 
@@ -265,7 +395,21 @@ public class User {
      * @since 1.5.0
      */
     public PermissionAttachment addPerm(String name) {
-        return player.addAttachment(plugin, name, true);
+        PermissionAttachment attachment = player.addAttachment(plugin, name, true);
+        // Adding the attachment recalculated the permissions
+        invalidatePermissionValues();
+        return attachment;
+    }
+
+    /**
+     * Forgets the numeric permission values read by {@link #getPermissionValue(String, int)}
+     * so that they are read again from the current permissions. BentoBox calls this when it adds or removes
+     * a permission and when the player changes world. Plugins that change the permissions of an online player
+     * in any other way must call it after the permissions have been recalculated.
+     * @since 1.14.0
+     */
+    public void invalidatePermissionValues() {
+        permissionValues = null;
     }
 
     public boolean isOnline() {
@@ -289,6 +433,9 @@ public class User {
     /**
      * Get the maximum value of a numerical permission setting.
      * If a player is given an explicit negative number then this is treated as "unlimited" and returned immediately.
+     * The numeric permissions of all prefixes are read in one go the first time this is called, and kept until
+     * {@link #invalidatePermissionValues()} is called, so calling this repeatedly does not go through all the
+     * player's permissions every time.
      * @param permissionPrefix the start of the perm, e.g., {@code plugin.mypermission}
      * @param defaultValue the default value; the result may be higher or lower than this
      * @return max value
@@ -297,44 +444,46 @@ public class User {
         // If requester is console, then return the default value
         if (!isPlayer()) return defaultValue;
 
-        int value = 0;
-
         // If there is a dot at the end of the permissionPrefix, remove it
         if (permissionPrefix.endsWith(".")) {
             permissionPrefix = permissionPrefix.substring(0, permissionPrefix.length()-1);
         }
 
-        final String permPrefix = permissionPrefix + ".";
-
-        List<String> permissions = player.getEffectivePermissions().stream()
-                .filter(PermissionAttachmentInfo::getValue) // Must be a positive permission, not a negative one
-                .map(PermissionAttachmentInfo::getPermission)
-                .filter(permission -> permission.startsWith(permPrefix))
-                .collect(Collectors.toList());
-
-        if (permissions.isEmpty()) return defaultValue;
+        Map<String, PermissionValue> values = permissionValues;
+        if (values == null) {
+            values = readPermissionValues();
+            permissionValues = values;
+        }
+        PermissionValue value = values.get(permissionPrefix);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!value.invalid.isEmpty() && !value.reported) {
+            value.reported = true;
+            value.invalid.forEach(permission -> plugin.logError("Player " + player.getName() + " has permission: '" + permission + "' <-- the last part MUST be a number! Ignoring..."));
+        }
+        OptionalInt result = value.get();
+        return result.isPresent() ? result.getAsInt() : defaultValue;
+    }
 
-        for (String permission : permissions) {
-            if (permission.contains(permPrefix + "*")) {
-                // 'Star' permission
-                return defaultValue;
-            } else {
-                String[] spl = permission.split(permPrefix);
-                if (spl.length > 1) {
-                    if (!NumberUtils.isNumber(spl[1])) {
-                        plugin.logError("Player " + player.getName() + " has permission: '" + permission + "' <-- the last part MUST be a number! Ignoring...");
-                    } else {
-                        int v = Integer.parseInt(spl[1]);
-                        if (v < 0) {
-                            return v;
-                        }
-                        value = Math.max(value, v);
-                    }
-                }
+    /**
+     * Reads the numeric permissions of the player, grouped by the part of the permission before the last dot
+     * @return map of permission prefix to permission value, that is never changed
+     */
+    private Map<String, PermissionValue> readPermissionValues() {
+        Map<String, PermissionValue> values = new HashMap<>();
+        for (PermissionAttachmentInfo info : player.getEffectivePermissions()) {
+            // Must be a positive permission, not a negative one
+            if (!info.getValue()) {
+                continue;
+            }
+            String permission = info.getPermission();
+            int dot = permission.lastIndexOf('.');
+            if (dot > 0) {
+                values.computeIfAbsent(permission.substring(0, dot), k -> new PermissionValue()).add(permission, permission.substring(dot + 1));
             }
         }
-
-        return value;
+        return Collections.unmodifiableMap(values);
     }
 
     /**
@@ -368,46 +517,82 @@ public class User {
     }
 
     private String translate(String addonPrefix, String reference, String[] variables) {
-        String translation = plugin.getLocalesManager().get(this, addonPrefix + reference);
-
-        if (translation == null) {
-            translation = plugin.getLocalesManager().get(this, reference);
+        LocalesManager localesManager = plugin.getLocalesManager();
+        // If this is a prefix, just gather and return the translation
+        if (reference.startsWith("prefixes.")) {
+            String translation = localesManager.get(this, addonPrefix + reference);
             if (translation == null) {
-                // If no translation has been found, return the reference for debug purposes.
-                return reference;
+                translation = localesManager.get(this, reference);
             }
+            // If no translation has been found, return the reference for debug purposes.
+            return translation == null ? reference : translation;
         }
 
-        // If this is a prefix, just gather and return the translation
-        if (reference.startsWith("prefixes.")) {
-            return translation;
-        } else {
-            // Replace the prefixes
-            for (String prefix : plugin.getLocalesManager().getAvailablePrefixes(this)) {
-                String prefixTranslation = getTranslation("prefixes." + prefix);
-                // Replace the [gamemode] text variable
-                prefixTranslation = prefixTranslation.replace("[gamemode]", addon != null ? addon.getDescription().getName() : "[gamemode]");
-                // Replace the [friendly_name] text variable
-                prefixTranslation = prefixTranslation.replace("[friendly_name]", getWorld() != null ? plugin.getIWM().getFriendlyName(getWorld()) : "[friendly_name]");
-
-                // Replace the prefix in the actual message
-                translation = translation.replace("[prefix_" + prefix + "]", prefixTranslation);
+        // Texts are compiled, with their prefixes and colors, when the locales are loaded
+        TranslationTemplate template = localesManager.getTemplate(this, addonPrefix + reference);
+        if (template == null) {
+            template = localesManager.getTemplate(this, reference);
+        }
+        if (template == null) {
+            template = compileTemplate(localesManager, addonPrefix, reference);
+            if (template == null) {
+                // If no translation has been found, return the reference for debug purposes.
+                return reference;
             }
-
-            // Then replace variables
-            if (variables.length > 1) {
-                for (int i = 0; i < variables.length; i += 2) {
-                    translation = translation.replace(variables[i], variables[i + 1]);
-                }
+        }
+        String translation = template.format(getPrefixVariables(template), variables);
+
+        // Then replace Placeholders, this will only work if this is a player
+        if (player != null && translation.indexOf('%') >= 0) {
+            String replaced = plugin.getPlaceholdersManager().replacePlaceholders(player, translation);
+            // The values of the placeholders may have colors
+            if (!replaced.equals(translation)) {
+                translation = Util.stripSpaceAfterColorCodes(ChatColor.translateAlternateColorCodes('&', replaced));
             }
+        }
+        return translation;
+    }
 
-            // Then replace Placeholders, this will only work if this is a player
-            if (player != null) {
-                translation = plugin.getPlaceholdersManager().replacePlaceholders(player, translation);
+    /**
+     * Compiles a text that was not compiled when the locales were loaded
+     * @param localesManager - locales manager
+     * @param addonPrefix - addon prefix of the reference
+     * @param reference - reference found in a locale file
+     * @return template of the text, or null if nothing has been found
+     */
+    @Nullable
+    private TranslationTemplate compileTemplate(LocalesManager localesManager, String addonPrefix, String reference) {
+        String translation = localesManager.get(this, addonPrefix + reference);
+        if (translation == null) {
+            translation = localesManager.get(this, reference);
+            if (translation == null) {
+                return null;
             }
+        }
+        Set<String> availablePrefixes = localesManager.getAvailablePrefixes(this);
+        return TranslationTemplate.compile(translation,
+                prefix -> availablePrefixes.contains(prefix) ? localesManager.get(this, "prefixes." + prefix) : null);
+    }
 
-            return Util.stripSpaceAfterColorCodes(ChatColor.translateAlternateColorCodes('&', translation));
+    /**
+     * Gets the variables of this user that are used in prefixes
+     * @param template - compiled text
+     * @return map of variables to their values
+     */
+    private Map<String, String> getPrefixVariables(TranslationTemplate template) {
+        if (!template.hasPrefixSlots()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> prefixVariables = new HashMap<>();
+        // Replace the [gamemode] text variable
+        if (addon != null) {
+            prefixVariables.put("[gamemode]", addon.getDescription().getName());
+        }
+        // Replace the [friendly_name] text variable
+        if (template.hasSlot("[friendly_name]") && getWorld() != null) {
+            prefixVariables.put("[friendly_name]", plugin.getIWM().getFriendlyName(getWorld()));
         }
+        return prefixVariables;
     }
 
     /**
@@ -4,15 +4,20 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.util.Vector;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 
 import com.google.gson.annotations.Expose;
 
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintEntity;
+import world.bentobox.bentobox.blueprints.dataobjects.CompactBlocks;
 
 /**
  * Stores all details of a blueprint
@@ -46,6 +51,22 @@ public class Blueprint {
     private int zSize;
     @Expose
     private Vector bedrock;
+    /**
+     * Blocks and attached blocks in compact form, or null if they are held in the maps.
+     * Both share the same bounds and palette.
+     */
+    @Nullable
+    private CompactBlocks compactBlocks;
+    @Nullable
+    private CompactBlocks compactAttached;
+    /**
+     * Block data parsed from the block states of this blueprint
+     */
+    private final Map<String, BlockData> parsedBlockData = new ConcurrentHashMap<>();
+    /**
+     * True if this blueprint only has its metadata, and its blocks are in the blueprint cache
+     */
+    private boolean metadataOnly;
     /**
      * @return the name
      */
@@ -112,19 +133,23 @@ public class Blueprint {
         return this;
     }
     /**
-     * @return the attached
+     * @return the attached, or null if this blueprint only has its metadata.
+     * If they are held in compact form, they are unpacked into a map first, which uses more memory.
+     * @see #getCompactAttached()
      */
-    public Map<Vector, BlueprintBlock> getAttached() {
+    public synchronized Map<Vector, BlueprintBlock> getAttached() {
+        unpack();
         return attached;
     }
     /**
      * @param attached the attached to set
      */
-    public void setAttached(Map<Vector, BlueprintBlock> attached) {
+    public synchronized void setAttached(Map<Vector, BlueprintBlock> attached) {
+        unpack();
         this.attached = attached;
     }
     /**
-     * @return the entities
+     * @return the entities, or null if this blueprint only has its metadata
      */
     public Map<Vector, List<BlueprintEntity>> getEntities() {
         return entities;
@@ -140,17 +165,84 @@ public class Blueprint {
         }
     }
     /**
-     * @return the blocks
+     * @return the blocks, or null if this blueprint only has its metadata.
+     * If they are held in compact form, they are unpacked into a map first, which uses more memory.
+     * @see #getCompactBlocks()
      */
-    public Map<Vector, BlueprintBlock> getBlocks() {
+    public synchronized Map<Vector, BlueprintBlock> getBlocks() {
+        unpack();
         return blocks;
     }
     /**
      * @param blocks the blocks to set
      */
-    public void setBlocks(Map<Vector, BlueprintBlock> blocks) {
+    public synchronized void setBlocks(Map<Vector, BlueprintBlock> blocks) {
+        unpack();
         this.blocks = blocks;
     }
+
+    /**
+     * Gets the blocks in compact form.
+     * If the blocks are held in maps, they are packed first, and later changes to those maps are not seen.
+     * @return the blocks, or null if this blueprint only has its metadata
+     * @since 1.14.0
+     */
+    @Nullable
+    public synchronized CompactBlocks getCompactBlocks() {
+        compact();
+        return compactBlocks;
+    }
+
+    /**
+     * Gets the attached blocks in compact form. They share the bounds and palette of {@link #getCompactBlocks()}.
+     * @return the attached blocks, or null if this blueprint only has its metadata
+     * @since 1.14.0
+     */
+    @Nullable
+    public synchronized CompactBlocks getCompactAttached() {
+        compact();
+        return compactAttached;
+    }
+
+    /**
+     * Sets the blocks and attached blocks in compact form
+     * @param blocks - blocks
+     * @param attached - attached blocks, with the same bounds and palette as the blocks
+     * @throws IllegalArgumentException if the blocks and attached blocks do not share their bounds and palette
+     * @since 1.14.0
+     */
+    public synchronized void setCompactBlocks(@NonNull CompactBlocks blocks, @NonNull CompactBlocks attached) {
+        if (!blocks.getBounds().equals(attached.getBounds()) || blocks.getPalette() != attached.getPalette()) {
+            throw new IllegalArgumentException("Blocks and attached blocks must share their bounds and palette");
+        }
+        this.compactBlocks = blocks;
+        this.compactAttached = attached;
+        this.blocks = null;
+        this.attached = null;
+    }
+
+    /**
+     * Packs the blocks and attached blocks of this blueprint, if they are held in maps, so that they use less memory
+     * @throws IllegalArgumentException if the bounding box of the blocks is too large to be indexed
+     * @since 1.14.0
+     */
+    public synchronized void compact() {
+        if (compactBlocks != null || isMetadataOnly()) {
+            return;
+        }
+        CompactBlocks[] packed = CompactBlocks.of(blocks, attached);
+        setCompactBlocks(packed[0], packed[1]);
+    }
+
+    private void unpack() {
+        if (compactBlocks != null) {
+            blocks = compactBlocks.toMap();
+            attached = compactAttached.toMap();
+            compactBlocks = null;
+            compactAttached = null;
+        }
+    }
+
     /**
      * @return the xSize
      */
@@ -200,4 +292,45 @@ public class Blueprint {
         this.bedrock = bedrock;
     }
 
+    /**
+     * Marks this blueprint as one that only has its metadata, such as the blueprints from
+     * {@link world.bentobox.bentobox.managers.BlueprintsManager#getBlueprints(world.bentobox.bentobox.api.addons.GameModeAddon)}.
+     * Their blocks, attached blocks and entities are null, and are never read from the blueprint file here:
+     * get them with {@link world.bentobox.bentobox.managers.BlueprintsManager#getLoadedBlueprintAsync(world.bentobox.bentobox.api.addons.GameModeAddon, String)}.
+     * @param metadataOnly - true if this blueprint only has its metadata
+     * @since 1.14.0
+     */
+    public synchronized void setMetadataOnly(boolean metadataOnly) {
+        this.metadataOnly = metadataOnly;
+    }
+
+    /**
+     * @return true if this blueprint only has its metadata, and its blocks must be got from the blueprints manager
+     * @since 1.14.0
+     */
+    public synchronized boolean isMetadataOnly() {
+        return metadataOnly && blocks == null && compactBlocks == null;
+    }
+
+    /**
+     * Gets the block data of a block state of this blueprint. Each distinct state is only parsed
+     * the first time it is asked for, so pasting the blueprint again does not parse anything.
+     * @param state - block state, such as "minecraft:oak_stairs[facing=north]"
+     * @param parser - parses the state if it has not been parsed yet
+     * @return the block data. It is shared by all the blocks with this state, so it must not be changed.
+     * @since 1.14.0
+     */
+    @NonNull
+    public BlockData getBlockData(@NonNull String state, @NonNull Function<String, BlockData> parser) {
+        return parsedBlockData.computeIfAbsent(state, parser);
+    }
+
+    /**
+     * @return number of distinct block states that have been parsed
+     * @since 1.14.0
+     */
+    public int getParsedBlockDataCount() {
+        return parsedBlockData.size();
+    }
+
 }
@@ -0,0 +1,185 @@
+package world.bentobox.bentobox.blueprints;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.blueprints.dataobjects.CompactBlocks;
+
+/**
+ * Keeps the blueprints whose blocks are loaded, up to a memory size.
+ * <p>
+ * The size of each blueprint is estimated from its number of blocks, entities and distinct block states,
+ * including the block data that the states are parsed into when the blueprint is pasted.
+ * When the blueprints use more than the maximum size, the ones that were used the longest time ago are removed.
+ * The blueprint that was just added is always kept, even if it is larger than the maximum size on its own.
+ *
+ * @since 1.14.0
+ */
+public class BlueprintCache {
+
+    /**
+     * Estimated bytes used by a block in compact form: its cell and its palette index
+     */
+    private static final long BLOCK_SIZE = 8;
+    /**
+     * Estimated bytes used by the tile data of a block, such as sign lines or an inventory
+     */
+    private static final long TILE_SIZE = 256;
+    private static final long ENTITY_SIZE = 256;
+    private static final long BLOCK_DATA_SIZE = 256;
+
+    private static class Resident {
+        private final Blueprint blueprint;
+        private final long size;
+
+        private Resident(Blueprint blueprint) {
+            this.blueprint = blueprint;
+            this.size = estimateSize(blueprint);
+        }
+    }
+
+    /**
+     * Blueprints in access order, so the first one is the one that was used the longest time ago
+     */
+    private final LinkedHashMap<String, Resident> residents = new LinkedHashMap<>(16, 0.75F, true);
+    private final LongSupplier maxSize;
+    private long size;
+    private long evictions;
+
+    /**
+     * @param maxSize - gives the most bytes that the blueprints can use
+     */
+    public BlueprintCache(@NonNull LongSupplier maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets a blueprint and marks it as used
+     * @param key - key of the blueprint
+     * @return the blueprint, or null if it is not in the cache
+     */
+    @Nullable
+    public synchronized Blueprint get(@NonNull String key) {
+        Resident resident = residents.get(key);
+        return resident == null ? null : resident.blueprint;
+    }
+
+    /**
+     * Adds a blueprint, and removes the blueprints used the longest time ago if the cache is too large
+     * @param key - key of the blueprint
+     * @param blueprint - blueprint with its blocks loaded
+     */
+    public synchronized void put(@NonNull String key, @NonNull Blueprint blueprint) {
+        remove(key);
+        Resident resident = new Resident(blueprint);
+        residents.put(key, resident);
+        size += resident.size;
+        Iterator<Resident> it = residents.values().iterator();
+        while (size > maxSize.getAsLong() && residents.size() > 1) {
+            Resident oldest = it.next();
+            size -= oldest.size;
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes a blueprint
+     * @param key - key of the blueprint
+     */
+    public synchronized void remove(@NonNull String key) {
+        Resident resident = residents.remove(key);
+        if (resident != null) {
+            size -= resident.size;
+        }
+    }
+
+    /**
+     * Removes the blueprints whose key matches
+     * @param filter - tells which keys to remove
+     */
+    public synchronized void removeIf(@NonNull Predicate<String> filter) {
+        Iterator<Map.Entry<String, Resident>> it = residents.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Resident> en = it.next();
+            if (filter.test(en.getKey())) {
+                size -= en.getValue().size;
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all the blueprints
+     */
+    public synchronized void clear() {
+        residents.clear();
+        size = 0;
+    }
+
+    /**
+     * @return estimated bytes used by each blueprint by key, from the most recently used
+     */
+    @NonNull
+    public synchronized Map<String, Long> getSizes() {
+        // Iterating does not change the access order
+        List<Map.Entry<String, Resident>> entries = new ArrayList<>(residents.entrySet());
+        Collections.reverse(entries);
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        entries.forEach(en -> sizes.put(en.getKey(), en.getValue().size));
+        return sizes;
+    }
+
+    /**
+     * @return estimated bytes used by all the blueprints
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * @return number of blueprints removed because the cache was full
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Estimates how much memory the blocks and entities of a blueprint use.
+     * Blocks held in maps are packed into compact form first, which is the form they are kept in.
+     * @param blueprint - blueprint
+     * @return estimated size in bytes
+     */
+    public static long estimateSize(@NonNull Blueprint blueprint) {
+        long bytes = 0;
+        Set<String> states = new HashSet<>();
+        for (CompactBlocks compact : Arrays.asList(blueprint.getCompactBlocks(), blueprint.getCompactAttached())) {
+            if (compact == null) {
+                continue;
+            }
+            bytes += compact.size() * BLOCK_SIZE + compact.getTileCount() * TILE_SIZE;
+            states.addAll(Arrays.asList(compact.getPalette()));
+        }
+        // Blocks share one string per state
+        bytes += states.stream().mapToLong(s -> 40L + 2L * s.length()).sum();
+        if (blueprint.getEntities() != null) {
+            bytes += blueprint.getEntities().values().stream().mapToLong(List::size).sum() * ENTITY_SIZE;
+        }
+        // Each distinct state is parsed into block data when the blueprint is pasted. This is counted before
+        // it happens, as the size of a blueprint is only estimated when it is put in the cache.
+        bytes += states.size() * BLOCK_DATA_SIZE;
+        return bytes;
+    }
+}
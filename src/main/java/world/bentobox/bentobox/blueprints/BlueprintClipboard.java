@@ -2,26 +2,29 @@ package world.bentobox.bentobox.blueprints;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Banner;
-import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.CreatureSpawner;
 import org.bukkit.block.Sign;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.AbstractHorse;
 import org.bukkit.entity.Ageable;
 import org.bukkit.entity.ChestedHorse;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Horse;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -30,7 +33,6 @@ import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.material.Attachable;
 import org.bukkit.material.Colorable;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 import org.eclipse.jdt.annotation.NonNull;
@@ -42,6 +44,8 @@ import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintCreatureSpawner;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintEntity;
+import world.bentobox.bentobox.blueprints.dataobjects.CompactBlocks;
+import world.bentobox.bentobox.util.Util;
 
 /**
  * The clipboard provides the holding spot for an active blueprint that is being
@@ -53,18 +57,19 @@ import world.bentobox.bentobox.blueprints.dataobjects.BlueprintEntity;
  */
 public class BlueprintClipboard {
 
+    /**
+     * Whether blocks of a type are attached to another block, by type
+     */
+    private static final Map<Material, Boolean> ATTACHABLE = new ConcurrentHashMap<>();
+    private static final String AIR = "minecraft:air";
+
     private @Nullable Blueprint blueprint;
     private @Nullable Location pos1;
     private @Nullable Location pos2;
     private @Nullable Vector origin;
-    private BukkitTask copyTask;
-    private int count;
-    private boolean copying;
-    private int index;
+    private volatile boolean copying;
     private int lastPercentage;
     private Map<Vector, List<BlueprintEntity>> bpEntities = new LinkedHashMap<>();
-    private Map<Vector, BlueprintBlock> bpAttachable = new LinkedHashMap<>();
-    private Map<Vector, BlueprintBlock> bpBlocks = new LinkedHashMap<>();
     private BentoBox plugin = BentoBox.getInstance();
 
     /**
@@ -80,7 +85,9 @@ public class BlueprintClipboard {
     /**
      * Copy the blocks between pos1 and pos2 into the clipboard for a user.
      * This will erase any previously registered data from the clipboard.
-     * Copying is done async.
+     * Copying is done async: snapshots of the chunks are taken on the main thread,
+     * and the blocks are read from them in parallel by the blueprint workers. Only tile entities,
+     * such as signs and chests, and living entities are read on the main thread.
      * @param user - user
      * @return true if successful, false if pos1 or pos2 are undefined.
      */
@@ -103,168 +110,222 @@ public class BlueprintClipboard {
         if (world == null) {
             return false;
         }
+        BoundingBox toCopy = BoundingBox.of(pos1, pos2);
+        int[] min = {(int)toCopy.getMinX(), (int)toCopy.getMinY(), (int)toCopy.getMinZ()};
+        int[] max = {(int)toCopy.getMaxX(), (int)toCopy.getMaxY(), (int)toCopy.getMaxZ()};
+        Vector from = origin.clone();
+        CompactBlocks.Bounds bounds;
+        try {
+            // Blocks are written straight into compact form, over the selection
+            bounds = new CompactBlocks.Bounds(new Vector(min[0] - from.getBlockX(), min[1] - from.getBlockY(), min[2] - from.getBlockZ()),
+                    new Vector(max[0] - from.getBlockX(), max[1] - from.getBlockY(), max[2] - from.getBlockZ()));
+        } catch (IllegalArgumentException e) {
+            plugin.logError("Could not copy blocks to the clipboard: " + e.getMessage());
+            user.sendMessage("commands.admin.blueprint.copy-failed");
+            return false;
+        }
         // Clear the clipboard
         blueprint = new Blueprint();
         bpEntities.clear();
-        bpAttachable.clear();
-        bpBlocks.clear();
 
-        count = 0;
-        index = 0;
         lastPercentage = 0;
-        BoundingBox toCopy = BoundingBox.of(pos1, pos2);
         blueprint.setxSize((int)toCopy.getWidthX());
         blueprint.setySize((int)toCopy.getHeight());
         blueprint.setzSize((int)toCopy.getWidthZ());
 
-        int speed = plugin.getSettings().getPasteSpeed();
-        List<Vector> vectorsToCopy = getVectors(toCopy);
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> copyAsync(world, user, vectorsToCopy, speed, copyAir));
+        copying = true;
+        copyChunks(world, user, min, max, from, bounds, copyAir);
         return true;
     }
 
-    private void copyAsync(World world, User user, List<Vector> vectorsToCopy, int speed, boolean copyAir) {
-        copying = false;
-        copyTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            if (copying) {
-                return;
+    private void copyChunks(World world, User user, int[] min, int[] max, Vector from, CompactBlocks.Bounds bounds, boolean copyAir) {
+        // Block states are turned into strings and put in the palette once, by the first chunk that has them
+        CompactBlocks.Palette palette = new CompactBlocks.Palette();
+        Map<BlockData, Integer> states = new ConcurrentHashMap<>();
+        List<CompletableFuture<ChunkCopy>> copies = new ArrayList<>();
+        int total = ((max[0] >> 4) - (min[0] >> 4) + 1) * ((max[2] >> 4) - (min[2] >> 4) + 1);
+        AtomicInteger done = new AtomicInteger();
+        for (int x = min[0] >> 4; x <= max[0] >> 4; x++) {
+            for (int z = min[2] >> 4; z <= max[2] >> 4; z++) {
+                copies.add(Util.getChunkAtAsync(world, x, z)
+                        // Main thread
+                        .thenApply(chunk -> new ChunkCopy(chunk, min, max, from, bounds, copyAir))
+                        // Blueprint workers, so that large copies do not take all the processors
+                        .thenApplyAsync(copy -> copy.copyBlocks(palette, states), plugin.getBlueprintsManager().getExecutor())
+                        .whenComplete((copy, e) -> showProgress(user, done.incrementAndGet() * 100 / total)));
             }
-            copying = true;
-            vectorsToCopy.stream().skip(index).limit(speed).forEach(v -> {
-                List<LivingEntity> ents = world.getLivingEntities().stream()
-                        .filter(Objects::nonNull)
-                        .filter(e -> !(e instanceof Player))
-                        .filter(e -> new Vector(Math.rint(e.getLocation().getX()),
-                                Math.rint(e.getLocation().getY()),
-                                Math.rint(e.getLocation().getZ())).equals(v))
-                        .collect(Collectors.toList());
-                if (copyBlock(v.toLocation(world), origin, copyAir, ents)) {
-                    count++;
-                }
-            });
-            index += speed;
-            int percent = (int)(index * 100 / (double)vectorsToCopy.size());
-            if (percent != lastPercentage && percent % 10 == 0) {
-                user.sendMessage("commands.admin.blueprint.copied-percent", TextVariables.NUMBER, String.valueOf(percent));
-                lastPercentage = percent;
-            }
-            if (index > vectorsToCopy.size()) {
-                copyTask.cancel();
-                blueprint.setAttached(bpAttachable);
-                blueprint.setBlocks(bpBlocks);
-                blueprint.setEntities(bpEntities);
-                user.sendMessage("general.success");
-                user.sendMessage("commands.admin.blueprint.copied-blocks", TextVariables.NUMBER, String.valueOf(count));
+        }
+        CompletableFuture.allOf(copies.toArray(new CompletableFuture[0]))
+        .whenComplete((v, e) -> Bukkit.getScheduler().runTask(plugin, () -> finishCopy(user, copies, bounds, palette, e)));
+    }
+
+    private synchronized void showProgress(User user, int percent) {
+        int step = percent - percent % 10;
+        if (step > lastPercentage && step < 100) {
+            lastPercentage = step;
+            Bukkit.getScheduler().runTask(plugin, () ->
+            user.sendMessage("commands.admin.blueprint.copied-percent", TextVariables.NUMBER, String.valueOf(step)));
+        }
+    }
+
+    private void finishCopy(User user, List<CompletableFuture<ChunkCopy>> copies, CompactBlocks.Bounds bounds, CompactBlocks.Palette palette, @Nullable Throwable e) {
+        copying = false;
+        if (e != null) {
+            plugin.logError("Could not copy blocks to the clipboard: " + e.getMessage());
+            plugin.logStacktrace(e);
+            user.sendMessage("commands.admin.blueprint.copy-failed");
+            return;
+        }
+        CompactBlocks.Builder blocks = new CompactBlocks.Builder(bounds);
+        CompactBlocks.Builder attached = new CompactBlocks.Builder(bounds);
+        for (CompletableFuture<ChunkCopy> future : copies) {
+            ChunkCopy copy = future.join();
+            blocks.addAll(copy.blocks);
+            attached.addAll(copy.attached);
+            copy.entities.forEach((pos, list) -> bpEntities.computeIfAbsent(pos, k -> new ArrayList<>()).addAll(list));
+            // Find highest bedrock
+            if (copy.bedrock != null && (blueprint.getBedrock() == null || copy.bedrock.getBlockY() > blueprint.getBedrock().getBlockY())) {
+                blueprint.setBedrock(copy.bedrock);
             }
-            copying = false;
-        }, 0L, 1L);
+        }
+        String[] states = palette.toArray();
+        CompactBlocks compactBlocks = blocks.build(states);
+        blueprint.setCompactBlocks(compactBlocks, attached.build(states));
+        blueprint.setEntities(bpEntities);
+        // Air blocks with entities on them are counted too
+        int count = compactBlocks.size() + (int)bpEntities.keySet().stream().filter(v -> !compactBlocks.contains(v)).count();
+        user.sendMessage("general.success");
+        user.sendMessage("commands.admin.blueprint.copied-blocks", TextVariables.NUMBER, String.valueOf(count));
     }
 
     /**
-     * Get all the x,y,z coords that must be copied
-     * @param b - bounding box
-     * @return - list of vectors
+     * Copy of the part of the selection that is in a chunk
      */
-    private List<Vector> getVectors(BoundingBox b) {
-        List<Vector> r = new ArrayList<>();
-        for (int y = (int)b.getMinY(); y <= b.getMaxY(); y++) {
-            for (int x = (int)b.getMinX(); x <= b.getMaxX(); x++) {
-                for (int z = (int)b.getMinZ(); z <= b.getMaxZ(); z++) {
-                    r.add(new Vector(x,y,z));
+    private static class ChunkCopy {
+        private final ChunkSnapshot snapshot;
+        private final int[] min = new int[3];
+        private final int[] max = new int[3];
+        private final Vector origin;
+        private final boolean copyAir;
+        /**
+         * Tile data of the blocks, read on the main thread, by world position
+         */
+        private final Map<Vector, BlueprintBlock> tiles = new HashMap<>();
+        private final Map<Vector, List<BlueprintEntity>> entities = new LinkedHashMap<>();
+        private final CompactBlocks.Builder blocks;
+        private final CompactBlocks.Builder attached;
+        private Vector bedrock;
+
+        /**
+         * Takes a snapshot of the chunk, and reads its tile entities and living entities. Must run on the main thread.
+         */
+        ChunkCopy(Chunk chunk, int[] boxMin, int[] boxMax, Vector origin, CompactBlocks.Bounds bounds, boolean copyAir) {
+            this.origin = origin;
+            this.copyAir = copyAir;
+            blocks = new CompactBlocks.Builder(bounds);
+            attached = new CompactBlocks.Builder(bounds);
+            // Part of the selection in this chunk
+            min[0] = Math.max(boxMin[0], chunk.getX() << 4);
+            max[0] = Math.min(boxMax[0], (chunk.getX() << 4) + 15);
+            min[1] = boxMin[1];
+            max[1] = boxMax[1];
+            min[2] = Math.max(boxMin[2], chunk.getZ() << 4);
+            max[2] = Math.min(boxMax[2], (chunk.getZ() << 4) + 15);
+            snapshot = chunk.getChunkSnapshot(false, false, false);
+            for (BlockState state : chunk.getTileEntities()) {
+                if (contains(state.getX(), state.getY(), state.getZ())) {
+                    BlueprintBlock tile = getTileData(state);
+                    if (CompactBlocks.hasTileData(tile)) {
+                        tiles.put(new Vector(state.getX(), state.getY(), state.getZ()), tile);
+                    }
+                }
+            }
+            for (Entity entity : chunk.getEntities()) {
+                if (!(entity instanceof LivingEntity) || entity instanceof Player) {
+                    continue;
+                }
+                Location l = entity.getLocation();
+                Vector v = new Vector(Math.rint(l.getX()), Math.rint(l.getY()), Math.rint(l.getZ()));
+                // Entities are copied where they stand, even if they have wandered to the next chunk
+                if (v.getBlockX() >= boxMin[0] && v.getBlockX() <= boxMax[0] && v.getBlockY() >= boxMin[1] && v.getBlockY() <= boxMax[1]
+                        && v.getBlockZ() >= boxMin[2] && v.getBlockZ() <= boxMax[2]) {
+                    Vector pos = new Vector(v.getBlockX() - origin.getBlockX(), v.getBlockY() - origin.getBlockY(), v.getBlockZ() - origin.getBlockZ());
+                    entities.computeIfAbsent(pos, k -> new ArrayList<>()).add(getEntity((LivingEntity)entity));
                 }
             }
         }
-        return r;
-    }
 
-    private boolean copyBlock(Location l, @Nullable Vector origin2, boolean copyAir, Collection<LivingEntity> entities) {
-        Block block = l.getBlock();
-        if (!copyAir && block.getType().equals(Material.AIR) && entities.isEmpty()) {
-            return false;
+        private boolean contains(int x, int y, int z) {
+            return x >= min[0] && x <= max[0] && y >= min[1] && y <= max[1] && z >= min[2] && z <= max[2];
         }
-        // Create position
-        int x = l.getBlockX() - origin2.getBlockX();
-        int y = l.getBlockY() - origin2.getBlockY();
-        int z = l.getBlockZ() - origin2.getBlockZ();
-        Vector pos = new Vector(x, y, z);
-
-        // Set entities
-        List<BlueprintEntity> bpEnts = new ArrayList<>();
-        for (LivingEntity entity: entities) {
-            BlueprintEntity bpe = new BlueprintEntity();
-            bpe.setType(entity.getType());
-            bpe.setCustomName(entity.getCustomName());
-            if (entity instanceof Colorable) {
-                Colorable c = (Colorable)entity;
-                if (c.getColor() != null) {
-                    bpe.setColor(c.getColor());
-                }
-            }
-            if (entity instanceof Tameable) {
-                bpe.setTamed(((Tameable)entity).isTamed());
-            }
-            if (entity instanceof ChestedHorse) {
-                bpe.setChest(((ChestedHorse)entity).isCarryingChest());
-            }
-            // Only set if child. Most animals are adults
-            if (entity instanceof Ageable && !((Ageable)entity).isAdult()) {
-                bpe.setAdult(false);
-            }
-            if (entity instanceof AbstractHorse) {
-                AbstractHorse horse = (AbstractHorse)entity;
-                bpe.setDomestication(horse.getDomestication());
-                bpe.setInventory(new HashMap<>());
-                for (int i = 0; i < horse.getInventory().getSize(); i++) {
-                    ItemStack item = horse.getInventory().getItem(i);
-                    if (item != null) {
-                        bpe.getInventory().put(i, item);
+
+        /**
+         * Reads the blocks from the snapshot. Can run on any thread.
+         * @param palette - palette of the block states, shared by all the chunks
+         * @param states - palette indices of the block states, shared by all the chunks
+         * @return this copy
+         */
+        ChunkCopy copyBlocks(CompactBlocks.Palette palette, Map<BlockData, Integer> states) {
+            int air = palette.getId(AIR);
+            for (int y = min[1]; y <= max[1]; y++) {
+                for (int x = min[0]; x <= max[0]; x++) {
+                    for (int z = min[2]; z <= max[2]; z++) {
+                        copyBlock(x, y, z, palette, states, air);
                     }
                 }
             }
+            return this;
+        }
 
-            if (entity instanceof Horse) {
-                Horse horse = (Horse)entity;
-                bpe.setStyle(horse.getStyle());
+        private void copyBlock(int x, int y, int z, CompactBlocks.Palette palette, Map<BlockData, Integer> states, int air) {
+            Material type = snapshot.getBlockType(x & 0xF, y, z & 0xF);
+            if (!copyAir && type.equals(Material.AIR)) {
+                return;
             }
-            bpEnts.add(bpe);
-        }
-        // Store
-        if (!bpEnts.isEmpty()) {
-            bpEntities.put(pos, bpEnts);
+            int bx = x - origin.getBlockX();
+            int by = y - origin.getBlockY();
+            int bz = z - origin.getBlockZ();
+            int state = states.computeIfAbsent(snapshot.getBlockData(x & 0xF, y, z & 0xF), d -> palette.getId(d.getAsString()));
+            BlueprintBlock tile = tiles.isEmpty() ? null : tiles.get(new Vector(x, y, z));
+            if (isAttachable(type)) {
+                // Placeholder for attachment
+                blocks.add(bx, by, bz, air, null);
+                attached.add(bx, by, bz, state, tile);
+                return;
+            }
+            if (type.equals(Material.BEDROCK) && (bedrock == null || by > bedrock.getBlockY())) {
+                // Find highest bedrock
+                bedrock = new Vector(bx, by, bz);
+            }
+            blocks.add(bx, by, bz, state, tile);
         }
+    }
 
-        // Return if this is just air block
-        if (!copyAir && block.getType().equals(Material.AIR) && !entities.isEmpty()) {
-            return true;
-        }
+    /**
+     * Checks if blocks of this type are attached to another block, such as torches and signs.
+     * Can run on any thread.
+     * @param type - block type
+     * @return true if attachable
+     */
+    private static boolean isAttachable(Material type) {
+        return ATTACHABLE.computeIfAbsent(type, t -> {
+            Material legacy = Bukkit.getUnsafe().toLegacy(t);
+            return legacy.isLegacy() && legacy.getNewData((byte)0) instanceof Attachable;
+        });
+    }
 
-        // Block state
-        BlockState blockState = block.getState();
-        BlueprintBlock b = new BlueprintBlock(block.getBlockData().getAsString());
+    /**
+     * Reads the tile data of a block, such as sign lines and inventory. Must run on the main thread.
+     * @param blockState - state of the block
+     * @return blueprint block without its block data
+     */
+    private static BlueprintBlock getTileData(BlockState blockState) {
+        BlueprintBlock b = new BlueprintBlock(null);
         // Signs
         if (blockState instanceof Sign) {
             Sign sign = (Sign)blockState;
             b.setSignLines(Arrays.asList(sign.getLines()));
         }
-        // Set block data
-        if (blockState.getData() instanceof Attachable) {
-            // Placeholder for attachment
-            bpBlocks.put(pos, new BlueprintBlock("minecraft:air"));
-            bpAttachable.put(pos, b);
-            return true;
-        }
-
-        if (block.getType().equals(Material.BEDROCK)) {
-            // Find highest bedrock
-            if(blueprint.getBedrock() == null) {
-                blueprint.setBedrock(pos);
-            } else {
-                if (pos.getBlockY() > blueprint.getBedrock().getBlockY()) {
-                    blueprint.setBedrock(pos);
-                }
-            }
-        }
-
         // Chests
         if (blockState instanceof InventoryHolder) {
             b.setInventory(new HashMap<>());
@@ -294,9 +355,51 @@ public class BlueprintClipboard {
         if (blockState instanceof Banner) {
             b.setBannerPatterns(((Banner) blockState).getPatterns());
         }
+        return b;
+    }
 
-        this.bpBlocks.put(pos, b);
-        return true;
+    /**
+     * Reads a living entity. Must run on the main thread.
+     * @param entity - entity
+     * @return blueprint entity
+     */
+    private static BlueprintEntity getEntity(LivingEntity entity) {
+        BlueprintEntity bpe = new BlueprintEntity();
+        bpe.setType(entity.getType());
+        bpe.setCustomName(entity.getCustomName());
+        if (entity instanceof Colorable) {
+            Colorable c = (Colorable)entity;
+            if (c.getColor() != null) {
+                bpe.setColor(c.getColor());
+            }
+        }
+        if (entity instanceof Tameable) {
+            bpe.setTamed(((Tameable)entity).isTamed());
+        }
+        if (entity instanceof ChestedHorse) {
+            bpe.setChest(((ChestedHorse)entity).isCarryingChest());
+        }
+        // Only set if child. Most animals are adults
+        if (entity instanceof Ageable && !((Ageable)entity).isAdult()) {
+            bpe.setAdult(false);
+        }
+        if (entity instanceof AbstractHorse) {
+            AbstractHorse horse = (AbstractHorse)entity;
+            bpe.setDomestication(horse.getDomestication());
+            bpe.setInventory(new HashMap<>());
+            for (int i = 0; i < horse.getInventory().getSize(); i++) {
+                ItemStack item = horse.getInventory().getItem(i);
+                if (item != null) {
+                    bpe.getInventory().put(i, item);
+                }
+            }
+        }
+
+        if (entity instanceof Horse) {
+            Horse horse = (Horse)entity;
+            bpe.setStyle(horse.getStyle());
+        }
+        return bpe;
     }
 
     /**
@@ -2,7 +2,12 @@ package world.bentobox.bentobox.blueprints;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -10,9 +15,12 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToLongFunction;
 
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -28,7 +36,6 @@ import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
@@ -41,7 +48,10 @@ import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintCreatureSpawner;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintEntity;
+import world.bentobox.bentobox.blueprints.dataobjects.CompactBlocks;
 import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.managers.IslandCreationManager.Stage;
+import world.bentobox.bentobox.managers.TickBudgetManager;
 import world.bentobox.bentobox.util.Util;
 
 /**
@@ -49,7 +59,7 @@ import world.bentobox.bentobox.util.Util;
  * @author tastybento
  *
  */
-public class BlueprintPaster {
+public class BlueprintPaster implements TickBudgetManager.Job {
 
     enum PasteState {
         CHUNK_LOAD,
@@ -57,17 +67,23 @@ public class BlueprintPaster {
         BLOCKS,
         ATTACHMENTS,
         ENTITIES,
-        DONE,
-        CANCEL
+        DONE
     }
 
     /**
-     * Longest chunk loading time experienced when pasting an island.
+     * Longest time taken to load the chunks of an island when pasting it.
      * It is used to fine-tune the estimated pasting time.
      * @since 1.11.1
      */
     private static long chunkLoadTime = 0;
 
+    /**
+     * Number of blocks, attachments and entities pasted per second by the last paste.
+     * It is used to estimate the pasting time.
+     * @since 1.14.0
+     */
+    private static double pasteRate = 1280D;
+
     private static final String MINECRAFT = "minecraft:";
 
     private static final Map<String, String> BLOCK_CONVERSION = ImmutableMap.of("sign", "oak_sign", "wall_sign", "oak_wall_sign");
@@ -78,8 +94,34 @@ public class BlueprintPaster {
     // The maximum block position (x,y,z)
     private Location pos2;
     private PasteState pasteState;
-    private BukkitTask pastingTask;
     private BlueprintClipboard clipboard;
+    private CompactBlocks blocks;
+    private CompactBlocks attached;
+    /**
+     * Blocks and attachments in the order they are pasted. Each is the rank of its chunk in the high bits
+     * and the index of the block in the low bits.
+     */
+    private long[] blockOrder;
+    private long[] attachedOrder;
+    private int blockIndex;
+    private int attachedIndex;
+    private Iterator<Entry<Vector, List<BlueprintEntity>>> it3;
+    private int entityCount;
+    /**
+     * Number of blocks, attachments and entities left to paste
+     */
+    private long left;
+    private long pasted;
+    private long pasteStart;
+    private Optional<User> owner;
+    /**
+     * Number of blocks, attachments and entities left to paste in each chunk, by chunk key
+     */
+    private final Map<Long, Integer> remaining = new HashMap<>();
+    /**
+     * Chunks kept loaded while pasting, by chunk key
+     */
+    private final Map<Long, Chunk> chunks = new HashMap<>();
 
     /**
      * The Blueprint to paste.
@@ -143,119 +185,296 @@ public class BlueprintPaster {
         // Calculate location for pasting
         this.location = island.getCenter().toVector().subtract(off).toLocation(world);
 
-        // Paste
-        paste();
+        if (bp.isMetadataOnly()) {
+            // The blueprint file must not be read on the main thread
+            pasteWhenLoaded(world, bp);
+        } else {
+            // Paste
+            paste();
+        }
+    }
+
+    /**
+     * Loads the blocks of a blueprint that only has its metadata, such as one from
+     * {@link world.bentobox.bentobox.managers.BlueprintsManager#getBlueprints(world.bentobox.bentobox.api.addons.GameModeAddon)},
+     * async and pastes it once they are loaded
+     * @param world - world to paste to
+     * @param bp - blueprint metadata
+     */
+    private void pasteWhenLoaded(World world, Blueprint bp) {
+        Optional<CompletableFuture<Blueprint>> loading = plugin.getIWM().getAddon(world)
+                .map(gm -> plugin.getBlueprintsManager().getLoadedBlueprintAsync(gm, bp.getName()));
+        if (!loading.isPresent()) {
+            plugin.logError("Could not paste blueprint " + bp.getName() + " because " + world.getName() + " is not a game mode world");
+            runAfterPasteTask();
+            return;
+        }
+        loading.get().thenAccept(loaded -> {
+            if (loaded == null) {
+                plugin.logError("Could not paste blueprint " + bp.getName() + " because its blocks could not be loaded");
+                runAfterPasteTask();
+                return;
+            }
+            blueprint = loaded;
+            paste();
+        });
+    }
+
+    private void runAfterPasteTask() {
+        if (afterPasteTask != null) {
+            Bukkit.getScheduler().runTask(plugin, afterPasteTask);
+        }
     }
 
     /**
      * The main pasting method
      */
     private void paste() {
-        // Iterators for the various maps to paste
-        Map<Vector, BlueprintBlock> blocks = blueprint.getBlocks() == null ? Collections.emptyMap() : blueprint.getBlocks();
-        Map<Vector, BlueprintBlock> attached = blueprint.getAttached() == null ? Collections.emptyMap() : blueprint.getAttached();
+        // Blocks are pasted from their compact form, in chunk order
+        blocks = blueprint.getCompactBlocks();
+        attached = blueprint.getCompactAttached();
         Map<Vector, List<BlueprintEntity>> entities = blueprint.getEntities() == null ? Collections.emptyMap() : blueprint.getEntities();
-        Iterator<Entry<Vector, BlueprintBlock>> it = blocks.entrySet().iterator();
-        Iterator<Entry<Vector, BlueprintBlock>> it2 = attached.entrySet().iterator();
-        Iterator<Entry<Vector, List<BlueprintEntity>>> it3 = entities.entrySet().iterator();
+        blockOrder = sortByChunk(blocks);
+        attachedOrder = sortByChunk(attached);
+        it3 = sortByChunk(entities.entrySet(), this::getEntityChunkKey).iterator();
+        entityCount = entities.size();
+        left = (long) blockOrder.length + attachedOrder.length + entities.size();
 
-        // Initial state & speed
+        // Initial state
         pasteState = PasteState.CHUNK_LOAD;
-        final int pasteSpeed = plugin.getSettings().getPasteSpeed();
 
         // If this is an island OVERWORLD paste, get the island owner.
-        final Optional<User> owner = Optional.ofNullable(island)
+        owner = Optional.ofNullable(island)
                 .filter(i -> location.getWorld().getEnvironment().equals(World.Environment.NORMAL))
                 .map(i -> User.getInstance(i.getOwner()));
         // Tell the owner we're pasting blocks and how much time it might take
         owner.ifPresent(user -> {
             // Estimated time:
-            double total = (double) blocks.size() + attached.size() + entities.size();
-            BigDecimal time = BigDecimal.valueOf(total / (pasteSpeed * 20.0D) + (chunkLoadTime / 1000.0D)).setScale(1, RoundingMode.UP);
+            BigDecimal time = BigDecimal.valueOf(left / pasteRate + (chunkLoadTime / 1000.0D)).setScale(1, RoundingMode.UP);
             user.sendMessage("commands.island.create.pasting.estimated-time", TextVariables.NUMBER, String.valueOf(time.doubleValue()));
             // We're pasting blocks!
-            user.sendMessage("commands.island.create.pasting.blocks", TextVariables.NUMBER, String.valueOf(blocks.size() + attached.size()));
+            user.sendMessage("commands.island.create.pasting.blocks", TextVariables.NUMBER, String.valueOf(blockOrder.length + attachedOrder.length));
         });
 
-        pastingTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+        // Blocks are pasted within the time budget of each tick, shared with other pastes and deletions
+        plugin.getTickBudgetManager().submit(this);
+    }
+
+    @NonNull
+    @Override
+    public String getDescription() {
+        return "Pasting " + blueprint.getName() + " at " + location.getWorld().getName() + " " + Util.xyz(location.toVector());
+    }
+
+    @Override
+    public long getRemaining() {
+        return left;
+    }
+
+    @Override
+    public boolean isWaiting() {
+        return pasteState.equals(PasteState.CHUNK_LOADING);
+    }
+
+    @Override
+    public boolean step() {
+        switch (pasteState) {
+        case CHUNK_LOAD:
+            pasteState = PasteState.CHUNK_LOADING;
             long timer = System.currentTimeMillis();
-            int count = 0;
-            if (pasteState.equals(PasteState.CHUNK_LOAD)) {
-                pasteState = PasteState.CHUNK_LOADING;
-                // Load chunk
-                Util.getChunkAtAsync(location).thenRun(() -> {
-                    pasteState = PasteState.BLOCKS;
-                    long duration = System.currentTimeMillis() - timer;
-                    if (duration > chunkLoadTime) {
-                        chunkLoadTime = duration;
-                    }
-                });
-            }
-            while (pasteState.equals(PasteState.BLOCKS) && count < pasteSpeed && it.hasNext()) {
-                pasteBlock(location, it.next());
-                count++;
-            }
-            while (pasteState.equals(PasteState.ATTACHMENTS) && count < pasteSpeed && it2.hasNext()) {
-                pasteBlock(location, it2.next());
-                count++;
-            }
-            while (pasteState.equals(PasteState.ENTITIES) && count < pasteSpeed && it3.hasNext()) {
-                pasteEntity(location, it3.next());
-                count++;
-            }
-            // STATE SHIFT
-            if (pasteState.equals(PasteState.BLOCKS) && !it.hasNext()) {
+            // Load all the chunks up front, so that no chunk has to be loaded while pasting.
+            // Chunks that fail to load are logged and skipped, so pasting always goes on.
+            CompletableFuture.allOf(remaining.keySet().stream().map(this::loadChunk).toArray(CompletableFuture[]::new)).whenComplete((v, e) -> {
+                pasteState = PasteState.BLOCKS;
+                pasteStart = System.currentTimeMillis();
+                long duration = pasteStart - timer;
+                if (duration > chunkLoadTime) {
+                    chunkLoadTime = duration;
+                }
+                if (island != null) {
+                    plugin.getIslandCreationManager().record(Stage.CHUNKS, duration);
+                }
+            });
+            return true;
+        case CHUNK_LOADING:
+            return true;
+        case BLOCKS:
+            if (blockIndex < blockOrder.length) {
+                pasteBlock(location, blocks, (int)blockOrder[blockIndex++]);
+            } else {
                 // Blocks done
                 // Next paste attachments
                 pasteState = PasteState.ATTACHMENTS;
             }
-            else if (pasteState.equals(PasteState.ATTACHMENTS) && !it2.hasNext()) {
+            return true;
+        case ATTACHMENTS:
+            if (attachedIndex < attachedOrder.length) {
+                pasteBlock(location, attached, (int)attachedOrder[attachedIndex++]);
+            } else {
                 // Attachments done. Next paste entities
                 pasteState = PasteState.ENTITIES;
-                if (entities.size() != 0) {
-                    owner.ifPresent(user -> user.sendMessage("commands.island.create.pasting.entities", TextVariables.NUMBER, String.valueOf(entities.size())));
+                if (entityCount != 0) {
+                    owner.ifPresent(user -> user.sendMessage("commands.island.create.pasting.entities", TextVariables.NUMBER, String.valueOf(entityCount)));
                 }
             }
-            else if (pasteState.equals(PasteState.ENTITIES) && !it3.hasNext()) {
+            return true;
+        case ENTITIES:
+            if (it3.hasNext()) {
+                Entry<Vector, List<BlueprintEntity>> entry = it3.next();
+                pasteEntity(location, entry);
+                pasted(getEntityChunkKey(entry.getKey()));
+            } else {
                 pasteState = PasteState.DONE;
                 owner.ifPresent(user -> user.sendMessage("commands.island.create.pasting.done"));
             }
-            else if (pasteState.equals(PasteState.DONE)) {
-                // All done. Cancel task
-                // Set pos1 and 2 if this was a clipboard paste
-                if (island == null && clipboard != null) {
-                    clipboard.setPos1(pos1);
-                    clipboard.setPos2(pos2);
-                }
-                if (afterPasteTask != null) {
-                    // Run follow-on task if it exists
-                    Bukkit.getScheduler().runTask(plugin, afterPasteTask);
-                }
-                pasteState = PasteState.CANCEL;
-            } else if (pasteState.equals(PasteState.CANCEL)) {
-                // This state makes sure the follow-on task only ever runs once
-                pastingTask.cancel();
+            return true;
+        default:
+            // All done
+            done();
+            return false;
+        }
+    }
+
+    private void done() {
+        releaseChunks();
+        // Keep the pasting rate to estimate the time of the next pastes
+        long duration = System.currentTimeMillis() - pasteStart;
+        if (pasted > 0 && duration > 0) {
+            pasteRate = pasted * 1000D / duration;
+        }
+        // Set pos1 and 2 if this was a clipboard paste
+        if (island == null && clipboard != null) {
+            clipboard.setPos1(pos1);
+            clipboard.setPos2(pos2);
+        }
+        if (afterPasteTask != null) {
+            // Run follow-on task if it exists
+            Bukkit.getScheduler().runTask(plugin, afterPasteTask);
+        }
+    }
+
+    /**
+     * Sorts entries by the chunk they will be pasted in and counts the entries of each chunk
+     * @param entries - entries to paste
+     * @param chunkKey - gives the key of the chunk an entry will be pasted in
+     * @return list of the entries, grouped by chunk and from the bottom up in each chunk
+     */
+    private <T> List<Entry<Vector, T>> sortByChunk(Collection<Entry<Vector, T>> entries, ToLongFunction<Vector> chunkKey) {
+        List<Entry<Vector, T>> list = new ArrayList<>(entries);
+        list.forEach(en -> remaining.merge(chunkKey.applyAsLong(en.getKey()), 1, Integer::sum));
+        list.sort(Comparator.comparingLong((Entry<Vector, T> en) -> chunkKey.applyAsLong(en.getKey()))
+                .thenComparingInt(en -> en.getKey().getBlockY()));
+        return list;
+    }
+
+    /**
+     * Sorts blocks by the chunk they will be pasted in and counts the blocks of each chunk
+     * @param compact - blocks to paste, may be null
+     * @return order of the blocks, grouped by chunk and from the bottom up in each chunk
+     */
+    private long[] sortByChunk(@Nullable CompactBlocks compact) {
+        if (compact == null) {
+            return new long[0];
+        }
+        long[] order = new long[compact.size()];
+        Map<Long, Integer> ranks = new HashMap<>();
+        for (int n = 0; n < order.length; n++) {
+            long key = getBlockChunkKey(compact, n);
+            Integer rank = ranks.get(key);
+            if (rank == null) {
+                rank = ranks.size();
+                ranks.put(key, rank);
             }
-        }, 0L, 1L);
+            remaining.merge(key, 1, Integer::sum);
+            // Blocks are sorted by cell, so from the bottom up, and sorting keeps that order in each chunk
+            order[n] = ((long)rank << 32) | n;
+        }
+        Arrays.sort(order);
+        return order;
+    }
+
+    private long getBlockChunkKey(CompactBlocks compact, int n) {
+        return getChunkKey(Location.locToBlock(location.getX() + compact.getX(n)) >> 4, Location.locToBlock(location.getZ() + compact.getZ(n)) >> 4);
+    }
+
+    private long getEntityChunkKey(Vector v) {
+        return getChunkKey((location.getBlockX() + v.getBlockX()) >> 4, (location.getBlockZ() + v.getBlockZ()) >> 4);
     }
 
-    private void pasteBlock(Location location, Entry<Vector, BlueprintBlock> entry) {
+    private static long getChunkKey(int x, int z) {
+        return ((long)x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Loads a chunk and keeps it loaded until everything has been pasted in it
+     * @param key - chunk key
+     * @return future that completes when the chunk is loaded, or could not be loaded. It never completes exceptionally.
+     */
+    private CompletableFuture<Void> loadChunk(long key) {
+        int x = (int)(key >> 32);
+        int z = (int)key;
+        return Util.getChunkAtAsync(location.getWorld(), x, z).handle((chunk, e) -> {
+            if (chunk == null) {
+                // Its blocks are still pasted, but the chunk is loaded when the first one is
+                plugin.logError("Could not load chunk " + x + ", " + z + " of " + location.getWorld().getName()
+                + " before pasting " + blueprint.getName() + (e == null ? "" : ": " + e.getMessage()));
+                return null;
+            }
+            chunk.addPluginChunkTicket(plugin);
+            chunks.put(key, chunk);
+            return null;
+        });
+    }
+
+    /**
+     * Counts something pasted in a chunk, and releases the chunk once everything has been pasted in it
+     * @param key - chunk key
+     */
+    private void pasted(long key) {
+        left--;
+        pasted++;
+        if (remaining.computeIfPresent(key, (k, v) -> v > 1 ? v - 1 : null) == null) {
+            Chunk chunk = chunks.remove(key);
+            if (chunk != null) {
+                chunk.removePluginChunkTicket(plugin);
+            }
+        }
+    }
+
+    private void releaseChunks() {
+        chunks.values().forEach(chunk -> chunk.removePluginChunkTicket(plugin));
+        chunks.clear();
+        remaining.clear();
+    }
+
+    private void pasteBlock(Location location, CompactBlocks compact, int n) {
         World world = location.getWorld();
-        Location pasteTo = location.clone().add(entry.getKey());
-        BlueprintBlock bpBlock = entry.getValue();
-        Util.getChunkAtAsync(pasteTo).thenRun(() -> {
-            Block block = pasteTo.getBlock();
-            // Set the block data - default is AIR
-            BlockData bd;
+        Location pasteTo = location.clone().add(compact.getX(n), compact.getY(n), compact.getZ(n));
+        // The chunk has already been loaded
+        Block block = pasteTo.getBlock();
+        block.setBlockData(getBlockData(world, compact.getState(n)), false);
+        // Only blocks with tile data have a state to set
+        BlueprintBlock tile = compact.getTile(n);
+        if (tile != null) {
+            setBlockState(block, tile);
+        }
+        // pos1 and pos2 update
+        updatePos(block.getLocation());
+        pasted(getBlockChunkKey(compact, n));
+    }
+
+    /**
+     * Gets the block data of a block state. Each distinct state of the blueprint is only parsed once.
+     * @return the block data, or AIR block data if the block data could not be parsed.
+     * @since 1.14.0
+     */
+    private BlockData getBlockData(World world, String blockState) {
+        return blueprint.getBlockData(blockState, state -> {
             try {
-                bd = Bukkit.createBlockData(bpBlock.getBlockData());
+                return Bukkit.createBlockData(state);
             } catch (Exception e) {
-                bd = convertBlockData(world, bpBlock);
+                return convertBlockData(world, state);
             }
-            block.setBlockData(bd, false);
-            setBlockState(block, bpBlock);
-            // pos1 and pos2 update
-            updatePos(block.getLocation());
         });
     }
 
@@ -264,12 +483,12 @@ public class BlueprintPaster {
      * @return the converted BlockData or a default AIR BlockData.
      * @since 1.6.0
      */
-    private BlockData convertBlockData(World world, BlueprintBlock block) {
+    private BlockData convertBlockData(World world, String state) {
         BlockData blockData = Bukkit.createBlockData(Material.AIR);
         try {
             for (Entry<String, String> en : BLOCK_CONVERSION.entrySet()) {
-                if (block.getBlockData().startsWith(MINECRAFT + en.getKey())) {
-                    blockData = Bukkit.createBlockData(block.getBlockData().replace(MINECRAFT + en.getKey(), MINECRAFT + en.getValue()));
+                if (state.startsWith(MINECRAFT + en.getKey())) {
+                    blockData = Bukkit.createBlockData(state.replace(MINECRAFT + en.getKey(), MINECRAFT + en.getValue()));
                     break;
                 }
             }
@@ -277,7 +496,7 @@ public class BlueprintPaster {
             // This may happen if the block type is no longer supported by the server
             plugin.logWarning("Blueprint references materials not supported on this server version.");
             plugin.logWarning("Load blueprint manually, check and save to fix for this server version.");
-            plugin.logWarning("World: " + world.getName() + "; Failed block data: " + block.getBlockData());
+            plugin.logWarning("World: " + world.getName() + "; Failed block data: " + state);
         }
         return blockData;
     }
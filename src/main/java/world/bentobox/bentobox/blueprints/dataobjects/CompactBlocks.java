@@ -0,0 +1,448 @@
+package world.bentobox.bentobox.blueprints.dataobjects;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.util.Vector;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Blocks of a blueprint in compact form. This is the form blueprints hold their blocks in once they are
+ * loaded or copied, and the form they are pasted from.
+ * <p>
+ * Each distinct block state is kept once in a palette. Each block is the index of its cell in the bounding box
+ * of the blocks and the index of its state in the palette, and the blocks are sorted by cell, so from the bottom up.
+ * Only blocks with tile data, such as signs, inventories, spawners and banners, are kept as {@link BlueprintBlock}s.
+ *
+ * @since 1.14.0
+ */
+public class CompactBlocks {
+
+    private static final String AIR = "minecraft:air";
+
+    private final Bounds bounds;
+    private final String[] palette;
+    /**
+     * Cell of each block in the bounding box, in ascending order
+     */
+    private final int[] cells;
+    /**
+     * Palette index of each block
+     */
+    private final int[] states;
+    /**
+     * Blocks with tile data, by cell
+     */
+    private final Map<Integer, BlueprintBlock> tiles;
+
+    CompactBlocks(Bounds bounds, String[] palette, int[] cells, int[] states, Map<Integer, BlueprintBlock> tiles) {
+        this.bounds = bounds;
+        this.palette = palette;
+        this.cells = cells;
+        this.states = states;
+        this.tiles = tiles;
+    }
+
+    /**
+     * Bounding box of the blocks of a blueprint, in blueprint coordinates
+     */
+    public static class Bounds {
+        private final int x;
+        private final int y;
+        private final int z;
+        private final int width;
+        private final int height;
+        private final int length;
+
+        /**
+         * @param min - lowest corner
+         * @param max - highest corner
+         * @throws IllegalArgumentException if the box is too large to be indexed
+         */
+        public Bounds(@NonNull Vector min, @NonNull Vector max) {
+            this(min.getBlockX(), min.getBlockY(), min.getBlockZ(),
+                    max.getBlockX() - min.getBlockX() + 1, max.getBlockY() - min.getBlockY() + 1, max.getBlockZ() - min.getBlockZ() + 1);
+        }
+
+        Bounds(int x, int y, int z, int width, int height, int length) {
+            if ((long)width * height * length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Blueprint is too large to be stored: " + width + " x " + height + " x " + length);
+            }
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.width = width;
+            this.height = height;
+            this.length = length;
+        }
+
+        /**
+         * Makes the smallest bounding box around some positions
+         * @param positions - positions of the blocks
+         * @return bounding box, empty if there are no positions
+         * @throws IllegalArgumentException if the box is too large to be indexed
+         */
+        @SafeVarargs
+        @NonNull
+        public static Bounds around(@NonNull Collection<Vector>... positions) {
+            int[] min = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE};
+            int[] max = {Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE};
+            for (Collection<Vector> collection : positions) {
+                for (Vector v : collection) {
+                    min[0] = Math.min(min[0], v.getBlockX());
+                    min[1] = Math.min(min[1], v.getBlockY());
+                    min[2] = Math.min(min[2], v.getBlockZ());
+                    max[0] = Math.max(max[0], v.getBlockX());
+                    max[1] = Math.max(max[1], v.getBlockY());
+                    max[2] = Math.max(max[2], v.getBlockZ());
+                }
+            }
+            if (min[0] > max[0]) {
+                return new Bounds(0, 0, 0, 0, 0, 0);
+            }
+            return new Bounds(new Vector(min[0], min[1], min[2]), new Vector(max[0], max[1], max[2]));
+        }
+
+        /**
+         * @return lowest corner
+         */
+        @NonNull
+        public Vector getOrigin() {
+            return new Vector(x, y, z);
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        /**
+         * @return number of cells in the box
+         */
+        public int getVolume() {
+            return width * height * length;
+        }
+
+        int index(int bx, int by, int bz) {
+            return ((by - y) * length + (bz - z)) * width + bx - x;
+        }
+
+        int getX(int cell) {
+            return x + cell % width;
+        }
+
+        int getY(int cell) {
+            return y + cell / (width * length);
+        }
+
+        int getZ(int cell) {
+            return z + (cell / width) % length;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Bounds)) {
+                return false;
+            }
+            Bounds other = (Bounds) obj;
+            return x == other.x && y == other.y && z == other.z && width == other.width && height == other.height && length == other.length;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((x * 31 + y) * 31 + z) * 31 + getVolume();
+        }
+    }
+
+    /**
+     * Distinct block states, each with its index. It can be used by several threads at once.
+     */
+    public static class Palette {
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private final List<String> states = new ArrayList<>();
+
+        /**
+         * @param state - block state, such as "minecraft:stone"
+         * @return index of the state, added if it is not in the palette yet
+         */
+        public int getId(@NonNull String state) {
+            return ids.computeIfAbsent(state, this::add);
+        }
+
+        private synchronized int add(String state) {
+            states.add(state);
+            return states.size() - 1;
+        }
+
+        /**
+         * @return the states, by index
+         */
+        @NonNull
+        public synchronized String[] toArray() {
+            return states.toArray(new String[0]);
+        }
+    }
+
+    /**
+     * Collects blocks to make compact blocks. It must only be used by one thread at a time.
+     */
+    public static class Builder {
+        private final Bounds bounds;
+        /**
+         * Cell in the high bits and palette index in the low bits, so that sorting them sorts by cell
+         */
+        private long[] entries = new long[64];
+        private int size;
+        private final Map<Integer, BlueprintBlock> tiles = new HashMap<>();
+
+        /**
+         * @param bounds - bounding box of the blocks
+         */
+        public Builder(@NonNull Bounds bounds) {
+            this.bounds = bounds;
+        }
+
+        /**
+         * Adds a block. If a position is added more than once, only one of its blocks is kept.
+         * @param x - x in blueprint coordinates
+         * @param y - y in blueprint coordinates
+         * @param z - z in blueprint coordinates
+         * @param state - index of the state of the block in the palette
+         * @param tile - tile data of the block, or null if it has none
+         * @return this builder
+         */
+        @NonNull
+        public Builder add(int x, int y, int z, int state, @Nullable BlueprintBlock tile) {
+            int cell = bounds.index(x, y, z);
+            add(cell, state);
+            if (tile != null) {
+                tiles.put(cell, tile);
+            }
+            return this;
+        }
+
+        void add(int cell, int state) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = ((long)cell << 32) | state;
+        }
+
+        void addTile(int cell, BlueprintBlock tile) {
+            tiles.put(cell, tile);
+        }
+
+        /**
+         * Adds all the blocks of another builder with the same bounds
+         * @param other - other builder
+         * @return this builder
+         */
+        @NonNull
+        public Builder addAll(@NonNull Builder other) {
+            if (size + other.size > entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(entries.length * 2, size + other.size));
+            }
+            System.arraycopy(other.entries, 0, entries, size, other.size);
+            size += other.size;
+            tiles.putAll(other.tiles);
+            return this;
+        }
+
+        /**
+         * @param palette - states of the palette, by index
+         * @return compact blocks
+         */
+        @NonNull
+        public CompactBlocks build(@NonNull String[] palette) {
+            Arrays.sort(entries, 0, size);
+            int[] cells = new int[size];
+            int[] states = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                int cell = (int)(entries[i] >>> 32);
+                if (count > 0 && cells[count - 1] == cell) {
+                    continue;
+                }
+                cells[count] = cell;
+                states[count++] = (int)entries[i];
+            }
+            // Tiles share the strings of the palette
+            Map<Integer, BlueprintBlock> tileMap = new HashMap<>();
+            for (Entry<Integer, BlueprintBlock> en : tiles.entrySet()) {
+                int n = Arrays.binarySearch(cells, 0, count, en.getKey());
+                if (n >= 0) {
+                    en.getValue().setBlockData(palette[states[n]]);
+                    tileMap.put(en.getKey(), en.getValue());
+                }
+            }
+            return new CompactBlocks(bounds, palette,
+                    count == size ? cells : Arrays.copyOf(cells, count), count == size ? states : Arrays.copyOf(states, count), tileMap);
+        }
+    }
+
+    /**
+     * Packs blocks held in maps. Both maps share the same bounds and palette.
+     * @param blocks - blocks, may be null
+     * @param attached - attached blocks, may be null
+     * @return the compact blocks, then the compact attached blocks
+     * @throws IllegalArgumentException if the bounding box of the blocks is too large to be indexed
+     */
+    @NonNull
+    public static CompactBlocks[] of(@Nullable Map<Vector, BlueprintBlock> blocks, @Nullable Map<Vector, BlueprintBlock> attached) {
+        Map<Vector, BlueprintBlock> blockMap = blocks == null ? new HashMap<>() : blocks;
+        Map<Vector, BlueprintBlock> attachedMap = attached == null ? new HashMap<>() : attached;
+        Bounds bounds = Bounds.around(blockMap.keySet(), attachedMap.keySet());
+        Palette palette = new Palette();
+        Builder blockBuilder = pack(blockMap, new Builder(bounds), palette);
+        Builder attachedBuilder = pack(attachedMap, new Builder(bounds), palette);
+        String[] states = palette.toArray();
+        return new CompactBlocks[] {blockBuilder.build(states), attachedBuilder.build(states)};
+    }
+
+    private static Builder pack(Map<Vector, BlueprintBlock> map, Builder builder, Palette palette) {
+        for (Entry<Vector, BlueprintBlock> en : map.entrySet()) {
+            BlueprintBlock b = en.getValue();
+            // Blocks without a state are pasted as air
+            int state = palette.getId(b.getBlockData() == null ? AIR : b.getBlockData());
+            Vector v = en.getKey();
+            builder.add(v.getBlockX(), v.getBlockY(), v.getBlockZ(), state, hasTileData(b) ? b : null);
+        }
+        return builder;
+    }
+
+    /**
+     * @param block - block
+     * @return true if the block has tile data, such as sign lines or an inventory
+     */
+    public static boolean hasTileData(@NonNull BlueprintBlock block) {
+        return block.getSignLines() != null || !block.getInventory().isEmpty()
+                || block.getCreatureSpawner() != null || block.getBannerPatterns() != null;
+    }
+
+    /**
+     * @return number of blocks
+     */
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * @param n - index of the block, from 0 to {@link #size()} - 1
+     * @return x of the block in blueprint coordinates
+     */
+    public int getX(int n) {
+        return bounds.getX(cells[n]);
+    }
+
+    /**
+     * @param n - index of the block, from 0 to {@link #size()} - 1
+     * @return y of the block in blueprint coordinates
+     */
+    public int getY(int n) {
+        return bounds.getY(cells[n]);
+    }
+
+    /**
+     * @param n - index of the block, from 0 to {@link #size()} - 1
+     * @return z of the block in blueprint coordinates
+     */
+    public int getZ(int n) {
+        return bounds.getZ(cells[n]);
+    }
+
+    /**
+     * @param n - index of the block, from 0 to {@link #size()} - 1
+     * @return block state, shared by all the blocks with this state
+     */
+    @NonNull
+    public String getState(int n) {
+        return palette[states[n]];
+    }
+
+    /**
+     * @param n - index of the block, from 0 to {@link #size()} - 1
+     * @return the block with its tile data, or null if it has none
+     */
+    @Nullable
+    public BlueprintBlock getTile(int n) {
+        return tiles.isEmpty() ? null : tiles.get(cells[n]);
+    }
+
+    /**
+     * @param position - position in blueprint coordinates
+     * @return true if there is a block at this position
+     */
+    public boolean contains(@NonNull Vector position) {
+        int x = position.getBlockX() - bounds.x;
+        int y = position.getBlockY() - bounds.y;
+        int z = position.getBlockZ() - bounds.z;
+        if (x < 0 || y < 0 || z < 0 || x >= bounds.width || y >= bounds.height || z >= bounds.length) {
+            return false;
+        }
+        return Arrays.binarySearch(cells, bounds.index(position.getBlockX(), position.getBlockY(), position.getBlockZ())) >= 0;
+    }
+
+    /**
+     * @return number of blocks with tile data
+     */
+    public int getTileCount() {
+        return tiles.size();
+    }
+
+    /**
+     * @return bounding box of the blocks
+     */
+    @NonNull
+    public Bounds getBounds() {
+        return bounds;
+    }
+
+    /**
+     * @return distinct block states, by index. The array is shared, so it must not be changed.
+     */
+    @NonNull
+    public String[] getPalette() {
+        return palette;
+    }
+
+    int getCell(int n) {
+        return cells[n];
+    }
+
+    int getStateId(int n) {
+        return states[n];
+    }
+
+    Map<Integer, BlueprintBlock> getTiles() {
+        return tiles;
+    }
+
+    /**
+     * Unpacks the blocks into a map, with one {@link BlueprintBlock} for each block
+     * @return map of the blocks, by position in blueprint coordinates
+     */
+    @NonNull
+    public Map<Vector, BlueprintBlock> toMap() {
+        Map<Vector, BlueprintBlock> map = new LinkedHashMap<>();
+        for (int n = 0; n < cells.length; n++) {
+            BlueprintBlock tile = getTile(n);
+            map.put(new Vector(getX(n), getY(n), getZ(n)), tile == null ? new BlueprintBlock(getState(n)) : tile);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,282 @@
+package world.bentobox.bentobox.blueprints.dataobjects;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.Material;
+import org.bukkit.util.Vector;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.annotations.Expose;
+
+import world.bentobox.bentobox.blueprints.Blueprint;
+
+/**
+ * Compact form of a {@link Blueprint}, used to store it in a file.
+ * <p>
+ * Each distinct block state is written once in a palette. Blocks and attached blocks are written as the cells
+ * of the bounding box that hold a block, followed by their palette indices packed into as few bits as the palette
+ * needs, so empty cells take no room. Only blocks with tile data, such as signs, inventories, spawners and banners,
+ * are written in full, in a side table keyed by their cell. Entities are written as they are.
+ * <p>
+ * Blueprints are read from this form straight into {@link CompactBlocks}, which is the form they are kept in.
+ * Files in format 2, which packed every cell of the bounding box, can still be read.
+ *
+ * @since 1.14.0
+ */
+public class CompactBlueprint {
+
+    /**
+     * Name of the field that is only in compact blueprints. It is written first so that the form of a file
+     * can be told from its first field.
+     */
+    public static final String FORMAT_FIELD = "format";
+    /**
+     * Name of the first field after the metadata of the blueprint, such as its name, icon and size
+     */
+    public static final String ORIGIN_FIELD = "origin";
+    /**
+     * Current version of the compact form
+     */
+    public static final int FORMAT = 3;
+    /**
+     * Version of the compact form that packed every cell of the bounding box, with 0 for no block
+     */
+    private static final int FULL_BOX_FORMAT = 2;
+
+    @Expose
+    private int format = FORMAT;
+    @Expose
+    private String name;
+    @Expose
+    private String displayName;
+    @Expose
+    private Material icon;
+    @Expose
+    private List<String> description;
+    @Expose
+    private int xSize;
+    @Expose
+    private int ySize;
+    @Expose
+    private int zSize;
+    @Expose
+    private Vector bedrock;
+    /**
+     * Lowest corner of the bounding box of the blocks
+     */
+    @Expose
+    private Vector origin;
+    @Expose
+    private int width;
+    @Expose
+    private int height;
+    @Expose
+    private int length;
+    /**
+     * Number of bits used by each packed palette index
+     */
+    @Expose
+    private int bits;
+    /**
+     * Distinct block states. In format 2, packed index 0 means no block, so state i is written as i + 1.
+     */
+    @Expose
+    private List<String> palette;
+    @Expose
+    private String blocks;
+    @Expose
+    private String attached;
+    @Expose
+    private Map<Integer, BlueprintBlock> blockTiles;
+    @Expose
+    private Map<Integer, BlueprintBlock> attachedTiles;
+    @Expose
+    private Map<Vector, List<BlueprintEntity>> entities;
+
+    private CompactBlueprint() {
+        // Used by Gson
+    }
+
+    /**
+     * Makes the compact form of a blueprint
+     * @param blueprint - blueprint
+     * @return compact blueprint
+     * @throws IllegalArgumentException if the bounding box of the blocks is too large to be indexed
+     */
+    @NonNull
+    public static CompactBlueprint of(@NonNull Blueprint blueprint) {
+        CompactBlueprint cb = new CompactBlueprint();
+        cb.name = blueprint.getName();
+        cb.displayName = blueprint.getDisplayName();
+        cb.icon = blueprint.getIcon();
+        cb.description = blueprint.getDescription();
+        cb.xSize = blueprint.getxSize();
+        cb.ySize = blueprint.getySize();
+        cb.zSize = blueprint.getzSize();
+        cb.bedrock = blueprint.getBedrock();
+        cb.entities = blueprint.getEntities();
+
+        CompactBlocks blockCells = blueprint.getCompactBlocks();
+        CompactBlocks attachedCells = blueprint.getCompactAttached();
+        if (blockCells == null || attachedCells == null) {
+            throw new IllegalArgumentException("Blueprint blocks could not be loaded");
+        }
+        CompactBlocks.Bounds bounds = blockCells.getBounds();
+        cb.origin = bounds.getOrigin();
+        cb.width = bounds.getWidth();
+        cb.height = bounds.getHeight();
+        cb.length = bounds.getLength();
+        cb.palette = Arrays.asList(blockCells.getPalette());
+        cb.bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(0, cb.palette.size() - 1)));
+        cb.blockTiles = new HashMap<>(blockCells.getTiles());
+        cb.blocks = cb.pack(blockCells);
+        if (attachedCells.size() > 0) {
+            cb.attachedTiles = new HashMap<>(attachedCells.getTiles());
+            cb.attached = cb.pack(attachedCells);
+        }
+        return cb;
+    }
+
+    /**
+     * Packs blocks as the gaps between their cells, written as variable-length integers,
+     * followed by their palette indices packed into longs
+     */
+    private String pack(CompactBlocks compact) {
+        int count = compact.size();
+        int perLong = 64 / bits;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(count + 8);
+        writeVarInt(out, count);
+        int previous = -1;
+        for (int n = 0; n < count; n++) {
+            writeVarInt(out, compact.getCell(n) - previous - 1);
+            previous = compact.getCell(n);
+        }
+        long[] data = new long[(count + perLong - 1) / perLong];
+        for (int n = 0; n < count; n++) {
+            data[n / perLong] |= (long)compact.getStateId(n) << ((n % perLong) * bits);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(out.size() + data.length * Long.BYTES);
+        buffer.put(out.toByteArray());
+        buffer.asLongBuffer().put(data);
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Makes the blueprint back from its compact form
+     * @return blueprint
+     */
+    @NonNull
+    public Blueprint toBlueprint() {
+        Blueprint bp = new Blueprint();
+        if (name != null) {
+            bp.setName(name);
+        }
+        bp.setDisplayName(displayName);
+        bp.setIcon(icon);
+        bp.setDescription(description);
+        bp.setxSize(xSize);
+        bp.setySize(ySize);
+        bp.setzSize(zSize);
+        bp.setBedrock(bedrock);
+        String[] states = palette == null ? new String[0] : palette.toArray(new String[0]);
+        Vector corner = origin == null ? new Vector(0, 0, 0) : origin;
+        CompactBlocks.Bounds bounds = new CompactBlocks.Bounds(corner.getBlockX(), corner.getBlockY(), corner.getBlockZ(), width, height, length);
+        bp.setCompactBlocks(unpack(blocks, blockTiles, bounds).build(states), unpack(attached, attachedTiles, bounds).build(states));
+        bp.setEntities(entities == null ? new HashMap<>() : entities);
+        return bp;
+    }
+
+    private CompactBlocks.Builder unpack(@Nullable String packed, @Nullable Map<Integer, BlueprintBlock> tiles, CompactBlocks.Bounds bounds) {
+        CompactBlocks.Builder builder = new CompactBlocks.Builder(bounds);
+        if (packed == null || packed.isEmpty()) {
+            return builder;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(packed));
+        if (format == FULL_BOX_FORMAT) {
+            unpackFullBox(buffer, builder);
+        } else {
+            unpackCells(buffer, builder);
+        }
+        if (tiles != null) {
+            tiles.forEach(builder::addTile);
+        }
+        return builder;
+    }
+
+    private void unpackCells(ByteBuffer buffer, CompactBlocks.Builder builder) {
+        int count = readVarInt(buffer);
+        int[] cells = new int[count];
+        int previous = -1;
+        for (int n = 0; n < count; n++) {
+            previous += readVarInt(buffer) + 1;
+            cells[n] = previous;
+        }
+        int perLong = 64 / bits;
+        long mask = (1L << bits) - 1;
+        long word = 0;
+        for (int n = 0; n < count; n++) {
+            if (n % perLong == 0) {
+                word = buffer.getLong();
+            }
+            builder.add(cells[n], (int)(word & mask));
+            word >>>= bits;
+        }
+    }
+
+    private void unpackFullBox(ByteBuffer buffer, CompactBlocks.Builder builder) {
+        int perLong = 64 / bits;
+        long mask = (1L << bits) - 1;
+        int cells = width * height * length;
+        for (int w = 0; buffer.remaining() >= Long.BYTES; w++) {
+            long word = buffer.getLong();
+            for (int j = 0; word != 0 && j < perLong; j++, word >>>= bits) {
+                int id = (int)(word & mask);
+                int i = w * perLong + j;
+                if (id != 0 && i < cells) {
+                    // State i was written as i + 1
+                    builder.add(i, id - 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return version of the compact form
+     */
+    public int getFormat() {
+        return format;
+    }
+
+    /**
+     * @return distinct block states of the blueprint
+     */
+    public List<String> getPalette() {
+        return palette;
+    }
+}
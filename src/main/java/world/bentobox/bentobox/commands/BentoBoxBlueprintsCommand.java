@@ -0,0 +1,50 @@
+package world.bentobox.bentobox.commands;
+
+import java.util.List;
+import java.util.Map;
+
+import world.bentobox.bentobox.api.commands.CompositeCommand;
+import world.bentobox.bentobox.api.localization.TextVariables;
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.blueprints.BlueprintCache;
+
+/**
+ * Displays the blueprints whose blocks are loaded and the memory they use
+ *
+ * @since 1.14.0
+ */
+public class BentoBoxBlueprintsCommand extends CompositeCommand {
+
+    /**
+     * Loaded blueprints command
+     * @param parent command parent
+     */
+    public BentoBoxBlueprintsCommand(CompositeCommand parent) {
+        super(parent, "blueprints");
+    }
+
+    @Override
+    public void setup() {
+        setPermission("bentobox.admin.blueprints");
+        setDescription("commands.bentobox.blueprints.description");
+    }
+
+    @Override
+    public boolean execute(User user, String label, List<String> args) {
+        BlueprintCache cache = getPlugin().getBlueprintsManager().getBlueprintCache();
+        Map<String, Long> sizes = cache.getSizes();
+        if (sizes.isEmpty()) {
+            user.sendMessage("commands.bentobox.blueprints.none");
+            return true;
+        }
+        user.sendMessage("commands.bentobox.blueprints.header",
+                TextVariables.NUMBER, String.valueOf(sizes.size()),
+                "[kilobytes]", String.valueOf(cache.getSize() / 1024),
+                "[max]", String.valueOf(getSettings().getBlueprintCacheSize()),
+                "[evictions]", String.valueOf(cache.getEvictions()));
+        sizes.forEach((name, size) -> user.sendMessage("commands.bentobox.blueprints.blueprint",
+                TextVariables.NAME, name,
+                "[kilobytes]", String.valueOf(size / 1024)));
+        return true;
+    }
+}
@@ -24,6 +24,11 @@ public class BentoBoxCommand extends CompositeCommand {
         new BentoBoxReloadCommand(this);
         new BentoBoxLocaleCommand(this);
         new BentoBoxHelpCommand(this);
+        new BentoBoxDatabaseStatsCommand(this);
+        new BentoBoxPlaceholdersCommand(this);
+        new BentoBoxQueueCommand(this);
+        new BentoBoxBlueprintsCommand(this);
+        new BentoBoxCreationCommand(this);
         // Database names with a 2 in them are migration databases
         if (getPlugin().getSettings().getDatabaseType().name().contains("2")) {
             new BentoBoxMigrateCommand(this);
@@ -0,0 +1,66 @@
+package world.bentobox.bentobox.commands;
+
+import java.util.List;
+
+import world.bentobox.bentobox.api.commands.CompositeCommand;
+import world.bentobox.bentobox.api.localization.TextVariables;
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.managers.IslandCreationManager;
+import world.bentobox.bentobox.managers.IslandCreationManager.Stage;
+import world.bentobox.bentobox.managers.IslandCreationManager.Timings;
+
+/**
+ * Displays the islands at each stage of being made, and how long each stage takes
+ *
+ * @since 1.14.0
+ */
+public class BentoBoxCreationCommand extends CompositeCommand {
+
+    /**
+     * Island creation command
+     * @param parent command parent
+     */
+    public BentoBoxCreationCommand(CompositeCommand parent) {
+        super(parent, "creation");
+    }
+
+    @Override
+    public void setup() {
+        setPermission("bentobox.admin.creation");
+        setDescription("commands.bentobox.creation.description");
+    }
+
+    @Override
+    public boolean execute(User user, String label, List<String> args) {
+        IslandCreationManager icm = getPlugin().getIslandCreationManager();
+        user.sendMessage("commands.bentobox.creation.header");
+        for (Stage stage : Stage.values()) {
+            Timings timings = icm.getTimings(stage);
+            int limit = icm.getLimit(stage);
+            user.sendMessage("commands.bentobox.creation.stage", TextVariables.NAME, stage.getLabel(),
+                    "[running]", String.valueOf(icm.getRunning(stage)),
+                    "[limit]", limit > 0 ? String.valueOf(limit) : user.getTranslation("commands.bentobox.creation.no-limit"),
+                    "[waiting]", String.valueOf(icm.getWaiting(stage)),
+                    TextVariables.NUMBER, String.valueOf(timings.getCount()),
+                    "[average]", String.valueOf(timings.getAverage()),
+                    "[max]", String.valueOf(timings.getMax()));
+            if (timings.getCount() > 0) {
+                user.sendMessage("commands.bentobox.creation.histogram", "[histogram]", getHistogram(timings));
+            }
+        }
+        return true;
+    }
+
+    private String getHistogram(Timings timings) {
+        long[] bounds = Timings.getBounds();
+        long[] buckets = timings.getBuckets();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < buckets.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(i < bounds.length ? "<" + bounds[i] : ">=" + bounds[bounds.length - 1]).append(" ms: ").append(buckets[i]);
+        }
+        return sb.toString();
+    }
+}
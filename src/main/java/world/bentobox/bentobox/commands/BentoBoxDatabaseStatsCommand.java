@@ -0,0 +1,63 @@
+package world.bentobox.bentobox.commands;
+
+import java.util.List;
+
+import world.bentobox.bentobox.api.commands.CompositeCommand;
+import world.bentobox.bentobox.api.localization.TextVariables;
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.database.DatabaseStats;
+import world.bentobox.bentobox.managers.player.PlayerCache;
+
+/**
+ * Displays the persistence statistics of each database table and of the player cache
+ *
+ * @since 1.14.0
+ */
+public class BentoBoxDatabaseStatsCommand extends CompositeCommand {
+
+    /**
+     * Database statistics command
+     * @param parent command parent
+     */
+    public BentoBoxDatabaseStatsCommand(CompositeCommand parent) {
+        super(parent, "dbstats");
+    }
+
+    @Override
+    public void setup() {
+        setPermission("bentobox.admin.dbstats");
+        setDescription("commands.bentobox.dbstats.description");
+    }
+
+    @Override
+    public boolean execute(User user, String label, List<String> args) {
+        List<DatabaseStats> stats = DatabaseStats.getAllStats();
+        if (stats.isEmpty()) {
+            user.sendMessage("commands.bentobox.dbstats.none");
+        } else {
+            user.sendMessage("commands.bentobox.dbstats.header", "[database]", getSettings().getDatabaseType().toString());
+            stats.forEach(s -> showStats(user, s));
+        }
+        PlayerCache cache = getPlugin().getPlayers().getPlayerCache();
+        user.sendMessage("commands.bentobox.dbstats.player-cache",
+                "[size]", String.valueOf(cache.size()),
+                "[hitrate]", String.format("%.1f", cache.getHitRate()),
+                "[evictions]", String.valueOf(cache.getEvictions()));
+        return true;
+    }
+
+    private void showStats(User user, DatabaseStats s) {
+        user.sendMessage("commands.bentobox.dbstats.table", TextVariables.NAME, s.getTableName(),
+                "[queued]", String.valueOf(s.getQueueDepth()),
+                "[committed]", String.valueOf(s.getCommitted()),
+                "[failures]", String.valueOf(s.getFailures()),
+                "[retries]", String.valueOf(s.getRetries()));
+        user.sendMessage("commands.bentobox.dbstats.latency",
+                "[average]", String.format("%.1f", s.getAverageLatency()),
+                "[p95]", String.valueOf(s.getLatencyPercentile(95)),
+                "[max]", String.valueOf(s.getMaxLatency()));
+        user.sendMessage("commands.bentobox.dbstats.serialization",
+                "[average]", String.format("%.2f", s.getAverageSerializationTime()),
+                "[kilobytes]", String.valueOf(s.getBytesWritten() / 1024));
+    }
+}
@@ -0,0 +1,54 @@
+package world.bentobox.bentobox.commands;
+
+import java.util.List;
+
+import world.bentobox.bentobox.api.commands.CompositeCommand;
+import world.bentobox.bentobox.api.localization.TextVariables;
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.managers.placeholders.CachedPlaceholder;
+
+/**
+ * Displays the placeholders that took the most time to work out
+ *
+ * @since 1.14.0
+ */
+public class BentoBoxPlaceholdersCommand extends CompositeCommand {
+
+    /**
+     * Number of placeholders shown
+     */
+    private static final int MAX_SHOWN = 10;
+
+    /**
+     * Placeholder statistics command
+     * @param parent command parent
+     */
+    public BentoBoxPlaceholdersCommand(CompositeCommand parent) {
+        super(parent, "placeholders");
+    }
+
+    @Override
+    public void setup() {
+        setPermission("bentobox.admin.placeholders");
+        setDescription("commands.bentobox.placeholders.description");
+    }
+
+    @Override
+    public boolean execute(User user, String label, List<String> args) {
+        List<CachedPlaceholder> stats = getPlugin().getPlaceholdersManager().getPlaceholderStats();
+        if (stats.stream().noneMatch(p -> p.getRequests() > 0)) {
+            user.sendMessage("commands.bentobox.placeholders.none");
+            return true;
+        }
+        user.sendMessage("commands.bentobox.placeholders.header", TextVariables.NUMBER, String.valueOf(MAX_SHOWN));
+        stats.stream().filter(p -> p.getRequests() > 0).limit(MAX_SHOWN).forEach(p ->
+        user.sendMessage("commands.bentobox.placeholders.placeholder", TextVariables.NAME, p.getName(),
+                "[total]", String.format("%.1f", p.getTotalTime()),
+                "[average]", String.format("%.3f", p.getAverageTime()),
+                "[max]", String.format("%.1f", p.getMaxTime()),
+                "[requests]", String.valueOf(p.getRequests()),
+                "[hitrate]", String.format("%.1f", p.getHitRate()),
+                "[ttl]", String.valueOf(p.getTtl())));
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package world.bentobox.bentobox.commands;
+
+import java.util.List;
+
+import world.bentobox.bentobox.api.commands.CompositeCommand;
+import world.bentobox.bentobox.api.localization.TextVariables;
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.managers.TickBudgetManager;
+
+/**
+ * Displays the tick budget and the jobs that are pasting, deleting or cleaning blocks
+ *
+ * @since 1.14.0
+ */
+public class BentoBoxQueueCommand extends CompositeCommand {
+
+    /**
+     * Job queue command
+     * @param parent command parent
+     */
+    public BentoBoxQueueCommand(CompositeCommand parent) {
+        super(parent, "queue");
+    }
+
+    @Override
+    public void setup() {
+        setPermission("bentobox.admin.queue");
+        setDescription("commands.bentobox.queue.description");
+    }
+
+    @Override
+    public boolean execute(User user, String label, List<String> args) {
+        TickBudgetManager tbm = getPlugin().getTickBudgetManager();
+        List<TickBudgetManager.Job> jobs = tbm.getJobs();
+        if (jobs.isEmpty()) {
+            user.sendMessage("commands.bentobox.queue.none");
+            return true;
+        }
+        user.sendMessage("commands.bentobox.queue.header",
+                TextVariables.NUMBER, String.valueOf(jobs.size()),
+                "[budget]", String.format("%.1f", tbm.getBudget()),
+                "[used]", String.format("%.1f", tbm.getLastUsed()),
+                "[tick]", String.format("%.1f", tbm.getLastTickTime()));
+        jobs.forEach(j -> user.sendMessage("commands.bentobox.queue.job", TextVariables.DESCRIPTION, j.getDescription(),
+                "[remaining]", j.getRemaining() < 0 ? "?" : String.valueOf(j.getRemaining()),
+                "[state]", j.isWaiting() ? user.getTranslation("commands.bentobox.queue.waiting") : user.getTranslation("commands.bentobox.queue.running")));
+        return true;
+    }
+}
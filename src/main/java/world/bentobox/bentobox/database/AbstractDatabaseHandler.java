@@ -2,10 +2,14 @@ package world.bentobox.bentobox.database;
 
 import java.beans.IntrospectionException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import org.bukkit.Bukkit;
 import org.bukkit.scheduler.BukkitTask;
@@ -58,6 +62,16 @@ public abstract class AbstractDatabaseHandler<T> {
 
     protected BentoBox plugin;
 
+    /**
+     * Persistence statistics for the type stored by this handler
+     */
+    protected DatabaseStats stats;
+
+    /**
+     * How often the statistics are checked against the warning thresholds
+     */
+    private static final long STATS_CHECK_PERIOD = TimeUnit.SECONDS.toMillis(30);
+
     /**
      * The addon that is accessing the database, if any.
      */
@@ -95,17 +109,21 @@ public abstract class AbstractDatabaseHandler<T> {
         this.plugin = plugin;
         this.databaseConnector = databaseConnector;
         this.dataObject = type;
+        this.stats = DatabaseStats.getStats(type.getName());
 
         // Return if plugin disabled
         if (!plugin.isEnabled()) return;
         // Run async queue
         processQueue = new ConcurrentLinkedQueue<>();
         asyncSaveTask = Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            long lastStatsCheck = System.currentTimeMillis();
             // Loop continuously
             while (!shutdown || !processQueue.isEmpty()) {
                 while (!processQueue.isEmpty()) {
                     processQueue.poll().run();
+                    lastStatsCheck = checkStats(lastStatsCheck);
                 }
+                lastStatsCheck = checkStats(lastStatsCheck);
                 // Shutdown flag
                 shutdown = plugin.isShutdown();
                 // Clear the queue and then sleep
@@ -122,7 +140,87 @@ public abstract class AbstractDatabaseHandler<T> {
         });
     }
 
-    protected AbstractDatabaseHandler() {}
+    protected AbstractDatabaseHandler() {
+        // Handlers made without a type still record their statistics, under the name of the handler
+        this.stats = DatabaseStats.getStats(getClass().getName());
+    }
+
+    /**
+     * Adds a save or delete operation to the async queue and records it in the statistics of this type
+     * @param task - operation to run
+     * @param result - result of the operation, used to count failures. May be null.
+     * @since 1.14.0
+     */
+    protected void addToQueue(Runnable task, @Nullable CompletableFuture<Boolean> result) {
+        long enqueuedAt = System.nanoTime();
+        stats.enqueued();
+        processQueue.add(() -> {
+            try {
+                task.run();
+            } finally {
+                stats.committed(System.nanoTime() - enqueuedAt, plugin.getSettings().getDatabaseSlowOperationThreshold());
+                if (result != null && Boolean.FALSE.equals(result.getNow(null))) {
+                    stats.failed();
+                }
+            }
+        });
+    }
+
+    /**
+     * Records a save or delete operation that is run outside of the async queue in the statistics of this type
+     * @param result - result of the operation, completed when the operation has been committed
+     * @since 1.14.0
+     */
+    protected void trackOperation(CompletableFuture<Boolean> result) {
+        long enqueuedAt = System.nanoTime();
+        stats.enqueued();
+        result.whenComplete((saved, ex) -> {
+            stats.committed(System.nanoTime() - enqueuedAt, plugin.getSettings().getDatabaseSlowOperationThreshold());
+            if (ex != null || !Boolean.TRUE.equals(saved)) {
+                stats.failed();
+            }
+        });
+    }
+
+    /**
+     * Serializes an object and records the time taken and size in the statistics of this type
+     * @param instance - object to serialize
+     * @param serializer - serializer to use
+     * @return serialized object
+     * @since 1.14.0
+     */
+    protected String timeSerialization(T instance, Function<T, String> serializer) {
+        long start = System.nanoTime();
+        String result = serializer.apply(instance);
+        stats.serialized(System.nanoTime() - start, result);
+        return result;
+    }
+
+    /**
+     * Logs a warning if the statistics of this type crossed the thresholds set in the config
+     * @param lastCheck - time of the previous check in milliseconds
+     * @return time of the last check in milliseconds
+     */
+    private long checkStats(long lastCheck) {
+        long now = System.currentTimeMillis();
+        if (now - lastCheck < STATS_CHECK_PERIOD) {
+            return lastCheck;
+        }
+        String warning = stats.checkThresholds(plugin.getSettings().getDatabaseQueueWarningSize(),
+                plugin.getSettings().getDatabaseSlowOperationThreshold());
+        if (warning != null) {
+            plugin.logWarning(warning);
+        }
+        return now;
+    }
+
+    /**
+     * @return the persistence statistics of the type stored by this handler
+     * @since 1.14.0
+     */
+    public DatabaseStats getStats() {
+        return stats;
+    }
 
     /**
      * Loads all the records in this table and returns a list of them
@@ -130,6 +228,17 @@ public abstract class AbstractDatabaseHandler<T> {
      */
     public abstract List<T> loadObjects() throws InstantiationException, IllegalAccessException, InvocationTargetException, ClassNotFoundException, IntrospectionException, NoSuchMethodException;
 
+    /**
+     * Loads all the records in this table with only the given fields filled in.
+     * Databases that cannot load part of a record load the whole record, so this is only an optimization.
+     * @param fields - names of the fields to load. The uniqueId is always loaded.
+     * @return list of <T>
+     * @since 1.14.0
+     */
+    public List<T> loadObjects(@NonNull Collection<String> fields) throws InstantiationException, IllegalAccessException, InvocationTargetException, ClassNotFoundException, IntrospectionException, NoSuchMethodException {
+        return loadObjects();
+    }
+
     /**
      * Creates a <T> filled with values from the corresponding
      * database file
@@ -146,6 +255,39 @@ public abstract class AbstractDatabaseHandler<T> {
      */
     public abstract CompletableFuture<Boolean> saveObject(T instance) throws IllegalAccessException, InvocationTargetException, IntrospectionException ;
 
+    /**
+     * Save a number of objects into the corresponding database.
+     * By default, each object is saved on its own. Databases that support bulk writes save them together.
+     *
+     * @param instances that should be inserted into the database
+     * @return a future that completes with true if all the objects were saved
+     * @since 1.14.0
+     */
+    public CompletableFuture<Boolean> saveObjects(Collection<T> instances) throws IllegalAccessException, InvocationTargetException, IntrospectionException {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(instances.size());
+        for (T instance : instances) {
+            try {
+                futures.add(saveObject(instance));
+            } catch (Exception e) {
+                // Keep saving the other objects
+                plugin.logError("Could not save object " + dataObject.getSimpleName() + " " + e.getMessage());
+                futures.add(CompletableFuture.completedFuture(false));
+            }
+        }
+        return allSaved(futures);
+    }
+
+    /**
+     * Combines the results of several saves
+     * @param futures - results of the saves
+     * @return a future that completes with true when all the saves completed with true
+     * @since 1.14.0
+     */
+    protected static CompletableFuture<Boolean> allSaved(List<CompletableFuture<Boolean>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> futures.stream().allMatch(f -> Boolean.TRUE.equals(f.join())));
+    }
+
     /**
      * Deletes the object with the unique id from the database. If the object does not exist, it will fail silently.
      * Use {@link #objectExists(String)} if you need to know if the object is in the database beforehand.
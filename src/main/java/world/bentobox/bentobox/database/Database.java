@@ -3,6 +3,7 @@ package world.bentobox.bentobox.database;
 import java.beans.IntrospectionException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
@@ -62,6 +63,26 @@ public class Database<T> {
         return result;
     }
 
+    /**
+     * Load all the objects with only some of their fields filled in.
+     * Databases that cannot load part of an object load the whole object.
+     * @param fields - names of the fields to load. The uniqueId is always loaded.
+     * @return list of objects or an empty list if they cannot be loaded
+     * @since 1.14.0
+     */
+    @NonNull
+    public List<T> loadObjects(@NonNull Collection<String> fields) {
+        List<T> result = new ArrayList<>();
+        try {
+            result = handler.loadObjects(fields);
+        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException | ClassNotFoundException | IntrospectionException
+                | NoSuchMethodException | SecurityException e) {
+            logger.severe(() -> "Could not load objects from database! Error: " + e.getMessage());
+        }
+        return result;
+    }
+
     /**
      * Loads the config object
      * @param uniqueId - unique id of the object
@@ -98,6 +119,22 @@ public class Database<T> {
         }
     }
 
+    /**
+     * Save a number of objects async. Databases that support bulk writes save them together.
+     * @param instances to save
+     * @return true if all the objects were saved. If async, errors may occur later.
+     * @since 1.14.0
+     */
+    public CompletableFuture<Boolean> saveObjectsAsync(Collection<T> instances) {
+        try {
+            return handler.saveObjects(instances);
+        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException | SecurityException
+                | IntrospectionException e) {
+            logger.severe(() -> "Could not save objects to database! Error: " + e.getMessage());
+            return new CompletableFuture<>();
+        }
+    }
+
     /**
      * Save object. Saving may be done async or sync, depending on the underlying database.
      * @param instance to save
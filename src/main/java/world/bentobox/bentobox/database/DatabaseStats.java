@@ -0,0 +1,270 @@
+package world.bentobox.bentobox.database;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Keeps runtime statistics about the persistence of one data object type (a table in database terminology).
+ * Statistics are shared by every handler that stores the same type, so they survive handlers being recreated.
+ * All the methods are thread-safe as they are called from the async save queue as well as from the main thread.
+ *
+ * @since 1.14.0
+ */
+public class DatabaseStats {
+
+    private static final Map<String, DatabaseStats> STATS = new ConcurrentHashMap<>();
+
+    /**
+     * Upper bounds of the latency histogram buckets in milliseconds. The last bucket holds everything above.
+     */
+    private static final long[] BUCKETS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 5000};
+
+    private final String tableName;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder serializations = new LongAdder();
+    private final LongAdder serializationNanos = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(BUCKETS.length + 1);
+
+    // Values since the last periodic report
+    private final AtomicLong windowMaxLatencyNanos = new AtomicLong();
+    private final AtomicInteger windowSlowOperations = new AtomicInteger();
+
+    private DatabaseStats(String tableName) {
+        this.tableName = tableName;
+    }
+
+    /**
+     * Get the statistics for a table, creating them if required
+     * @param tableName - name of the table, usually the canonical name of the data object class
+     * @return statistics for this table
+     */
+    @NonNull
+    public static DatabaseStats getStats(@NonNull String tableName) {
+        return STATS.computeIfAbsent(tableName, DatabaseStats::new);
+    }
+
+    /**
+     * @return statistics of all the tables that have been used since startup, sorted by table name
+     */
+    @NonNull
+    public static List<DatabaseStats> getAllStats() {
+        List<DatabaseStats> list = new ArrayList<>(STATS.values());
+        list.sort(Comparator.comparing(DatabaseStats::getTableName));
+        return list;
+    }
+
+    /**
+     * Record that an operation has been added to the save queue
+     */
+    public void enqueued() {
+        enqueued.increment();
+        queueDepth.incrementAndGet();
+    }
+
+    /**
+     * Record that an operation left the save queue and finished
+     * @param latencyNanos - time between the operation being queued and it being committed, in nanoseconds
+     * @param slowThresholdMillis - operations slower than this are counted as slow. 0 or less to disable.
+     */
+    public void committed(long latencyNanos, long slowThresholdMillis) {
+        queueDepth.decrementAndGet();
+        committed.increment();
+        totalLatencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+        windowMaxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+        long millis = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+        int bucket = 0;
+        while (bucket < BUCKETS.length && millis > BUCKETS[bucket]) {
+            bucket++;
+        }
+        latencyHistogram.incrementAndGet(bucket);
+        if (slowThresholdMillis > 0 && millis >= slowThresholdMillis) {
+            windowSlowOperations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Record the serialization of an object
+     * @param nanos - time taken to serialize the object in nanoseconds
+     * @param data - serialized data that will be written
+     */
+    public void serialized(long nanos, String data) {
+        serializations.increment();
+        serializationNanos.add(nanos);
+        bytesWritten.add(utf8Length(data));
+    }
+
+    /**
+     * Record a failed save or delete
+     */
+    public void failed() {
+        failures.increment();
+    }
+
+    /**
+     * Record an operation being tried again after a failure
+     */
+    public void retried() {
+        retries.increment();
+    }
+
+    /**
+     * Checks the current queue and latency against the thresholds and returns a warning if any is crossed.
+     * Resets the values collected since the previous check.
+     * @param queueWarningSize - queue depth that triggers a warning. 0 or less to disable.
+     * @param slowThresholdMillis - latency that triggers a warning. 0 or less to disable.
+     * @return warning message or null if nothing needs to be reported
+     */
+    public String checkThresholds(int queueWarningSize, long slowThresholdMillis) {
+        long windowMax = TimeUnit.NANOSECONDS.toMillis(windowMaxLatencyNanos.getAndSet(0));
+        int slow = windowSlowOperations.getAndSet(0);
+        int depth = getQueueDepth();
+        boolean queueWarning = queueWarningSize > 0 && depth >= queueWarningSize;
+        boolean slowWarning = slowThresholdMillis > 0 && slow > 0;
+        if (!queueWarning && !slowWarning) {
+            return null;
+        }
+        return "Database " + tableName + ": " + depth + " operations queued, " + slow
+                + " slow operations, slowest took " + windowMax + " ms (failures: " + getFailures() + ", retries: " + getRetries() + ")";
+    }
+
+    /**
+     * Get an approximate latency percentile from the histogram
+     * @param percentile - percentile between 0 and 100
+     * @return upper bound of the histogram bucket holding the percentile in milliseconds,
+     * or the maximum latency if it is above the last bucket
+     */
+    public long getLatencyPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < latencyHistogram.length(); i++) {
+            total += latencyHistogram.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long)Math.ceil(total * percentile / 100D);
+        long count = 0;
+        for (int i = 0; i < BUCKETS.length; i++) {
+            count += latencyHistogram.get(i);
+            if (count >= target) {
+                return BUCKETS[i];
+            }
+        }
+        return getMaxLatency();
+    }
+
+    /**
+     * @return the tableName
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * @return number of operations waiting in the save queue
+     */
+    public int getQueueDepth() {
+        return Math.max(0, queueDepth.get());
+    }
+
+    /**
+     * @return number of operations that have been queued
+     */
+    public long getEnqueued() {
+        return enqueued.sum();
+    }
+
+    /**
+     * @return number of operations that have been run
+     */
+    public long getCommitted() {
+        return committed.sum();
+    }
+
+    /**
+     * @return number of failed operations
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * @return number of retried operations
+     */
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /**
+     * @return number of bytes of serialized data written
+     */
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    /**
+     * @return average enqueue-to-commit latency in milliseconds
+     */
+    public double getAverageLatency() {
+        long count = committed.sum();
+        return count == 0 ? 0D : totalLatencyNanos.sum() / (double)count / 1_000_000D;
+    }
+
+    /**
+     * @return maximum enqueue-to-commit latency since startup in milliseconds
+     */
+    public long getMaxLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
+    }
+
+    /**
+     * @return average serialization time in milliseconds
+     */
+    public double getAverageSerializationTime() {
+        long count = serializations.sum();
+        return count == 0 ? 0D : serializationNanos.sum() / (double)count / 1_000_000D;
+    }
+
+    /**
+     * Counts the number of bytes of the UTF-8 representation of the string without encoding it
+     * @param s - string
+     * @return number of bytes
+     */
+    static long utf8Length(String s) {
+        if (s == null) {
+            return 0;
+        }
+        long count = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                count++;
+            } else if (c < 0x800) {
+                count += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                count += 4;
+                i++;
+            } else {
+                count += 3;
+            }
+        }
+        return count;
+    }
+}
@@ -124,10 +124,10 @@ public class JSONDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
             tableFolder.mkdirs();
         }
 
-        String toStore = getGson().toJson(instance);
+        String toStore = timeSerialization(instance, getGson()::toJson);
         if (plugin.isEnabled()) {
             // Async
-            processQueue.add(() -> store(completableFuture, toStore, file, tableFolder, fileName));
+            addToQueue(() -> store(completableFuture, toStore, file, tableFolder, fileName), completableFuture);
         } else {
             // Sync
             store(completableFuture, toStore, file, tableFolder, fileName);
@@ -157,7 +157,7 @@ public class JSONDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
     @Override
     public void deleteID(String uniqueId) {
         if (plugin.isEnabled()) {
-            processQueue.add(() -> delete(uniqueId));
+            addToQueue(() -> delete(uniqueId), null);
         } else {
             delete(uniqueId);
         }
@@ -1,22 +1,36 @@
 package world.bentobox.bentobox.database.mongodb;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
 
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.bukkit.Bukkit;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 
 import com.google.gson.Gson;
 import com.mongodb.MongoClientException;
+import com.mongodb.MongoException;
 import com.mongodb.MongoNamespace;
 import com.mongodb.MongoTimeoutException;
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
-import com.mongodb.client.model.FindOneAndReplaceOptions;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.util.JSON;
 
 import world.bentobox.bentobox.BentoBox;
@@ -38,10 +52,24 @@ public class MongoDBDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
 
     private static final String UNIQUEID = "uniqueId";
     private static final String MONGO_ID = "_id";
+    /**
+     * Maximum number of writes sent to the database in one bulk write
+     */
+    private static final int BATCH_SIZE = 500;
+    /**
+     * Fields that are indexed if the data object has them. These are the fields islands are searched by.
+     */
+    private static final String[] INDEXED_FIELDS = {"owner", "world", "center"};
 
     private MongoCollection<Document> collection;
     private DatabaseConnector dbConnecter;
 
+    /**
+     * Writes waiting to be sent to the database in the next bulk write.
+     * They are written before anything is read, so that reads never miss a save.
+     */
+    private final Queue<PendingWrite> pendingWrites = new ConcurrentLinkedQueue<>();
+
     /**
      * Handles the connection to the database and creation of the initial database schema (tables) for
      * the class that will be stored.
@@ -72,6 +100,7 @@ public class MongoDBDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
                 }
                 IndexOptions indexOptions = new IndexOptions().unique(true);
                 collection.createIndex(Indexes.text(UNIQUEID), indexOptions);
+                createIndexes();
             }
         } catch (MongoTimeoutException e) {
             plugin.logError("Could not connect to the database. MongoDB timed out.");
@@ -90,6 +119,27 @@ public class MongoDBDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
         }
     }
 
+    /**
+     * Creates indexes on the fields that objects are commonly searched by, if the data object has them.
+     * Creating an index that already exists does nothing.
+     */
+    private void createIndexes() {
+        for (String field : INDEXED_FIELDS) {
+            if (hasField(field)) {
+                collection.createIndex(Indexes.ascending(field));
+            }
+        }
+    }
+
+    private boolean hasField(String field) {
+        try {
+            dataObject.getDeclaredField(field);
+            return true;
+        } catch (NoSuchFieldException e) {
+            return false;
+        }
+    }
+
     private boolean collectionExists(MongoDatabase database, final String collectionName) {
         for (final String name : database.listCollectionNames()) {
             if (name.equalsIgnoreCase(collectionName)) {
@@ -109,9 +159,26 @@ public class MongoDBDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
 
     @Override
     public List<T> loadObjects() {
+        flush();
+        return load(collection.find(new Document()));
+    }
+
+    /**
+     * Loads the objects with only the given fields. Only these fields are sent by the database.
+     * @param fields - names of the fields to load. The uniqueId is always loaded.
+     * @return list of partially loaded objects
+     */
+    @Override
+    public List<T> loadObjects(@NonNull Collection<String> fields) {
+        List<String> projection = fields.stream().map(f -> f.equals(UNIQUEID) ? MONGO_ID : f).collect(Collectors.toList());
+        flush();
+        return load(collection.find(new Document()).projection(Projections.include(projection)));
+    }
+
+    private List<T> load(FindIterable<Document> documents) {
         List<T> list = new ArrayList<>();
         Gson gson = getGson();
-        for (Document document : collection.find(new Document())) {
+        for (Document document : documents) {
             // The deprecated serialize option does not have a viable alternative without involving a huge amount of custom code
             String json = JSON.serialize(document);
             json = json.replaceFirst(MONGO_ID, UNIQUEID);
@@ -126,6 +193,7 @@ public class MongoDBDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
 
     @Override
     public T loadObject(String uniqueId) {
+        flush();
         Document doc = collection.find(new Document(MONGO_ID, uniqueId)).limit(1).first();
         Gson gson = getGson();
         String json = JSON.serialize(doc).replaceFirst(MONGO_ID, UNIQUEID);
@@ -147,10 +215,43 @@ public class MongoDBDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
             completableFuture.complete(false);
             return completableFuture;
         }
+        if (addSave(instance, completableFuture)) {
+            scheduleFlush(completableFuture);
+        }
+        return completableFuture;
+    }
+
+    /**
+     * Saves the objects using as few bulk writes as possible
+     */
+    @Override
+    public CompletableFuture<Boolean> saveObjects(Collection<T> instances) {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(instances.size());
+        for (T instance : instances) {
+            CompletableFuture<Boolean> completableFuture = new CompletableFuture<>();
+            futures.add(completableFuture);
+            if (!(instance instanceof DataObject)) {
+                plugin.logError("MongoDB database request to store a null or an object that is not a DataObject.");
+                completableFuture.complete(false);
+            } else {
+                addSave(instance, completableFuture);
+            }
+        }
+        CompletableFuture<Boolean> result = allSaved(futures);
+        scheduleFlush(result);
+        return result;
+    }
+
+    /**
+     * Serializes the object and adds it to the pending writes
+     * @param instance - object to save
+     * @param completableFuture - completed when the object is written
+     * @return true if the object was added, false if it could not be serialized
+     */
+    private boolean addSave(T instance, CompletableFuture<Boolean> completableFuture) {
         DataObject dataObj = (DataObject)instance;
         try {
-            Gson gson = getGson();
-            String toStore = gson.toJson(instance);
+            String toStore = timeSerialization(instance, getGson()::toJson);
             // Change uniqueId to _id
             toStore = toStore.replaceFirst(UNIQUEID, MONGO_ID);
             // This parses JSON to a Mongo Document
@@ -158,23 +259,70 @@ public class MongoDBDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
             // Filter based on the id
             Bson filter = new Document(MONGO_ID, dataObj.getUniqueId());
             // Set the options to upsert (update or insert if doc is not there)
-            FindOneAndReplaceOptions options = new FindOneAndReplaceOptions().upsert(true);
-            // Do the deed
-            collection.findOneAndReplace(filter, document, options);
-            completableFuture.complete(true);
+            pendingWrites.add(new PendingWrite(new ReplaceOneModel<>(filter, document, new ReplaceOptions().upsert(true)),
+                    completableFuture, dataObj.getUniqueId()));
+            return true;
         } catch (Exception e) {
             plugin.logError("Could not save object " + instance.getClass().getName() + " " + e.getMessage());
             completableFuture.complete(false);
+            return false;
         }
-        return completableFuture;
     }
 
     @Override
     public void deleteID(String uniqueId) {
+        pendingWrites.add(new PendingWrite(new DeleteOneModel<>(new Document(MONGO_ID, uniqueId)), null, uniqueId));
+        scheduleFlush(null);
+    }
+
+    /**
+     * Flushes the pending writes from the async queue, or straight away if the plugin is disabled.
+     * When the queue is drained, the first flush writes all the pending writes in bulk and the following ones have nothing to do.
+     * @param result - result of the write, used for statistics. May be null.
+     */
+    private void scheduleFlush(@Nullable CompletableFuture<Boolean> result) {
+        if (plugin.isEnabled() && processQueue != null) {
+            addToQueue(this::flush, result);
+        } else {
+            flush();
+        }
+    }
+
+    /**
+     * Sends all the pending writes to the database in bulk writes of up to {@link #BATCH_SIZE} writes.
+     * If another thread is flushing, this waits for it to finish, so the writes it took are in the database when this returns.
+     */
+    private synchronized void flush() {
+        while (!pendingWrites.isEmpty()) {
+            List<PendingWrite> batch = new ArrayList<>();
+            PendingWrite write;
+            while (batch.size() < BATCH_SIZE && (write = pendingWrites.poll()) != null) {
+                batch.add(write);
+            }
+            write(batch);
+        }
+    }
+
+    private void write(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
         try {
-            collection.findOneAndDelete(new Document(MONGO_ID, uniqueId));
-        } catch (Exception e) {
-            plugin.logError("Could not delete object " + getName(plugin, dataObject) + " " + uniqueId + " " + e.getMessage());
+            // Writes are ordered so that a save followed by a delete of the same object keeps working
+            collection.bulkWrite(batch.stream().map(w -> w.model).collect(Collectors.toList()), new BulkWriteOptions().ordered(true));
+            batch.forEach(w -> w.complete(true));
+        } catch (MongoException e) {
+            // Find out which writes failed by doing them one by one. Writes that succeeded are idempotent.
+            stats.retried();
+            for (PendingWrite w : batch) {
+                try {
+                    collection.bulkWrite(Collections.singletonList(w.model));
+                    w.complete(true);
+                } catch (MongoException ex) {
+                    plugin.logError("Could not write object " + getName(plugin, dataObject) + " " + w.uniqueId + " " + ex.getMessage());
+                    w.complete(false);
+                }
+            }
         }
     }
 
@@ -194,11 +342,36 @@ public class MongoDBDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
 
     @Override
     public boolean objectExists(String uniqueId) {
+        flush();
         return collection.find(new Document(MONGO_ID, uniqueId)).first() != null;
     }
 
     @Override
     public void close() {
+        // Write anything that is still waiting
+        flush();
         dbConnecter.closeConnection(dataObject);
     }
+
+    /**
+     * A save or delete waiting to be sent in a bulk write
+     */
+    private static class PendingWrite {
+        private final WriteModel<Document> model;
+        @Nullable
+        private final CompletableFuture<Boolean> future;
+        private final String uniqueId;
+
+        PendingWrite(WriteModel<Document> model, @Nullable CompletableFuture<Boolean> future, String uniqueId) {
+            this.model = model;
+            this.future = future;
+            this.uniqueId = uniqueId;
+        }
+
+        void complete(boolean result) {
+            if (future != null) {
+                future.complete(result);
+            }
+        }
+    }
 }
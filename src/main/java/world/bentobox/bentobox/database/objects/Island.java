@@ -8,9 +8,11 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -42,6 +44,7 @@ import world.bentobox.bentobox.database.objects.adapters.LogEntryListAdapter;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.RanksManager;
+import world.bentobox.bentobox.managers.island.OccupancyIndex;
 import world.bentobox.bentobox.util.Pair;
 import world.bentobox.bentobox.util.Util;
 
@@ -619,8 +622,8 @@ public class Island implements DataObject {
      */
     @NonNull
     public List<Player> getVisitors() {
-        return Bukkit.getOnlinePlayers().stream()
-                .filter(player -> onIsland(player.getLocation()) && getRank(User.getInstance(player)) == RanksManager.VISITOR_RANK)
+        return playersOnIsland()
+                .filter(player -> getRank(User.getInstance(player)) == RanksManager.VISITOR_RANK)
                 .collect(Collectors.toList());
     }
 
@@ -633,7 +636,7 @@ public class Island implements DataObject {
      * @see #getVisitors()
      */
     public boolean hasVisitors() {
-        return Bukkit.getOnlinePlayers().stream().anyMatch(player -> onIsland(player.getLocation()) && getRank(User.getInstance(player)) == RanksManager.VISITOR_RANK);
+        return playersOnIsland().anyMatch(player -> getRank(User.getInstance(player)) == RanksManager.VISITOR_RANK);
     }
 
     /**
@@ -643,9 +646,7 @@ public class Island implements DataObject {
      */
     @NonNull
     public List<Player> getPlayersOnIsland() {
-        return Bukkit.getOnlinePlayers().stream()
-                .filter(player -> onIsland(player.getLocation()))
-                .collect(Collectors.toList());
+        return playersOnIsland().collect(Collectors.toList());
     }
 
     /**
@@ -657,7 +658,33 @@ public class Island implements DataObject {
      * @see #getPlayersOnIsland()
      */
     public boolean hasPlayersOnIsland() {
-        return Bukkit.getOnlinePlayers().stream().anyMatch(player -> onIsland(player.getLocation()));
+        OccupancyIndex occupancy = getOccupancy();
+        if (occupancy == null) {
+            return Bukkit.getOnlinePlayers().stream().anyMatch(player -> onIsland(player.getLocation()));
+        }
+        return occupancy.hasOccupants(this);
+    }
+
+    /**
+     * Gets the players inside this island's protection range from the occupancy index,
+     * or by checking every online player if the index is not available.
+     * @return stream of players
+     */
+    private Stream<Player> playersOnIsland() {
+        OccupancyIndex occupancy = getOccupancy();
+        if (occupancy == null) {
+            return Bukkit.getOnlinePlayers().stream().filter(player -> onIsland(player.getLocation()));
+        }
+        return occupancy.getOccupants(this).stream().map(Bukkit::getPlayer).filter(Objects::nonNull);
+    }
+
+    /**
+     * @return the index of the players on islands, or null if the islands are not managed yet
+     */
+    @Nullable
+    private OccupancyIndex getOccupancy() {
+        BentoBox plugin = BentoBox.getInstance();
+        return plugin == null || plugin.getIslands() == null ? null : plugin.getIslands().getOccupancy();
     }
 
     /**
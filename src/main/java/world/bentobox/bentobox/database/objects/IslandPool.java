@@ -0,0 +1,77 @@
+package world.bentobox.bentobox.database.objects;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.annotations.Expose;
+
+/**
+ * Stores the islands of a game mode that were made ahead of time and are waiting for a player
+ * @since 1.14.0
+ */
+@Table(name = "IslandPool")
+public class IslandPool implements DataObject {
+
+    @Expose
+    private String uniqueId = ""; // game mode name
+    /**
+     * Unique ids of the islands that are pasted and ready to be given to players
+     */
+    @Expose
+    private List<String> islands = new ArrayList<>();
+    /**
+     * Unique ids of the islands that are being pasted
+     */
+    @Expose
+    private List<String> pending = new ArrayList<>();
+
+    public IslandPool() {}
+
+    public IslandPool(String gameMode) {
+        this.uniqueId = gameMode;
+    }
+
+    @Override
+    public String getUniqueId() {
+        return uniqueId;
+    }
+
+    @Override
+    public void setUniqueId(String uniqueId) {
+        this.uniqueId = uniqueId;
+    }
+
+    /**
+     * @return the unique ids of the islands that are ready
+     */
+    public List<String> getIslands() {
+        if (islands == null) {
+            islands = new ArrayList<>();
+        }
+        return islands;
+    }
+
+    /**
+     * @param islands the unique ids of the islands that are ready
+     */
+    public void setIslands(List<String> islands) {
+        this.islands = islands;
+    }
+
+    /**
+     * @return the unique ids of the islands that are being pasted
+     */
+    public List<String> getPending() {
+        if (pending == null) {
+            pending = new ArrayList<>();
+        }
+        return pending;
+    }
+
+    /**
+     * @param pending the unique ids of the islands that are being pasted
+     */
+    public void setPending(List<String> pending) {
+        this.pending = pending;
+    }
+}
@@ -52,6 +52,8 @@ public abstract class SQLDatabaseConnector implements DatabaseConnector {
             } catch (SQLException e) {
                 Bukkit.getLogger().severe("Could not close database connection");
             }
+            // A new connection is made the next time one is needed
+            connection = null;
         }
     }
 
@@ -5,10 +5,14 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.Bukkit;
@@ -46,6 +50,12 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
      */
     private SQLConfiguration sqlConfig;
 
+    /**
+     * Prepared statements kept for the lifetime of this handler, by SQL string.
+     * Each statement is only used by one thread at a time by synchronizing on it.
+     */
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
     /**
      * Handles the connection to the database and creation of the initial database schema (tables) for
      * the class that will be stored.
@@ -134,19 +144,23 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
 
     @Override
     public T loadObject(@NonNull String uniqueId) {
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sqlConfig.getLoadObjectSQL())) {
-            // UniqueId needs to be placed in quotes
-            preparedStatement.setString(1, "\"" + uniqueId + "\"");
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    // If there is a result, we only want/need the first one
-                    Gson gson = getGson();
-                    return gson.fromJson(resultSet.getString("json"), dataObject);
+        try {
+            PreparedStatement preparedStatement = getPreparedStatement(sqlConfig.getLoadObjectSQL());
+            synchronized (preparedStatement) {
+                // UniqueId needs to be placed in quotes
+                preparedStatement.setString(1, "\"" + uniqueId + "\"");
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        // If there is a result, we only want/need the first one
+                        Gson gson = getGson();
+                        return gson.fromJson(resultSet.getString("json"), dataObject);
+                    }
+                } catch (Exception e) {
+                    plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
                 }
-            } catch (Exception e) {
-                plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
             }
         } catch (SQLException e) {
+            discardPreparedStatement(sqlConfig.getLoadObjectSQL());
             plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
         }
         return null;
@@ -167,19 +181,38 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
             return completableFuture;
         }
         // This has to be on the main thread to avoid concurrent modification errors
-        String toStore = getGson().toJson(instance);
+        String toStore = timeSerialization(instance, getGson()::toJson);
         // Async
-        processQueue.add(() -> store(completableFuture, instance.getClass().getName(), toStore, sqlConfig.getSaveObjectSQL()));
+        addToQueue(() -> store(completableFuture, instance.getClass().getName(), toStore, sqlConfig.getSaveObjectSQL()), completableFuture);
         return completableFuture;
     }
 
     private void store(CompletableFuture<Boolean> completableFuture, String name, String toStore, String sb) {
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sb)) {
-            preparedStatement.setString(1, toStore);
-            preparedStatement.setString(2, toStore);
-            preparedStatement.execute();
+        store(completableFuture, name, toStore, sb, true);
+    }
+
+    private void store(CompletableFuture<Boolean> completableFuture, String name, String toStore, String sb, boolean retry) {
+        try {
+            PreparedStatement preparedStatement = getPreparedStatement(sb);
+            synchronized (preparedStatement) {
+                preparedStatement.setString(1, toStore);
+                preparedStatement.setString(2, toStore);
+                preparedStatement.execute();
+            }
             completableFuture.complete(true);
+        } catch (SQLTransientException | SQLRecoverableException e) {
+            // The statement may belong to a connection that has been reset
+            discardPreparedStatement(sb);
+            if (retry) {
+                // The connection may have been reset by the server, so try once more
+                stats.retried();
+                store(completableFuture, name, toStore, sb, false);
+            } else {
+                plugin.logError("Could not save object " + name + " " + e.getMessage());
+                completableFuture.complete(false);
+            }
         } catch (SQLException e) {
+            discardPreparedStatement(sb);
             plugin.logError("Could not save object " + name + " " + e.getMessage());
             completableFuture.complete(false);
         }
@@ -190,15 +223,19 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
      */
     @Override
     public void deleteID(String uniqueId) {
-        processQueue.add(() -> delete(uniqueId));
+        addToQueue(() -> delete(uniqueId), null);
     }
 
     private void delete(String uniqueId) {
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sqlConfig.getDeleteObjectSQL())) {
-            // UniqueId needs to be placed in quotes
-            preparedStatement.setString(1, "\"" + uniqueId + "\"");
-            preparedStatement.execute();
+        try {
+            PreparedStatement preparedStatement = getPreparedStatement(sqlConfig.getDeleteObjectSQL());
+            synchronized (preparedStatement) {
+                // UniqueId needs to be placed in quotes
+                preparedStatement.setString(1, "\"" + uniqueId + "\"");
+                preparedStatement.execute();
+            }
         } catch (Exception e) {
+            discardPreparedStatement(sqlConfig.getDeleteObjectSQL());
             plugin.logError("Could not delete object " + plugin.getSettings().getDatabasePrefix() + dataObject.getCanonicalName() + " " + uniqueId + " " + e.getMessage());
         }
     }
@@ -225,15 +262,19 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
     @Override
     public boolean objectExists(String uniqueId) {
         // Query to see if this key exists
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sqlConfig.getObjectExistsSQL())) {
-            // UniqueId needs to be placed in quotes
-            preparedStatement.setString(1, "\"" + uniqueId + "\"");
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    return resultSet.getBoolean(1);
+        try {
+            PreparedStatement preparedStatement = getPreparedStatement(sqlConfig.getObjectExistsSQL());
+            synchronized (preparedStatement) {
+                // UniqueId needs to be placed in quotes
+                preparedStatement.setString(1, "\"" + uniqueId + "\"");
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return resultSet.getBoolean(1);
+                    }
                 }
             }
         } catch (SQLException e) {
+            discardPreparedStatement(sqlConfig.getObjectExistsSQL());
             plugin.logError("Could not check if key exists in database! " + uniqueId + " " + e.getMessage());
         }
         return false;
@@ -242,6 +283,55 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
     @Override
     public void close() {
         shutdown = true;
+        closePreparedStatements();
+    }
+
+    /**
+     * Get a prepared statement for this SQL, preparing it only the first time it is used.
+     * Callers must synchronize on the statement while setting parameters and executing it,
+     * as the same statement is used from the main thread and from the async save queue.
+     * @param sql - SQL string
+     * @return prepared statement
+     * @throws SQLException if the statement cannot be prepared
+     * @since 1.14.0
+     */
+    protected synchronized PreparedStatement getPreparedStatement(String sql) throws SQLException {
+        PreparedStatement preparedStatement = statements.get(sql);
+        if (preparedStatement == null || preparedStatement.isClosed()) {
+            preparedStatement = connection.prepareStatement(sql);
+            statements.put(sql, preparedStatement);
+        }
+        return preparedStatement;
+    }
+
+    /**
+     * Closes and forgets a prepared statement after an error so that it is prepared again next time
+     * @param sql - SQL string of the statement
+     * @since 1.14.0
+     */
+    protected synchronized void discardPreparedStatement(String sql) {
+        closePreparedStatement(statements.remove(sql));
+    }
+
+    /**
+     * Closes all the prepared statements of this handler
+     */
+    private synchronized void closePreparedStatements() {
+        statements.values().forEach(this::closePreparedStatement);
+        statements.clear();
+    }
+
+    private void closePreparedStatement(PreparedStatement preparedStatement) {
+        if (preparedStatement == null) {
+            return;
+        }
+        synchronized (preparedStatement) {
+            try {
+                preparedStatement.close();
+            } catch (SQLException e) {
+                // Nothing can be done about it
+            }
+        }
     }
 
     /**
@@ -9,13 +9,22 @@ import world.bentobox.bentobox.database.sql.SQLDatabaseConnector;
  */
 public class MariaDBDatabaseConnector extends SQLDatabaseConnector {
 
+    /**
+     * Driver options for statements. Prepared statements are cached by the driver and on the server,
+     * and batches are rewritten into multi-row statements.
+     * @since 1.14.0
+     */
+    private static final String STATEMENT_OPTIONS = "&cachePrepStmts=true&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048"
+            + "&useServerPrepStmts=true&rewriteBatchedStatements=true";
+
     /**
      * Class for MariaDB database connections using the settings provided
      * @param dbSettings - database settings
      */
     MariaDBDatabaseConnector(DatabaseConnectionSettingsImpl dbSettings) {
         super(dbSettings, "jdbc:mysql://" + dbSettings.getHost() + ":" + dbSettings.getPort() + "/" + dbSettings.getDatabaseName()
-        + "?autoReconnect=true&useSSL=" + dbSettings.isUseSSL() + "&allowMultiQueries=true&useUnicode=true&characterEncoding=UTF-8");
+        + "?autoReconnect=true&useSSL=" + dbSettings.isUseSSL() + "&allowMultiQueries=true&useUnicode=true&characterEncoding=UTF-8"
+        + STATEMENT_OPTIONS);
     }
 
 }
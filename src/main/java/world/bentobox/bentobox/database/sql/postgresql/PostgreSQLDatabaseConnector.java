@@ -12,6 +12,13 @@ import world.bentobox.bentobox.database.sql.SQLDatabaseConnector;
  */
 public class PostgreSQLDatabaseConnector extends SQLDatabaseConnector {
 
+    /**
+     * Driver options for statements. Statements become server-side prepared statements on first use
+     * and batched inserts are rewritten into multi-row inserts.
+     * @since 1.14.0
+     */
+    private static final String STATEMENT_OPTIONS = "&prepareThreshold=1&preparedStatementCacheQueries=256&reWriteBatchedInserts=true";
+
     /*
      * Ensure the driver is loaded as JDBC Driver might be invisible to Java's ServiceLoader.
      * Usually, this is not required as {@link DriverManager} detects JDBC drivers
@@ -29,6 +36,7 @@ public class PostgreSQLDatabaseConnector extends SQLDatabaseConnector {
      */
     PostgreSQLDatabaseConnector(@NonNull DatabaseConnectionSettingsImpl dbSettings) {
         super(dbSettings, "jdbc:postgresql://" + dbSettings.getHost() + ":" + dbSettings.getPort() + "/" + dbSettings.getDatabaseName()
-        + "?autoReconnect=true&useSSL=" + dbSettings.isUseSSL() + "&allowMultiQueries=true&useUnicode=true&characterEncoding=UTF-8");
+        + "?autoReconnect=true&useSSL=" + dbSettings.isUseSSL() + "&allowMultiQueries=true&useUnicode=true&characterEncoding=UTF-8"
+        + STATEMENT_OPTIONS);
     }
 }
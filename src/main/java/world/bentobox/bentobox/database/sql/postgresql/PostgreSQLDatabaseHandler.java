@@ -4,8 +4,6 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.concurrent.CompletableFuture;
 
-import com.google.gson.Gson;
-
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.DatabaseConnector;
 import world.bentobox.bentobox.database.objects.DataObject;
@@ -66,21 +64,24 @@ public class PostgreSQLDatabaseHandler<T> extends SQLDatabaseHandler<T> {
             completableFuture.complete(false);
             return completableFuture;
         }
-        Gson gson = getGson();
-        String toStore = gson.toJson(instance);
+        String toStore = timeSerialization(instance, getGson()::toJson);
         String uniqueId = ((DataObject)instance).getUniqueId();
-        processQueue.add(() -> {
-            try (PreparedStatement preparedStatement = getConnection().prepareStatement(getSqlConfig().getSaveObjectSQL())) {
-                preparedStatement.setString(1, uniqueId); // INSERT
-                preparedStatement.setString(2, toStore); // INSERT
-                preparedStatement.setString(3, toStore); // ON CONFLICT
-                preparedStatement.execute();
+        addToQueue(() -> {
+            try {
+                PreparedStatement preparedStatement = getPreparedStatement(getSqlConfig().getSaveObjectSQL());
+                synchronized (preparedStatement) {
+                    preparedStatement.setString(1, uniqueId); // INSERT
+                    preparedStatement.setString(2, toStore); // INSERT
+                    preparedStatement.setString(3, toStore); // ON CONFLICT
+                    preparedStatement.execute();
+                }
                 completableFuture.complete(true);
             } catch (SQLException e) {
+                discardPreparedStatement(getSqlConfig().getSaveObjectSQL());
                 plugin.logError("Could not save object " + instance.getClass().getName() + " " + e.getMessage());
                 completableFuture.complete(false);
             }
-        });
+        }, completableFuture);
         return completableFuture;
     }
 }
@@ -1,8 +1,10 @@
 package world.bentobox.bentobox.database.sql.sqlite;
 
 import java.io.File;
+import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 import org.bukkit.Bukkit;
 import org.eclipse.jdt.annotation.NonNull;
@@ -11,6 +13,12 @@ import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.sql.SQLDatabaseConnector;
 
 /**
+ * Connects to the SQLite database file.
+ * <p>
+ * The database uses write-ahead logging. The connection returned by {@link #createConnection(Class)} is
+ * used for reading, and all the writes go through a single {@link SQLiteWriter} that has its own connection,
+ * so reads are not blocked while objects are being saved.
+ *
  * @since 1.6.0
  * @author Poslovitch
  */
@@ -18,6 +26,18 @@ public class SQLiteDatabaseConnector extends SQLDatabaseConnector {
 
     private static final String DATABASE_FOLDER_NAME = "database";
 
+    /**
+     * Settings applied to every connection. With write-ahead logging, NORMAL synchronous mode only syncs
+     * the log at checkpoints, and a committed transaction can only be lost on a power failure, not a crash.
+     */
+    private static final String[] PRAGMAS = {
+            "PRAGMA journal_mode=WAL",
+            "PRAGMA synchronous=NORMAL",
+            "PRAGMA busy_timeout=5000"
+    };
+
+    private static SQLiteWriter writer = null;
+
     SQLiteDatabaseConnector(@NonNull BentoBox plugin) {
         super(null, ""); // Not used by SQLite
         File dataFolder = new File(plugin.getDataFolder(), DATABASE_FOLDER_NAME);
@@ -36,13 +56,53 @@ public class SQLiteDatabaseConnector extends SQLDatabaseConnector {
     public Object createConnection(Class<?> type) {
         types.add(type);
         // Only make one connection at a time
-        if (connection == null) {
-            try {
-                connection = DriverManager.getConnection(connectionUrl);
-            } catch (SQLException e) {
-                Bukkit.getLogger().severe("Could not connect to the database! " + e.getMessage());
+        try {
+            if (connection == null) {
+                connection = openConnection();
             }
+            if (writer == null) {
+                writer = new SQLiteWriter(openConnection());
+            }
+        } catch (SQLException e) {
+            Bukkit.getLogger().severe("Could not connect to the database! " + e.getMessage());
         }
         return connection;
     }
+
+    /**
+     * Opens a new connection to the database file with the {@link #PRAGMAS} applied
+     * @return connection
+     * @throws SQLException if the database cannot be opened
+     */
+    Connection openConnection() throws SQLException {
+        Connection newConnection = DriverManager.getConnection(connectionUrl);
+        try (Statement statement = newConnection.createStatement()) {
+            for (String pragma : PRAGMAS) {
+                statement.execute(pragma);
+            }
+        }
+        return newConnection;
+    }
+
+    /**
+     * Get the writer that runs all the writes to the database
+     * @return the writer, or null if there is no connection to the database
+     * @since 1.14.0
+     */
+    SQLiteWriter getWriter() {
+        return writer;
+    }
+
+    /* (non-Javadoc)
+     * @see world.bentobox.bentobox.database.sql.SQLDatabaseConnector#closeConnection(java.lang.Class)
+     */
+    @Override
+    public void closeConnection(Class<?> type) {
+        // The queued writes must be committed before the database is closed
+        if (writer != null && types.size() == 1 && types.contains(type)) {
+            writer.close();
+            writer = null;
+        }
+        super.closeConnection(type);
+    }
 }
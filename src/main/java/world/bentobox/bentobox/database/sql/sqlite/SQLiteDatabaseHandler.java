@@ -16,6 +16,9 @@ import world.bentobox.bentobox.database.sql.SQLConfiguration;
 import world.bentobox.bentobox.database.sql.SQLDatabaseHandler;
 
 /**
+ * Saves and deletes go through the {@link SQLiteWriter} of the connector so that they are committed
+ * in batches by a single writer. Loads use the shared reading connection.
+ *
  * @since 1.6.0
  * @author Poslovitch, tastybento
  */
@@ -78,60 +81,73 @@ public class SQLiteDatabaseHandler<T> extends SQLDatabaseHandler<T> {
 
     @Override
     public CompletableFuture<Boolean> saveObject(T instance) {
-        CompletableFuture<Boolean> completableFuture = new CompletableFuture<>();
         // Null check
         if (instance == null) {
             plugin.logError("SQLite database request to store a null. ");
-            completableFuture.complete(false);
-            return completableFuture;
+            return CompletableFuture.completedFuture(false);
         }
         if (!(instance instanceof DataObject)) {
             plugin.logError("This class is not a DataObject: " + instance.getClass().getName());
-            completableFuture.complete(false);
-            return completableFuture;
+            return CompletableFuture.completedFuture(false);
         }
-        Gson gson = getGson();
-        String toStore = gson.toJson(instance);
-        processQueue.add(() -> {
-            try (PreparedStatement preparedStatement = getConnection().prepareStatement(getSqlConfig().getSaveObjectSQL())) {
-                preparedStatement.setString(1, toStore);
-                preparedStatement.setString(2, ((DataObject)instance).getUniqueId());
-                preparedStatement.setString(3, toStore);
-                preparedStatement.execute();
-                completableFuture.complete(true);
-            } catch (SQLException e) {
-                plugin.logError("Could not save object " + instance.getClass().getName() + " " + e.getMessage());
-                completableFuture.complete(false);
-            }
-        });
-        return completableFuture;
+        String toStore = timeSerialization(instance, getGson()::toJson);
+        String uniqueId = ((DataObject)instance).getUniqueId();
+        return write(writer -> {
+            PreparedStatement preparedStatement = writer.getPreparedStatement(getSqlConfig().getSaveObjectSQL());
+            preparedStatement.setString(1, toStore);
+            preparedStatement.setString(2, uniqueId);
+            preparedStatement.setString(3, toStore);
+            preparedStatement.execute();
+        }, "Could not save object " + instance.getClass().getName() + " " + uniqueId);
     }
 
     @Override
     public void deleteID(String uniqueId) {
-        processQueue.add(() -> {
-            try (PreparedStatement preparedStatement = getConnection().prepareStatement(getSqlConfig().getDeleteObjectSQL())) {
-                // UniqueId must *not* be placed in quotes
-                preparedStatement.setString(1, uniqueId);
-                preparedStatement.executeUpdate();
-            } catch (Exception e) {
-                plugin.logError("Could not delete object " + plugin.getSettings().getDatabasePrefix() + dataObject.getCanonicalName() + " " + uniqueId + " " + e.getMessage());
+        write(writer -> {
+            PreparedStatement preparedStatement = writer.getPreparedStatement(getSqlConfig().getDeleteObjectSQL());
+            // UniqueId must *not* be placed in quotes
+            preparedStatement.setString(1, uniqueId);
+            preparedStatement.executeUpdate();
+        }, "Could not delete object " + plugin.getSettings().getDatabasePrefix() + dataObject.getCanonicalName() + " " + uniqueId);
+    }
+
+    /**
+     * Sends a write to the single database writer, which commits it together with the other queued writes
+     * @param write - write to run
+     * @param errorMessage - message logged if the write fails
+     * @return a future that completes with true when the write has been committed
+     */
+    private CompletableFuture<Boolean> write(SQLiteWriter.Write write, String errorMessage) {
+        SQLiteWriter writer = ((SQLiteDatabaseConnector)databaseConnector).getWriter();
+        if (writer == null) {
+            plugin.logError(errorMessage + " no connection");
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Boolean> result = writer.submit(write);
+        trackOperation(result);
+        result.thenAccept(saved -> {
+            if (!Boolean.TRUE.equals(saved)) {
+                plugin.logError(errorMessage);
             }
         });
+        return result;
     }
 
     @Override
     public boolean objectExists(String uniqueId) {
         // Query to see if this key exists
-        try (PreparedStatement preparedStatement = getConnection().prepareStatement(getSqlConfig().getObjectExistsSQL())) {
-            // UniqueId needs to be placed in quotes
-            preparedStatement.setString(1, uniqueId);
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    return resultSet.getBoolean(1);
+        try {
+            PreparedStatement preparedStatement = getPreparedStatement(getSqlConfig().getObjectExistsSQL());
+            synchronized (preparedStatement) {
+                preparedStatement.setString(1, uniqueId);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return resultSet.getBoolean(1);
+                    }
                 }
             }
         } catch (SQLException e) {
+            discardPreparedStatement(getSqlConfig().getObjectExistsSQL());
             plugin.logError("Could not check if key exists in database! " + uniqueId + " " + e.getMessage());
         }
         return false;
@@ -139,19 +155,22 @@ public class SQLiteDatabaseHandler<T> extends SQLDatabaseHandler<T> {
 
     @Override
     public T loadObject(@NonNull String uniqueId) {
-        try (PreparedStatement preparedStatement = getConnection().prepareStatement(getSqlConfig().getLoadObjectSQL())) {
-            // UniqueId needs to be placed in quotes
-            preparedStatement.setString(1, uniqueId);
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    // If there is a result, we only want/need the first one
-                    Gson gson = getGson();
-                    return gson.fromJson(resultSet.getString("json"), dataObject);
+        try {
+            PreparedStatement preparedStatement = getPreparedStatement(getSqlConfig().getLoadObjectSQL());
+            synchronized (preparedStatement) {
+                preparedStatement.setString(1, uniqueId);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        // If there is a result, we only want/need the first one
+                        Gson gson = getGson();
+                        return gson.fromJson(resultSet.getString("json"), dataObject);
+                    }
+                } catch (Exception e) {
+                    plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
                 }
-            } catch (Exception e) {
-                plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
             }
         } catch (SQLException e) {
+            discardPreparedStatement(getSqlConfig().getLoadObjectSQL());
             plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
         }
         return null;
@@ -0,0 +1,233 @@
+package world.bentobox.bentobox.database.sql.sqlite;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Bukkit;
+
+/**
+ * Runs all the writes to the SQLite database on a single thread with its own connection.
+ * <p>
+ * Writes that are waiting when the thread wakes up are run together in one transaction, so a save of
+ * hundreds of objects costs one commit instead of one commit per object. As the database uses
+ * write-ahead logging, the connection used for reading is not blocked while the writer is busy.
+ * The write-ahead log is checkpointed back into the database when the writer is idle and when it is closed.
+ *
+ * @since 1.14.0
+ */
+class SQLiteWriter {
+
+    /**
+     * A write run on the writer connection
+     */
+    @FunctionalInterface
+    interface Write {
+        /**
+         * @param writer - writer running this write, used to get prepared statements
+         * @throws SQLException if the write failed
+         */
+        void run(SQLiteWriter writer) throws SQLException;
+    }
+
+    private static final int MAX_TRANSACTION_SIZE = 500;
+    private static final long CHECKPOINT_PERIOD = TimeUnit.SECONDS.toMillis(30);
+    private static final long IDLE_WAIT = 250;
+    private static final long CLOSE_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    private final Connection connection;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private final ExecutorService executor;
+    private volatile boolean closed;
+    private boolean checkpointNeeded;
+    private long lastCheckpoint;
+
+    private static class PendingWrite {
+        private final Write write;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        private PendingWrite(Write write) {
+            this.write = write;
+        }
+    }
+
+    /**
+     * @param connection - connection used only by this writer
+     */
+    SQLiteWriter(Connection connection) {
+        this.connection = connection;
+        this.lastCheckpoint = System.currentTimeMillis();
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "BentoBox SQLite Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::runLoop);
+        // No other tasks are run, the thread ends when the loop does
+        executor.shutdown();
+    }
+
+    /**
+     * Adds a write to the queue
+     * @param write - write to run
+     * @return a future that completes with true once the transaction holding the write has been committed
+     */
+    CompletableFuture<Boolean> submit(Write write) {
+        PendingWrite pending = new PendingWrite(write);
+        if (closed) {
+            Bukkit.getLogger().severe("Could not write to the database: the SQLite writer is closed");
+            pending.result.complete(false);
+        } else {
+            queue.add(pending);
+        }
+        return pending.result;
+    }
+
+    /**
+     * Get a prepared statement on the writer connection. Must only be called from a {@link Write}.
+     * @param sql - SQL string
+     * @return prepared statement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    PreparedStatement getPreparedStatement(String sql) throws SQLException {
+        PreparedStatement preparedStatement = statements.get(sql);
+        if (preparedStatement == null || preparedStatement.isClosed()) {
+            preparedStatement = connection.prepareStatement(sql);
+            statements.put(sql, preparedStatement);
+        }
+        return preparedStatement;
+    }
+
+    /**
+     * Runs the writes that are still queued, checkpoints the write-ahead log and closes the writer connection
+     */
+    void close() {
+        closed = true;
+        boolean finished = false;
+        try {
+            finished = executor.awaitTermination(CLOSE_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!finished) {
+            Bukkit.getLogger().severe("SQLite writer did not finish in time, " + queue.size() + " writes were not saved");
+        }
+    }
+
+    private void runLoop() {
+        List<PendingWrite> transaction = new ArrayList<>();
+        while (!closed || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(IDLE_WAIT, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    checkpoint("PASSIVE", false);
+                    continue;
+                }
+                transaction.add(first);
+                queue.drainTo(transaction, MAX_TRANSACTION_SIZE - 1);
+                commit(transaction);
+                transaction.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                closed = true;
+            }
+        }
+        checkpoint("TRUNCATE", true);
+        statements.values().forEach(this::closeStatement);
+        statements.clear();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            Bukkit.getLogger().severe("Could not close SQLite writer connection " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs the writes in one transaction. A write that fails does not prevent the others from being committed.
+     * @param transaction - writes to run
+     */
+    private void commit(List<PendingWrite> transaction) {
+        List<Boolean> results = new ArrayList<>(transaction.size());
+        try {
+            connection.setAutoCommit(false);
+            for (PendingWrite pending : transaction) {
+                results.add(run(pending));
+            }
+            connection.commit();
+            checkpointNeeded = true;
+        } catch (SQLException e) {
+            Bukkit.getLogger().severe("Could not commit " + transaction.size() + " writes to the database " + e.getMessage());
+            rollback();
+            transaction.forEach(pending -> pending.result.complete(false));
+            return;
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                // Set again at the start of the next transaction
+            }
+        }
+        for (int i = 0; i < transaction.size(); i++) {
+            transaction.get(i).result.complete(results.get(i));
+        }
+    }
+
+    private boolean run(PendingWrite pending) {
+        try {
+            pending.write.run(this);
+            return true;
+        } catch (SQLException e) {
+            Bukkit.getLogger().severe("Could not write to the database " + e.getMessage());
+        } catch (Exception e) {
+            Bukkit.getLogger().severe("Error while writing to the database " + e.getMessage());
+        }
+        return false;
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            Bukkit.getLogger().severe("Could not roll back database transaction " + e.getMessage());
+        }
+    }
+
+    /**
+     * Copies the write-ahead log back into the database
+     * @param mode - checkpoint mode. PASSIVE does not wait for readers, TRUNCATE also empties the log file.
+     * @param force - checkpoint even if the period has not passed yet
+     */
+    private void checkpoint(String mode, boolean force) {
+        long now = System.currentTimeMillis();
+        if (!checkpointNeeded || (!force && now - lastCheckpoint < CHECKPOINT_PERIOD)) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA wal_checkpoint(" + mode + ")");
+            checkpointNeeded = false;
+        } catch (SQLException e) {
+            Bukkit.getLogger().warning("Could not checkpoint the database " + e.getMessage());
+        }
+        lastCheckpoint = now;
+    }
+
+    private void closeStatement(PreparedStatement preparedStatement) {
+        try {
+            preparedStatement.close();
+        } catch (SQLException e) {
+            // Nothing can be done about it
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package world.bentobox.bentobox.database.transition;
+
+import java.beans.IntrospectionException;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.database.AbstractDatabaseHandler;
+import world.bentobox.bentobox.database.json.BentoboxTypeAdapterFactory;
+import world.bentobox.bentobox.database.objects.DataObject;
+
+/**
+ * Moves the objects of one type from a source database to a destination database.
+ * <p>
+ * Objects are written to the destination in batches, so databases that support bulk writes save each
+ * batch together. A few batches are written at the same time, so the destination always has the next batch
+ * queued while one is being written. An object is only deleted from the source once the destination has
+ * confirmed that its whole batch has been saved. This makes the migration resumable: if the server stops
+ * in the middle, or a batch could not be saved, the objects that are still in the source are migrated
+ * when the server starts again.
+ * <p>
+ * Progress and throughput are logged while the migration runs and saved in a checkpoint file in the
+ * database folder. When all the objects have been written, the migrated objects are loaded back from the
+ * destination all at once and a checksum of the serialized form of each is compared with the checksum of
+ * the object read from the source. The number of objects in the source is also compared with the number
+ * that reached the destination.
+ * <p>
+ * Checksums, deletions from the source and the verification run on a migration worker, not on the
+ * threads that write to the databases.
+ *
+ * @param <T> Class <T> that is being migrated
+ * @since 1.14.0
+ */
+class DatabaseMigration<T> {
+
+    private static final String MIGRATION_FOLDER = "migration";
+    private static final long REPORT_PERIOD = TimeUnit.SECONDS.toMillis(5);
+    private static final String MIGRATED = "migrated";
+    private static final String FAILED = "failed";
+    private static final String COMPLETED = "completed";
+    /**
+     * Number of objects saved together
+     */
+    static final int BATCH_SIZE = 100;
+    /**
+     * Number of batches being written at the same time
+     */
+    private static final int BATCHES_IN_FLIGHT = 4;
+
+    private final BentoBox plugin;
+    private final Class<T> type;
+    private final AbstractDatabaseHandler<T> fromHandler;
+    private final AbstractDatabaseHandler<T> toHandler;
+    private final File checkpointFile;
+    private final Executor worker;
+
+    private final AtomicInteger migrated = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    /**
+     * Checksums of the serialized objects read from the source, by unique id
+     */
+    private final Map<String, Long> checksums = new ConcurrentHashMap<>();
+    private final Gson gson;
+    private int previouslyMigrated;
+    private int total;
+    private long startTime;
+    private long lastReport;
+
+    /**
+     * @param plugin - plugin
+     * @param type - class being migrated
+     * @param fromHandler - the database being moved away from
+     * @param toHandler - the database being moved to
+     */
+    DatabaseMigration(BentoBox plugin, Class<T> type, AbstractDatabaseHandler<T> fromHandler, AbstractDatabaseHandler<T> toHandler) {
+        this(plugin, type, fromHandler, toHandler, makeWorker());
+    }
+
+    /**
+     * @param plugin - plugin
+     * @param type - class being migrated
+     * @param fromHandler - the database being moved away from
+     * @param toHandler - the database being moved to
+     * @param worker - runs the checksums, deletions from the source and the verification
+     */
+    DatabaseMigration(BentoBox plugin, Class<T> type, AbstractDatabaseHandler<T> fromHandler, AbstractDatabaseHandler<T> toHandler, Executor worker) {
+        this.plugin = plugin;
+        this.worker = worker;
+        this.type = type;
+        this.fromHandler = fromHandler;
+        this.toHandler = toHandler;
+        File folder = new File(new File(plugin.getDataFolder(), "database"), MIGRATION_FOLDER);
+        this.checkpointFile = new File(folder, type.getName() + ".yml");
+        // Same serialization as the JSON database, so that every stored field is part of the checksum
+        this.gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().enableComplexMapKeySerialization()
+                .registerTypeAdapterFactory(new BentoboxTypeAdapterFactory(plugin)).disableHtmlEscaping().create();
+    }
+
+    private static Executor makeWorker() {
+        // The idle worker stops, so it does not need to be shut down
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "BentoBox Database Migration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Migrates the objects to the destination database.
+     * This does not wait for the objects to be written and can be called from the main thread.
+     * @param objects - objects loaded from the source database
+     * @return a future that completes with true when all the objects have been migrated and verified
+     */
+    CompletableFuture<Boolean> migrate(List<T> objects) {
+        loadCheckpoint();
+        if (objects.isEmpty()) {
+            if (previouslyMigrated > 0) {
+                saveCheckpoint(true);
+            }
+            return CompletableFuture.completedFuture(true);
+        }
+        total = objects.size();
+        startTime = System.currentTimeMillis();
+        lastReport = startTime;
+        if (previouslyMigrated > 0) {
+            plugin.log("Resuming migration of " + type.getSimpleName() + ": " + previouslyMigrated + " objects were already migrated, "
+                    + total + " remaining.");
+        } else {
+            plugin.log("Migrating " + total + " " + type.getSimpleName() + " objects...");
+        }
+        // Each lane writes its batches one after the other, and the lanes write at the same time
+        List<CompletableFuture<Void>> lanes = new ArrayList<>(BATCHES_IN_FLIGHT);
+        for (int i = 0; i < BATCHES_IN_FLIGHT; i++) {
+            lanes.add(CompletableFuture.completedFuture(null));
+        }
+        int batches = 0;
+        for (int start = 0; start < objects.size(); start += BATCH_SIZE) {
+            List<T> batch = new ArrayList<>(objects.subList(start, Math.min(objects.size(), start + BATCH_SIZE)));
+            int lane = batches++ % BATCHES_IN_FLIGHT;
+            lanes.set(lane, lanes.get(lane).thenComposeAsync(v -> migrate(batch), worker));
+        }
+        return CompletableFuture.allOf(lanes.toArray(new CompletableFuture<?>[0])).thenApplyAsync(v -> finish(), worker);
+    }
+
+    private CompletableFuture<Void> migrate(List<T> batch) {
+        // Taken before the save, as the objects are written to the destination asynchronously
+        long[] batchChecksums = new long[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            batchChecksums[i] = checksum(batch.get(i));
+        }
+        CompletableFuture<Boolean> saved;
+        try {
+            saved = toHandler.saveObjects(batch);
+        } catch (Exception e) {
+            saved = new CompletableFuture<>();
+            saved.completeExceptionally(e);
+        }
+        return saved.handleAsync((result, ex) -> {
+            if (ex == null && Boolean.TRUE.equals(result)) {
+                for (int i = 0; i < batch.size(); i++) {
+                    deleteFromSource(batch.get(i), batchChecksums[i]);
+                }
+            } else {
+                // Objects of the batch that were saved are saved again next time
+                failed.addAndGet(batch.size());
+                plugin.logError("Could not migrate " + batch.size() + " " + type.getSimpleName() + " objects"
+                        + (ex == null ? "" : " " + ex.getMessage()) + ". They will be kept in the source database.");
+            }
+            report();
+            return null;
+        }, worker);
+    }
+
+    private void deleteFromSource(T object, long checksum) {
+        try {
+            fromHandler.deleteObject(object);
+            migrated.incrementAndGet();
+            checksums.put(getUniqueId(object), checksum);
+        } catch (IllegalAccessException | InvocationTargetException | IntrospectionException e) {
+            // The object is still in the source, so it is migrated again next time
+            failed.incrementAndGet();
+            plugin.logError("Migrated " + type.getSimpleName() + " " + getUniqueId(object) + " but could not delete it from the source database " + e.getMessage());
+        }
+    }
+
+    private long checksum(T object) {
+        CRC32 crc = new CRC32();
+        crc.update(gson.toJson(object).getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private String getUniqueId(T object) {
+        return object instanceof DataObject ? ((DataObject)object).getUniqueId() : String.valueOf(object);
+    }
+
+    /**
+     * Logs the progress and saves the checkpoint if enough time has passed since the last report
+     */
+    private synchronized void report() {
+        long now = System.currentTimeMillis();
+        if (now - lastReport < REPORT_PERIOD) {
+            return;
+        }
+        lastReport = now;
+        int done = migrated.get() + failed.get();
+        plugin.log("Migrating " + type.getSimpleName() + ": " + done + "/" + total + " ("
+                + (done * 100 / total) + "%) at " + getThroughput(now) + " objects/s");
+        saveCheckpoint(false);
+    }
+
+    private long getThroughput(long now) {
+        long elapsed = Math.max(1, now - startTime);
+        return migrated.get() * 1000L / elapsed;
+    }
+
+    /**
+     * Verifies that all the migrated objects are in the destination database with the same content
+     * as in the source, and logs the result
+     * @return true if everything was migrated and verified
+     */
+    private synchronized boolean finish() {
+        long now = System.currentTimeMillis();
+        CRC32 expected = new CRC32();
+        CRC32 found = new CRC32();
+        int verifiedObjects = 0;
+        Map<String, T> destination = loadFromDestination();
+        // Sorting makes the checksums independent of the order the saves completed in
+        List<String> ids = new ArrayList<>(checksums.keySet());
+        ids.sort(String::compareTo);
+        for (String id : ids) {
+            long sourceChecksum = checksums.get(id);
+            update(expected, sourceChecksum);
+            T object = destination.get(id);
+            if (object == null) {
+                plugin.logError("Migrated " + type.getSimpleName() + " " + id + " cannot be found in the destination database!");
+                continue;
+            }
+            long destinationChecksum = checksum(object);
+            update(found, destinationChecksum);
+            if (destinationChecksum == sourceChecksum) {
+                verifiedObjects++;
+            } else {
+                plugin.logError("Migrated " + type.getSimpleName() + " " + id + " is different in the destination database!");
+            }
+        }
+        boolean verified = verifiedObjects == total && expected.getValue() == found.getValue();
+        plugin.log("Migration of " + type.getSimpleName() + " finished in " + TimeUnit.MILLISECONDS.toSeconds(now - startTime) + "s: "
+                + migrated.get() + " migrated, " + failed.get() + " failed, " + getThroughput(now) + " objects/s. "
+                + verifiedObjects + "/" + total + " objects found in the destination with checksum " + Long.toHexString(found.getValue())
+                + (verified ? ", verified." : ", expected checksum " + Long.toHexString(expected.getValue()) + "!"));
+        saveCheckpoint(verified);
+        return verified;
+    }
+
+    /**
+     * Loads all the objects in the destination database in one go
+     * @return objects by unique id, empty if they could not be loaded
+     */
+    private Map<String, T> loadFromDestination() {
+        Map<String, T> objects = new HashMap<>();
+        try {
+            toHandler.loadObjects().forEach(object -> objects.put(getUniqueId(object), object));
+        } catch (Exception e) {
+            plugin.logError("Could not load migrated " + type.getSimpleName() + " objects from the destination database " + e.getMessage());
+        }
+        return objects;
+    }
+
+    private static void update(CRC32 crc, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            crc.update((int)(value >>> (i * 8)));
+        }
+    }
+
+    private void loadCheckpoint() {
+        if (!checkpointFile.exists()) {
+            return;
+        }
+        YamlConfiguration checkpoint = YamlConfiguration.loadConfiguration(checkpointFile);
+        // A completed checkpoint belongs to a previous migration
+        previouslyMigrated = checkpoint.getBoolean(COMPLETED) ? 0 : checkpoint.getInt(MIGRATED);
+    }
+
+    private synchronized void saveCheckpoint(boolean completed) {
+        File folder = checkpointFile.getParentFile();
+        if (!folder.exists() && !folder.mkdirs()) {
+            plugin.logError("Could not create migration checkpoint folder " + folder.getPath());
+            return;
+        }
+        YamlConfiguration checkpoint = new YamlConfiguration();
+        checkpoint.set(MIGRATED, previouslyMigrated + migrated.get());
+        checkpoint.set(FAILED, failed.get());
+        checkpoint.set(COMPLETED, completed);
+        try {
+            checkpoint.save(checkpointFile);
+        } catch (IOException e) {
+            plugin.logError("Could not save migration checkpoint " + checkpointFile.getName() + " " + e.getMessage());
+        }
+    }
+}
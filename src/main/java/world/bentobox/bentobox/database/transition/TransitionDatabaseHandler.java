@@ -2,12 +2,17 @@ package world.bentobox.bentobox.database.transition;
 
 import java.beans.IntrospectionException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdt.annotation.Nullable;
 
+import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.AbstractDatabaseHandler;
+import world.bentobox.bentobox.database.objects.DataObject;
 
 /**
  * Class that transitions from one database type to another
@@ -31,6 +36,7 @@ public class TransitionDatabaseHandler<T> extends AbstractDatabaseHandler<T> {
     TransitionDatabaseHandler(Class<T> type, AbstractDatabaseHandler<T> fromHandler, AbstractDatabaseHandler<T> toHandler) {
         this.fromHandler = fromHandler;
         this.toHandler = toHandler;
+        this.dataObject = type;
     }
 
     /* (non-Javadoc)
@@ -41,12 +47,14 @@ public class TransitionDatabaseHandler<T> extends AbstractDatabaseHandler<T> {
         // Load all objects from both databases
         List<T> listFrom = fromHandler.loadObjects();
         List<T> listTo = toHandler.loadObjects();
-        // If source database has objects, then delete and save them in the destination database
-        for (T object : listFrom) {
-            toHandler.saveObject(object);
-            fromHandler.deleteObject(object);
+        // If source database has objects, then save them in the destination database and delete them once saved
+        new DatabaseMigration<>(BentoBox.getInstance(), dataObject, fromHandler, toHandler).migrate(listFrom);
+        // Merge results. Objects of a batch that could not be saved may be in both databases.
+        Set<String> ids = listFrom.stream().filter(DataObject.class::isInstance)
+                .map(o -> ((DataObject)o).getUniqueId()).collect(Collectors.toSet());
+        if (!ids.isEmpty()) {
+            listTo.removeIf(o -> o instanceof DataObject && ids.contains(((DataObject)o).getUniqueId()));
         }
-        // Merge results
         listTo.addAll(listFrom);
         return listTo;
     }
@@ -89,6 +97,15 @@ public class TransitionDatabaseHandler<T> extends AbstractDatabaseHandler<T> {
         return toHandler.saveObject(instance);
     }
 
+    /* (non-Javadoc)
+     * @see world.bentobox.bentobox.database.AbstractDatabaseHandler#saveObjects(java.util.Collection)
+     */
+    @Override
+    public CompletableFuture<Boolean> saveObjects(Collection<T> instances) throws IllegalAccessException, InvocationTargetException, IntrospectionException {
+        // Save only in the destination database
+        return toHandler.saveObjects(instances);
+    }
+
     /* (non-Javadoc)
      * @see world.bentobox.bentobox.database.AbstractDatabaseHandler#deleteID(java.lang.String)
      */
@@ -426,8 +426,8 @@ public class YamlDatabaseHandler<T> extends AbstractDatabaseHandler<T> {
     private void save(CompletableFuture<Boolean> completableFuture, String name, String data, String path, Map<String, String> yamlComments) {
         if (plugin.isEnabled()) {
             // Async
-            processQueue.add(() -> completableFuture.complete(
-                    ((YamlDatabaseConnector)databaseConnector).saveYamlFile(data, path, name, yamlComments)));
+            addToQueue(() -> completableFuture.complete(
+                    ((YamlDatabaseConnector)databaseConnector).saveYamlFile(data, path, name, yamlComments)), completableFuture);
         } else {
             // Sync for shutdown
             completableFuture.complete(
@@ -640,7 +640,7 @@ public class YamlDatabaseHandler<T> extends AbstractDatabaseHandler<T> {
     @Override
     public void deleteID(String uniqueId) {
         if (plugin.isEnabled()) {
-            processQueue.add(() -> delete(uniqueId));
+            addToQueue(() -> delete(uniqueId), null);
         } else {
             delete(uniqueId);
         }
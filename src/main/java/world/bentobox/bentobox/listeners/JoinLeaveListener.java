@@ -11,6 +11,7 @@ import org.bukkit.World;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
@@ -42,6 +43,19 @@ public class JoinLeaveListener implements Listener {
         players = plugin.getPlayers();
     }
 
+    /**
+     * Loads the player's data while they are logging in, off the main thread,
+     * so that {@link #onPlayerJoin(PlayerJoinEvent)} does not have to wait for the database
+     * @param event - pre-login event
+     * @since 1.14.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerPreLogin(final AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            players.prefetch(event.getUniqueId(), event.getName());
+        }
+    }
+
     @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
     public void onPlayerJoin(final PlayerJoinEvent event) {
         // Remove them from the cache, just in case they were not removed for some reason
@@ -53,7 +67,7 @@ public class JoinLeaveListener implements Listener {
         }
         UUID playerUUID = user.getUniqueId();
 
-        // Check if player hasn't joined before
+        // Check if player hasn't joined before. This uses the data loaded at pre-login if there is any.
         if (!players.isKnown(playerUUID)) {
             firstTime(user);
         }
@@ -133,9 +147,12 @@ public class JoinLeaveListener implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onPlayerSwitchWorld(final PlayerChangedWorldEvent event) {
         World world = Util.getWorld(event.getPlayer().getWorld());
+        User user = User.getInstance(event.getPlayer());
+        // Permissions can be different in each world
+        user.invalidatePermissionValues();
         // Clear inventory if required
         if (world != null) {
-            clearPlayersInventory(world, User.getInstance(event.getPlayer()));
+            clearPlayersInventory(world, user);
         }
     }
 
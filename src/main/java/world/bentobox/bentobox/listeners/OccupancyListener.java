@@ -0,0 +1,168 @@
+package world.bentobox.bentobox.listeners;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.api.events.BentoBoxReadyEvent;
+import world.bentobox.bentobox.api.events.IslandBaseEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandCreatedEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandDeleteEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandDeletedEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandEnterEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandExitEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandProtectionRangeChangeEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandRegisteredEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandResettedEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandUnregisteredEvent;
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.managers.island.OccupancyIndex;
+import world.bentobox.bentobox.managers.island.OnlineMembersCounter;
+
+/**
+ * Keeps the {@link OccupancyIndex} and the {@link OnlineMembersCounter} up to date.
+ * <p>
+ * Events are handled at monitor priority, once it is known that the player really moved.
+ * When the shape of the islands changes, for example because an island was deleted or its protection
+ * range changed, the whole index is rebuilt on the next tick. The online members of the islands of a player
+ * are counted again when the player joins or quits, and the online members of an island are counted again
+ * on the next tick when something happens to the island, such as a team change.
+ *
+ * @since 1.14.0
+ */
+public class OccupancyListener implements Listener {
+
+    private final BentoBox plugin;
+    private boolean rebuildScheduled;
+
+    public OccupancyListener(@NonNull BentoBox plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent e) {
+        update(e.getPlayer(), e.getPlayer().getLocation());
+        plugin.getIslands().getOnlineMembers().playerJoined(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        plugin.getIslands().getOccupancy().remove(e.getPlayer().getUniqueId());
+        plugin.getIslands().getOnlineMembers().playerQuit(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent e) {
+        if (e.getTo() != null && movedBlock(e.getFrom(), e.getTo())) {
+            update(e.getPlayer(), e.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent e) {
+        if (e.getTo() != null) {
+            update(e.getPlayer(), e.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent e) {
+        update(e.getPlayer(), e.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent e) {
+        update(e.getPlayer(), e.getRespawnLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onVehicleMove(VehicleMoveEvent e) {
+        if (!movedBlock(e.getFrom(), e.getTo())) {
+            return;
+        }
+        for (Entity passenger : e.getVehicle().getPassengers()) {
+            if (passenger instanceof Player) {
+                update((Player)passenger, e.getTo());
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onBentoBoxReady(BentoBoxReadyEvent e) {
+        // Islands have been loaded
+        rebuild();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onIslandChange(IslandBaseEvent e) {
+        // Players crossing the border of an island do not change its team
+        if (e instanceof IslandEnterEvent || e instanceof IslandExitEvent) {
+            return;
+        }
+        Island island = e.getIsland();
+        if (island != null) {
+            // Some team events fire before the team changes
+            Bukkit.getScheduler().runTask(plugin, () -> plugin.getIslands().getOnlineMembers().update(island));
+        }
+        if (e instanceof IslandProtectionRangeChangeEvent || e instanceof IslandCreatedEvent
+                || e instanceof IslandDeleteEvent || e instanceof IslandDeletedEvent
+                || e instanceof IslandResettedEvent || e instanceof IslandRegisteredEvent
+                || e instanceof IslandUnregisteredEvent) {
+            scheduleRebuild();
+        }
+    }
+
+    private boolean movedBlock(Location from, Location to) {
+        return from.getBlockX() != to.getBlockX() || from.getBlockZ() != to.getBlockZ() || from.getWorld() != to.getWorld();
+    }
+
+    private void update(Player player, Location location) {
+        OccupancyIndex occupancy = plugin.getIslands().getOccupancy();
+        occupancy.update(player.getUniqueId(), getIslandAt(occupancy.getIsland(player.getUniqueId()), location));
+    }
+
+    /**
+     * Gets the island whose protected area contains this location
+     * @param current - island the player is currently on, checked first as players mostly move inside one island
+     * @param location - location
+     * @return island or null if the location is not in the protected area of an island
+     */
+    @Nullable
+    private Island getIslandAt(@Nullable Island current, Location location) {
+        if (current != null && current.onIsland(location)) {
+            return current;
+        }
+        return plugin.getIslands().getProtectedIslandAt(location).orElse(null);
+    }
+
+    private void scheduleRebuild() {
+        if (!rebuildScheduled) {
+            rebuildScheduled = true;
+            Bukkit.getScheduler().runTask(plugin, this::rebuild);
+        }
+    }
+
+    /**
+     * Works out the island of every online player again
+     */
+    private void rebuild() {
+        rebuildScheduled = false;
+        OccupancyIndex occupancy = plugin.getIslands().getOccupancy();
+        occupancy.clear();
+        Bukkit.getOnlinePlayers().forEach(p -> occupancy.update(p.getUniqueId(), getIslandAt(null, p.getLocation())));
+    }
+}
@@ -238,13 +238,20 @@ public class PortalTeleportationListener implements Listener {
             if (bb != null) {
                 Blueprint bp = plugin.getBlueprintsManager().getBlueprints(addon).get(bb.getBlueprint(env));
                 if (bp != null) {
-                    new BlueprintPaster(plugin, bp,
-                            to.getWorld(),
-                            island, () -> new SafeSpotTeleport.Builder(plugin)
-                            .entity(player)
-                            .location(island.getSpawnPoint(env) == null ? to : island.getSpawnPoint(env))
-                            // No need to use portal because there will be no portal on the other end
-                            .build());
+                    // Blocks are loaded when the blueprint is first pasted
+                    plugin.getBlueprintsManager().getLoadedBlueprintAsync(addon, bp.getName()).thenAccept(loaded -> {
+                        if (loaded == null) {
+                            plugin.logError("Could not paste default island in nether or end. Its blueprint could not be loaded.");
+                            return;
+                        }
+                        new BlueprintPaster(plugin, loaded,
+                                to.getWorld(),
+                                island, () -> new SafeSpotTeleport.Builder(plugin)
+                                .entity(player)
+                                .location(island.getSpawnPoint(env) == null ? to : island.getSpawnPoint(env))
+                                // No need to use portal because there will be no portal on the other end
+                                .build());
+                    });
                 } else {
                     plugin.logError("Could not paste default island in nether or end. Is there a nether-island or end-island blueprint?");
                 }
@@ -4,7 +4,7 @@ import java.security.SecureRandom;
 import java.util.LinkedList;
 import java.util.Queue;
 
-import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.World.Environment;
@@ -13,7 +13,6 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.world.ChunkLoadEvent;
 import org.bukkit.generator.ChunkGenerator;
 import org.bukkit.generator.ChunkGenerator.ChunkData;
-import org.bukkit.scheduler.BukkitTask;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -21,8 +20,8 @@ import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.events.BentoBoxReadyEvent;
 import world.bentobox.bentobox.api.flags.FlagListener;
 import world.bentobox.bentobox.lists.Flags;
+import world.bentobox.bentobox.managers.TickBudgetManager;
 import world.bentobox.bentobox.util.MyBiomeGrid;
-import world.bentobox.bentobox.util.Pair;
 
 /**
  * Cleans super-flat world chunks or normal nether chunks if they generate accidentally
@@ -34,19 +33,19 @@ public class CleanSuperFlatListener extends FlagListener {
     private BentoBox plugin = BentoBox.getInstance();
 
     /**
-     * Stores pairs of X,Z coordinates of chunks that need to be regenerated.
+     * Stores chunks that need to be regenerated.
      * @since 1.1
      */
     @NonNull
-    private Queue<@NonNull Pair<@NonNull Integer, @NonNull Integer>> chunkQueue = new LinkedList<>();
+    private Queue<@NonNull Chunk> chunkQueue = new LinkedList<>();
 
     /**
-     * Task that runs each tick to regenerate chunks that are in the {@link #chunkQueue}.
-     * It regenerates them one at a time.
-     * @since 1.1
+     * Job that regenerates the chunks that are in the {@link #chunkQueue}, one at a time,
+     * within the time budget of each tick.
+     * @since 1.14.0
      */
     @Nullable
-    private BukkitTask task;
+    private CleanJob job;
 
     /**
      * Whether BentoBox is ready or not.
@@ -66,7 +65,6 @@ public class CleanSuperFlatListener extends FlagListener {
         if (noClean(world, e)) {
             return;
         }
-        MyBiomeGrid grid = new MyBiomeGrid(world.getEnvironment());
         ChunkGenerator cg = plugin.getAddonsManager().getDefaultWorldGenerator(world.getName(), "");
         if (cg == null) {
             Flags.CLEAN_SUPER_FLAT.setSetting(world, false);
@@ -79,33 +77,73 @@ public class CleanSuperFlatListener extends FlagListener {
 
             return;
         }
-        // Add to queue
-        chunkQueue.add(new Pair<>(e.getChunk().getX(), e.getChunk().getZ()));
-        if (task == null || task.isCancelled()) {
-            task = Bukkit.getScheduler().runTaskTimer(plugin, () -> cleanChunk(e, world, cg, grid), 0L, 1L);
+        // Add to queue and keep the chunk loaded until it has been cleaned
+        e.getChunk().addPluginChunkTicket(plugin);
+        chunkQueue.add(e.getChunk());
+        if (job == null) {
+            job = new CleanJob();
+            plugin.getTickBudgetManager().submit(job);
         }
     }
 
-    private void cleanChunk(ChunkLoadEvent e, World world, ChunkGenerator cg, MyBiomeGrid grid) {
-        SecureRandom random = new SecureRandom();
-        if (!chunkQueue.isEmpty()) {
-            Pair<Integer, Integer> chunkXZ = chunkQueue.poll();
-            ChunkData cd = cg.generateChunkData(world, random, e.getChunk().getX(), e.getChunk().getZ(), grid);
-            for (int x = 0; x < 16; x++) {
-                for (int z = 0; z < 16; z++) {
-                    for (int y = 0; y < world.getMaxHeight(); y++) {
-                        e.getChunk().getBlock(x, y, z).setBlockData(cd.getBlockData(x, y, z), false);
-                    }
+    /**
+     * Regenerates the queued chunks a block column at a time
+     */
+    private class CleanJob implements TickBudgetManager.Job {
+        private final SecureRandom random = new SecureRandom();
+        private Chunk chunk;
+        private ChunkGenerator cg;
+        private ChunkData cd;
+        private int column;
+
+        @NonNull
+        @Override
+        public String getDescription() {
+            return "Cleaning super flat chunks";
+        }
+
+        @Override
+        public long getRemaining() {
+            return chunkQueue.size() + (chunk == null ? 0L : 1L);
+        }
+
+        @Override
+        public boolean step() {
+            if (chunk == null) {
+                chunk = chunkQueue.poll();
+                if (chunk == null) {
+                    job = null;
+                    return false;
+                }
+                World world = chunk.getWorld();
+                cg = plugin.getAddonsManager().getDefaultWorldGenerator(world.getName(), "");
+                if (cg == null) {
+                    chunk.removePluginChunkTicket(plugin);
+                    chunk = null;
+                    return true;
                 }
+                cd = cg.generateChunkData(world, random, chunk.getX(), chunk.getZ(), new MyBiomeGrid(world.getEnvironment()));
+                column = 0;
+                return true;
+            }
+            World world = chunk.getWorld();
+            int x = column >> 4;
+            int z = column & 15;
+            for (int y = 0; y < world.getMaxHeight(); y++) {
+                chunk.getBlock(x, y, z).setBlockData(cd.getBlockData(x, y, z), false);
+            }
+            if (++column < 256) {
+                return true;
             }
             // Run populators
-            cg.getDefaultPopulators(world).forEach(pop -> pop.populate(world, random, e.getChunk()));
+            cg.getDefaultPopulators(world).forEach(pop -> pop.populate(world, random, chunk));
             if (plugin.getSettings().isLogCleanSuperFlatChunks()) {
-                plugin.log("Regenerating superflat chunk in " + world.getName() + " at (" + chunkXZ.x + ", " + chunkXZ.z + ") " +
+                plugin.log("Regenerating superflat chunk in " + world.getName() + " at (" + chunk.getX() + ", " + chunk.getZ() + ") " +
                         "(" + chunkQueue.size() + " chunk(s) remaining in the queue)");
             }
-        } else {
-            task.cancel();
+            chunk.removePluginChunkTicket(plugin);
+            chunk = null;
+            return true;
         }
     }
 
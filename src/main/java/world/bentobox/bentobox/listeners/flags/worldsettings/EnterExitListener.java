@@ -16,6 +16,7 @@ import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.lists.Flags;
+import world.bentobox.bentobox.managers.island.OccupancyIndex;
 
 /**
  * Handles {@link Flags#ENTER_EXIT_MESSAGES} flag and {@link world.bentobox.bentobox.api.events.island.IslandEvent.IslandExitEvent} and {@link world.bentobox.bentobox.api.events.island.IslandEvent.IslandEnterEvent}.
@@ -42,8 +43,13 @@ public class EnterExitListener extends FlagListener {
             return;
         }
 
-        Optional<Island> islandFrom = getIslands().getProtectedIslandAt(from);
-        Optional<Island> islandTo = getIslands().getProtectedIslandAt(to);
+        // The occupancy index already knows which island the player is on, so only the destination has to be looked up
+        OccupancyIndex occupancy = getIslands().getOccupancy();
+        Optional<Island> islandFrom = occupancy.isTracked(user.getUniqueId()) ? Optional.ofNullable(occupancy.getIsland(user.getUniqueId()))
+                : getIslands().getProtectedIslandAt(from);
+        // Players mostly move inside the island they are already on
+        Optional<Island> islandTo = islandFrom.isPresent() && islandFrom.get().onIsland(to) ? islandFrom
+                : getIslands().getProtectedIslandAt(to);
 
         /*
          * Options:
@@ -1,15 +1,11 @@
 package world.bentobox.bentobox.listeners.flags.worldsettings;
 
-import java.util.UUID;
-
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.BlockGrowEvent;
 
 import world.bentobox.bentobox.api.flags.FlagListener;
 import world.bentobox.bentobox.lists.Flags;
-import world.bentobox.bentobox.managers.RanksManager;
 
 /**
  * Handles {@link Flags#OFFLINE_GROWTH} flag.
@@ -25,13 +21,8 @@ public class OfflineGrowthListener extends FlagListener {
             return;
         }
         // Check if island exists and members are online
-        getIslands().getProtectedIslandAt(e.getBlock().getLocation()).ifPresent(i -> {
-            for (UUID uuid : i.getMemberSet(RanksManager.COOP_RANK)) {
-                if (Bukkit.getPlayer(uuid) != null) {
-                    return;
-                }
-            }
-            e.setCancelled(true);
-        });
+        getIslands().getProtectedIslandAt(e.getBlock().getLocation())
+        .filter(i -> !getIslands().getOnlineMembers().hasOnlineMembers(i))
+        .ifPresent(i -> e.setCancelled(true));
     }
 }
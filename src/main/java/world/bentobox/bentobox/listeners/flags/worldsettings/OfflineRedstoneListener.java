@@ -1,15 +1,11 @@
 package world.bentobox.bentobox.listeners.flags.worldsettings;
 
-import java.util.UUID;
-
-import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.BlockRedstoneEvent;
 
 import world.bentobox.bentobox.api.flags.FlagListener;
 import world.bentobox.bentobox.lists.Flags;
-import world.bentobox.bentobox.managers.RanksManager;
 
 /**
  * Handles {@link Flags#OFFLINE_REDSTONE} flag.
@@ -27,17 +23,11 @@ public class OfflineRedstoneListener extends FlagListener {
         // Check if island exists and members are online, or mods or ops are on the island - ignores spawn
         getIslands().getProtectedIslandAt(e.getBlock().getLocation())
         .filter(i -> !i.isSpawn())
+        .filter(i -> !getIslands().getOnlineMembers().hasOnlineMembers(i))
         .ifPresent(i -> {
-            // Check team members
-            for (UUID uuid : i.getMemberSet(RanksManager.COOP_RANK)) {
-                if (Bukkit.getPlayer(uuid) != null) {
-                    return;
-                }
-            }
             // Check mods or Ops on island
-            if (Bukkit.getOnlinePlayers().parallelStream()
-                    .filter(p -> p.isOp() || p.hasPermission(getIWM().getPermissionPrefix(i.getWorld()) + "mod.bypassprotect"))
-                    .anyMatch(p -> i.onIsland(p.getLocation()))) {
+            String bypass = getIWM().getPermissionPrefix(i.getWorld()) + "mod.bypassprotect";
+            if (i.getPlayersOnIsland().stream().anyMatch(p -> p.isOp() || p.hasPermission(bypass))) {
                 return;
             }
             // No one there...
@@ -1,15 +1,16 @@
 package world.bentobox.bentobox.managers;
 
-import java.io.BufferedOutputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
-import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.List;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -19,12 +20,15 @@ import org.bukkit.util.Vector;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.blueprints.Blueprint;
 import world.bentobox.bentobox.blueprints.BlueprintClipboard;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
+import world.bentobox.bentobox.blueprints.dataobjects.CompactBlueprint;
 import world.bentobox.bentobox.database.json.BentoboxTypeAdapterFactory;
 
 /**
@@ -34,6 +38,11 @@ import world.bentobox.bentobox.database.json.BentoboxTypeAdapterFactory;
 public class BlueprintClipboardManager {
 
     private static final String LOAD_ERROR = "Could not load blueprint file - does not exist : ";
+    /**
+     * Number of characters that can be read to find the form of a blueprint before going back to its start
+     */
+    private static final int MARK_LIMIT = 8192;
+    private static final Type DESCRIPTION_TYPE = new TypeToken<List<String>>() {}.getType();
 
     private File blueprintFolder;
 
@@ -91,30 +100,151 @@ public class BlueprintClipboardManager {
      * @throws IOException exception if there's an issue loading or unzipping
      */
     public Blueprint loadBlueprint(String fileName) throws IOException {
-        File zipFile = new File(blueprintFolder, BlueprintsManager.sanitizeFileName(fileName) + BlueprintsManager.BLUEPRINT_SUFFIX);
+        String name = BlueprintsManager.sanitizeFileName(fileName);
+        Blueprint bp = read(name, this::readBlueprint);
+        // Bedrock check and set
+        if (bp.getBedrock() == null) {
+            bp.setBedrock(new Vector(bp.getxSize() / 2, bp.getySize() / 2, bp.getzSize() / 2));
+            bp.getBlocks().put(bp.getBedrock(), new BlueprintBlock(Material.BEDROCK.createBlockData().getAsString()));
+            bp.compact();
+            plugin.logWarning("Blueprint " + name + BlueprintsManager.BLUEPRINT_SUFFIX + " had no bedrock block in it so one was added automatically in the center. You should check it.");
+        }
+        return bp;
+    }
+
+    /**
+     * Loads the name, display name, icon, description, size and bedrock of a blueprint, without its blocks and entities.
+     * Reading stops as soon as they have been read, which is at the start of the file for compact blueprints.
+     * @param fileName - the filename without the suffix
+     * @return the blueprint with no blocks, attached blocks or entities
+     * @throws IOException exception if there's an issue loading or unzipping
+     * @since 1.14.0
+     */
+    public Blueprint loadBlueprintMetadata(String fileName) throws IOException {
+        Blueprint bp = read(BlueprintsManager.sanitizeFileName(fileName), this::readMetadata);
+        if (bp.getBedrock() == null) {
+            // The bedrock block will be added in the center when the blocks are loaded
+            bp.setBedrock(new Vector(bp.getxSize() / 2, bp.getySize() / 2, bp.getzSize() / 2));
+        }
+        return bp;
+    }
+
+    /**
+     * Reads a blueprint from its archive
+     * @param name - sanitized name of the blueprint
+     * @param blueprintReader - reads the blueprint JSON
+     * @return the blueprint
+     * @throws IOException if the archive does not exist or cannot be read
+     */
+    private Blueprint read(String name, BlueprintReader blueprintReader) throws IOException {
+        File zipFile = new File(blueprintFolder, name + BlueprintsManager.BLUEPRINT_SUFFIX);
         if (!zipFile.exists()) {
             plugin.logError(LOAD_ERROR + zipFile.getName());
             throw new IOException(LOAD_ERROR + zipFile.getName());
         }
-        unzip(zipFile.getAbsolutePath());
-        File file = new File(blueprintFolder, BlueprintsManager.sanitizeFileName(fileName));
-        if (!file.exists()) {
-            plugin.logError(LOAD_ERROR + file.getName());
-            throw new IOException(LOAD_ERROR + file.getName() + " temp file");
+        // The blueprint is read straight from the archive, without extracting it
+        try (ZipInputStream zipInputStream = new ZipInputStream(new BufferedInputStream(new FileInputStream(zipFile)))) {
+            if (!findEntry(zipInputStream, name)) {
+                plugin.logError(LOAD_ERROR + name);
+                throw new IOException(LOAD_ERROR + name + " in " + zipFile.getName());
+            }
+            try {
+                return blueprintReader.read(new BufferedReader(new InputStreamReader(zipInputStream)));
+            } catch (Exception e) {
+                plugin.logError("Blueprint has JSON error: " + zipFile.getName());
+                throw new IOException("Blueprint has JSON error: " + zipFile.getName());
+            }
         }
-        Blueprint bp;
-        try (FileReader fr = new FileReader(file)) {
-            bp = gson.fromJson(fr, Blueprint.class);
-        } catch (Exception e) {
-            plugin.logError("Blueprint has JSON error: " + zipFile.getName());
-            throw new IOException("Blueprint has JSON error: " + zipFile.getName());
+    }
+
+    @FunctionalInterface
+    private interface BlueprintReader {
+        Blueprint read(BufferedReader reader) throws IOException;
+    }
+
+    /**
+     * Moves a zip input stream to the start of an entry
+     * @param zipInputStream - zip input stream
+     * @param name - name of the entry
+     * @return true if the entry was found, false if the archive has no such entry
+     * @throws IOException if the archive cannot be read
+     */
+    private boolean findEntry(ZipInputStream zipInputStream, String name) throws IOException {
+        ZipEntry entry = zipInputStream.getNextEntry();
+        while (entry != null) {
+            if (!entry.isDirectory() && name.equals(entry.getName())) {
+                return true;
+            }
+            zipInputStream.closeEntry();
+            entry = zipInputStream.getNextEntry();
         }
-        Files.delete(file.toPath());
-        // Bedrock check and set
-        if (bp.getBedrock() == null) {
-            bp.setBedrock(new Vector(bp.getxSize() / 2, bp.getySize() / 2, bp.getzSize() / 2));
-            bp.getBlocks().put(bp.getBedrock(), new BlueprintBlock(Material.BEDROCK.createBlockData().getAsString()));
-            plugin.logWarning("Blueprint " + BlueprintsManager.sanitizeFileName(fileName) + BlueprintsManager.BLUEPRINT_SUFFIX + " had no bedrock block in it so one was added automatically in the center. You should check it.");
+        return false;
+    }
+
+    /**
+     * Reads a blueprint in either the compact form or the original form, which is still used by older files
+     * @param reader - reader at the start of the blueprint JSON
+     * @return the blueprint
+     * @throws IOException if the JSON cannot be read
+     */
+    private Blueprint readBlueprint(BufferedReader reader) throws IOException {
+        // The first field tells the form of the blueprint
+        reader.mark(MARK_LIMIT);
+        JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.beginObject();
+        boolean compact = jsonReader.hasNext() && CompactBlueprint.FORMAT_FIELD.equals(jsonReader.nextName());
+        reader.reset();
+        if (compact) {
+            return gson.fromJson(reader, CompactBlueprint.class).toBlueprint();
+        }
+        Blueprint bp = gson.fromJson(reader, Blueprint.class);
+        // Kept in compact form, like the blueprints read from compact files
+        bp.compact();
+        return bp;
+    }
+
+    /**
+     * Reads the metadata fields of a blueprint in either form and skips the others
+     * @param reader - reader at the start of the blueprint JSON
+     * @return the blueprint with only its metadata
+     * @throws IOException if the JSON cannot be read
+     */
+    private Blueprint readMetadata(BufferedReader reader) throws IOException {
+        Blueprint bp = new Blueprint();
+        JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            switch (jsonReader.nextName()) {
+            case "name":
+                bp.setName(gson.fromJson(jsonReader, String.class));
+                break;
+            case "displayName":
+                bp.setDisplayName(gson.fromJson(jsonReader, String.class));
+                break;
+            case "icon":
+                bp.setIcon(gson.fromJson(jsonReader, Material.class));
+                break;
+            case "description":
+                bp.setDescription(gson.<List<String>>fromJson(jsonReader, DESCRIPTION_TYPE));
+                break;
+            case "xSize":
+                bp.setxSize(jsonReader.nextInt());
+                break;
+            case "ySize":
+                bp.setySize(jsonReader.nextInt());
+                break;
+            case "zSize":
+                bp.setzSize(jsonReader.nextInt());
+                break;
+            case "bedrock":
+                bp.setBedrock(gson.fromJson(jsonReader, Vector.class));
+                break;
+            case CompactBlueprint.ORIGIN_FIELD:
+                // The blocks of compact blueprints follow, after all the metadata
+                return bp;
+            default:
+                jsonReader.skipValue();
+            }
         }
         return bp;
     }
@@ -164,7 +294,13 @@ public class BlueprintClipboardManager {
             return false;
         }
         File file = new File(blueprintFolder, BlueprintsManager.sanitizeFileName(blueprint.getName()));
-        String toStore = gson.toJson(blueprint, Blueprint.class);
+        String toStore;
+        try {
+            toStore = gson.toJson(CompactBlueprint.of(blueprint), CompactBlueprint.class);
+        } catch (IllegalArgumentException e) {
+            plugin.logError("Could not save blueprint " + blueprint.getName() + ": " + e.getMessage());
+            return false;
+        }
         try (FileWriter fileWriter = new FileWriter(file)) {
             fileWriter.write(toStore);
         } catch (IOException e) {
@@ -180,37 +316,6 @@ public class BlueprintClipboardManager {
         return true;
     }
 
-    private void unzip(final String zipFilePath) throws IOException {
-        Path path = Paths.get(zipFilePath);
-        if (!(path.toFile().exists())) {
-            throw new IOException("No file exists!");
-        }
-        try (ZipInputStream zipInputStream = new ZipInputStream(new FileInputStream(zipFilePath))) {
-            ZipEntry entry = zipInputStream.getNextEntry();
-            while (entry != null) {
-                Path filePath = Paths.get(path.getParent().toString(), entry.getName());
-                if (!entry.isDirectory()) {
-                    unzipFiles(zipInputStream, filePath);
-                } else {
-                    Files.createDirectories(filePath);
-                }
-
-                zipInputStream.closeEntry();
-                entry = zipInputStream.getNextEntry();
-            }
-        }
-    }
-
-    private void unzipFiles(final ZipInputStream zipInputStream, final Path unzipFilePath) throws IOException {
-        try (BufferedOutputStream bos = new BufferedOutputStream(new FileOutputStream(unzipFilePath.toAbsolutePath().toString()))) {
-            byte[] bytesIn = new byte[1024];
-            int read;
-            while ((read = zipInputStream.read(bytesIn)) != -1) {
-                bos.write(bytesIn, 0, read);
-            }
-        }
-    }
-
     private void zip(File targetFile) throws IOException {
         try (ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(targetFile.getAbsolutePath() + BlueprintsManager.BLUEPRINT_SUFFIX))) {
             zipOutputStream.putNextEntry(new ZipEntry(targetFile.getName()));
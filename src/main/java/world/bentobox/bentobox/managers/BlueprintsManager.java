@@ -8,16 +8,27 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 
@@ -39,9 +50,11 @@ import world.bentobox.bentobox.api.addons.GameModeAddon;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.blueprints.Blueprint;
+import world.bentobox.bentobox.blueprints.BlueprintCache;
 import world.bentobox.bentobox.blueprints.BlueprintPaster;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBundle;
+import world.bentobox.bentobox.blueprints.dataobjects.CompactBlocks;
 import world.bentobox.bentobox.database.json.BentoboxTypeAdapterFactory;
 import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.util.Util;
@@ -60,6 +73,7 @@ public class BlueprintsManager {
 
     public static final @NonNull String FOLDER_NAME = "blueprints";
     private static final String FOR = "' for ";
+    private static final String AIR = "minecraft:air";
 
     /**
      * Map of blueprint bundles to game mode addon.
@@ -70,10 +84,18 @@ public class BlueprintsManager {
 
     /**
      * Map of blueprints. There can be many blueprints per game mode addon
-     * Inner map's key is the blueprint's name so it's easy to get from a UI
+     * Inner map's key is the blueprint's name so it's easy to get from a UI.
+     * Only the metadata of the blueprints is kept here, such as their name, icon and size.
+     * Their blocks are loaded when they are pasted, and kept in the {@link #cache}.
      */
     private @NonNull Map<GameModeAddon, List<Blueprint>> blueprints;
 
+    /**
+     * Blueprints with their blocks loaded, by game mode and name
+     * @since 1.14.0
+     */
+    private final @NonNull BlueprintCache cache;
+
     /**
      * Gson used for serializing/deserializing the bundle class
      */
@@ -81,8 +103,24 @@ public class BlueprintsManager {
 
     private final @NonNull BentoBox plugin;
 
+    /**
+     * Game mode addons whose blueprints are being loaded
+     */
     private @NonNull Set<GameModeAddon> blueprintsLoaded;
 
+    /**
+     * Workers that read blueprint files. Their number is bounded so that loading many game modes at once,
+     * or copying a large clipboard, does not take all the processors.
+     * @since 1.14.0
+     */
+    private final @NonNull ExecutorService loader;
+
+    /**
+     * Blueprints whose blocks are being loaded, by cache key, so that a file is only read once at a time
+     * @since 1.14.0
+     */
+    private final @NonNull Map<String, CompletableFuture<Blueprint>> loading = new ConcurrentHashMap<>();
+
 
     public BlueprintsManager(@NonNull BentoBox plugin) {
         this.plugin = plugin;
@@ -104,8 +142,18 @@ public class BlueprintsManager {
         // Register adapter factory
         builder.registerTypeAdapterFactory(new BentoboxTypeAdapterFactory(plugin));
         gson = builder.create();
-        // Loaded tracker
-        blueprintsLoaded = new HashSet<>();
+        // Loaded tracker - game modes are loaded async, at the same time
+        blueprintsLoaded = ConcurrentHashMap.newKeySet();
+        // Idle workers stop, so the pool does not need to be shut down
+        int workers = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "BentoBox Blueprint Loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        loader = pool;
+        cache = new BlueprintCache(() -> plugin.getSettings().getBlueprintCacheSize() * 1024L * 1024L);
     }
 
     /**
@@ -176,6 +224,8 @@ public class BlueprintsManager {
 
     /**
      * Loads the blueprint bundles of this addon from its blueprints folder.
+     * They are loaded async, at the same time as the bundles of the other game modes.
+     * Use {@link #isBlueprintsLoaded(GameModeAddon)} to know when they are loaded.
      *
      * @param addon the {@link GameModeAddon} to load the blueprints of.
      */
@@ -183,17 +233,19 @@ public class BlueprintsManager {
         // Set loading flag
         blueprintsLoaded.add(addon);
         Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            // Load bundles
-            blueprintBundles.put(addon, new ArrayList<>());
-            if (!loadBundles(addon)) {
-                makeDefaults(addon);
-                loadBundles(addon);
+            try {
+                // Load bundles
+                blueprintBundles.put(addon, new ArrayList<>());
+                if (!loadBundles(addon)) {
+                    makeDefaults(addon);
+                    loadBundles(addon);
+                }
+                // Load blueprints
+                loadBlueprints(addon);
+            } finally {
+                // Clear loading flag, even if loading failed, so that BentoBox does not wait forever
+                blueprintsLoaded.remove(addon);
             }
-            // Load blueprints
-            loadBlueprints(addon);
-
-            // Clear loading flag
-            blueprintsLoaded.remove(addon);
         });
     }
 
@@ -205,6 +257,17 @@ public class BlueprintsManager {
         return blueprintsLoaded.isEmpty();
     }
 
+    /**
+     * Check if the blueprints of a game mode are loaded.
+     * Game modes are loaded at the same time, so one game mode can be ready before the others.
+     * @param addon - game mode addon
+     * @return true if the blueprints and bundles of this game mode are loaded
+     * @since 1.14.0
+     */
+    public boolean isBlueprintsLoaded(@NonNull GameModeAddon addon) {
+        return !blueprintsLoaded.contains(addon);
+    }
+
     private boolean loadBundles(@NonNull GameModeAddon addon) {
         File bpf = getBlueprintsFolder(addon);
         if (!bpf.exists()) {
@@ -290,6 +353,8 @@ public class BlueprintsManager {
      */
     public void loadBlueprints(@NonNull GameModeAddon addon) {
         blueprints.put(addon, new ArrayList<>());
+        // The files may have changed
+        cache.removeIf(key -> key.startsWith(getCachePrefix(addon)));
         File bpf = getBlueprintsFolder(addon);
         if (!bpf.exists()) {
             plugin.logError("There is no blueprint folder for addon " + addon.getDescription().getName());
@@ -300,17 +365,36 @@ public class BlueprintsManager {
             plugin.logError("No blueprints found for " + addon.getDescription().getName());
             return;
         }
+        // Read the files in parallel, and add the blueprints in the order of the files
+        List<CompletableFuture<Blueprint>> futures = new ArrayList<>();
         for (File file : bps) {
-            String fileName = file.getName().substring(0, file.getName().length() - BLUEPRINT_SUFFIX.length());
-            try {
-                Blueprint bp = new BlueprintClipboardManager(plugin, bpf).loadBlueprint(fileName);
-                bp.setName(fileName);
-                blueprints.get(addon).add(bp);
-                plugin.log("Loaded blueprint '" + bp.getName() + FOR + addon.getDescription().getName());
-            } catch (Exception e) {
-                plugin.logError("Could not load blueprint " + fileName + " " + e.getMessage());
-                plugin.logStacktrace(e);
-            }
+            futures.add(CompletableFuture.supplyAsync(() -> loadBlueprint(addon, bpf, file), loader));
+        }
+        futures.stream().map(CompletableFuture::join).filter(Objects::nonNull).forEach(blueprints.get(addon)::add);
+    }
+
+    /**
+     * Loads the metadata of a blueprint file. Its blocks are loaded when it is pasted.
+     * @param addon - game mode addon
+     * @param bpf - blueprints folder
+     * @param file - blueprint file
+     * @return the blueprint without its blocks, or null if it could not be loaded
+     */
+    @Nullable
+    private Blueprint loadBlueprint(@NonNull GameModeAddon addon, @NonNull File bpf, @NonNull File file) {
+        String fileName = file.getName().substring(0, file.getName().length() - BLUEPRINT_SUFFIX.length());
+        try {
+            long start = System.currentTimeMillis();
+            Blueprint bp = new BlueprintClipboardManager(plugin, bpf).loadBlueprintMetadata(fileName);
+            bp.setName(fileName);
+            bp.setMetadataOnly(true);
+            plugin.log("Loaded blueprint '" + bp.getName() + FOR + addon.getDescription().getName()
+            + " in " + (System.currentTimeMillis() - start) + " ms");
+            return bp;
+        } catch (Exception e) {
+            plugin.logError("Could not load blueprint " + fileName + " " + e.getMessage());
+            plugin.logStacktrace(e);
+            return null;
         }
     }
 
@@ -324,10 +408,135 @@ public class BlueprintsManager {
     public void addBlueprint(@NonNull GameModeAddon addon, @NonNull Blueprint bp) {
         blueprints.putIfAbsent(addon, new ArrayList<>());
         blueprints.get(addon).removeIf(b -> b.getName().equals(bp.getName()));
-        blueprints.get(addon).add(bp);
+        blueprints.get(addon).add(getMetadata(addon, bp));
+        cache.put(getCacheKey(addon, bp.getName()), bp);
         plugin.log("Added blueprint '" + bp.getName() + FOR + addon.getDescription().getName());
     }
 
+    /**
+     * Copies the metadata of a blueprint, without its blocks
+     * @param bp - blueprint
+     * @return blueprint with the same name, display name, icon, description, size and bedrock
+     */
+    private Blueprint getMetadata(@NonNull GameModeAddon addon, @NonNull Blueprint bp) {
+        Blueprint metadata = new Blueprint();
+        copyMetadata(bp, metadata);
+        // The blocks are not kept in the metadata, so they stay within the size of the cache
+        metadata.setMetadataOnly(true);
+        return metadata;
+    }
+
+    private static void copyMetadata(@NonNull Blueprint from, @NonNull Blueprint to) {
+        to.setName(from.getName());
+        to.setDisplayName(from.getDisplayName());
+        to.setIcon(from.getIcon());
+        to.setDescription(from.getDescription());
+        to.setxSize(from.getxSize());
+        to.setySize(from.getySize());
+        to.setzSize(from.getzSize());
+        to.setBedrock(from.getBedrock());
+    }
+
+    private static String getCachePrefix(@NonNull GameModeAddon addon) {
+        return addon.getDescription().getName() + ":";
+    }
+
+    private static String getCacheKey(@NonNull GameModeAddon addon, @NonNull String name) {
+        return getCachePrefix(addon) + name.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Gets a blueprint with its blocks, loading them from its file if they are not loaded.
+     * The file is read on this thread, so prefer {@link #getLoadedBlueprintAsync(GameModeAddon, String)}
+     * on the main thread.
+     * @param addon - game mode addon
+     * @param name - name of the blueprint
+     * @return the blueprint with its blocks, or null if there is no such blueprint or it could not be loaded
+     * @since 1.14.0
+     */
+    @Nullable
+    public Blueprint getLoadedBlueprint(@NonNull GameModeAddon addon, @NonNull String name) {
+        String key = getCacheKey(addon, name);
+        Blueprint bp = cache.get(key);
+        if (bp != null) {
+            return bp;
+        }
+        Blueprint metadata = getBlueprints(addon).get(name.toLowerCase(Locale.ENGLISH));
+        if (metadata == null) {
+            return null;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            bp = new BlueprintClipboardManager(plugin, getBlueprintsFolder(addon)).loadBlueprint(metadata.getName());
+            // The metadata may have been changed since the file was saved
+            copyMetadata(metadata, bp);
+            cache.put(key, bp);
+            plugin.log("Loaded blocks of blueprint '" + bp.getName() + FOR + addon.getDescription().getName()
+            + " in " + (System.currentTimeMillis() - start) + " ms");
+            return bp;
+        } catch (Exception e) {
+            plugin.logError("Could not load blueprint " + name + " " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Gets a blueprint with its blocks. If they are not loaded, they are loaded async from its file.
+     * Requests for a blueprint that is already being loaded share that load.
+     * @param addon - game mode addon
+     * @param name - name of the blueprint
+     * @return future that completes on the main thread with the blueprint, or null if there is no such blueprint
+     * or it could not be loaded
+     * @since 1.14.0
+     */
+    @NonNull
+    public CompletableFuture<Blueprint> getLoadedBlueprintAsync(@NonNull GameModeAddon addon, @NonNull String name) {
+        String key = getCacheKey(addon, name);
+        Blueprint bp = cache.get(key);
+        if (bp != null) {
+            return CompletableFuture.completedFuture(bp);
+        }
+        CompletableFuture<Blueprint> created = new CompletableFuture<>();
+        CompletableFuture<Blueprint> existing = loading.putIfAbsent(key, created);
+        if (existing == null) {
+            existing = created;
+            try {
+                loader.execute(() -> {
+                    Blueprint loaded = getLoadedBlueprint(addon, name);
+                    // It is in the cache now, so later requests do not need to wait
+                    loading.remove(key, created);
+                    Bukkit.getScheduler().runTask(plugin, () -> created.complete(loaded));
+                });
+            } catch (RejectedExecutionException e) {
+                loading.remove(key, created);
+                plugin.logError("Could not load blueprint " + name + " " + e.getMessage());
+                created.complete(null);
+            }
+        }
+        // Callers get their own future, so they cannot complete the shared one
+        return existing.thenApply(loaded -> loaded);
+    }
+
+    /**
+     * Gets the workers that read blueprint files. They can also be used for other blueprint work that must
+     * not run on the main thread, such as reading the blocks copied to a clipboard.
+     * @return the bounded pool of blueprint workers
+     * @since 1.14.0
+     */
+    @NonNull
+    public Executor getExecutor() {
+        return loader;
+    }
+
+    /**
+     * @return blueprints with their blocks loaded
+     * @since 1.14.0
+     */
+    @NonNull
+    public BlueprintCache getBlueprintCache() {
+        return cache;
+    }
+
     /**
      * Saves a blueprint into addon's blueprint folder
      *
@@ -335,7 +544,17 @@ public class BlueprintsManager {
      * @param bp    - blueprint to save
      */
     public boolean saveBlueprint(@NonNull GameModeAddon addon, @NonNull Blueprint bp) {
-        return new BlueprintClipboardManager(plugin, getBlueprintsFolder(addon)).saveBlueprint(bp);
+        Blueprint toSave = bp;
+        if (bp.isMetadataOnly()) {
+            // This is the metadata of a blueprint, such as one from getBlueprints(), so save it with its blocks
+            toSave = getLoadedBlueprint(addon, bp.getName());
+            if (toSave == null) {
+                plugin.logError("Could not save blueprint " + bp.getName() + " because its blocks could not be loaded");
+                return false;
+            }
+            copyMetadata(bp, toSave);
+        }
+        return new BlueprintClipboardManager(plugin, getBlueprintsFolder(addon)).saveBlueprint(toSave);
     }
 
     /**
@@ -383,7 +602,9 @@ public class BlueprintsManager {
     }
 
     /**
-     * Get blueprints for this game mode
+     * Get blueprints for this game mode.
+     * The blueprints only have their metadata, such as their name, icon and size. Their blocks, attached blocks
+     * and entities are null: get them with {@link #getLoadedBlueprintAsync(GameModeAddon, String)}.
      *
      * @param addon - game mode addon
      * @return Map of name and blueprint or empty map
@@ -409,6 +630,7 @@ public class BlueprintsManager {
            if (b.getName().equalsIgnoreCase(name)) {
                it.remove();
                blueprints.put(addon, addonBlueprints);
+               cache.remove(getCacheKey(addon, b.getName()));
 
                File file = new File(getBlueprintsFolder(addon), b.getName() + BLUEPRINT_SUFFIX);
                // Delete the file
@@ -442,6 +664,22 @@ public class BlueprintsManager {
      * @return true if okay, false is there is a problem
      */
     public boolean paste(GameModeAddon addon, Island island, String name, Runnable task) {
+        return paste(addon, island, name, task, null);
+    }
+
+    /**
+     * Paste islands to the world and run task afterwards. The blocks of the blueprints are loaded first if they are
+     * not in the cache, so a blueprint that cannot be loaded is only found after this returns.
+     *
+     * @param addon  - the game mode addon
+     * @param island - the island
+     * @param name   - name of bundle to paste
+     * @param task   - task to run after pasting is completed
+     * @param failed - task to run once, instead of the task, if the blocks of a blueprint could not be loaded
+     * @return true if okay, false is there is a problem
+     * @since 1.14.0
+     */
+    public boolean paste(GameModeAddon addon, Island island, String name, Runnable task, @Nullable Runnable failed) {
         if (validate(addon, name) == null) {
             plugin.logError("Tried to paste '" + name + "' but the bundle is not loaded!");
             return false;
@@ -451,42 +689,148 @@ public class BlueprintsManager {
             plugin.logError("No blueprints loaded for bundle '" + name + "'!");
             return false;
         }
+        AtomicBoolean hasFailed = new AtomicBoolean();
+        Runnable failedOnce = () -> {
+            if (failed != null && hasFailed.compareAndSet(false, true)) {
+                failed.run();
+            }
+        };
+        getBundleBlueprints(addon, bb, true).forEach((world, bp) ->
+        // The task is run once the overworld is pasted
+        paste(addon, bp.getName(), world, island, world.equals(addon.getOverWorld()) ? task : null, failedOnce));
+        return true;
+
+    }
+
+    /**
+     * Gets the blueprints of a bundle that are pasted in each world of a game mode
+     * @param addon - the game mode addon
+     * @param bb - the blueprint bundle
+     * @param log - whether to log a missing overworld blueprint
+     * @return blueprints by world, overworld first
+     */
+    private Map<World, Blueprint> getBundleBlueprints(GameModeAddon addon, BlueprintBundle bb, boolean log) {
+        Map<World, Blueprint> bundleBlueprints = new LinkedHashMap<>();
         Blueprint bp = getBlueprints(addon).get(bb.getBlueprint(World.Environment.NORMAL));
         if (bp == null) {
             // Oops, no overworld
             bp = getBlueprints(addon).get("island");
-            plugin.logError("Blueprint bundle has no normal world blueprint, using default");
-            if (bp == null) {
-                plugin.logError("NO DEFAULT BLUEPRINT FOUND! Make sure 'island.blu' exists!");
+            if (log) {
+                plugin.logError("Blueprint bundle has no normal world blueprint, using default");
+                if (bp == null) {
+                    plugin.logError("NO DEFAULT BLUEPRINT FOUND! Make sure 'island.blu' exists!");
+                }
             }
         }
-        // Paste overworld
+        // Overworld
         if (bp != null) {
-            new BlueprintPaster(plugin, bp, addon.getOverWorld(), island, task);
+            bundleBlueprints.put(addon.getOverWorld(), bp);
         }
-        // Make nether island
+        // Nether island
         if (bb.getBlueprint(World.Environment.NETHER) != null
                 && addon.getWorldSettings().isNetherGenerate()
                 && addon.getWorldSettings().isNetherIslands()
                 && addon.getNetherWorld() != null) {
             bp = getBlueprints(addon).get(bb.getBlueprint(World.Environment.NETHER));
             if (bp != null) {
-                new BlueprintPaster(plugin, bp, addon.getNetherWorld(), island, null);
+                bundleBlueprints.put(addon.getNetherWorld(), bp);
             }
         }
 
-        // Make end island
+        // End island
         if (bb.getBlueprint(World.Environment.THE_END) != null
                 && addon.getWorldSettings().isEndGenerate()
                 && addon.getWorldSettings().isEndIslands()
                 && addon.getEndWorld() != null) {
             bp = getBlueprints(addon).get(bb.getBlueprint(World.Environment.THE_END));
             if (bp != null) {
-                new BlueprintPaster(plugin, bp, addon.getEndWorld(), island, null);
+                bundleBlueprints.put(addon.getEndWorld(), bp);
             }
         }
+        return bundleBlueprints;
+    }
+
+    /**
+     * Removes the blocks of a blueprint bundle that was pasted on an island, so that another bundle can be
+     * pasted instead. Air is pasted where the blocks of the blueprints of the bundle are.
+     * This is used when the bundle of an island made ahead of time is changed when it is given to a player.
+     *
+     * @param addon - the game mode addon
+     * @param island - the island
+     * @param name - name of the bundle that was pasted
+     * @param task - task to run once the blocks have been removed in all the worlds
+     * @return true if okay, false is there is a problem
+     * @since 1.14.0
+     */
+    public boolean clear(GameModeAddon addon, Island island, String name, Runnable task) {
+        if (validate(addon, name) == null) {
+            plugin.logError("Tried to clear '" + name + "' but the bundle is not loaded!");
+            return false;
+        }
+        BlueprintBundle bb = getBlueprintBundles(addon).get(name.toLowerCase(Locale.ENGLISH));
+        Map<World, Blueprint> bundleBlueprints = getBundleBlueprints(addon, bb, false);
+        if (bundleBlueprints.isEmpty()) {
+            // Nothing was pasted
+            Bukkit.getScheduler().runTask(plugin, task);
+            return true;
+        }
+        AtomicInteger left = new AtomicInteger(bundleBlueprints.size());
+        Runnable cleared = () -> {
+            if (left.decrementAndGet() == 0) {
+                task.run();
+            }
+        };
+        bundleBlueprints.forEach((world, bp) -> getLoadedBlueprintAsync(addon, bp.getName()).thenAccept(loaded -> {
+            if (loaded == null) {
+                plugin.logError("Could not clear blueprint '" + bp.getName() + FOR + addon.getDescription().getName() + " because its blocks could not be loaded");
+                cleared.run();
+                return;
+            }
+            new BlueprintPaster(plugin, getAir(loaded), world, island, cleared);
+        }));
         return true;
+    }
+
+    /**
+     * Makes a blueprint that has air where the blocks of a blueprint are
+     * @param bp - blueprint with its blocks
+     * @return blueprint of air, with the same bedrock
+     */
+    private static Blueprint getAir(@NonNull Blueprint bp) {
+        Blueprint air = new Blueprint();
+        air.setName(bp.getName());
+        air.setBedrock(bp.getBedrock());
+        CompactBlocks.Bounds bounds = bp.getCompactBlocks().getBounds();
+        CompactBlocks.Builder blocks = new CompactBlocks.Builder(bounds);
+        for (CompactBlocks compact : Arrays.asList(bp.getCompactBlocks(), bp.getCompactAttached())) {
+            // Blocks are pasted without physics, so attached blocks do not drop when the block they are on goes
+            for (int n = 0; n < compact.size(); n++) {
+                blocks.add(compact.getX(n), compact.getY(n), compact.getZ(n), 0, null);
+            }
+        }
+        String[] palette = {AIR};
+        air.setCompactBlocks(blocks.build(palette), new CompactBlocks.Builder(bounds).build(palette));
+        return air;
+    }
 
+    /**
+     * Pastes a blueprint once its blocks are loaded
+     * @param addon - the game mode addon
+     * @param name - name of the blueprint
+     * @param world - world to paste to
+     * @param island - the island
+     * @param task - task to run after pasting is completed, null if none
+     * @param failed - task to run if the blocks could not be loaded
+     */
+    private void paste(GameModeAddon addon, String name, World world, Island island, @Nullable Runnable task, Runnable failed) {
+        getLoadedBlueprintAsync(addon, name).thenAccept(bp -> {
+            if (bp == null) {
+                plugin.logError("Could not paste blueprint '" + name + FOR + addon.getDescription().getName() + " because its blocks could not be loaded");
+                failed.run();
+                return;
+            }
+            new BlueprintPaster(plugin, bp, world, island, task);
+        });
     }
 
     /**
@@ -571,6 +915,14 @@ public class BlueprintsManager {
             // If the name is the same, do not do anything
             return;
         }
+        // Load the blocks before the old file is deleted
+        Blueprint loaded = bp.isMetadataOnly() ? getLoadedBlueprint(addon, bp.getName()) : bp;
+        if (loaded == null) {
+            plugin.logError("Could not rename blueprint " + bp.getName() + " because its blocks could not be loaded");
+            return;
+        }
+        copyMetadata(bp, loaded);
+        cache.remove(getCacheKey(addon, bp.getName()));
         File bpf = getBlueprintsFolder(addon);
         // Get the filename
         File fileName = new File(bpf, sanitizeFileName(bp.getName()) + BLUEPRINT_SUFFIX);
@@ -582,8 +934,10 @@ public class BlueprintsManager {
         }
         // Set new name
         bp.setName(name.toLowerCase(Locale.ENGLISH));
+        loaded.setName(name.toLowerCase(Locale.ENGLISH));
+        cache.put(getCacheKey(addon, name), loaded);
         // Save it
-        saveBlueprint(addon, bp);
+        saveBlueprint(addon, loaded);
     }
 
 }
@@ -0,0 +1,307 @@
+package world.bentobox.bentobox.managers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.api.localization.TextVariables;
+import world.bentobox.bentobox.api.user.User;
+
+/**
+ * Runs the stages of making new islands, such as finding their location and pasting them,
+ * with a limit on how many islands can be in each stage at the same time.
+ * <p>
+ * Islands that cannot start a stage straight away wait in the queue of the stage, and their player
+ * is told their place in the queue each time it moves. The time each stage takes is kept for admins to see.
+ *
+ * @since 1.14.0
+ */
+public class IslandCreationManager {
+
+    /**
+     * Stages of making an island
+     */
+    public enum Stage {
+        /**
+         * Finding a free location and adding the island to the grid
+         */
+        LOCATION,
+        /**
+         * Loading and generating the chunks of the island. It is part of {@link #PASTE} and has no queue of its own.
+         */
+        CHUNKS,
+        /**
+         * Pasting the blueprint, including loading its chunks
+         */
+        PASTE,
+        /**
+         * Teleporting the player to their new island
+         */
+        TELEPORT;
+
+        /**
+         * @return name of the stage shown to admins
+         */
+        @NonNull
+        public String getLabel() {
+            return name().toLowerCase(Locale.ENGLISH);
+        }
+    }
+
+    /**
+     * Times that the stages took, in buckets
+     */
+    public static class Timings {
+        /**
+         * Upper bounds of the buckets in milliseconds. The last bucket has no upper bound.
+         */
+        private static final long[] BOUNDS = {50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
+        private final long[] buckets = new long[BOUNDS.length + 1];
+        private long count;
+        private long total;
+        private long max;
+
+        /**
+         * Adds a time
+         * @param millis - time in milliseconds
+         */
+        public synchronized void record(long millis) {
+            int i = 0;
+            while (i < BOUNDS.length && millis >= BOUNDS[i]) {
+                i++;
+            }
+            buckets[i]++;
+            count++;
+            total += millis;
+            max = Math.max(max, millis);
+        }
+
+        /**
+         * @return upper bounds of the buckets in milliseconds, one fewer than the buckets
+         */
+        @NonNull
+        public static long[] getBounds() {
+            return BOUNDS.clone();
+        }
+
+        /**
+         * @return number of times in each bucket
+         */
+        @NonNull
+        public synchronized long[] getBuckets() {
+            return buckets.clone();
+        }
+
+        /**
+         * @return number of times
+         */
+        public synchronized long getCount() {
+            return count;
+        }
+
+        /**
+         * @return average time in milliseconds, 0 if there is none
+         */
+        public synchronized long getAverage() {
+            return count == 0 ? 0 : total / count;
+        }
+
+        /**
+         * @return longest time in milliseconds
+         */
+        public synchronized long getMax() {
+            return max;
+        }
+    }
+
+    /**
+     * An island waiting for or in a stage
+     */
+    private static class Entry {
+        @Nullable
+        private final User user;
+        private final Consumer<Runnable> step;
+        private long start;
+
+        Entry(@Nullable User user, Consumer<Runnable> step) {
+            this.user = user;
+            this.step = step;
+        }
+    }
+
+    /**
+     * A stage is given up on after this time, so that a paste that never finished does not hold its place
+     */
+    private static final long TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
+    private final BentoBox plugin;
+    private final Map<Stage, Deque<Entry>> waiting = new EnumMap<>(Stage.class);
+    private final Map<Stage, List<Entry>> running = new EnumMap<>(Stage.class);
+    private final Map<Stage, Timings> timings = new EnumMap<>(Stage.class);
+
+    public IslandCreationManager(@NonNull BentoBox plugin) {
+        this.plugin = plugin;
+        for (Stage stage : Stage.values()) {
+            waiting.put(stage, new ArrayDeque<>());
+            running.put(stage, new ArrayList<>());
+            timings.put(stage, new Timings());
+        }
+    }
+
+    /**
+     * Runs a step of making an island in a stage, as soon as the stage has room for it.
+     * The step must run the runnable it is given when it is done, so that the next island can start the stage.
+     * @param stage - stage
+     * @param user - player whose island it is, told their place in the queue if it has to wait. May be null.
+     * @param step - step to run
+     */
+    public void run(@NonNull Stage stage, @Nullable User user, @NonNull Consumer<Runnable> step) {
+        Entry entry = new Entry(user, step);
+        waiting.get(stage).add(entry);
+        // The queue only moves here if the limit was raised, and then every waiting player is told already
+        if (!startWaiting(stage) && waiting.get(stage).contains(entry)) {
+            sendPosition(entry, waiting.get(stage).size());
+        }
+    }
+
+    private void sendPosition(Entry entry, int position) {
+        if (entry.user != null) {
+            entry.user.sendMessage("commands.island.create.queued", TextVariables.NUMBER, String.valueOf(position));
+        }
+    }
+
+    private boolean hasRoom(Stage stage) {
+        int limit = getLimit(stage);
+        return limit <= 0 || running.get(stage).size() < limit;
+    }
+
+    private void start(Stage stage, Entry entry) {
+        entry.start = System.currentTimeMillis();
+        running.get(stage).add(entry);
+        boolean[] done = new boolean[1];
+        entry.step.accept(() -> {
+            // Only the first call counts
+            if (!done[0]) {
+                done[0] = true;
+                finish(stage, entry);
+            }
+        });
+    }
+
+    private void finish(Stage stage, Entry entry) {
+        if (running.get(stage).remove(entry)) {
+            record(stage, System.currentTimeMillis() - entry.start);
+        }
+        startWaiting(stage);
+    }
+
+    /**
+     * Starts the islands waiting for a stage while it has room, and tells the players still waiting their new place
+     * @param stage - stage
+     * @return true if the queue moved
+     */
+    private boolean startWaiting(Stage stage) {
+        boolean moved = false;
+        while (!waiting.get(stage).isEmpty() && hasRoom(stage)) {
+            start(stage, waiting.get(stage).poll());
+            moved = true;
+        }
+        if (moved) {
+            // Tell the players that are still waiting their new place
+            int position = 1;
+            for (Entry entry : waiting.get(stage)) {
+                sendPosition(entry, position++);
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Gives up on the islands that have been in a stage for too long, so that a step that never finished
+     * does not hold its place, and starts the islands waiting for their places.
+     * This is run every minute.
+     */
+    public void releaseTimedOut() {
+        releaseTimedOut(System.currentTimeMillis());
+    }
+
+    void releaseTimedOut(long now) {
+        for (Stage stage : Stage.values()) {
+            Iterator<Entry> it = running.get(stage).iterator();
+            boolean released = false;
+            while (it.hasNext()) {
+                if (now - it.next().start > TIMEOUT) {
+                    plugin.logWarning("An island took too long in the " + stage.getLabel() + " stage. It no longer holds a place in it.");
+                    it.remove();
+                    released = true;
+                }
+            }
+            if (released) {
+                startWaiting(stage);
+            }
+        }
+    }
+
+    /**
+     * Keeps the time a stage took, for stages that are timed by something else, such as {@link Stage#CHUNKS}
+     * @param stage - stage
+     * @param millis - time in milliseconds
+     */
+    public void record(@NonNull Stage stage, long millis) {
+        timings.get(stage).record(millis);
+    }
+
+    /**
+     * @param stage - stage
+     * @return most islands that can be in this stage at the same time, 0 or less if there is no limit
+     */
+    public int getLimit(@NonNull Stage stage) {
+        switch (stage) {
+        case LOCATION:
+            return plugin.getSettings().getMaxIslandsLocating();
+        case PASTE:
+            return plugin.getSettings().getMaxIslandsPasting();
+        case TELEPORT:
+            return plugin.getSettings().getMaxIslandsTeleporting();
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * @param stage - stage
+     * @return number of islands in this stage
+     */
+    public int getRunning(@NonNull Stage stage) {
+        return running.get(stage).size();
+    }
+
+    /**
+     * @param stage - stage
+     * @return number of islands waiting to start this stage
+     */
+    public int getWaiting(@NonNull Stage stage) {
+        return waiting.get(stage).size();
+    }
+
+    /**
+     * @param stage - stage
+     * @return times this stage took
+     */
+    @NonNull
+    public Timings getTimings(@NonNull Stage stage) {
+        return timings.get(stage);
+    }
+}
@@ -0,0 +1,209 @@
+package world.bentobox.bentobox.managers;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.scheduler.BukkitTask;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.api.addons.GameModeAddon;
+import world.bentobox.bentobox.api.events.BentoBoxReadyEvent;
+import world.bentobox.bentobox.database.Database;
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.database.objects.IslandPool;
+import world.bentobox.bentobox.managers.island.DefaultNewIslandLocationStrategy;
+
+/**
+ * Keeps islands of the default blueprint bundle made ahead of time for each game mode,
+ * so that new players can be given one straight away instead of waiting for it to be pasted.
+ * <p>
+ * Islands are made one at a time, and only when the server is idle: when nothing else is being pasted
+ * or deleted and the last second was not longer than it should be. They have no owner until a player gets one.
+ * The pools are stored in the database so they are kept across restarts.
+ *
+ * @since 1.14.0
+ */
+public class IslandPoolManager implements Listener {
+
+    /**
+     * Time between checks in ticks
+     */
+    private static final long PERIOD = 20L;
+    /**
+     * A second is too long if it takes longer than this, in milliseconds
+     */
+    private static final long BUSY = 1100L;
+    /**
+     * Longest time an island can take to be made before another one is started
+     */
+    private static final long TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
+    private final BentoBox plugin;
+    private final Database<IslandPool> handler;
+    /**
+     * Pools by game mode name
+     */
+    private final Map<String, IslandPool> pools = new HashMap<>();
+    private BukkitTask task;
+    private long lastCheck;
+    /**
+     * Time the island that is being made was started, 0 if none
+     */
+    private long making;
+
+    public IslandPoolManager(@NonNull BentoBox plugin) {
+        this.plugin = plugin;
+        handler = new Database<>(plugin, IslandPool.class);
+    }
+
+    /**
+     * When BentoBox is fully loaded, load the pools and start filling them
+     * @param e BentoBox Ready event
+     */
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onBentoBoxReady(BentoBoxReadyEvent e) {
+        pools.clear();
+        for (IslandPool pool : handler.loadObjects()) {
+            pools.put(pool.getUniqueId(), pool);
+            // Islands that were given away or deleted while the pool was not saved
+            pool.getIslands().removeIf(id -> !isFree(plugin.getIslands().getIslandById(id).orElse(null)));
+            // Islands that were still being pasted when the server stopped are only partly there
+            pool.getPending().forEach(id -> plugin.getIslands().getIslandById(id).filter(this::isFree)
+                    .ifPresent(i -> plugin.getIslands().deleteIsland(i, true, null)));
+            pool.getPending().clear();
+            handler.saveObjectAsync(pool);
+            if (!pool.getIslands().isEmpty()) {
+                plugin.log("There are " + pool.getIslands().size() + " islands ready for new players in " + pool.getUniqueId() + ".");
+            }
+        }
+        if (task == null && plugin.getSettings().getIslandPoolSize() > 0) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::check, PERIOD, PERIOD);
+        }
+    }
+
+    private boolean isFree(@Nullable Island island) {
+        return island != null && island.isUnowned() && !island.isDeleted();
+    }
+
+    /**
+     * Starts making an island if a pool is short of islands and the server is idle
+     */
+    void check() {
+        long now = System.currentTimeMillis();
+        boolean busy = lastCheck != 0 && now - lastCheck > BUSY;
+        lastCheck = now;
+        if (making != 0) {
+            if (now - making < TIMEOUT) {
+                return;
+            }
+            plugin.logWarning("Island for the island pool took too long to be made. Starting another one.");
+            making = 0;
+        }
+        // Players making islands and deletions come first
+        if (busy || !plugin.getTickBudgetManager().getJobs().isEmpty()) {
+            return;
+        }
+        plugin.getAddonsManager().getGameModeAddons().stream()
+        .filter(gm -> gm.getOverWorld() != null)
+        .filter(gm -> getSize(gm) < plugin.getSettings().getIslandPoolSize())
+        .filter(gm -> plugin.getBlueprintsManager().isBlueprintsLoaded(gm))
+        .filter(gm -> plugin.getBlueprintsManager().validate(gm, BlueprintsManager.DEFAULT_BUNDLE_NAME) != null)
+        .findFirst().ifPresent(this::make);
+    }
+
+    private void make(GameModeAddon gm) {
+        making = System.currentTimeMillis();
+        IslandPool pool = getPool(gm);
+        new DefaultNewIslandLocationStrategy().getNextLocationAsync(gm.getOverWorld()).whenComplete((location, e) -> {
+            if (e != null || location == null) {
+                making = 0;
+                return;
+            }
+            Island island = plugin.getIslands().createIsland(location);
+            if (island == null) {
+                making = 0;
+                return;
+            }
+            island.setFlagsDefaults();
+            plugin.getIslands().save(island);
+            pool.getPending().add(island.getUniqueId());
+            handler.saveObjectAsync(pool);
+            if (!plugin.getBlueprintsManager().paste(gm, island, BlueprintsManager.DEFAULT_BUNDLE_NAME, () -> ready(pool, island),
+                    () -> failed(pool, island))) {
+                failed(pool, island);
+            }
+        });
+    }
+
+    private void failed(IslandPool pool, Island island) {
+        pool.getPending().remove(island.getUniqueId());
+        handler.saveObjectAsync(pool);
+        plugin.getIslands().deleteIsland(island, false, null);
+        making = 0;
+    }
+
+    private void ready(IslandPool pool, Island island) {
+        pool.getPending().remove(island.getUniqueId());
+        if (isFree(island)) {
+            pool.getIslands().add(island.getUniqueId());
+        }
+        handler.saveObjectAsync(pool);
+        making = 0;
+    }
+
+    private IslandPool getPool(GameModeAddon gm) {
+        return pools.computeIfAbsent(gm.getDescription().getName(), IslandPool::new);
+    }
+
+    /**
+     * Takes an island out of the pool of the game mode of this world. The island has no owner.
+     * @param world - world
+     * @return island that is pasted and ready, or null if there is none
+     */
+    @Nullable
+    public Island take(@NonNull World world) {
+        IslandPool pool = plugin.getIWM().getAddon(world).map(gm -> pools.get(gm.getDescription().getName())).orElse(null);
+        if (pool == null) {
+            return null;
+        }
+        Iterator<String> it = pool.getIslands().iterator();
+        while (it.hasNext()) {
+            Island island = plugin.getIslands().getIslandById(it.next()).orElse(null);
+            it.remove();
+            if (isFree(island)) {
+                handler.saveObjectAsync(pool);
+                return island;
+            }
+        }
+        handler.saveObjectAsync(pool);
+        return null;
+    }
+
+    /**
+     * @param gm - game mode
+     * @return number of islands ready for new players in this game mode
+     */
+    public int getSize(@NonNull GameModeAddon gm) {
+        IslandPool pool = pools.get(gm.getDescription().getName());
+        return pool == null ? 0 : pool.getIslands().size();
+    }
+
+    /**
+     * Checks if an island is in a pool, ready or being pasted
+     * @param island - island
+     * @return true if the island is in a pool
+     */
+    public boolean isPooled(@NonNull Island island) {
+        return pools.values().stream().anyMatch(p -> p.getIslands().contains(island.getUniqueId())
+                || p.getPending().contains(island.getUniqueId()));
+    }
+}
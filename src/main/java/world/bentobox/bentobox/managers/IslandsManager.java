@@ -52,6 +52,8 @@ import world.bentobox.bentobox.database.objects.IslandDeletion;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.bentobox.managers.island.DefaultNewIslandLocationStrategy;
 import world.bentobox.bentobox.managers.island.IslandCache;
+import world.bentobox.bentobox.managers.island.OccupancyIndex;
+import world.bentobox.bentobox.managers.island.OnlineMembersCounter;
 import world.bentobox.bentobox.util.DeleteIslandChunks;
 import world.bentobox.bentobox.util.Util;
 import world.bentobox.bentobox.util.teleport.SafeSpotTeleport;
@@ -99,6 +101,12 @@ public class IslandsManager {
     // Deleted islands
     @NonNull
     private List<String> deletedIslands;
+    // Players on each island
+    @NonNull
+    private final OccupancyIndex occupancy = new OccupancyIndex();
+    // Online members of each island
+    @NonNull
+    private final OnlineMembersCounter onlineMembers = new OnlineMembersCounter(uuid -> Bukkit.getPlayer(uuid) != null);
 
     private Set<String> toSave = new HashSet<>();
 
@@ -445,6 +453,26 @@ public class IslandsManager {
         return islandCache;
     }
 
+    /**
+     * Returns the index of the online players on each island.
+     * @return the occupancy index
+     * @since 1.14.0
+     */
+    @NonNull
+    public OccupancyIndex getOccupancy() {
+        return occupancy;
+    }
+
+    /**
+     * Returns the number of online members of each island.
+     * @return the online members counter
+     * @since 1.14.0
+     */
+    @NonNull
+    public OnlineMembersCounter getOnlineMembers() {
+        return onlineMembers;
+    }
+
     /**
      * Used for testing only to inject the islandCache mock object
      * @param islandCache - island cache
@@ -1238,14 +1266,8 @@ public class IslandsManager {
      * Save the all the islands to the database
      */
     public void saveAll(){
-        Collection<Island> collection = islandCache.getIslands();
-        for(Island island : collection){
-            try {
-                handler.saveObjectAsync(island);
-            } catch (Exception e) {
-                plugin.logError("Could not save island to database when running sync! " + e.getMessage());
-            }
-        }
+        // Databases that support bulk writes save the islands together
+        handler.saveObjectsAsync(islandCache.getIslands());
     }
 
     /**
@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -14,6 +15,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarFile;
 
 import org.bukkit.Bukkit;
@@ -26,6 +28,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.addons.Addon;
 import world.bentobox.bentobox.api.localization.BentoBoxLocale;
+import world.bentobox.bentobox.api.localization.TranslationTemplate;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.util.FileLister;
 import world.bentobox.bentobox.util.Util;
@@ -37,9 +40,19 @@ public class LocalesManager {
 
     private BentoBox plugin;
     private Map<Locale, BentoBoxLocale> languages = new HashMap<>();
+    /**
+     * Prefixes available to each user locale, merged with the server's locale and the en-US locale
+     */
+    private final Map<Locale, Set<String>> availablePrefixes = new ConcurrentHashMap<>();
+    /**
+     * Server's default language tag from the settings and its locale, so the tag is only parsed when it changes
+     */
+    private String defaultLanguageTag;
+    private Locale defaultLocale;
     private static final String LOCALE_FOLDER = "locales";
     private static final String BENTOBOX = "BentoBox";
     private static final String SPACER = "*************************************************";
+    private static final Locale EN_US = Locale.forLanguageTag("en-US");
 
     public LocalesManager(BentoBox plugin) {
         this.plugin = plugin;
@@ -66,6 +79,32 @@ public class LocalesManager {
         return get(reference);
     }
 
+    /**
+     * Gets the compiled text corresponding to the reference from the locale file for this user.
+     * The texts are compiled when the locales are loaded.
+     * @param user the User
+     * @param reference a reference that can be found in a locale file
+     * @return the compiled text from the User's locale or from the server's locale or from the en-US locale, or null.
+     * @since 1.14.0
+     */
+    @Nullable
+    public TranslationTemplate getTemplate(User user, String reference) {
+        TranslationTemplate template = null;
+        if (user != null) {
+            template = getTemplate(user.getLocale(), reference);
+        }
+        if (template == null) {
+            template = getTemplate(getDefaultLocale(), reference);
+        }
+        return template == null ? getTemplate(EN_US, reference) : template;
+    }
+
+    @Nullable
+    private TranslationTemplate getTemplate(Locale locale, String reference) {
+        BentoBoxLocale bentoBoxLocale = languages.get(locale);
+        return bentoBoxLocale == null ? null : bentoBoxLocale.getTemplate(reference);
+    }
+
     /**
      * Gets the translated String corresponding to the reference from the locale file for this user.
      * @param user the User
@@ -93,17 +132,63 @@ public class LocalesManager {
     @Nullable
     public String get(String reference) {
         // Get the translation from the server's locale
-        if (languages.containsKey(Locale.forLanguageTag(plugin.getSettings().getDefaultLanguage()))
-                && languages.get(Locale.forLanguageTag(plugin.getSettings().getDefaultLanguage())).contains(reference)) {
-            return languages.get(Locale.forLanguageTag(plugin.getSettings().getDefaultLanguage())).get(reference);
+        BentoBoxLocale locale = languages.get(getDefaultLocale());
+        if (locale != null && locale.contains(reference)) {
+            return locale.get(reference);
         }
         // Get the translation from the en-US locale
-        if (languages.get(Locale.forLanguageTag("en-US")).contains(reference)) {
-            return languages.get(Locale.forLanguageTag("en-US")).get(reference);
+        locale = languages.get(EN_US);
+        if (locale != null && locale.contains(reference)) {
+            return locale.get(reference);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the server's default locale from the settings, only parsing the language tag when it changes.
+     * The cached prefixes depend on the server's locale, so they are cleared and the texts that use them are
+     * compiled again when it changes.
+     * @return the server's default locale
+     */
+    private synchronized Locale getDefaultLocale() {
+        String tag = plugin.getSettings().getDefaultLanguage();
+        if (defaultLocale == null || !tag.equals(defaultLanguageTag)) {
+            boolean changed = defaultLocale != null;
+            defaultLocale = Locale.forLanguageTag(tag);
+            defaultLanguageTag = tag;
+            availablePrefixes.clear();
+            if (changed) {
+                compileTemplates();
+            }
+        }
+        return defaultLocale;
+    }
+
+    /**
+     * Gets the text of a prefix from a locale, the server's locale or the en-US locale
+     * @param locale - locale of the text that uses the prefix
+     * @param prefix - name of the prefix
+     * @return text of the prefix or null if there is no such prefix
+     */
+    @Nullable
+    private String getPrefixText(Locale locale, String prefix) {
+        String reference = "prefixes." + prefix;
+        for (Locale l : new Locale[] {locale, getDefaultLocale(), EN_US}) {
+            BentoBoxLocale bentoBoxLocale = languages.get(l);
+            if (bentoBoxLocale != null && bentoBoxLocale.contains(reference)) {
+                return bentoBoxLocale.get(reference);
+            }
         }
         return null;
     }
 
+    /**
+     * Compiles the texts of all the locales that are not compiled yet, and the texts that use prefixes
+     */
+    private void compileTemplates() {
+        languages.forEach((locale, bentoBoxLocale) -> bentoBoxLocale.compileTemplates(prefix -> getPrefixText(locale, prefix)));
+    }
+
     /**
      * Gets the translated String corresponding to the reference from the server's or the en-US locale file.
      * or if it cannot be found anywhere, use the default text supplied.
@@ -118,26 +203,33 @@ public class LocalesManager {
 
     /**
      * Gets the list of prefixes from the user's locale, the server's locale and the en-US locale file.
+     * The list is only built the first time it is needed for each locale and is kept until the locales are loaded again.
      * @param user the user to get the locale, not null.
-     * @return the list of prefixes from the user's locale, the server's locale and the en-US locale file.
+     * @return the unmodifiable list of prefixes from the user's locale, the server's locale and the en-US locale file.
      * @since 1.13.0
      */
     public Set<String> getAvailablePrefixes(@NonNull User user) {
-        Set<String> prefixes = new HashSet<>();
+        Locale serverLocale = getDefaultLocale();
+        return availablePrefixes.computeIfAbsent(user.getLocale(), userLocale -> mergePrefixes(userLocale, serverLocale));
+    }
 
-        // Get the player locale
-        BentoBoxLocale locale = languages.get(user.getLocale());
-        if (locale != null) {
-            prefixes.addAll(locale.getPrefixes());
+    private Set<String> mergePrefixes(Locale userLocale, Locale serverLocale) {
+        Set<String> prefixes = new HashSet<>();
+        // Get the prefixes from the player locale, the server's locale and the en-US locale
+        for (Locale l : new Locale[] {userLocale, serverLocale, EN_US}) {
+            BentoBoxLocale locale = languages.get(l);
+            if (locale != null) {
+                prefixes.addAll(locale.getPrefixes());
+            }
         }
+        return Collections.unmodifiableSet(prefixes);
+    }
 
-        // Get the prefixes from the server's locale
-        prefixes.addAll(languages.get(Locale.forLanguageTag(plugin.getSettings().getDefaultLanguage())).getPrefixes());
-
-        // Get the prefixes from the en-US locale
-        prefixes.addAll(languages.get(Locale.forLanguageTag("en-US")).getPrefixes());
-
-        return prefixes;
+    /**
+     * Clears everything that is worked out from the loaded locales
+     */
+    private void clearCaches() {
+        availablePrefixes.clear();
     }
 
     /**
@@ -242,6 +334,8 @@ public class LocalesManager {
             // If there is no locale folder, then return
             return;
         }
+        // The prefixes may change
+        availablePrefixes.clear();
         // Run through the files and store the locales
         for (File language : Objects.requireNonNull(localeDir.listFiles(ymlFilter))) {
             Locale localeObject = Locale.forLanguageTag(language.getName().substring(0, language.getName().length() - 4));
@@ -262,6 +356,8 @@ public class LocalesManager {
                         " The file has likely an invalid YML format or has been made unreadable during the process.");
             }
         }
+        // Texts are compiled once, here, instead of every time they are sent
+        compileTemplates();
     }
 
     private void copyFile(String name, File targetFile) {
@@ -308,6 +404,7 @@ public class LocalesManager {
      */
     public void reloadLanguages() {
         languages.clear();
+        clearCaches();
         copyLocalesFromPluginJar();
         loadLocalesFromFile(BENTOBOX);
         plugin.getAddonsManager().getAddons().forEach(addon -> {
@@ -326,6 +423,7 @@ public class LocalesManager {
      */
     public void analyzeLocales(boolean fix) {
         languages.clear();
+        clearCaches();
 
         User user = User.getInstance(Bukkit.getConsoleSender());
 
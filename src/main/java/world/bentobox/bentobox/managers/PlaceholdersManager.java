@@ -1,27 +1,61 @@
 package world.bentobox.bentobox.managers;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.addons.Addon;
 import world.bentobox.bentobox.api.addons.GameModeAddon;
+import world.bentobox.bentobox.api.events.IslandBaseEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandEnterEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandExitEvent;
 import world.bentobox.bentobox.api.placeholders.PlaceholderReplacer;
+import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.hooks.placeholders.PlaceholderAPIHook;
 import world.bentobox.bentobox.lists.GameModePlaceholder;
+import world.bentobox.bentobox.managers.placeholders.CachedPlaceholder;
 
 /**
  * Manages placeholder integration.
+ * <p>
+ * Placeholder values can be kept for a time to live given when the placeholder is registered.
+ * When an island or team event happens, the cached values of the players of the island and of the players
+ * on it are forgotten, so that changes show straight away.
  *
  * @author Poslovitch
  */
-public class PlaceholdersManager {
+public class PlaceholdersManager implements Listener {
+
+    /**
+     * Time to live of the values of the default gamemode placeholders
+     * @since 1.14.0
+     */
+    public static final long DEFAULT_PLACEHOLDER_TTL = TimeUnit.SECONDS.toMillis(1);
+    private static final String BENTOBOX = "bentobox";
 
     private BentoBox plugin;
+    /**
+     * Registered placeholders by full name, for example "bskyblock_island_name"
+     */
+    private final Map<String, CachedPlaceholder> placeholders = new ConcurrentHashMap<>();
 
     public PlaceholdersManager(BentoBox plugin) {
         this.plugin = plugin;
@@ -34,8 +68,21 @@ public class PlaceholdersManager {
      * @param replacer the expression that will return a {@code String} when executed, which will be this placeholder's replacement.
      */
     public void registerPlaceholder(@NonNull String placeholder, @NonNull PlaceholderReplacer replacer) {
+        registerPlaceholder(placeholder, replacer, 0);
+    }
+
+    /**
+     * Registers this placeholder on the behalf of BentoBox and keeps its values for some time.
+     * @param placeholder the placeholder to register, not null.
+     *                    It will be appended with {@code "bentobox_"} by the placeholder plugin.
+     * @param replacer the expression that will return a {@code String} when executed, which will be this placeholder's replacement.
+     * @param ttl time in milliseconds the value of a user is kept for. 0 or less to work out the value every time.
+     * @since 1.14.0
+     */
+    public void registerPlaceholder(@NonNull String placeholder, @NonNull PlaceholderReplacer replacer, long ttl) {
+        CachedPlaceholder cached = cache(BENTOBOX, placeholder, replacer, ttl);
         // Register it in PlaceholderAPI
-        getPlaceholderAPIHook().ifPresent(hook -> hook.registerPlaceholder(placeholder, replacer));
+        getPlaceholderAPIHook().ifPresent(hook -> hook.registerPlaceholder(placeholder, cached));
     }
 
     /**
@@ -47,12 +94,39 @@ public class PlaceholdersManager {
      * @param replacer the expression that will return a {@code String} when executed, which will replace the placeholder.
      */
     public void registerPlaceholder(@Nullable Addon addon, @NonNull String placeholder, @NonNull PlaceholderReplacer replacer) {
+        registerPlaceholder(addon, placeholder, replacer, 0);
+    }
+
+    /**
+     * Registers this placeholder on the behalf of the specified addon and keeps its values for some time.
+     * @param addon the addon to register this placeholder on its behalf.
+     *              If null, the placeholder will be registered using {@link #registerPlaceholder(String, PlaceholderReplacer, long)}.
+     * @param placeholder the placeholder to register, not null.
+     *                    It will be appended with the addon's name by the placeholder plugin.
+     * @param replacer the expression that will return a {@code String} when executed, which will replace the placeholder.
+     * @param ttl time in milliseconds the value of a user is kept for. 0 or less to work out the value every time.
+     * @since 1.14.0
+     */
+    public void registerPlaceholder(@Nullable Addon addon, @NonNull String placeholder, @NonNull PlaceholderReplacer replacer, long ttl) {
         if (addon == null) {
-            registerPlaceholder(placeholder, replacer);
+            registerPlaceholder(placeholder, replacer, ttl);
             return;
         }
+        CachedPlaceholder cached = cache(addon.getDescription().getName(), placeholder, replacer, ttl);
         // Register it in PlaceholderAPI
-        getPlaceholderAPIHook().ifPresent(hook -> hook.registerPlaceholder(addon, placeholder, replacer));
+        getPlaceholderAPIHook().ifPresent(hook -> hook.registerPlaceholder(addon, placeholder, cached));
+    }
+
+    private CachedPlaceholder cache(String owner, String placeholder, PlaceholderReplacer replacer, long ttl) {
+        String name = getName(owner, placeholder);
+        CachedPlaceholder cached = new CachedPlaceholder(name, replacer, ttl);
+        // Placeholders that are already registered are not replaced by the placeholder plugin
+        placeholders.putIfAbsent(name, cached);
+        return cached;
+    }
+
+    private static String getName(String owner, String placeholder) {
+        return owner.toLowerCase(Locale.ENGLISH) + "_" + placeholder;
     }
 
     /**
@@ -63,7 +137,7 @@ public class PlaceholdersManager {
     public void registerDefaultPlaceholders(@NonNull GameModeAddon addon) {
         Arrays.stream(GameModePlaceholder.values())
         .filter(placeholder -> !isPlaceholder(addon, placeholder.getPlaceholder()))
-        .forEach(placeholder -> registerPlaceholder(addon, placeholder.getPlaceholder(), new DefaultPlaceholder(addon, placeholder)));
+        .forEach(placeholder -> registerPlaceholder(addon, placeholder.getPlaceholder(), new DefaultPlaceholder(addon, placeholder), DEFAULT_PLACEHOLDER_TTL));
     }
 
     /**
@@ -73,6 +147,7 @@ public class PlaceholdersManager {
      * @since 1.4.0
      */
     public void unregisterPlaceholder(@NonNull String placeholder) {
+        placeholders.remove(getName(BENTOBOX, placeholder));
         // Unregister it from PlaceholderAPI
         getPlaceholderAPIHook().ifPresent(hook -> hook.unregisterPlaceholder(placeholder));
     }
@@ -89,6 +164,7 @@ public class PlaceholdersManager {
             unregisterPlaceholder(placeholder);
             return;
         }
+        placeholders.remove(getName(addon.getDescription().getName(), placeholder));
         // Unregister it from PlaceholderAPI
         getPlaceholderAPIHook().ifPresent(hook -> hook.unregisterPlaceholder(addon, placeholder));
     }
@@ -128,4 +204,67 @@ public class PlaceholdersManager {
         }
         return string;
     }
+
+    /**
+     * Forgets the cached values of all placeholders
+     * @since 1.14.0
+     */
+    public void invalidate() {
+        placeholders.values().forEach(CachedPlaceholder::invalidate);
+    }
+
+    /**
+     * Gets the registered placeholders with their statistics, the most expensive first
+     * @return list of placeholders sorted by the total time spent working out their values
+     * @since 1.14.0
+     */
+    @NonNull
+    public List<CachedPlaceholder> getPlaceholderStats() {
+        List<CachedPlaceholder> list = new ArrayList<>(placeholders.values());
+        list.sort(Comparator.comparingDouble(CachedPlaceholder::getTotalTime).reversed());
+        return list;
+    }
+
+    /**
+     * Forgets the cached values of a player
+     * @param uuid - UUID of the player
+     * @since 1.14.0
+     */
+    public void invalidate(@NonNull UUID uuid) {
+        placeholders.values().forEach(p -> p.invalidate(uuid));
+    }
+
+    /**
+     * Forgets the cached values of the players affected when something happens to an island or a team:
+     * the player of the event, the players with a rank on the island and the players on the island
+     * @param e - island event
+     * @since 1.14.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onIslandEvent(IslandBaseEvent e) {
+        // Players crossing the border of an island happen all the time and do not change any value
+        if (e instanceof IslandEnterEvent || e instanceof IslandExitEvent) {
+            return;
+        }
+        Set<UUID> affected = new HashSet<>();
+        if (e.getPlayerUUID() != null) {
+            affected.add(e.getPlayerUUID());
+        }
+        Island island = e.getIsland();
+        if (island != null) {
+            affected.addAll(island.getMembers().keySet());
+            affected.addAll(plugin.getIslands().getOccupancy().getOccupants(island));
+        }
+        affected.forEach(this::invalidate);
+    }
+
+    /**
+     * Forgets the cached values of a player who leaves
+     * @param e - quit event
+     * @since 1.14.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        invalidate(e.getPlayer().getUniqueId());
+    }
 }
@@ -1,13 +1,17 @@
 package world.bentobox.bentobox.managers;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -17,11 +21,15 @@ import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
 import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.api.addons.Addon;
 import world.bentobox.bentobox.api.flags.Flag;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.database.Database;
 import world.bentobox.bentobox.database.objects.Names;
+import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.database.objects.Players;
+import world.bentobox.bentobox.managers.player.PlayerCache;
+import world.bentobox.bentobox.managers.player.PlayerNameIndex;
 
 public class PlayersManager {
 
@@ -29,11 +37,62 @@ public class PlayersManager {
     private Database<Players> handler;
     private Database<Names> names;
 
-    private Map<UUID, Players> playerCache;
+    private PlayerCache playerCache;
+    private final PlayerNameIndex nameIndex = new PlayerNameIndex();
     private Set<UUID> inTeleport;
     private Set<UUID> toSave = new HashSet<>();
     private BukkitTask task;
 
+    /**
+     * How long data loaded at pre-login is kept for the player to join
+     */
+    private static final long PREFETCH_TIMEOUT = TimeUnit.SECONDS.toMillis(60);
+    /**
+     * Fields of the player data needed to index the names of the players
+     */
+    private static final List<String> NAME_FIELDS = Arrays.asList("uniqueId", "playerName");
+    /**
+     * Players loaded at pre-login that have not been used yet
+     */
+    private final Map<UUID, PrefetchedPlayer> prefetched = new ConcurrentHashMap<>();
+    /**
+     * Players being loaded at pre-login, which must not be evicted
+     */
+    private final Set<UUID> prefetching = ConcurrentHashMap.newKeySet();
+    /**
+     * Evicted players whose changes are being saved. The database does not have their latest data until
+     * the save completes, so they are put back in the cache instead of being loaded if they are used again.
+     * Players are added before they are removed from the cache.
+     */
+    private final Map<UUID, Players> writingBack = new ConcurrentHashMap<>();
+    private final List<PreLoginLoader> preLoginLoaders = new CopyOnWriteArrayList<>();
+
+    private static class PrefetchedPlayer {
+        private final long time = System.currentTimeMillis();
+        private final boolean known;
+        @Nullable
+        private final Players player;
+
+        private PrefetchedPlayer(boolean known, @Nullable Players player) {
+            this.known = known;
+            this.player = player;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - time > PREFETCH_TIMEOUT;
+        }
+    }
+
+    private static class PreLoginLoader {
+        private final Addon addon;
+        private final Consumer<UUID> loader;
+
+        private PreLoginLoader(Addon addon, Consumer<UUID> loader) {
+            this.addon = addon;
+            this.loader = loader;
+        }
+    }
+
     /**
      * Provides a memory cache of online player information
      * This is the one-stop-shop of player info
@@ -47,8 +106,116 @@ public class PlayersManager {
         handler = new Database<>(plugin, Players.class);
         // Set up the names database
         names = new Database<>(plugin, Names.class);
-        playerCache = new HashMap<>();
         inTeleport = new HashSet<>();
+        playerCache = new PlayerCache(this::isPinned, this::writeBack);
+        loadNames();
+    }
+
+    /**
+     * Loads the names of all the players that have played on the server into the name index, asynchronously.
+     * Players that are not in the names table are indexed from the player data, of which only the names are loaded.
+     */
+    private void loadNames() {
+        if (!plugin.isEnabled()) {
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            List<Names> list = names.loadObjects();
+            // Names set since startup are more recent than the ones in the database
+            list.stream().filter(n -> n.getUuid() != null).forEach(n -> nameIndex.putIfAbsent(n.getUniqueId(), n.getUuid()));
+            handler.loadObjects(NAME_FIELDS).stream().filter(p -> p.getUniqueId() != null && p.getPlayerName() != null
+                    && !p.getPlayerName().isEmpty() && !p.getPlayerName().equals(p.getUniqueId()))
+            .forEach(p -> nameIndex.putIfAbsent(p.getPlayerName(), p.getPlayerUUID()));
+        });
+    }
+
+    /**
+     * Saves a player that has been evicted from the cache
+     * @param player - player
+     */
+    private void writeBack(@NonNull Players player) {
+        UUID uuid = player.getPlayerUUID();
+        writingBack.put(uuid, player);
+        // Anything loaded at pre-login is older than these changes
+        prefetched.remove(uuid);
+        handler.saveObjectAsync(player).whenComplete((saved, ex) -> writingBack.remove(uuid, player));
+    }
+
+    /**
+     * Loads the data of a player that is logging in so that it does not have to be loaded
+     * on the main thread when the player joins. Called asynchronously at pre-login.
+     * The data is used by {@link #isKnown(UUID)} and the first access to the player, and is discarded
+     * if the player does not join within a minute.
+     * @param uuid - player's UUID
+     * @param name - player's name
+     * @since 1.14.0
+     */
+    public void prefetch(@NonNull UUID uuid, @NonNull String name) {
+        // Pins the player, so that a cached player cannot be evicted and written back while this runs
+        prefetching.add(uuid);
+        try {
+            // If the player is cached or being written back, the database does not have the latest data
+            if (!playerCache.contains(uuid) && !writingBack.containsKey(uuid)) {
+                String id = uuid.toString();
+                boolean known = handler.objectExists(id);
+                PrefetchedPlayer prefetchedPlayer = new PrefetchedPlayer(known, known ? handler.loadObject(id) : null);
+                prefetched.put(uuid, prefetchedPlayer);
+                // The player was loaded on the main thread in the meantime
+                if (playerCache.contains(uuid)) {
+                    prefetched.remove(uuid, prefetchedPlayer);
+                }
+            }
+            if (names.objectExists(name)) {
+                Names n = names.loadObject(name);
+                if (n != null && n.getUuid() != null) {
+                    nameIndex.putIfAbsent(name, n.getUuid());
+                }
+            }
+        } finally {
+            prefetching.remove(uuid);
+        }
+        for (PreLoginLoader preLoginLoader : preLoginLoaders) {
+            try {
+                preLoginLoader.loader.accept(uuid);
+            } catch (Exception e) {
+                plugin.logError("Addon " + preLoginLoader.addon.getDescription().getName() + " could not load data for " + name + " at login: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Registers a loader that is run asynchronously when a player is logging in, after BentoBox has loaded
+     * the player's data. Addons can use it to load their own data for the player before they join.
+     * The loader must be thread-safe.
+     * @param addon - addon registering the loader
+     * @param loader - loader accepting the UUID of the player logging in
+     * @since 1.14.0
+     */
+    public void registerPreLoginLoader(@NonNull Addon addon, @NonNull Consumer<UUID> loader) {
+        preLoginLoaders.add(new PreLoginLoader(addon, loader));
+    }
+
+    /**
+     * Takes the data loaded at pre-login for a player
+     * @param uuid - player's UUID
+     * @return the data or null if there is none
+     */
+    @Nullable
+    private PrefetchedPlayer takePrefetched(@NonNull UUID uuid) {
+        PrefetchedPlayer prefetchedPlayer = prefetched.remove(uuid);
+        return prefetchedPlayer == null || prefetchedPlayer.isExpired() ? null : prefetchedPlayer;
+    }
+
+    /**
+     * Adds the name of a player to the name index
+     * @param player - player
+     */
+    private void indexName(@NonNull Players player) {
+        String name = player.getPlayerName();
+        // Players whose name is not known are named after their UUID
+        if (name != null && !name.isEmpty() && !name.equals(player.getUniqueId())) {
+            nameIndex.put(name, player.getPlayerUUID());
+        }
     }
 
     /**
@@ -60,19 +227,20 @@ public class PlayersManager {
     }
 
     /**
-     * Load all players - not normally used as to load all players into memory will be wasteful
+     * Clears the cache and reloads the names of the players. Players are loaded when they are first used.
      */
     public void load(){
         playerCache.clear();
         inTeleport.clear();
-        handler.loadObjects().forEach(p -> playerCache.put(p.getPlayerUUID(), p));
+        loadNames();
     }
 
     /**
      * Save all players
      */
     public void saveAll(){
-        Collections.unmodifiableCollection(playerCache.values()).forEach(handler::saveObjectAsync);
+        // Databases that support bulk writes save the players together
+        handler.saveObjectsAsync(playerCache.values());
     }
 
     /**
@@ -94,6 +262,47 @@ public class PlayersManager {
         }, 0L, 1L);
     }
 
+    /**
+     * Evicts the players that have not been used for the idle time set in the config,
+     * and the least recently used players if the cache is larger than the maximum size.
+     * Online players and the owners of islands that have online members are kept.
+     * Evicted players with unsaved changes are saved.
+     * @since 1.14.0
+     */
+    public void evictPlayers() {
+        prefetched.values().removeIf(PrefetchedPlayer::isExpired);
+        playerCache.evictIdle(TimeUnit.MINUTES.toMillis(plugin.getSettings().getPlayerCacheIdleTimeout()));
+        playerCache.evictOverflow(plugin.getSettings().getPlayerCacheMaxSize());
+    }
+
+    /**
+     * Checks if a player must be kept in the cache
+     * @param uuid - player's UUID
+     * @return true if the player is online, teleporting or owns an island with online members
+     */
+    private boolean isPinned(UUID uuid) {
+        if (Bukkit.getPlayer(uuid) != null || inTeleport.contains(uuid) || prefetching.contains(uuid)) {
+            return true;
+        }
+        for (World world : plugin.getIWM().getOverWorlds()) {
+            Island island = plugin.getIslands().getIsland(world, uuid);
+            if (island != null && uuid.equals(island.getOwner())
+                    && island.getMemberSet().stream().anyMatch(m -> Bukkit.getPlayer(m) != null)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the player cache, for statistics
+     * @since 1.14.0
+     */
+    @NonNull
+    public PlayerCache getPlayerCache() {
+        return playerCache;
+    }
+
     public void shutdown(){
         saveAll();
         playerCache.clear();
@@ -107,10 +316,11 @@ public class PlayersManager {
      */
     @Nullable
     public Players getPlayer(UUID uuid){
-        if (!playerCache.containsKey(uuid)) {
-            addPlayer(uuid);
+        if (uuid == null) {
+            return null;
         }
-        return playerCache.get(uuid);
+        // The caller may change the player
+        return getOrLoad(uuid, true);
     }
 
     /**
@@ -120,7 +330,7 @@ public class PlayersManager {
      */
     @NonNull
     public Collection<Players> getPlayers() {
-        return Collections.unmodifiableCollection(playerCache.values());
+        return playerCache.values();
     }
 
     /*
@@ -135,22 +345,56 @@ public class PlayersManager {
         if (playerUUID == null) {
             return;
         }
-        if (!playerCache.containsKey(playerUUID)) {
-            Players player;
+        getOrLoad(playerUUID, false);
+    }
+
+    /**
+     * Gets a player from the cache, loading it from the database or creating it if required
+     * @param playerUUID - the player's UUID
+     * @param change - true if the player is going to be changed and must be saved if evicted
+     * @return the player
+     */
+    @NonNull
+    private Players getOrLoad(@NonNull UUID playerUUID, boolean change) {
+        Players player = playerCache.get(playerUUID);
+        if (player != null) {
+            if (change) {
+                playerCache.markDirty(playerUUID);
+            }
+            if (!prefetched.isEmpty()) {
+                // The cached player is more recent than anything loaded at pre-login
+                prefetched.remove(playerUUID);
+            }
+            return player;
+        }
+        boolean dirty = change;
+        PrefetchedPlayer prefetchedPlayer = takePrefetched(playerUUID);
+        Players pending = writingBack.get(playerUUID);
+        if (pending != null) {
+            // Evicted and still being saved, so it is more recent than the database
+            player = pending;
+            dirty = true;
+        } else if (prefetchedPlayer != null && prefetchedPlayer.player != null) {
+            // Loaded at pre-login
+            player = prefetchedPlayer.player;
+        } else if (prefetchedPlayer == null ? handler.objectExists(playerUUID.toString()) : prefetchedPlayer.known) {
             // If the player is in the database, load it, otherwise create a new player
-            if (handler.objectExists(playerUUID.toString())) {
-                player = handler.loadObject(playerUUID.toString());
-                if (player == null) {
-                    player = new Players(plugin, playerUUID);
-                    // Corrupted database entry
-                    plugin.logError("Corrupted player database entry for " + playerUUID + " - unrecoverable. Recreated.");
-                    player.setUniqueId(playerUUID.toString());
-                }
-            } else {
+            player = handler.loadObject(playerUUID.toString());
+            if (player == null) {
                 player = new Players(plugin, playerUUID);
+                // Corrupted database entry
+                plugin.logError("Corrupted player database entry for " + playerUUID + " - unrecoverable. Recreated.");
+                player.setUniqueId(playerUUID.toString());
+                dirty = true;
             }
-            playerCache.put(playerUUID, player);
+        } else {
+            player = new Players(plugin, playerUUID);
+            dirty = true;
         }
+        // Players are evicted by evictPlayers, not here, as working out which players can be evicted is slow
+        playerCache.put(playerUUID, player, dirty);
+        indexName(player);
+        return player;
     }
 
     /**
@@ -161,7 +405,17 @@ public class PlayersManager {
      * @return true if player is known, otherwise false
      */
     public boolean isKnown(UUID uniqueID) {
-        return uniqueID != null && (playerCache.containsKey(uniqueID) || handler.objectExists(uniqueID.toString()));
+        if (uniqueID == null) {
+            return false;
+        }
+        if (playerCache.contains(uniqueID) || writingBack.containsKey(uniqueID)) {
+            return true;
+        }
+        PrefetchedPlayer prefetchedPlayer = prefetched.get(uniqueID);
+        if (prefetchedPlayer != null && !prefetchedPlayer.isExpired()) {
+            return prefetchedPlayer.known;
+        }
+        return handler.objectExists(uniqueID.toString());
     }
 
     /**
@@ -181,8 +435,7 @@ public class PlayersManager {
      * @param number - a number - 1 is default. Can be any number.
      */
     public void setHomeLocation(UUID playerUUID, Location location, int number) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).setHomeLocation(location,number);
+        getOrLoad(playerUUID, true).setHomeLocation(location,number);
     }
 
     /**
@@ -200,8 +453,7 @@ public class PlayersManager {
      * @param playerUUID - the player's UUID
      */
     public void clearHomeLocations(World world, UUID playerUUID) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).clearHomeLocations(world);
+        getOrLoad(playerUUID, true).clearHomeLocations(world);
     }
 
     /**
@@ -213,8 +465,7 @@ public class PlayersManager {
      * @return Home location or null if none
      */
     public Location getHomeLocation(World world, User user, int number) {
-        addPlayer(user.getUniqueId());
-        return playerCache.get(user.getUniqueId()).getHomeLocation(world, number);
+        return getOrLoad(user.getUniqueId(), false).getHomeLocation(world, number);
     }
 
     /**
@@ -226,8 +477,7 @@ public class PlayersManager {
      * @return Home location or null if none
      */
     public Location getHomeLocation(World world, UUID playerUUID, int number) {
-        addPlayer(playerUUID);
-        return playerCache.get(playerUUID).getHomeLocation(world, number);
+        return getOrLoad(playerUUID, false).getHomeLocation(world, number);
     }
 
     /**
@@ -236,8 +486,7 @@ public class PlayersManager {
      * @return Home location or null if none
      */
     public Location getHomeLocation(World world, UUID playerUUID) {
-        addPlayer(playerUUID);
-        return playerCache.get(playerUUID).getHomeLocation(world, 1);
+        return getOrLoad(playerUUID, false).getHomeLocation(world, 1);
     }
 
     /**
@@ -246,8 +495,7 @@ public class PlayersManager {
      * @return List of home locations
      */
     public Map<Location, Integer> getHomeLocations(World world, UUID playerUUID) {
-        addPlayer(playerUUID);
-        return playerCache.get(playerUUID).getHomeLocations(world);
+        return getOrLoad(playerUUID, false).getHomeLocations(world);
     }
 
     /**
@@ -266,11 +514,29 @@ public class PlayersManager {
                 // Not used
             }
         }
-        // Look in the name cache, then the data base and then give up
-        return playerCache.values().stream()
-                .filter(p -> p.getPlayerName().equalsIgnoreCase(name)).findFirst()
-                .map(p -> UUID.fromString(p.getUniqueId()))
-                .orElse(names.objectExists(name) ? names.loadObject(name).getUuid() : null);
+        // Look in the name index, then the data base and then give up
+        UUID uuid = nameIndex.get(name);
+        if (uuid == null && names.objectExists(name)) {
+            Names found = names.loadObject(name);
+            if (found != null && found.getUuid() != null) {
+                uuid = found.getUuid();
+                nameIndex.putIfAbsent(name, uuid);
+            }
+        }
+        return uuid;
+    }
+
+    /**
+     * Get the names of known players, online or offline, that start with some letters, ignoring case.
+     * Intended for tab completion.
+     * @param prefix - first letters of the name
+     * @param limit - maximum number of names to return
+     * @return names in alphabetical order
+     * @since 1.14.0
+     */
+    @NonNull
+    public List<String> getNames(@NonNull String prefix, int limit) {
+        return nameIndex.getNames(prefix, limit);
     }
 
     /**
@@ -278,8 +544,8 @@ public class PlayersManager {
      * @param user - the User
      */
     public void setPlayerName(@NonNull User user) {
-        addPlayer(user.getUniqueId());
-        playerCache.get(user.getUniqueId()).setPlayerName(user.getName());
+        getOrLoad(user.getUniqueId(), true).setPlayerName(user.getName());
+        nameIndex.put(user.getName(), user.getUniqueId());
         Names newName = new Names(user.getName(), user.getUniqueId());
         // Add to names database
         names.saveObjectAsync(newName);
@@ -297,8 +563,7 @@ public class PlayersManager {
         if (playerUUID == null) {
             return "";
         }
-        addPlayer(playerUUID);
-        return playerCache.get(playerUUID).getPlayerName();
+        return getOrLoad(playerUUID, false).getPlayerName();
     }
 
     /**
@@ -308,8 +573,7 @@ public class PlayersManager {
      * @return number of resets
      */
     public int getResets(World world, UUID playerUUID) {
-        addPlayer(playerUUID);
-        return playerCache.get(playerUUID).getResets(world);
+        return getOrLoad(playerUUID, false).getResets(world);
     }
 
     /**
@@ -337,8 +601,7 @@ public class PlayersManager {
      * @param resets number of resets to set
      */
     public void setResets(World world, UUID playerUUID, int resets) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).setResets(world, resets);
+        getOrLoad(playerUUID, true).setResets(world, resets);
     }
 
     /**
@@ -347,11 +610,10 @@ public class PlayersManager {
      * @return name of the locale this player uses
      */
     public String getLocale(UUID playerUUID) {
-        addPlayer(playerUUID);
         if (playerUUID == null) {
             return "";
         }
-        return playerCache.get(playerUUID).getLocale();
+        return getOrLoad(playerUUID, false).getLocale();
     }
 
     /**
@@ -360,8 +622,7 @@ public class PlayersManager {
      * @param localeName - locale name, e.g., en-US
      */
     public void setLocale(UUID playerUUID, String localeName) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).setLocale(localeName);
+        getOrLoad(playerUUID, true).setLocale(localeName);
     }
 
     /**
@@ -370,8 +631,7 @@ public class PlayersManager {
      * @param playerUUID - the player's UUID
      */
     public void addDeath(World world, UUID playerUUID) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).addDeath(world);
+        getOrLoad(playerUUID, true).addDeath(world);
     }
 
     /**
@@ -381,8 +641,7 @@ public class PlayersManager {
      * @param deaths - number of deaths
      */
     public void setDeaths(World world, UUID playerUUID, int deaths) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).setDeaths(world, deaths);
+        getOrLoad(playerUUID, true).setDeaths(world, deaths);
     }
 
     /**
@@ -392,8 +651,7 @@ public class PlayersManager {
      * @return number of deaths
      */
     public int getDeaths(World world, UUID playerUUID) {
-        addPlayer(playerUUID);
-        return playerCache.get(playerUUID) == null ? 0 : playerCache.get(playerUUID).getDeaths(world);
+        return playerUUID == null ? 0 : getOrLoad(playerUUID, false).getDeaths(world);
     }
 
     /**
@@ -425,8 +683,9 @@ public class PlayersManager {
      * @param playerUUID - the player's UUID
      */
     public void save(UUID playerUUID) {
-        if (playerCache.containsKey(playerUUID)) {
+        if (playerCache.contains(playerUUID)) {
             handler.saveObjectAsync(playerCache.get(playerUUID));
+            playerCache.markClean(playerUUID);
         }
     }
 
@@ -454,8 +713,7 @@ public class PlayersManager {
      * @param playerUUID player's UUID
      */
     public void addReset(World world, UUID playerUUID) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).addReset(world);
+        getOrLoad(playerUUID, true).addReset(world);
     }
 
     /**
@@ -465,8 +723,7 @@ public class PlayersManager {
      * @since 1.6.0
      */
     public void setFlagsDisplayMode(UUID playerUUID, Flag.Mode displayMode) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).setFlagsDisplayMode(displayMode);
+        getOrLoad(playerUUID, true).setFlagsDisplayMode(displayMode);
     }
 
     /**
@@ -476,7 +733,6 @@ public class PlayersManager {
      * @since 1.6.0
      */
     public Flag.Mode getFlagsDisplayMode(UUID playerUUID) {
-        addPlayer(playerUUID);
-        return playerCache.get(playerUUID).getFlagsDisplayMode();
+        return getOrLoad(playerUUID, false).getFlagsDisplayMode();
     }
 }
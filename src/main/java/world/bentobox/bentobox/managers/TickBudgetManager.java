@@ -0,0 +1,206 @@
+package world.bentobox.bentobox.managers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.eclipse.jdt.annotation.NonNull;
+
+import world.bentobox.bentobox.BentoBox;
+
+/**
+ * Runs the jobs that change the world a bit at a time, such as blueprint pastes, island deletions and
+ * super flat chunk cleaning, within a time budget each tick.
+ * <p>
+ * All the jobs share the budget: each tick, every job that is not waiting gets an equal part of what is left of it,
+ * and every job does at least one step. The budget adapts to how long ticks take. When a tick takes more than
+ * 50 ms, the budget is lowered to what the rest of the tick left of the 50 ms, down to the minimum budget.
+ * Otherwise it goes back up a millisecond every tick, up to the maximum budget.
+ *
+ * @since 1.14.0
+ */
+public class TickBudgetManager {
+
+    /**
+     * A job that is done a step at a time
+     */
+    public interface Job {
+        /**
+         * @return short description of the job, shown to admins
+         */
+        @NonNull
+        String getDescription();
+
+        /**
+         * @return amount of work left, such as blocks or chunks, or -1 if it is not known
+         */
+        default long getRemaining() {
+            return -1;
+        }
+
+        /**
+         * @return true if the job is waiting for something, such as chunks to load, and has no step to do now
+         */
+        default boolean isWaiting() {
+            return false;
+        }
+
+        /**
+         * Does a step of the job. Steps should be small, as the job is stopped between steps when its time is up.
+         * @return true if there is more to do, false if the job is done
+         */
+        boolean step();
+    }
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final BentoBox plugin;
+    private final List<Job> jobs = new ArrayList<>();
+    private boolean running;
+    private BukkitTask task;
+    private int first;
+    /**
+     * Time budget of the next tick in nanoseconds
+     */
+    private long budget;
+    private long lastRun;
+    private long lastTickTime;
+    private long lastUsed;
+
+    public TickBudgetManager(@NonNull BentoBox plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Adds a job. Jobs start on the next tick.
+     * @param job - job
+     */
+    public void submit(@NonNull Job job) {
+        jobs.add(job);
+        if (!running) {
+            running = true;
+            lastRun = 0;
+            budget = getMaxBudget();
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 0L, 1L);
+        }
+    }
+
+    /**
+     * Removes a job. It will not do any more steps.
+     * @param job - job
+     */
+    public void cancel(@NonNull Job job) {
+        jobs.remove(job);
+    }
+
+    /**
+     * @return unmodifiable list of the jobs that are running or waiting
+     */
+    @NonNull
+    public List<Job> getJobs() {
+        return Collections.unmodifiableList(new ArrayList<>(jobs));
+    }
+
+    /**
+     * @return time budget in milliseconds for the next tick
+     */
+    public double getBudget() {
+        return budget / (double)MILLISECOND;
+    }
+
+    /**
+     * @return time the last tick took in milliseconds, 0 if it is not known
+     */
+    public double getLastTickTime() {
+        return lastTickTime / (double)MILLISECOND;
+    }
+
+    /**
+     * @return time used by the jobs in the last tick in milliseconds
+     */
+    public double getLastUsed() {
+        return lastUsed / (double)MILLISECOND;
+    }
+
+    private long getMaxBudget() {
+        return Math.max(1, plugin.getSettings().getMaxTickBudget()) * MILLISECOND;
+    }
+
+    private long getMinBudget() {
+        return Math.max(1, Math.min(plugin.getSettings().getMinTickBudget(), plugin.getSettings().getMaxTickBudget())) * MILLISECOND;
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        adaptBudget(start);
+        lastRun = start;
+        if (jobs.isEmpty()) {
+            // Nothing left to do
+            running = false;
+            lastUsed = 0;
+            if (task != null) {
+                task.cancel();
+            }
+            return;
+        }
+        long deadline = start + budget;
+        // Start with a different job each tick so no job is always last
+        int size = jobs.size();
+        first = (first + 1) % size;
+        List<Job> order = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            order.add(jobs.get((first + i) % size));
+        }
+        int left = (int)order.stream().filter(j -> !j.isWaiting()).count();
+        for (Job job : order) {
+            if (job.isWaiting() || !jobs.contains(job)) {
+                // Waiting, or cancelled by another job
+                continue;
+            }
+            long now = System.nanoTime();
+            long end = now + Math.max(0, deadline - now) / Math.max(1, left--);
+            boolean more;
+            // Each job does at least one step
+            do {
+                more = step(job);
+            } while (more && !job.isWaiting() && System.nanoTime() < end);
+            if (!more) {
+                jobs.remove(job);
+            }
+        }
+        lastUsed = System.nanoTime() - start;
+    }
+
+    private boolean step(Job job) {
+        try {
+            return job.step();
+        } catch (Exception e) {
+            plugin.logError("Job '" + job.getDescription() + "' failed and was stopped: " + e.getMessage());
+            plugin.logStacktrace(e);
+            return false;
+        }
+    }
+
+    /**
+     * Works out the budget of this tick from how long the last tick took
+     * @param now - start of this tick
+     */
+    private void adaptBudget(long now) {
+        if (lastRun == 0) {
+            lastTickTime = 0;
+            return;
+        }
+        lastTickTime = now - lastRun;
+        if (lastTickTime > TICK + MILLISECOND) {
+            // The server is busy: only use what the rest of the tick leaves of 50 ms, with a margin
+            long others = lastTickTime - lastUsed;
+            budget = Math.max(getMinBudget(), Math.min(budget, TICK - others - 2 * MILLISECOND));
+        } else {
+            budget = Math.min(getMaxBudget(), budget + MILLISECOND);
+        }
+    }
+}
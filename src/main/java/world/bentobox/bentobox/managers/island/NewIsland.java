@@ -14,8 +14,10 @@ import world.bentobox.bentobox.api.events.island.IslandEvent.Reason;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.managers.BlueprintsManager;
+import world.bentobox.bentobox.managers.IslandCreationManager.Stage;
 
 import java.io.IOException;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -37,6 +39,14 @@ public class NewIsland {
     private final boolean noPaste;
     private GameModeAddon addon;
     private final CompletableFuture<IOException> exceptionCompletableFuture;
+    /**
+     * True if an island made ahead of time can be given to the player
+     */
+    private boolean usePool;
+    /**
+     * True if the island was made ahead of time and the default bundle is already pasted on it
+     */
+    private boolean pooled;
 
     private NewIslandLocationStrategy locationStrategy;
 
@@ -52,6 +62,9 @@ public class NewIsland {
 
         if (this.locationStrategy == null) {
             this.locationStrategy = new DefaultNewIslandLocationStrategy();
+            // Islands made ahead of time are only for the default bundle in the default locations
+            this.usePool = !noPaste && BlueprintsManager.DEFAULT_BUNDLE_NAME.equalsIgnoreCase(name)
+                    && plugin.getSettings().getIslandPoolSize() > 0;
         }
 
         exceptionCompletableFuture = newIsland(builder.oldIsland2);
@@ -207,40 +220,60 @@ public class NewIsland {
                 plugin.logError("New island for user " + user.getName() + " was not reserved!");
             }
         }
+        if (next == null && usePool) {
+            // Take an island that was made ahead of time
+            island = plugin.getIslandPoolManager().take(world);
+            if (island != null) {
+                plugin.getIslands().getIslandCache().setOwner(island, user.getUniqueId());
+                island.setCreatedDate(System.currentTimeMillis());
+                next = island.getCenter();
+                pooled = true;
+            }
+        }
         // If the reservation fails, then we need to make a new island anyway
         if (next == null) {
+            // Only a few islands look for a location at the same time, so that they do not get the same one
+            plugin.getIslandCreationManager().run(Stage.LOCATION, user, done ->
             this.locationStrategy.getNextLocationAsync(world).whenComplete((location, throwable) -> { // when complete is sync
-                if (throwable != null) {
-                    exceptionFuture.completeExceptionally(throwable);
-                    return;
-                }
-                if (location == null) {
-                    plugin.logError("Failed to make island - no unoccupied spot found.");
-                    plugin.logError("If the world was imported, try multiple times until all unowned islands are known.");
-                    exceptionFuture.complete(new IOException("commands.island.create.cannot-create-island"));
-                    return;
-                }
-                // Add to the grid
-                island = plugin.getIslands().createIsland(location, user.getUniqueId());
-                if (island == null) {
-                    plugin.logError("Failed to make island! Island could not be added to the grid.");
-                    exceptionFuture.complete(new IOException("commands.island.create.unable-create-island"));
-                    return;
-                }
-                completeNewIsland(oldIsland, location);
-                exceptionFuture.complete(null); // this is necessary before remove since it sets up cool-down
-                // final step
-                // this is the only remove call, and it should be synced up, and even if it fails to be read correctly
-                // it will still act properly since we only care about the `add` functionality
-                IN_PROCESS.remove(user.getUniqueId()); // this should stop them from being in progress
-            });
+                located(oldIsland, location, throwable, exceptionFuture);
+                done.run();
+            }));
         } else {
             completeNewIsland(oldIsland, next);
             exceptionFuture.complete(null);
+            if (pooled) {
+                IN_PROCESS.remove(user.getUniqueId());
+            }
         }
         return exceptionFuture;
     }
 
+    private void located(Island oldIsland, Location location, Throwable throwable, CompletableFuture<IOException> exceptionFuture) {
+        if (throwable != null) {
+            exceptionFuture.completeExceptionally(throwable);
+            return;
+        }
+        if (location == null) {
+            plugin.logError("Failed to make island - no unoccupied spot found.");
+            plugin.logError("If the world was imported, try multiple times until all unowned islands are known.");
+            exceptionFuture.complete(new IOException("commands.island.create.cannot-create-island"));
+            return;
+        }
+        // Add to the grid
+        island = plugin.getIslands().createIsland(location, user.getUniqueId());
+        if (island == null) {
+            plugin.logError("Failed to make island! Island could not be added to the grid.");
+            exceptionFuture.complete(new IOException("commands.island.create.unable-create-island"));
+            return;
+        }
+        completeNewIsland(oldIsland, location);
+        exceptionFuture.complete(null); // this is necessary before remove since it sets up cool-down
+        // final step
+        // this is the only remove call, and it should be synced up, and even if it fails to be read correctly
+        // it will still act properly since we only care about the `add` functionality
+        IN_PROCESS.remove(user.getUniqueId()); // this should stop them from being in progress
+    }
+
     private void completeNewIsland(Island oldIsland, Location next) {
         // Clear any old home locations (they should be clear, but just in case)
         plugin.getPlayers().clearHomeLocations(world, user.getUniqueId());
@@ -291,7 +324,7 @@ public class NewIsland {
                     user.getPlayer().setVelocity(new Vector(0, 0, 0));
                     user.getPlayer().setFallDistance(0F);
                     // Teleport player after this island is built
-                    plugin.getIslands().homeTeleportAsync(world, user.getPlayer(), true).thenRun(() -> tidyUp(oldIsland));
+                    plugin.getIslandCreationManager().run(Stage.TELEPORT, user, done -> teleport(oldIsland, done));
                     return;
                 } else {
                     // let's send him a message so that he knows he can teleport to his island!
@@ -303,11 +336,34 @@ public class NewIsland {
             }
             tidyUp(oldIsland);
         };
-        if (noPaste) {
+        if (noPaste || (pooled && BlueprintsManager.DEFAULT_BUNDLE_NAME.equalsIgnoreCase(name))) {
+            // Nothing to paste, or already pasted
             Bukkit.getScheduler().runTask(plugin, task);
         } else {
-            // Create islands
-            plugin.getBlueprintsManager().paste(addon, island, name, task);
+            // Create islands, a few at a time
+            plugin.getIslandCreationManager().run(Stage.PASTE, user, done -> {
+                Runnable failed = () -> {
+                    done.run();
+                    user.sendMessage("commands.island.create.unable-create-island");
+                };
+                Runnable paste = () -> {
+                    if (!plugin.getBlueprintsManager().paste(addon, island, name, () -> {
+                        done.run();
+                        task.run();
+                    }, failed)) {
+                        failed.run();
+                    }
+                };
+                if (pooled) {
+                    // The bundle was changed, so the default bundle made ahead of time is removed first
+                    island.setSpawnPoint(new EnumMap<>(Environment.class));
+                    if (!plugin.getBlueprintsManager().clear(addon, island, BlueprintsManager.DEFAULT_BUNDLE_NAME, paste)) {
+                        paste.run();
+                    }
+                } else {
+                    paste.run();
+                }
+            });
         }
         // Set default settings
         island.setFlagsDefaults();
@@ -316,6 +372,18 @@ public class NewIsland {
         plugin.getIslands().save(island);
     }
 
+    private void teleport(Island oldIsland, Runnable done) {
+        if (!user.isOnline()) {
+            // Logged out while waiting
+            done.run();
+            tidyUp(oldIsland);
+            return;
+        }
+        CompletableFuture<Boolean> teleport = plugin.getIslands().homeTeleportAsync(world, user.getPlayer(), true);
+        teleport.whenComplete((result, e) -> done.run());
+        teleport.thenRun(() -> tidyUp(oldIsland));
+    }
+
     private void tidyUp(Island oldIsland) {
         // Delete old island
         if (oldIsland != null && !plugin.getSettings().isKeepPreviousIslandOnReset()) {
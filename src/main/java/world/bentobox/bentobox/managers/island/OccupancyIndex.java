@@ -0,0 +1,124 @@
+package world.bentobox.bentobox.managers.island;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.database.objects.Island;
+
+/**
+ * Index of the online players that are inside the protected area of each island.
+ * <p>
+ * The index is kept up to date as players join, move, teleport and quit, so finding the players on an
+ * island only goes through the players that are on it instead of every online player.
+ * A player is tracked from the moment they join until they quit, whether they are on an island or not.
+ * The methods are synchronized because placeholders may ask for the players on an island asynchronously.
+ *
+ * @since 1.14.0
+ */
+public class OccupancyIndex {
+
+    /**
+     * Island each tracked player is on. A null value means the player is tracked but not on an island.
+     */
+    private final Map<UUID, Island> islands = new HashMap<>();
+    private final Map<Island, Set<UUID>> occupants = new HashMap<>();
+
+    /**
+     * Sets the island a player is on
+     * @param uuid - player's UUID
+     * @param island - island the player is on or null if the player is not on an island
+     * @return true if the player changed island
+     */
+    public synchronized boolean update(@NonNull UUID uuid, @Nullable Island island) {
+        boolean tracked = islands.containsKey(uuid);
+        Island previous = islands.put(uuid, island);
+        if (tracked && previous == island) {
+            return false;
+        }
+        if (previous != null) {
+            removeOccupant(previous, uuid);
+        }
+        if (island != null) {
+            occupants.computeIfAbsent(island, k -> new HashSet<>()).add(uuid);
+        }
+        return true;
+    }
+
+    /**
+     * Stops tracking a player
+     * @param uuid - player's UUID
+     */
+    public synchronized void remove(@NonNull UUID uuid) {
+        Island previous = islands.remove(uuid);
+        if (previous != null) {
+            removeOccupant(previous, uuid);
+        }
+    }
+
+    private void removeOccupant(Island island, UUID uuid) {
+        Set<UUID> set = occupants.get(island);
+        if (set != null) {
+            set.remove(uuid);
+            if (set.isEmpty()) {
+                occupants.remove(island);
+            }
+        }
+    }
+
+    /**
+     * @param uuid - player's UUID
+     * @return true if the player is tracked by this index
+     */
+    public synchronized boolean isTracked(@NonNull UUID uuid) {
+        return islands.containsKey(uuid);
+    }
+
+    /**
+     * @param uuid - player's UUID
+     * @return the island the player is on, or null if the player is not on an island or is not tracked
+     */
+    @Nullable
+    public synchronized Island getIsland(@NonNull UUID uuid) {
+        return islands.get(uuid);
+    }
+
+    /**
+     * @param island - island
+     * @return unmodifiable set of the UUIDs of the players on this island
+     */
+    @NonNull
+    public synchronized Set<UUID> getOccupants(@NonNull Island island) {
+        Set<UUID> set = occupants.get(island);
+        return set == null ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(set));
+    }
+
+    /**
+     * @param island - island
+     * @return true if there is at least one player on this island
+     */
+    public synchronized boolean hasOccupants(@NonNull Island island) {
+        return occupants.containsKey(island);
+    }
+
+    /**
+     * @return number of tracked players
+     */
+    public synchronized int size() {
+        return islands.size();
+    }
+
+    /**
+     * Stops tracking all players
+     */
+    public synchronized void clear() {
+        islands.clear();
+        occupants.clear();
+    }
+}
@@ -0,0 +1,155 @@
+package world.bentobox.bentobox.managers.island;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.managers.RanksManager;
+
+/**
+ * Number of online members of each island, from coop rank up.
+ * <p>
+ * Redstone and crop growth events need to know whether anyone from an island is online, and they fire
+ * many times a second. The number of online members of an island is worked out the first time it is
+ * asked for and then kept up to date: when a player joins or quits, only the islands the player is a
+ * member of are counted again, and when the team of an island changes, only that island is counted again.
+ * Counts are also worked out again once they are older than {@link #MAX_AGE}, as a few rank changes do
+ * not fire an event.
+ *
+ * @since 1.14.0
+ */
+public class OnlineMembersCounter {
+
+    /**
+     * Longest time in milliseconds a count is kept for
+     */
+    public static final long MAX_AGE = 60000L;
+
+    private static class Count {
+        private final Set<UUID> members;
+        private final int online;
+        private final long time;
+
+        private Count(Set<UUID> members, int online, long time) {
+            this.members = members;
+            this.online = online;
+            this.time = time;
+        }
+    }
+
+    private final Predicate<UUID> online;
+    /**
+     * Islands are compared by identity and deleted islands are forgotten on their own
+     */
+    private final Map<Island, Count> counts = new WeakHashMap<>();
+    /**
+     * Counted islands by member, so that a player joining or quitting only updates their islands
+     */
+    private final Map<UUID, Set<Island>> islandsByMember = new HashMap<>();
+
+    /**
+     * @param online - tells whether the player with this UUID is online
+     */
+    public OnlineMembersCounter(@NonNull Predicate<UUID> online) {
+        this.online = online;
+    }
+
+    /**
+     * @param island - island
+     * @return number of members of this island, from coop rank up, that are online
+     */
+    public synchronized int getOnlineMembers(@NonNull Island island) {
+        Count count = counts.get(island);
+        if (count == null || System.currentTimeMillis() - count.time > MAX_AGE) {
+            count = count(island, null);
+        }
+        return count.online;
+    }
+
+    /**
+     * @param island - island
+     * @return true if at least one member of this island, from coop rank up, is online
+     */
+    public boolean hasOnlineMembers(@NonNull Island island) {
+        return getOnlineMembers(island) > 0;
+    }
+
+    /**
+     * Counts the online members of the islands of a player who joined
+     * @param uuid - UUID of the player
+     */
+    public synchronized void playerJoined(@NonNull UUID uuid) {
+        recount(uuid, null);
+    }
+
+    /**
+     * Counts the online members of the islands of a player who is quitting
+     * @param uuid - UUID of the player, who is not counted even if they are still online
+     */
+    public synchronized void playerQuit(@NonNull UUID uuid) {
+        recount(uuid, uuid);
+    }
+
+    private void recount(UUID uuid, @Nullable UUID quitting) {
+        Set<Island> islands = islandsByMember.get(uuid);
+        if (islands != null) {
+            // Counting changes the set
+            for (Island island : islands.toArray(new Island[0])) {
+                count(island, quitting);
+            }
+        }
+    }
+
+    /**
+     * Counts the online members of an island again, because its team changed.
+     * Islands that have not been counted yet are counted the first time they are asked for.
+     * @param island - island
+     */
+    public synchronized void update(@NonNull Island island) {
+        if (counts.containsKey(island)) {
+            count(island, null);
+        }
+    }
+
+    /**
+     * Forgets all the counts
+     */
+    public synchronized void clear() {
+        counts.clear();
+        islandsByMember.clear();
+    }
+
+    private Count count(Island island, @Nullable UUID quitting) {
+        forget(island);
+        Set<UUID> members = island.getMemberSet(RanksManager.COOP_RANK);
+        int n = (int)members.stream().filter(m -> !m.equals(quitting) && online.test(m)).count();
+        Count count = new Count(members, n, System.currentTimeMillis());
+        counts.put(island, count);
+        members.forEach(m -> islandsByMember.computeIfAbsent(m, k -> Collections.newSetFromMap(new WeakHashMap<>())).add(island));
+        return count;
+    }
+
+    private void forget(Island island) {
+        Count count = counts.remove(island);
+        if (count == null) {
+            return;
+        }
+        for (UUID member : count.members) {
+            Set<Island> islands = islandsByMember.get(member);
+            if (islands != null) {
+                islands.remove(island);
+                if (islands.isEmpty()) {
+                    islandsByMember.remove(member);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package world.bentobox.bentobox.managers.placeholders;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.api.placeholders.PlaceholderReplacer;
+import world.bentobox.bentobox.api.user.User;
+
+/**
+ * Placeholder that keeps the value of each user for some time and records how long it takes to work out.
+ * <p>
+ * Placeholder plugins ask for the same values for every player every few ticks, for scoreboards and tab lists.
+ * The value of a user is reused until it is older than the time to live of the placeholder or until the
+ * cache is invalidated, for example because an island changed. Values that are not cached are still timed,
+ * so that the most expensive placeholders can be found.
+ *
+ * @since 1.14.0
+ */
+public class CachedPlaceholder implements PlaceholderReplacer {
+
+    private static class Value {
+        private final String text;
+        private final long expiry;
+        private final long generation;
+        /**
+         * Incremented when the value of this user is invalidated, so that a value worked out before
+         * is not kept
+         */
+        private final long userGeneration;
+
+        private Value(String text, long expiry, long generation, long userGeneration) {
+            this.text = text;
+            this.expiry = expiry;
+            this.generation = generation;
+            this.userGeneration = userGeneration;
+        }
+    }
+
+    private final String name;
+    private final PlaceholderReplacer replacer;
+    private final long ttl;
+    private final Map<UUID, Value> values = new ConcurrentHashMap<>();
+    /**
+     * Incremented when the cache is invalidated, so that values worked out while it was invalidated are not used
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * @param name - name of the placeholder, used in reports
+     * @param replacer - replacer that works out the value
+     * @param ttl - time to live of the values in milliseconds. 0 or less to not cache the values.
+     */
+    public CachedPlaceholder(@NonNull String name, @NonNull PlaceholderReplacer replacer, long ttl) {
+        this.name = name;
+        this.replacer = replacer;
+        this.ttl = ttl;
+    }
+
+    @NonNull
+    @Override
+    public String onReplace(@Nullable User user) {
+        requests.increment();
+        if (ttl <= 0 || user == null || user.getUniqueId() == null) {
+            return replace(user);
+        }
+        long now = System.currentTimeMillis();
+        long currentGeneration = generation.get();
+        Value value = values.get(user.getUniqueId());
+        if (value != null && value.generation == currentGeneration && now < value.expiry) {
+            hits.increment();
+            return value.text;
+        }
+        long userGeneration = value == null ? 0 : value.userGeneration;
+        String text = replace(user);
+        Value computed = new Value(text, now + ttl, currentGeneration, userGeneration);
+        // The value is not kept if the value of the user was invalidated while it was worked out
+        values.compute(user.getUniqueId(), (uuid, current) -> (current == null ? 0 : current.userGeneration) == userGeneration ? computed : current);
+        return text;
+    }
+
+    private String replace(User user) {
+        long start = System.nanoTime();
+        String text = replacer.onReplace(user);
+        long time = System.nanoTime() - start;
+        totalNanos.add(time);
+        maxNanos.accumulateAndGet(time, Math::max);
+        return text;
+    }
+
+    /**
+     * Forgets the values of all users
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        values.clear();
+    }
+
+    /**
+     * Forgets the value of a user. The value is replaced by one that has expired, with a new user generation,
+     * so that a value that is being worked out for the user at the same time is not kept.
+     * @param uuid - UUID of the user
+     */
+    public void invalidate(@NonNull UUID uuid) {
+        values.compute(uuid, (k, current) -> new Value(null, 0L, generation.get(), current == null ? 1 : current.userGeneration + 1));
+    }
+
+    /**
+     * @return name of the placeholder
+     */
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return time to live of the values in milliseconds, 0 or less if values are not cached
+     */
+    public long getTtl() {
+        return ttl;
+    }
+
+    /**
+     * @return number of times the placeholder was requested
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return percentage of requests that used a cached value, 0 if there have been no requests
+     */
+    public double getHitRate() {
+        long total = requests.sum();
+        return total == 0 ? 0D : hits.sum() * 100D / total;
+    }
+
+    /**
+     * @return total time spent working out values in milliseconds
+     */
+    public double getTotalTime() {
+        return totalNanos.sum() / (double)TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return average time to work out a value in milliseconds, 0 if no value has been worked out
+     */
+    public double getAverageTime() {
+        long computed = requests.sum() - hits.sum();
+        return computed <= 0 ? 0D : getTotalTime() / computed;
+    }
+
+    /**
+     * @return longest time taken to work out a value in milliseconds
+     */
+    public double getMaxTime() {
+        return maxNanos.get() / (double)TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
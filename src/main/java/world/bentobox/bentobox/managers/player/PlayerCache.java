@@ -0,0 +1,236 @@
+package world.bentobox.bentobox.managers.player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.database.objects.Players;
+
+/**
+ * Cache of {@link Players} objects that is bounded in size and in idle time.
+ * <p>
+ * Players that are pinned, for example because they are online, are never evicted.
+ * Other players are evicted when they have not been used for a while or when the cache is full,
+ * least recently used first. Evicted players that were changed since they were last saved are
+ * written back to the database before they are removed.
+ * <p>
+ * The cache is used from the main thread. Only {@link #contains(UUID)} may be called from other threads.
+ *
+ * @since 1.14.0
+ */
+public class PlayerCache {
+
+    /**
+     * When the cache is full, it is shrunk to this fraction of its maximum size so that there is room
+     * for the players loaded before the next eviction.
+     */
+    private static final double SHRINK_RATIO = 0.9D;
+
+    private final Map<UUID, Entry> cache = new ConcurrentHashMap<>();
+    private final Predicate<UUID> pinned;
+    private final Consumer<Players> writeBack;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    private static class Entry {
+        private final Players players;
+        private long lastAccess;
+        private boolean dirty;
+
+        private Entry(Players players, boolean dirty) {
+            this.players = players;
+            this.dirty = dirty;
+            this.lastAccess = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * @param pinned - tests if a player must be kept in the cache
+     * @param writeBack - saves a player that is evicted with changes that have not been saved
+     */
+    public PlayerCache(@NonNull Predicate<UUID> pinned, @NonNull Consumer<Players> writeBack) {
+        this.pinned = pinned;
+        this.writeBack = writeBack;
+    }
+
+    /**
+     * Get a player from the cache and record a hit or a miss
+     * @param uuid - player's UUID
+     * @return player or null if the player is not in the cache
+     */
+    @Nullable
+    public Players get(@NonNull UUID uuid) {
+        Entry entry = cache.get(uuid);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        entry.lastAccess = System.currentTimeMillis();
+        return entry.players;
+    }
+
+    /**
+     * @param uuid - player's UUID
+     * @return true if the player is in the cache. Does not count as a use of the player. Thread-safe.
+     */
+    public boolean contains(@Nullable UUID uuid) {
+        return uuid != null && cache.containsKey(uuid);
+    }
+
+    /**
+     * Adds a player to the cache
+     * @param uuid - player's UUID
+     * @param players - player
+     * @param dirty - true if the player has not been saved to the database yet
+     */
+    public void put(@NonNull UUID uuid, @NonNull Players players, boolean dirty) {
+        cache.put(uuid, new Entry(players, dirty));
+    }
+
+    /**
+     * Marks the player as changed so that it is saved if it is evicted
+     * @param uuid - player's UUID
+     */
+    public void markDirty(@NonNull UUID uuid) {
+        Entry entry = cache.get(uuid);
+        if (entry != null) {
+            entry.dirty = true;
+        }
+    }
+
+    /**
+     * Marks the player as saved
+     * @param uuid - player's UUID
+     */
+    public void markClean(@NonNull UUID uuid) {
+        Entry entry = cache.get(uuid);
+        if (entry != null) {
+            entry.dirty = false;
+        }
+    }
+
+    /**
+     * @return unmodifiable collection of the players in the cache
+     */
+    @NonNull
+    public Collection<Players> values() {
+        return Collections.unmodifiableList(cache.values().stream().map(e -> e.players).collect(Collectors.toList()));
+    }
+
+    /**
+     * @return unmodifiable set of the UUIDs of the players in the cache
+     */
+    @NonNull
+    public Set<UUID> keySet() {
+        return Collections.unmodifiableSet(cache.keySet());
+    }
+
+    /**
+     * Removes every player from the cache without saving them
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Evicts the players that have not been used for some time
+     * @param idleMillis - time in milliseconds a player must not have been used for to be evicted. 0 or less to disable.
+     * @return number of evicted players
+     */
+    public int evictIdle(long idleMillis) {
+        if (idleMillis <= 0) {
+            return 0;
+        }
+        long oldest = System.currentTimeMillis() - idleMillis;
+        List<UUID> idle = cache.entrySet().stream()
+                .filter(en -> en.getValue().lastAccess < oldest)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        return evict(idle, idle.size());
+    }
+
+    /**
+     * Evicts the least recently used players if the cache holds more than the maximum size
+     * @param maxSize - maximum number of players. 0 or less for no limit.
+     * @return number of evicted players
+     */
+    public int evictOverflow(int maxSize) {
+        if (maxSize <= 0 || cache.size() <= maxSize) {
+            return 0;
+        }
+        List<UUID> candidates = new ArrayList<>(cache.keySet());
+        candidates.sort(Comparator.comparingLong(uuid -> cache.get(uuid).lastAccess));
+        return evict(candidates, cache.size() - (int)(maxSize * SHRINK_RATIO));
+    }
+
+    private int evict(List<UUID> candidates, int count) {
+        int evicted = 0;
+        for (UUID uuid : candidates) {
+            if (evicted >= count) {
+                break;
+            }
+            if (pinned.test(uuid)) {
+                continue;
+            }
+            Entry entry = cache.get(uuid);
+            // Written back before it is removed, so that the player is never missing from both the cache and the write back
+            if (entry.dirty) {
+                writeBack.accept(entry.players);
+            }
+            cache.remove(uuid);
+            evicted++;
+        }
+        evictions += evicted;
+        return evicted;
+    }
+
+    /**
+     * @return number of players in the cache
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return number of times a player was found in the cache
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return number of times a player had to be loaded or created
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return number of players evicted since startup
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return percentage of requests that were found in the cache, 0 if there have been no requests
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0D : hits * 100D / total;
+    }
+}
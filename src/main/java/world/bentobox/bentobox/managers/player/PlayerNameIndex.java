@@ -0,0 +1,114 @@
+package world.bentobox.bentobox.managers.player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Case-insensitive index of player names to UUIDs.
+ * <p>
+ * Names are kept sorted by their lower case form, so looking up a name and listing the names that
+ * start with some letters, for tab completion, do not need to go through every player.
+ * The methods are synchronized because names are loaded from the database asynchronously.
+ *
+ * @since 1.14.0
+ */
+public class PlayerNameIndex {
+
+    private static class Entry {
+        private final String name;
+        private final UUID uuid;
+
+        private Entry(String name, UUID uuid) {
+            this.name = name;
+            this.uuid = uuid;
+        }
+    }
+
+    private final NavigableMap<String, Entry> names = new TreeMap<>();
+    /**
+     * Current name of each player, used to remove the old name when a player changes name
+     */
+    private final Map<UUID, String> currentNames = new HashMap<>();
+
+    /**
+     * Sets the current name of a player. The previous name of this player no longer points to them.
+     * @param name - player's name
+     * @param uuid - player's UUID
+     */
+    public synchronized void put(@NonNull String name, @NonNull UUID uuid) {
+        String key = key(name);
+        String previous = currentNames.put(uuid, key);
+        if (previous != null && !previous.equals(key)) {
+            Entry entry = names.get(previous);
+            if (entry != null && entry.uuid.equals(uuid)) {
+                names.remove(previous);
+            }
+        }
+        names.put(key, new Entry(name, uuid));
+    }
+
+    /**
+     * Adds a name only if neither the name nor the player's current name is known yet.
+     * Used for names loaded from the database, which may be out of date.
+     * The name is recorded as the player's current name, so it is removed if they are seen with a new name.
+     * @param name - player's name
+     * @param uuid - player's UUID
+     */
+    public synchronized void putIfAbsent(@NonNull String name, @NonNull UUID uuid) {
+        String key = key(name);
+        if (names.containsKey(key) || currentNames.containsKey(uuid)) {
+            return;
+        }
+        currentNames.put(uuid, key);
+        names.put(key, new Entry(name, uuid));
+    }
+
+    /**
+     * @param name - player's name in any case
+     * @return UUID of the player or null if the name is not known
+     */
+    @Nullable
+    public synchronized UUID get(@NonNull String name) {
+        Entry entry = names.get(key(name));
+        return entry == null ? null : entry.uuid;
+    }
+
+    /**
+     * Get the names that start with some letters, ignoring case
+     * @param prefix - first letters of the name
+     * @param limit - maximum number of names to return
+     * @return names in alphabetical order
+     */
+    @NonNull
+    public synchronized List<String> getNames(@NonNull String prefix, int limit) {
+        List<String> result = new ArrayList<>();
+        String key = key(prefix);
+        for (Entry entry : names.tailMap(key, true).values()) {
+            if (result.size() >= limit || !key(entry.name).startsWith(key)) {
+                break;
+            }
+            result.add(entry.name);
+        }
+        return result;
+    }
+
+    /**
+     * @return number of names in the index
+     */
+    public synchronized int size() {
+        return names.size();
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ENGLISH);
+    }
+}
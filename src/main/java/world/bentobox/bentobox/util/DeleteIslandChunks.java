@@ -1,9 +1,10 @@
 package world.bentobox.bentobox.util;
 
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.Random;
 
-import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -12,7 +13,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.generator.ChunkGenerator;
 import org.bukkit.generator.ChunkGenerator.ChunkData;
 import org.bukkit.inventory.InventoryHolder;
-import org.bukkit.scheduler.BukkitTask;
+import org.eclipse.jdt.annotation.NonNull;
 
 import io.papermc.lib.PaperLib;
 import world.bentobox.bentobox.BentoBox;
@@ -20,98 +21,196 @@ import world.bentobox.bentobox.api.addons.GameModeAddon;
 import world.bentobox.bentobox.api.events.island.IslandEvent;
 import world.bentobox.bentobox.api.events.island.IslandEvent.Reason;
 import world.bentobox.bentobox.database.objects.IslandDeletion;
+import world.bentobox.bentobox.managers.TickBudgetManager;
 
 /**
  * Deletes islands chunk by chunk
+ * <p>
+ * A few chunks are loaded ahead, and each chunk is regenerated a block column at a time within
+ * the time budget of each tick.
  *
  * @author tastybento
  */
-public class DeleteIslandChunks {
+public class DeleteIslandChunks implements TickBudgetManager.Job {
 
+    /**
+     * A chunk being regenerated
+     */
+    private class Regeneration {
+        private final GameModeAddon gm;
+        private final Chunk chunk;
+        private ChunkData cd;
+        private MyBiomeGrid grid;
+        private int column;
+
+        private Regeneration(GameModeAddon gm, Chunk chunk) {
+            this.gm = gm;
+            this.chunk = chunk;
+        }
+
+        private void start() {
+            // Clear all inventories
+            Arrays.stream(chunk.getTileEntities()).filter(te -> (te instanceof InventoryHolder))
+            .filter(te -> di.inBounds(te.getLocation().getBlockX(), te.getLocation().getBlockZ()))
+            .forEach(te -> ((InventoryHolder)te).getInventory().clear());
+            // Reset blocks
+            grid = new MyBiomeGrid(chunk.getWorld().getEnvironment());
+            ChunkGenerator cg = gm.getDefaultWorldGenerator(chunk.getWorld().getName(), "");
+            // Will be null if use-own-generator is set to true
+            if (cg != null) {
+                cd = cg.generateChunkData(chunk.getWorld(), new Random(), chunk.getX(), chunk.getZ(), grid);
+            }
+        }
+
+        /**
+         * Regenerates the next column of blocks
+         * @return true if there are more columns to regenerate
+         */
+        private boolean regenerateColumn() {
+            if (cd == null) {
+                return false;
+            }
+            int x = column >> 4;
+            int z = column & 15;
+            if (di.inBounds((chunk.getX() << 4) + x, (chunk.getZ() << 4) + z)) {
+                chunk.getBlock(x, 0, z).setBiome(grid.getBiome(x, z));
+                for (int y = 0; y < chunk.getWorld().getMaxHeight(); y++) {
+                    // Note: setting block to air before setting it to something else stops a bug in the server
+                    // where it reports a "
+                    chunk.getBlock(x, y, z).setType(Material.AIR, false);
+                    chunk.getBlock(x, y, z).setBlockData(cd.getBlockData(x, y, z), false);
+                }
+            }
+            return ++column < 256;
+        }
+
+        private void finish() {
+            // Remove all entities in chunk, including any dropped items as a result of clearing the blocks above
+            Arrays.stream(chunk.getEntities()).filter(e -> !(e instanceof Player) && di.inBounds(e.getLocation().getBlockX(), e.getLocation().getBlockZ())).forEach(Entity::remove);
+            chunk.removePluginChunkTicket(plugin);
+        }
+    }
+
+    private final BentoBox plugin;
     private int chunkX;
     private int chunkZ;
-    private BukkitTask task;
     private IslandDeletion di;
-    private boolean inDelete;
+    /**
+     * Most chunks loaded ahead of the one being regenerated
+     */
+    private final int loadAhead;
+    private int loading;
+    private final Deque<Regeneration> loaded = new ArrayDeque<>();
+    private Regeneration current;
 
     public DeleteIslandChunks(BentoBox plugin, IslandDeletion di) {
+        this.plugin = plugin;
         // Fire event
         IslandEvent.builder().deletedIslandInfo(di).reason(Reason.DELETE_CHUNKS).build();
 
         this.chunkX = di.getMinXChunk();
         this.chunkZ = di.getMinZChunk();
         this.di = di;
+        // Chunks of the overworld, nether and end are loaded together
+        this.loadAhead = plugin.getSettings().getDeleteSpeed() * 3;
+        if (loadAhead <= 0) {
+            // Island blocks are left as they are
+            IslandEvent.builder().deletedIslandInfo(di).reason(Reason.DELETED).build();
+            return;
+        }
         // Run through all chunks of the islands and regenerate them.
-        task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            if (inDelete) return;
-            inDelete = true;
-            for (int i = 0; i < plugin.getSettings().getDeleteSpeed(); i++) {
-                plugin.getIWM().getAddon(di.getWorld()).ifPresent(gm -> {
-                    // Overworld
-                    processChunk(gm, di.getWorld(), chunkX, chunkZ);
-                    // Nether
-                    if (plugin.getIWM().isNetherGenerate(di.getWorld()) && plugin.getIWM().isNetherIslands(di.getWorld())) {
-                        processChunk(gm, plugin.getIWM().getNetherWorld(di.getWorld()), chunkX, chunkZ);
-                    }
-                    // End
-                    if (plugin.getIWM().isEndGenerate(di.getWorld()) && plugin.getIWM().isEndIslands(di.getWorld())) {
-                        processChunk(gm, plugin.getIWM().getEndWorld(di.getWorld()), chunkX, chunkZ);
-                    }
-                    chunkZ++;
-                    if (chunkZ > di.getMaxZChunk()) {
-                        chunkZ = di.getMinZChunk();
-                        chunkX++;
-                        if (chunkX > di.getMaxXChunk()) {
-                            // We're done
-                            task.cancel();
-                            // Fire event
-                            IslandEvent.builder().deletedIslandInfo(di).reason(Reason.DELETED).build();
-                        }
-                    }
-                });
-            }
-            inDelete = false;
-        }, 0L, 20L);
+        plugin.getTickBudgetManager().submit(this);
     }
 
-    private void processChunk(GameModeAddon gm, World world, int x, int z) {
-        if (PaperLib.isChunkGenerated(world, x, z)) {
-            PaperLib.getChunkAtAsync(world, x, z).thenAccept(chunk -> regenerateChunk(gm, chunk));
+    @NonNull
+    @Override
+    public String getDescription() {
+        return "Deleting island at " + di.getLocation().getWorld().getName() + " " + Util.xyz(di.getLocation().toVector());
+    }
+
+    @Override
+    public long getRemaining() {
+        long columns = (long)(di.getMaxXChunk() - chunkX) * (di.getMaxZChunk() - di.getMinZChunk() + 1) + di.getMaxZChunk() - chunkZ + 1;
+        return Math.max(0, columns) + loading + loaded.size() + (current == null ? 0 : 1);
+    }
+
+    @Override
+    public boolean isWaiting() {
+        return current == null && loaded.isEmpty() && loading > 0 && (loading >= loadAhead || allRequested());
+    }
+
+    @Override
+    public boolean step() {
+        if (current != null) {
+            if (!current.regenerateColumn()) {
+                current.finish();
+                current = null;
+            }
+            // Keep loading chunks ahead
+            if (!allRequested() && loading + loaded.size() < loadAhead) {
+                requestNext();
+            }
+            return true;
+        }
+        current = loaded.poll();
+        if (current != null) {
+            current.start();
+            return true;
+        }
+        if (!allRequested()) {
+            requestNext();
+            return true;
+        }
+        if (loading > 0) {
+            return true;
         }
+        // We're done
+        IslandEvent.builder().deletedIslandInfo(di).reason(Reason.DELETED).build();
+        return false;
     }
 
-    private void regenerateChunk(GameModeAddon gm, Chunk chunk) {
-        boolean isLoaded = chunk.isLoaded();
-        // Clear all inventories
-        Arrays.stream(chunk.getTileEntities()).filter(te -> (te instanceof InventoryHolder))
-        .filter(te -> di.inBounds(te.getLocation().getBlockX(), te.getLocation().getBlockZ()))
-        .forEach(te -> ((InventoryHolder)te).getInventory().clear());
-        // Reset blocks
-        MyBiomeGrid grid = new MyBiomeGrid(chunk.getWorld().getEnvironment());
-        ChunkGenerator cg = gm.getDefaultWorldGenerator(chunk.getWorld().getName(), "");
-        // Will be null if use-own-generator is set to true
-        if (cg != null) {
-            ChunkData cd = cg.generateChunkData(chunk.getWorld(), new Random(), chunk.getX(), chunk.getZ(), grid);
-            int baseX = chunk.getX() << 4;
-            int baseZ = chunk.getZ() << 4;
-            for (int x = 0; x < 16; x++) {
-                for (int z = 0; z < 16; z++) {
-                    if (di.inBounds(baseX + x, baseZ + z)) {
-                        chunk.getBlock(x, 0, z).setBiome(grid.getBiome(x, z));
-                        for (int y = 0; y < chunk.getWorld().getMaxHeight(); y++) {
-                            // Note: setting block to air before setting it to something else stops a bug in the server
-                            // where it reports a "
-                            chunk.getBlock(x, y, z).setType(Material.AIR, false);
-                            chunk.getBlock(x, y, z).setBlockData(cd.getBlockData(x, y, z), false);
-                        }
-                    }
-                }
+    private boolean allRequested() {
+        return chunkX > di.getMaxXChunk();
+    }
+
+    /**
+     * Loads the next chunks of the island in each world
+     */
+    private void requestNext() {
+        plugin.getIWM().getAddon(di.getWorld()).ifPresent(gm -> {
+            // Overworld
+            processChunk(gm, di.getWorld(), chunkX, chunkZ);
+            // Nether
+            if (plugin.getIWM().isNetherGenerate(di.getWorld()) && plugin.getIWM().isNetherIslands(di.getWorld())) {
+                processChunk(gm, plugin.getIWM().getNetherWorld(di.getWorld()), chunkX, chunkZ);
             }
+            // End
+            if (plugin.getIWM().isEndGenerate(di.getWorld()) && plugin.getIWM().isEndIslands(di.getWorld())) {
+                processChunk(gm, plugin.getIWM().getEndWorld(di.getWorld()), chunkX, chunkZ);
+            }
+        });
+        chunkZ++;
+        if (chunkZ > di.getMaxZChunk()) {
+            chunkZ = di.getMinZChunk();
+            chunkX++;
         }
-        // Remove all entities in chunk, including any dropped items as a result of clearing the blocks above
-        Arrays.stream(chunk.getEntities()).filter(e -> !(e instanceof Player) && di.inBounds(e.getLocation().getBlockX(), e.getLocation().getBlockZ())).forEach(Entity::remove);
-        if (!isLoaded) {
-            chunk.unload(true);
+    }
+
+    private void processChunk(GameModeAddon gm, World world, int x, int z) {
+        if (PaperLib.isChunkGenerated(world, x, z)) {
+            loading++;
+            PaperLib.getChunkAtAsync(world, x, z).whenComplete((chunk, ex) -> {
+                // Counted down even if loading failed, so that the deletion does not wait forever
+                loading--;
+                if (ex != null || chunk == null) {
+                    plugin.logWarning("Could not load chunk " + x + ", " + z + " in " + world.getName()
+                    + " to delete it" + (ex == null ? "" : ": " + ex.getMessage()) + ". Skipping it.");
+                    return;
+                }
+                // Keep the chunk loaded until it has been regenerated
+                chunk.addPluginChunkTicket(plugin);
+                loaded.add(new Regeneration(gm, chunk));
+            });
         }
     }
 }
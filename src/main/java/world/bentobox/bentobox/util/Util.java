@@ -6,7 +6,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.Enumeration;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.jar.JarEntry;
@@ -57,6 +59,10 @@ public class Util {
     private static final String THE_END = "_the_end";
     private static String serverVersion = null;
     private static BentoBox plugin = BentoBox.getInstance();
+    /**
+     * Maximum number of offline player names offered by tab completion
+     */
+    private static final int MAX_KNOWN_PLAYERS = 50;
 
     private Util() {}
 
@@ -181,6 +187,24 @@ public class Util {
         return Bukkit.getOnlinePlayers().stream().filter(p -> user.getPlayer().canSee(p)).map(Player::getName).collect(Collectors.toList());
     }
 
+    /**
+     * Returns the names of the online players the user can see, followed by the names of other known players,
+     * online or offline, that start with the given letters. Intended for tab completion of commands
+     * that work on offline players.
+     *
+     * @param user - user
+     * @param start - first few chars of the name
+     * @return list of player names
+     * @since 1.14.0
+     */
+    public static List<String> getKnownPlayerList(User user, String start) {
+        Set<String> options = new LinkedHashSet<>(getOnlinePlayerList(user));
+        plugin.getPlayers().getNames(start, MAX_KNOWN_PLAYERS).stream()
+        .filter(name -> Bukkit.getPlayerExact(name) == null)
+        .forEach(options::add);
+        return new ArrayList<>(options);
+    }
+
     /**
      * Returns all of the items that begin with the given start,
      * ignoring case.  Intended for tabcompletion.
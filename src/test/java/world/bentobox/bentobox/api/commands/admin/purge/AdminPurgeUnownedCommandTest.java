@@ -18,6 +18,7 @@ import world.bentobox.bentobox.api.commands.CompositeCommand;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.managers.CommandsManager;
+import world.bentobox.bentobox.managers.IslandPoolManager;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.IslandsManager;
 
@@ -55,6 +56,8 @@ public class AdminPurgeUnownedCommandTest {
     private Island island;
     @Mock
     private World world;
+    @Mock
+    private IslandPoolManager ipm;
 
     /**
      * @throws java.lang.Exception
@@ -82,6 +85,9 @@ public class AdminPurgeUnownedCommandTest {
         when(iwm.getFriendlyName(any())).thenReturn("BSkyBlock");
         when(plugin.getIWM()).thenReturn(iwm);
 
+        // Island pool
+        when(plugin.getIslandPoolManager()).thenReturn(ipm);
+
         // Island
         when(island.getWorld()).thenReturn(world);
         when(island.isSpawn()).thenReturn(false);
@@ -134,4 +140,14 @@ public class AdminPurgeUnownedCommandTest {
         assertTrue(apuc.execute(user, "", Collections.emptyList()));
         verify(user).sendMessage(eq("commands.admin.purge.unowned.unowned-islands"), eq("[number]"), eq("0"));
     }
+
+    @Test
+    public void testNoPurgeIfIslandIsPooled() {
+        when(island.isOwned()).thenReturn(false);
+        when(island.isUnowned()).thenReturn(true);
+        when(ipm.isPooled(island)).thenReturn(true);
+        when(im.getIslands()).thenReturn(Collections.singleton(island));
+        assertTrue(apuc.execute(user, "", Collections.emptyList()));
+        verify(user).sendMessage(eq("commands.admin.purge.unowned.unowned-islands"), eq("[number]"), eq("0"));
+    }
 }
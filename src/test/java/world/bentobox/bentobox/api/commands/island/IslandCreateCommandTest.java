@@ -153,6 +153,7 @@ public class IslandCreateCommandTest {
 
         // Bundles manager
         when(plugin.getBlueprintsManager()).thenReturn(bpm);
+        when(bpm.isBlueprintsLoaded(any())).thenReturn(true);
 
         // IslandCreationPanel
         PowerMockito.mockStatic(IslandCreationPanel.class);
@@ -216,6 +217,16 @@ public class IslandCreateCommandTest {
 
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.commands.island.IslandCreateCommand#canExecute(world.bentobox.bentobox.api.user.User, java.lang.String, java.util.List)}.
+     */
+    @Test
+    public void testCanExecuteUserStringListOfStringBlueprintsLoading() {
+        when(bpm.isBlueprintsLoaded(any())).thenReturn(false);
+        assertFalse(cc.canExecute(user, "", Collections.emptyList()));
+        verify(user).sendMessage(eq("general.errors.blueprints-loading"));
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.api.commands.island.IslandCreateCommand#canExecute(world.bentobox.bentobox.api.user.User, java.lang.String, java.util.List)}.
      */
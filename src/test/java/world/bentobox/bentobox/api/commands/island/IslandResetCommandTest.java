@@ -156,6 +156,7 @@ public class IslandResetCommandTest {
 
         // Bundles manager
         when(plugin.getBlueprintsManager()).thenReturn(bpm);
+        when(bpm.isBlueprintsLoaded(any())).thenReturn(true);
         when(bpm.validate(any(), any())).thenReturn("custom");
 
         // Give the user some resets
@@ -0,0 +1,91 @@
+package world.bentobox.bentobox.api.localization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.bukkit.ChatColor;
+import org.junit.Test;
+
+public class TranslationTemplateTest {
+
+    private static final Function<String, String> NO_PREFIXES = prefix -> null;
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.localization.TranslationTemplate#format(java.util.Map, java.lang.String[])}.
+     */
+    @Test
+    public void testFormatVariables() {
+        TranslationTemplate template = TranslationTemplate.compile("&c You [name] have [number] &a items [unknown]", NO_PREFIXES);
+        assertEquals(ChatColor.RED + "You tastybento have 5 " + ChatColor.GREEN + "items [unknown]",
+                template.format(Collections.emptyMap(), TextVariables.NAME, "tastybento", TextVariables.NUMBER, "5"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.localization.TranslationTemplate#format(java.util.Map, java.lang.String[])}.
+     */
+    @Test
+    public void testFormatVariableWithColors() {
+        // Colors of the text are translated when it is compiled, colors of the variables when they are inserted
+        TranslationTemplate template = TranslationTemplate.compile("&b [seconds]s&c  to confirm.", NO_PREFIXES);
+        assertEquals(ChatColor.AQUA + "" + ChatColor.YELLOW + "10s" + ChatColor.RED + " to confirm.",
+                template.format(Collections.emptyMap(), "[seconds]", "&e10"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.localization.TranslationTemplate#format(java.util.Map, java.lang.String[])}.
+     */
+    @Test
+    public void testFormatVariableNotSlot() {
+        TranslationTemplate template = TranslationTemplate.compile("Hello %player%, [[name]]", NO_PREFIXES);
+        assertEquals("Hello poslovitch, [tastybento]", template.format(Collections.emptyMap(), "%player%", "poslovitch", TextVariables.NAME, "tastybento"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.localization.TranslationTemplate#compile(java.lang.String, java.util.function.Function)}.
+     */
+    @Test
+    public void testCompilePrefixes() {
+        TranslationTemplate template = TranslationTemplate.compile("[prefix_bentobox][prefix_unknown] &cDenied",
+                prefix -> prefix.equals("bentobox") ? "&6 BentoBox &7 > &r " : null);
+        assertTrue(template.isPrefixed());
+        assertFalse(template.hasPrefixSlots());
+        // The prefix is part of the text, the unknown prefix is left as it is
+        assertEquals(ChatColor.GOLD + "BentoBox " + ChatColor.GRAY + "> " + ChatColor.RESET + "[prefix_unknown] " + ChatColor.RED + "Denied",
+                template.format(Collections.emptyMap()));
+        assertFalse(TranslationTemplate.compile("&cDenied", NO_PREFIXES).isPrefixed());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.localization.TranslationTemplate#format(java.util.Map, java.lang.String[])}.
+     */
+    @Test
+    public void testFormatPrefixVariables() {
+        TranslationTemplate template = TranslationTemplate.compile("[prefix_gamemode]&c [gamemode] [name]",
+                prefix -> "&6 [gamemode] [name] > ");
+        assertTrue(template.hasPrefixSlots());
+        assertTrue(template.hasSlot("[gamemode]"));
+        Map<String, String> prefixVariables = new HashMap<>();
+        prefixVariables.put("[gamemode]", "BSkyBlock");
+        // The prefix variables are only used in the prefix, the other variables everywhere
+        assertEquals(ChatColor.GOLD + "BSkyBlock tastybento > " + ChatColor.RED + "[gamemode] tastybento",
+                template.format(prefixVariables, TextVariables.NAME, "tastybento"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.localization.TranslationTemplate#hasSlot(java.lang.String)}.
+     */
+    @Test
+    public void testHasSlot() {
+        TranslationTemplate template = TranslationTemplate.compile("[gamemode] [friendly_name", NO_PREFIXES);
+        assertTrue(template.hasSlot("[gamemode]"));
+        assertFalse(template.hasSlot("[friendly_name]"));
+        assertFalse(TranslationTemplate.compile("", NO_PREFIXES).isPrefixed());
+        assertEquals("", TranslationTemplate.compile("", NO_PREFIXES).format(Collections.emptyMap()));
+    }
+}
@@ -3,7 +3,9 @@ package world.bentobox.bentobox.api.user;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -145,6 +147,41 @@ public class UserTest {
         assertEquals(uuid,user.getUniqueId());
     }
 
+    @Test
+    public void testGetInstanceUUIDOfflineReused() {
+        when(Bukkit.getPlayer(any(UUID.class))).thenReturn(null);
+        UUID uuid = UUID.randomUUID();
+        User offline = User.getInstance(uuid);
+        assertSame(offline, User.getInstance(uuid));
+        assertNull(offline.getPlayer());
+        // Player comes online
+        when(Bukkit.getPlayer(any(UUID.class))).thenReturn(player);
+        User online = User.getInstance(uuid);
+        assertNotSame(offline, online);
+        assertEquals(player, online.getPlayer());
+    }
+
+    @Test
+    public void testGetInstanceUUIDOfflineEvicted() throws InterruptedException {
+        when(player.isOnline()).thenReturn(true);
+        when(Bukkit.getPlayer(any(UUID.class))).thenReturn(null);
+        User first = User.getInstance(UUID.randomUUID());
+        User used = User.getInstance(UUID.randomUUID());
+        Thread.sleep(2);
+        for (int i = 0; i < User.MAX_OFFLINE_USERS - 2; i++) {
+            User.getInstance(UUID.randomUUID());
+        }
+        // Used again, so it is not the least recently used any more
+        Thread.sleep(2);
+        assertSame(used, User.getInstance(used.getUniqueId()));
+        // One too many
+        User.getInstance(UUID.randomUUID());
+        assertNotSame(first, User.getInstance(first.getUniqueId()));
+        assertSame(used, User.getInstance(used.getUniqueId()));
+        // The online player is never removed
+        assertSame(user, User.getInstance(player));
+    }
+
     @Test
     public void testRemovePlayer() {
         assertNotNull(User.getInstance(uuid));
@@ -274,6 +311,14 @@ public class UserTest {
         assertEquals("mock translation variable", user.getTranslation("a.reference", "[test]", "variable"));
     }
 
+    @Test
+    public void testGetTranslationColoredVariable() {
+        when(lm.get(any(), any())).thenReturn("&b [seconds]s&c  to confirm.");
+        // Only one of the two spaces after the color code is stripped, as colors are converted once
+        assertEquals(ChatColor.AQUA + "" + ChatColor.YELLOW + "10s" + ChatColor.RED + " to confirm.",
+                user.getTranslation("a.reference", "[seconds]", "&e10"));
+    }
+
     @Test
     public void testGetTranslationNoTranslationFound() {
         // Test no translation found
@@ -588,4 +633,92 @@ public class UserTest {
         User u = User.getInstance(player);
         assertEquals(3, u.getPermissionValue("bskyblock.max", 22));
     }
+
+    /**
+     * Test for {@link User#getPermissionValue(String, int)} and {@link User#invalidatePermissionValues()}
+     */
+    @Test
+    public void testGetPermissionValueCached() {
+        User.clearUsers();
+        PermissionAttachmentInfo pai = mock(PermissionAttachmentInfo.class);
+        when(pai.getPermission()).thenReturn("bskyblock.max.3");
+        when(pai.getValue()).thenReturn(true);
+        when(player.getEffectivePermissions()).thenReturn(Collections.singleton(pai));
+        User u = User.getInstance(player);
+        assertEquals(3, u.getPermissionValue("bskyblock.max", 22));
+        // Permissions are not read again
+        when(pai.getPermission()).thenReturn("bskyblock.max.5");
+        assertEquals(3, u.getPermissionValue("bskyblock.max.", 22));
+        verify(player).getEffectivePermissions();
+        // Until the values are invalidated
+        u.invalidatePermissionValues();
+        assertEquals(5, u.getPermissionValue("bskyblock.max", 22));
+    }
+
+    /**
+     * Test for {@link User#getPermissionValue(String, int)}
+     */
+    @Test
+    public void testGetPermissionValueAllPrefixesReadOnce() {
+        User.clearUsers();
+        Set<PermissionAttachmentInfo> permSet = new HashSet<>();
+        PermissionAttachmentInfo pai = mock(PermissionAttachmentInfo.class);
+        when(pai.getPermission()).thenReturn("bskyblock.island.range.50");
+        when(pai.getValue()).thenReturn(true);
+        PermissionAttachmentInfo pai2 = mock(PermissionAttachmentInfo.class);
+        when(pai2.getPermission()).thenReturn("bskyblock.team.maxsize.8");
+        when(pai2.getValue()).thenReturn(true);
+        permSet.add(pai);
+        permSet.add(pai2);
+        when(player.getEffectivePermissions()).thenReturn(permSet);
+        User u = User.getInstance(player);
+        assertEquals(50, u.getPermissionValue("bskyblock.island.range", 10));
+        assertEquals(8, u.getPermissionValue("bskyblock.team.maxsize", 4));
+        assertEquals(3, u.getPermissionValue("bskyblock.island.maxhomes", 3));
+        // One index for all the prefixes
+        verify(player).getEffectivePermissions();
+    }
+
+    /**
+     * Test for {@link User#getPermissionValue(String, int)}
+     */
+    @Test
+    public void testGetPermissionValueNotNumber() {
+        User.clearUsers();
+        Set<PermissionAttachmentInfo> permSet = new HashSet<>();
+        PermissionAttachmentInfo pai = mock(PermissionAttachmentInfo.class);
+        when(pai.getPermission()).thenReturn("bskyblock.max.3");
+        when(pai.getValue()).thenReturn(true);
+        PermissionAttachmentInfo pai2 = mock(PermissionAttachmentInfo.class);
+        when(pai2.getPermission()).thenReturn("bskyblock.max.lots");
+        when(pai2.getValue()).thenReturn(true);
+        permSet.add(pai);
+        permSet.add(pai2);
+        when(player.getEffectivePermissions()).thenReturn(permSet);
+        when(player.getName()).thenReturn("tastybento");
+        User u = User.getInstance(player);
+        assertEquals(3, u.getPermissionValue("bskyblock.max", 22));
+        assertEquals(3, u.getPermissionValue("bskyblock.max", 22));
+        // Only reported once
+        verify(plugin).logError("Player tastybento has permission: 'bskyblock.max.lots' <-- the last part MUST be a number! Ignoring...");
+    }
+
+    /**
+     * Test for {@link User#getPermissionValue(String, int)} and {@link User#addPerm(String)}
+     */
+    @Test
+    public void testGetPermissionValueAddPerm() {
+        User.clearUsers();
+        PermissionAttachmentInfo pai = mock(PermissionAttachmentInfo.class);
+        when(pai.getPermission()).thenReturn("bskyblock.max.3");
+        when(pai.getValue()).thenReturn(true);
+        when(player.getEffectivePermissions()).thenReturn(Collections.singleton(pai));
+        User u = User.getInstance(player);
+        assertEquals(3, u.getPermissionValue("bskyblock.max", 22));
+        // Adding a permission reads the permissions again
+        when(pai.getPermission()).thenReturn("bskyblock.max.5");
+        u.addPerm("bskyblock.max.5");
+        assertEquals(5, u.getPermissionValue("bskyblock.max", 22));
+        verify(player, times(2)).getEffectivePermissions();
+    }
 }
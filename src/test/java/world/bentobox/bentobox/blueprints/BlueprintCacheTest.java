@@ -0,0 +1,128 @@
+package world.bentobox.bentobox.blueprints;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bukkit.block.data.BlockData;
+import org.bukkit.util.Vector;
+import org.junit.Before;
+import org.junit.Test;
+
+import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
+
+public class BlueprintCacheTest {
+
+    private BlueprintCache cache;
+    private long maxSize;
+
+    @Before
+    public void setUp() {
+        maxSize = Long.MAX_VALUE;
+        cache = new BlueprintCache(() -> maxSize);
+    }
+
+    private Blueprint makeBlueprint(int blocks) {
+        Blueprint bp = new Blueprint();
+        Map<Vector, BlueprintBlock> map = new HashMap<>();
+        for (int i = 0; i < blocks; i++) {
+            map.put(new Vector(i, 0, 0), new BlueprintBlock("minecraft:stone"));
+        }
+        bp.setBlocks(map);
+        return bp;
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.BlueprintCache#estimateSize(world.bentobox.bentobox.blueprints.Blueprint)}.
+     */
+    @Test
+    public void testEstimateSize() {
+        long empty = BlueprintCache.estimateSize(new Blueprint());
+        long small = BlueprintCache.estimateSize(makeBlueprint(10));
+        long large = BlueprintCache.estimateSize(makeBlueprint(1000));
+        assertTrue(empty < small);
+        assertTrue(small < large);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.BlueprintCache#estimateSize(world.bentobox.bentobox.blueprints.Blueprint)}.
+     */
+    @Test
+    public void testEstimateSizeBeforePaste() {
+        Blueprint bp = makeBlueprint(10);
+        bp.getBlocks().put(new Vector(0, 1, 0), new BlueprintBlock("minecraft:dirt"));
+        long beforePaste = BlueprintCache.estimateSize(bp);
+        // Pasting parses each distinct state once
+        bp.getBlockData("minecraft:stone", s -> mock(BlockData.class));
+        bp.getBlockData("minecraft:dirt", s -> mock(BlockData.class));
+        assertEquals(beforePaste, BlueprintCache.estimateSize(bp));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.BlueprintCache#put(java.lang.String, world.bentobox.bentobox.blueprints.Blueprint)}.
+     */
+    @Test
+    public void testPutGet() {
+        Blueprint bp = makeBlueprint(10);
+        assertNull(cache.get("bskyblock:island"));
+        cache.put("bskyblock:island", bp);
+        assertSame(bp, cache.get("bskyblock:island"));
+        assertEquals(BlueprintCache.estimateSize(bp), cache.getSize());
+        // Replacing does not count twice
+        cache.put("bskyblock:island", bp);
+        assertEquals(BlueprintCache.estimateSize(bp), cache.getSize());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.BlueprintCache#put(java.lang.String, world.bentobox.bentobox.blueprints.Blueprint)}.
+     */
+    @Test
+    public void testPutEvictsLeastRecentlyUsed() {
+        Blueprint bp = makeBlueprint(100);
+        maxSize = BlueprintCache.estimateSize(bp) * 2;
+        cache.put("a", bp);
+        cache.put("b", makeBlueprint(100));
+        // Use a, so b is the least recently used
+        cache.get("a");
+        cache.put("c", makeBlueprint(100));
+        // Most recently used first
+        assertEquals(new ArrayList<>(Arrays.asList("c", "a")), new ArrayList<>(cache.getSizes().keySet()));
+        assertSame(bp, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.BlueprintCache#put(java.lang.String, world.bentobox.bentobox.blueprints.Blueprint)}.
+     */
+    @Test
+    public void testPutKeepsNewestWhenTooLarge() {
+        maxSize = 1;
+        Blueprint bp = makeBlueprint(100);
+        cache.put("a", makeBlueprint(100));
+        cache.put("b", bp);
+        assertSame(bp, cache.get("b"));
+        assertEquals(1, cache.getSizes().size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.BlueprintCache#removeIf(java.util.function.Predicate)}.
+     */
+    @Test
+    public void testRemoveIf() {
+        cache.put("bskyblock:island", makeBlueprint(10));
+        cache.put("acidisland:island", makeBlueprint(10));
+        cache.removeIf(k -> k.startsWith("bskyblock:"));
+        assertNull(cache.get("bskyblock:island"));
+        assertEquals(1, cache.getSizes().size());
+        cache.remove("acidisland:island");
+        assertEquals(0, cache.getSize());
+    }
+}
@@ -0,0 +1,243 @@
+package world.bentobox.bentobox.blueprints;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.UnsafeValues;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Entity;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.util.Vector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.api.localization.TextVariables;
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.blueprints.dataobjects.CompactBlocks;
+import world.bentobox.bentobox.managers.BlueprintsManager;
+import world.bentobox.bentobox.util.Util;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Bukkit.class, BentoBox.class, Util.class})
+public class BlueprintClipboardTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private World world;
+    @Mock
+    private User user;
+    @Mock
+    private BukkitScheduler scheduler;
+
+    private final Map<Material, BlockData> blockData = new EnumMap<>(Material.class);
+    private BlueprintClipboard clipboard;
+
+    @Before
+    public void setUp() {
+        Whitebox.setInternalState(BentoBox.class, "instance", plugin);
+        // Blocks are read from the snapshots on this thread
+        BlueprintsManager bpm = mock(BlueprintsManager.class);
+        when(bpm.getExecutor()).thenReturn(Runnable::run);
+        when(plugin.getBlueprintsManager()).thenReturn(bpm);
+
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.getScheduler()).thenReturn(scheduler);
+        when(scheduler.runTask(any(), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return null;
+        });
+        // Torches are attached to another block
+        UnsafeValues unsafe = mock(UnsafeValues.class);
+        when(unsafe.toLegacy(any())).thenAnswer(invocation ->
+        invocation.getArgument(0).equals(Material.TORCH) ? Material.LEGACY_TORCH : Material.LEGACY_STONE);
+        when(Bukkit.getUnsafe()).thenReturn(unsafe);
+
+        PowerMockito.mockStatic(Util.class);
+        when(Util.getChunkAtAsync(any(World.class), anyInt(), anyInt())).thenAnswer(invocation ->
+        CompletableFuture.completedFuture(makeChunk(invocation.getArgument(1), invocation.getArgument(2))));
+
+        clipboard = new BlueprintClipboard();
+        // Two chunks along x
+        clipboard.setPos1(new Location(world, 0, 0, 0));
+        clipboard.setPos2(new Location(world, 20, 2, 3));
+        clipboard.setOrigin(new Vector(0, 0, 0));
+    }
+
+    @After
+    public void tearDown() {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Stone floor, with bedrock at 3,0,2 and a higher one at 18,1,1, and a torch at 5,2,1
+     */
+    private static Material getType(int x, int y, int z) {
+        if ((x == 3 && y == 0 && z == 2) || (x == 18 && y == 1 && z == 1)) {
+            return Material.BEDROCK;
+        }
+        if (x == 5 && y == 2 && z == 1) {
+            return Material.TORCH;
+        }
+        return y == 0 ? Material.STONE : Material.AIR;
+    }
+
+    private BlockData getBlockData(Material type) {
+        return blockData.computeIfAbsent(type, t -> {
+            BlockData bd = mock(BlockData.class);
+            when(bd.getAsString()).thenReturn("minecraft:" + t.name().toLowerCase());
+            return bd;
+        });
+    }
+
+    private Chunk makeChunk(int cx, int cz) {
+        ChunkSnapshot snapshot = mock(ChunkSnapshot.class);
+        when(snapshot.getBlockType(anyInt(), anyInt(), anyInt())).thenAnswer(invocation ->
+        getType((cx << 4) + (int)invocation.getArgument(0), invocation.getArgument(1), (cz << 4) + (int)invocation.getArgument(2)));
+        when(snapshot.getBlockData(anyInt(), anyInt(), anyInt())).thenAnswer(invocation ->
+        getBlockData(getType((cx << 4) + (int)invocation.getArgument(0), invocation.getArgument(1), (cz << 4) + (int)invocation.getArgument(2))));
+        Chunk chunk = mock(Chunk.class);
+        when(chunk.getX()).thenReturn(cx);
+        when(chunk.getZ()).thenReturn(cz);
+        when(chunk.getChunkSnapshot(false, false, false)).thenReturn(snapshot);
+        when(chunk.getTileEntities()).thenReturn(new BlockState[0]);
+        when(chunk.getEntities()).thenReturn(new Entity[0]);
+        return chunk;
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.BlueprintClipboard#copy(world.bentobox.bentobox.api.user.User, boolean)}.
+     */
+    @Test
+    public void testCopyNoPos() {
+        clipboard.setPos1(null);
+        assertFalse(clipboard.copy(user, false));
+        verify(user).sendMessage("commands.admin.blueprint.need-pos1-pos2");
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.BlueprintClipboard#copy(world.bentobox.bentobox.api.user.User, boolean)}.
+     */
+    @Test
+    public void testCopyChunks() {
+        assertTrue(clipboard.copy(user, false));
+        // Each chunk of the selection is copied once
+        PowerMockito.verifyStatic(Util.class);
+        Util.getChunkAtAsync(world, 0, 0);
+        PowerMockito.verifyStatic(Util.class);
+        Util.getChunkAtAsync(world, 1, 0);
+        PowerMockito.verifyStatic(Util.class, Mockito.times(2));
+        Util.getChunkAtAsync(any(World.class), anyInt(), anyInt());
+
+        Blueprint bp = clipboard.getBlueprint();
+        // 84 floor blocks, the higher bedrock and the air left under the torch
+        assertEquals(86, bp.getBlocks().size());
+        // Blocks from both chunks
+        assertEquals("minecraft:stone", bp.getBlocks().get(new Vector(0, 0, 0)).getBlockData());
+        assertEquals("minecraft:stone", bp.getBlocks().get(new Vector(20, 0, 3)).getBlockData());
+        assertNull(bp.getBlocks().get(new Vector(10, 1, 1)));
+        verify(user).sendMessage("commands.admin.blueprint.copied-blocks", TextVariables.NUMBER, "86");
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.BlueprintClipboard#copy(world.bentobox.bentobox.api.user.User, boolean)}.
+     */
+    @Test
+    public void testCopyCompact() {
+        clipboard.copy(user, false);
+        CompactBlocks blocks = clipboard.getBlueprint().getCompactBlocks();
+        CompactBlocks attached = clipboard.getBlueprint().getCompactAttached();
+        assertEquals(86, blocks.size());
+        assertEquals(1, attached.size());
+        // Stone, bedrock, air and torch, shared by the blocks and the attached blocks
+        assertEquals(4, blocks.getPalette().length);
+        assertSame(blocks.getPalette(), attached.getPalette());
+        // Bounds of the selection
+        assertEquals(21, blocks.getBounds().getWidth());
+        assertEquals(3, blocks.getBounds().getHeight());
+        assertEquals(4, blocks.getBounds().getLength());
+        // From the bottom up
+        assertEquals(0, blocks.getY(0));
+        assertEquals(2, blocks.getY(blocks.size() - 1));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.BlueprintClipboard#copy(world.bentobox.bentobox.api.user.User, boolean)}.
+     */
+    @Test
+    public void testCopyAttachable() {
+        clipboard.copy(user, false);
+        Blueprint bp = clipboard.getBlueprint();
+        assertEquals(1, bp.getAttached().size());
+        assertEquals("minecraft:torch", bp.getAttached().get(new Vector(5, 2, 1)).getBlockData());
+        // The torch is pasted after the block it is attached to
+        assertEquals("minecraft:air", bp.getBlocks().get(new Vector(5, 2, 1)).getBlockData());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.BlueprintClipboard#copy(world.bentobox.bentobox.api.user.User, boolean)}.
+     */
+    @Test
+    public void testCopyBedrock() {
+        clipboard.copy(user, false);
+        // The highest bedrock, even though it is in the second chunk
+        assertEquals(new Vector(18, 1, 1), clipboard.getBlueprint().getBedrock());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.BlueprintClipboard#copy(world.bentobox.bentobox.api.user.User, boolean)}.
+     */
+    @Test
+    public void testCopyAir() {
+        clipboard.copy(user, true);
+        assertEquals(21 * 3 * 4, clipboard.getBlueprint().getBlocks().size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.BlueprintClipboard#copy(world.bentobox.bentobox.api.user.User, boolean)}.
+     */
+    @Test
+    public void testCopyFailed() {
+        CompletableFuture<Chunk> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("chunk could not be loaded"));
+        when(Util.getChunkAtAsync(world, 1, 0)).thenReturn(failed);
+        assertTrue(clipboard.copy(user, false));
+        verify(user).sendMessage("commands.admin.blueprint.copy-failed");
+        verify(user, never()).sendMessage(eq("commands.admin.blueprint.copied-blocks"), anyString(), anyString());
+        verify(plugin).logError(anyString());
+        // Copying can be tried again
+        assertTrue(clipboard.copy(user, false));
+        verify(user, never()).sendMessage("commands.admin.blueprint.mid-copy");
+    }
+}
@@ -0,0 +1,109 @@
+package world.bentobox.bentobox.blueprints;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.bukkit.block.data.BlockData;
+import org.bukkit.util.Vector;
+import org.junit.Before;
+import org.junit.Test;
+
+import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
+import world.bentobox.bentobox.blueprints.dataobjects.CompactBlocks;
+
+public class BlueprintTest {
+
+    private Blueprint blueprint;
+    private AtomicInteger parsed;
+    private Function<String, BlockData> parser;
+
+    @Before
+    public void setUp() {
+        blueprint = new Blueprint();
+        parsed = new AtomicInteger();
+        parser = state -> {
+            parsed.incrementAndGet();
+            return mock(BlockData.class);
+        };
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.Blueprint#getBlockData(java.lang.String, java.util.function.Function)}.
+     */
+    @Test
+    public void testGetBlockData() {
+        BlockData stone = blueprint.getBlockData("minecraft:stone", parser);
+        assertSame(stone, blueprint.getBlockData("minecraft:stone", parser));
+        assertEquals(1, parsed.get());
+        blueprint.getBlockData("minecraft:oak_stairs[facing=north]", parser);
+        assertEquals(2, parsed.get());
+        assertEquals(2, blueprint.getParsedBlockDataCount());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.Blueprint#getBlockData(java.lang.String, java.util.function.Function)}.
+     */
+    @Test
+    public void testGetBlockDataNotShared() {
+        blueprint.getBlockData("minecraft:stone", parser);
+        new Blueprint().getBlockData("minecraft:stone", parser);
+        assertEquals(2, parsed.get());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.Blueprint#getBlocks()}.
+     */
+    @Test
+    public void testGetBlocksMetadataOnly() {
+        assertFalse(blueprint.isMetadataOnly());
+        blueprint.setMetadataOnly(true);
+        assertTrue(blueprint.isMetadataOnly());
+        // Nothing is loaded, the blocks must be got from the blueprints manager
+        assertNull(blueprint.getBlocks());
+        assertNull(blueprint.getAttached());
+        assertNull(blueprint.getEntities());
+        assertNull(blueprint.getCompactBlocks());
+        assertNull(blueprint.getCompactAttached());
+        assertTrue(blueprint.isMetadataOnly());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.Blueprint#isMetadataOnly()}.
+     */
+    @Test
+    public void testIsMetadataOnlyWithBlocks() {
+        blueprint.setMetadataOnly(true);
+        blueprint.setBlocks(Collections.singletonMap(new Vector(), new BlueprintBlock("minecraft:bedrock")));
+        assertFalse(blueprint.isMetadataOnly());
+        assertEquals(1, blueprint.getCompactBlocks().size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.Blueprint#getCompactBlocks()}.
+     */
+    @Test
+    public void testGetCompactBlocks() {
+        Map<Vector, BlueprintBlock> blocks = new HashMap<>();
+        blocks.put(new Vector(0, 0, 0), new BlueprintBlock("minecraft:bedrock"));
+        blocks.put(new Vector(0, 1, 0), new BlueprintBlock("minecraft:stone"));
+        blueprint.setBlocks(blocks);
+        CompactBlocks compact = blueprint.getCompactBlocks();
+        assertEquals(2, compact.size());
+        assertEquals(0, blueprint.getCompactAttached().size());
+        // Kept in compact form
+        assertSame(compact, blueprint.getCompactBlocks());
+        // Unpacked again when asked for as a map
+        assertEquals("minecraft:stone", blueprint.getBlocks().get(new Vector(0, 1, 0)).getBlockData());
+        assertTrue(blueprint.getAttached().isEmpty());
+    }
+}
@@ -0,0 +1,110 @@
+package world.bentobox.bentobox.blueprints.dataobjects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bukkit.util.Vector;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompactBlocksTest {
+
+    private CompactBlocks.Bounds bounds;
+    private CompactBlocks.Palette palette;
+
+    @Before
+    public void setUp() {
+        bounds = new CompactBlocks.Bounds(new Vector(-2, 0, -2), new Vector(2, 3, 2));
+        palette = new CompactBlocks.Palette();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.dataobjects.CompactBlocks.Builder#build(java.lang.String[])}.
+     */
+    @Test
+    public void testBuild() {
+        int stone = palette.getId("minecraft:stone");
+        int dirt = palette.getId("minecraft:dirt");
+        assertEquals(stone, palette.getId("minecraft:stone"));
+        BlueprintBlock sign = new BlueprintBlock(null);
+        sign.setSignLines(Arrays.asList("a", "b", "c", "d"));
+        CompactBlocks compact = new CompactBlocks.Builder(bounds)
+                .add(2, 3, 2, dirt, null)
+                .add(-2, 0, -2, stone, sign)
+                .add(0, 1, 0, stone, null)
+                .build(palette.toArray());
+        assertEquals(3, compact.size());
+        // Sorted from the bottom up
+        assertEquals(-2, compact.getX(0));
+        assertEquals(0, compact.getY(0));
+        assertEquals(-2, compact.getZ(0));
+        assertEquals(1, compact.getY(1));
+        assertEquals(3, compact.getY(2));
+        assertEquals("minecraft:dirt", compact.getState(2));
+        // Tiles share the strings of the palette
+        assertSame(compact.getState(1), compact.getTile(0).getBlockData());
+        assertNull(compact.getTile(1));
+        assertEquals(1, compact.getTileCount());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.dataobjects.CompactBlocks.Builder#build(java.lang.String[])}.
+     */
+    @Test
+    public void testBuildSamePosition() {
+        int stone = palette.getId("minecraft:stone");
+        CompactBlocks.Builder other = new CompactBlocks.Builder(bounds).add(1, 1, 1, stone, null);
+        CompactBlocks compact = new CompactBlocks.Builder(bounds).add(1, 1, 1, stone, null).addAll(other).build(palette.toArray());
+        assertEquals(1, compact.size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.dataobjects.CompactBlocks#contains(org.bukkit.util.Vector)}.
+     */
+    @Test
+    public void testContains() {
+        CompactBlocks compact = new CompactBlocks.Builder(bounds).add(1, 2, -1, palette.getId("minecraft:stone"), null).build(palette.toArray());
+        assertTrue(compact.contains(new Vector(1, 2, -1)));
+        assertFalse(compact.contains(new Vector(1, 2, 0)));
+        // Outside the bounds
+        assertFalse(compact.contains(new Vector(10, 2, -1)));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.dataobjects.CompactBlocks#of(java.util.Map, java.util.Map)}.
+     */
+    @Test
+    public void testOfToMap() {
+        Map<Vector, BlueprintBlock> blocks = new HashMap<>();
+        blocks.put(new Vector(0, 0, 0), new BlueprintBlock("minecraft:stone"));
+        blocks.put(new Vector(3, 1, -5), new BlueprintBlock(null));
+        Map<Vector, BlueprintBlock> attached = new HashMap<>();
+        attached.put(new Vector(10, 1, 0), new BlueprintBlock("minecraft:torch"));
+        CompactBlocks[] compact = CompactBlocks.of(blocks, attached);
+        // Both share the bounds around all the blocks and the palette
+        assertEquals(compact[0].getBounds(), compact[1].getBounds());
+        assertSame(compact[0].getPalette(), compact[1].getPalette());
+        assertEquals(11, compact[0].getBounds().getWidth());
+        Map<Vector, BlueprintBlock> map = compact[0].toMap();
+        assertEquals(2, map.size());
+        assertEquals("minecraft:stone", map.get(new Vector(0, 0, 0)).getBlockData());
+        // Blocks without a state are air
+        assertEquals("minecraft:air", map.get(new Vector(3, 1, -5)).getBlockData());
+        assertEquals("minecraft:torch", compact[1].toMap().get(new Vector(10, 1, 0)).getBlockData());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.dataobjects.CompactBlocks.Bounds#Bounds(org.bukkit.util.Vector, org.bukkit.util.Vector)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundsTooLarge() {
+        new CompactBlocks.Bounds(new Vector(0, 0, 0), new Vector(100000, 255, 100000));
+    }
+}
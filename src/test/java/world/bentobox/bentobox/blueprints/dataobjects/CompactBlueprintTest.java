@@ -0,0 +1,147 @@
+package world.bentobox.bentobox.blueprints.dataobjects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.bukkit.util.Vector;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+
+import world.bentobox.bentobox.blueprints.Blueprint;
+
+public class CompactBlueprintTest {
+
+    private Blueprint blueprint;
+    private Map<Vector, BlueprintBlock> blocks;
+
+    @Before
+    public void setUp() {
+        blueprint = new Blueprint();
+        blueprint.setName("Test");
+        blueprint.setxSize(20);
+        blueprint.setySize(10);
+        blueprint.setzSize(30);
+        blueprint.setBedrock(new Vector(1, 2, 3));
+        blocks = new HashMap<>();
+        // More states than fit in a few bits
+        for (int i = 0; i < 500; i++) {
+            blocks.put(new Vector(i % 20 - 10, i % 7, i % 29 - 40), new BlueprintBlock("minecraft:state" + (i % 123)));
+        }
+        blueprint.setBlocks(blocks);
+        blueprint.setAttached(new HashMap<>());
+        blueprint.setEntities(new HashMap<>());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.dataobjects.CompactBlueprint#of(world.bentobox.bentobox.blueprints.Blueprint)}.
+     */
+    @Test
+    public void testOf() {
+        CompactBlueprint cb = CompactBlueprint.of(blueprint);
+        assertEquals(CompactBlueprint.FORMAT, cb.getFormat());
+        assertEquals(123, cb.getPalette().size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.dataobjects.CompactBlueprint#toBlueprint()}.
+     */
+    @Test
+    public void testToBlueprint() {
+        BlueprintBlock sign = new BlueprintBlock("minecraft:oak_sign");
+        sign.setSignLines(Arrays.asList("line 1", "line 2", "", ""));
+        blocks.put(new Vector(50, 1, 1), sign);
+        Map<Vector, BlueprintBlock> attached = new HashMap<>();
+        attached.put(new Vector(-1, -1, -1), new BlueprintBlock("minecraft:torch"));
+        blueprint.setAttached(attached);
+
+        Blueprint bp = CompactBlueprint.of(blueprint).toBlueprint();
+        assertEquals("test", bp.getName());
+        assertEquals(20, bp.getxSize());
+        assertEquals(10, bp.getySize());
+        assertEquals(30, bp.getzSize());
+        assertEquals(new Vector(1, 2, 3), bp.getBedrock());
+        assertEquals(blocks.size(), bp.getBlocks().size());
+        for (Entry<Vector, BlueprintBlock> en : blocks.entrySet()) {
+            assertEquals(en.getValue().getBlockData(), bp.getBlocks().get(en.getKey()).getBlockData());
+        }
+        assertEquals(sign.getSignLines(), bp.getBlocks().get(new Vector(50, 1, 1)).getSignLines());
+        assertNull(bp.getBlocks().get(new Vector(-10, 0, -40)).getSignLines());
+        assertEquals(1, bp.getAttached().size());
+        assertEquals("minecraft:torch", bp.getAttached().get(new Vector(-1, -1, -1)).getBlockData());
+        assertTrue(bp.getEntities().isEmpty());
+        // Blocks with the same state share the same string
+        assertSame(bp.getBlocks().get(new Vector(-10, 0, -40)).getBlockData(), bp.getBlocks().get(new Vector(-4, 1, -26)).getBlockData());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.dataobjects.CompactBlueprint#toBlueprint()}.
+     */
+    @Test
+    public void testToBlueprintEmpty() {
+        Blueprint bp = CompactBlueprint.of(new Blueprint()).toBlueprint();
+        assertTrue(bp.getBlocks().isEmpty());
+        assertTrue(bp.getAttached().isEmpty());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.dataobjects.CompactBlueprint#toBlueprint()}.
+     */
+    @Test
+    public void testToBlueprintCompact() {
+        Blueprint bp = CompactBlueprint.of(blueprint).toBlueprint();
+        CompactBlocks compact = bp.getCompactBlocks();
+        assertEquals(blocks.size(), compact.size());
+        assertEquals(123, compact.getPalette().length);
+        assertSame(compact.getPalette(), bp.getCompactAttached().getPalette());
+        // From the bottom up
+        for (int n = 1; n < compact.size(); n++) {
+            assertTrue(compact.getY(n - 1) <= compact.getY(n));
+        }
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.dataobjects.CompactBlueprint#of(world.bentobox.bentobox.blueprints.Blueprint)}.
+     */
+    @Test
+    public void testOfSparse() {
+        // Two blocks at opposite corners of a large box
+        Map<Vector, BlueprintBlock> map = new HashMap<>();
+        map.put(new Vector(0, 0, 0), new BlueprintBlock("minecraft:stone"));
+        map.put(new Vector(500, 200, 500), new BlueprintBlock("minecraft:stone"));
+        blueprint.setBlocks(map);
+        String json = new Gson().toJson(CompactBlueprint.of(blueprint));
+        // Only the cells that hold a block are written
+        assertTrue(json.length() < 1000);
+        Blueprint bp = new Gson().fromJson(json, CompactBlueprint.class).toBlueprint();
+        assertEquals(2, bp.getBlocks().size());
+        assertEquals("minecraft:stone", bp.getBlocks().get(new Vector(500, 200, 500)).getBlockData());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.blueprints.dataobjects.CompactBlueprint#toBlueprint()}.
+     */
+    @Test
+    public void testToBlueprintFullBoxFormat() {
+        // Format 2 packs every cell of a 2 x 1 x 2 box with 1 bit, and 0 is no block: stone in cells 1 and 2
+        String blocksField = Base64.getEncoder().encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(0b0110L).array());
+        String json = "{\"format\":2,\"name\":\"old\",\"origin\":{\"x\":-1.0,\"y\":5.0,\"z\":0.0},"
+                + "\"width\":2,\"height\":1,\"length\":2,\"bits\":1,\"palette\":[\"minecraft:stone\"],"
+                + "\"blocks\":\"" + blocksField + "\"}";
+        Blueprint bp = new Gson().fromJson(json, CompactBlueprint.class).toBlueprint();
+        assertEquals(2, bp.getBlocks().size());
+        assertEquals("minecraft:stone", bp.getBlocks().get(new Vector(0, 5, 0)).getBlockData());
+        assertEquals("minecraft:stone", bp.getBlocks().get(new Vector(-1, 5, 1)).getBlockData());
+        assertTrue(bp.getAttached().isEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+package world.bentobox.bentobox.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class DatabaseStatsTest {
+
+    private DatabaseStats stats;
+
+    @Before
+    public void setUp() {
+        // Use a unique name so that tests do not share statistics
+        stats = DatabaseStats.getStats(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.DatabaseStats#getStats(java.lang.String)}.
+     */
+    @Test
+    public void testGetStats() {
+        assertSame(stats, DatabaseStats.getStats(stats.getTableName()));
+        assertTrue(DatabaseStats.getAllStats().contains(stats));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.DatabaseStats#enqueued()}.
+     */
+    @Test
+    public void testQueueDepth() {
+        stats.enqueued();
+        stats.enqueued();
+        assertEquals(2, stats.getQueueDepth());
+        assertEquals(2, stats.getEnqueued());
+        stats.committed(TimeUnit.MILLISECONDS.toNanos(3), 0);
+        assertEquals(1, stats.getQueueDepth());
+        assertEquals(1, stats.getCommitted());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.DatabaseStats#getLatencyPercentile(double)}.
+     */
+    @Test
+    public void testGetLatencyPercentile() {
+        assertEquals(0, stats.getLatencyPercentile(95));
+        for (int i = 0; i < 19; i++) {
+            stats.enqueued();
+            stats.committed(TimeUnit.MILLISECONDS.toNanos(1), 0);
+        }
+        stats.enqueued();
+        stats.committed(TimeUnit.MILLISECONDS.toNanos(300), 0);
+        assertEquals(1, stats.getLatencyPercentile(95));
+        assertEquals(500, stats.getLatencyPercentile(100));
+        assertEquals(300, stats.getMaxLatency());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.DatabaseStats#checkThresholds(int, long)}.
+     */
+    @Test
+    public void testCheckThresholds() {
+        assertNull(stats.checkThresholds(1, 1000));
+        stats.enqueued();
+        assertNotNull(stats.checkThresholds(1, 1000));
+        stats.committed(TimeUnit.SECONDS.toNanos(2), 1000);
+        assertNotNull(stats.checkThresholds(1, 1000));
+        // Slow operation has been reported
+        assertNull(stats.checkThresholds(1, 1000));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.DatabaseStats#serialized(long, java.lang.String)}.
+     */
+    @Test
+    public void testSerialized() {
+        stats.serialized(TimeUnit.MILLISECONDS.toNanos(2), "abcé€");
+        assertEquals(8, stats.getBytesWritten());
+        assertEquals(2D, stats.getAverageSerializationTime(), 0.001D);
+    }
+
+}
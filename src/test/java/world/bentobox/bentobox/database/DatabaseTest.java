@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
@@ -15,6 +16,7 @@ import static org.mockito.Mockito.when;
 import java.beans.IntrospectionException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -164,6 +166,18 @@ public class DatabaseTest {
 
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.Database#loadObjects(java.util.Collection)}.
+     */
+    @Test
+    public void testLoadObjectsFields() throws InstantiationException, IllegalAccessException, InvocationTargetException, ClassNotFoundException, NoSuchMethodException, IntrospectionException {
+        // Databases that cannot load part of an object load all of it
+        when(handler.loadObjects(anyCollection())).thenCallRealMethod();
+        Database<Island> db = new Database<Island>(plugin, Island.class);
+        assertEquals(objectList, db.loadObjects(Collections.singletonList("owner")));
+        verify(handler).loadObjects();
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.database.Database#loadObject(java.lang.String)}.
      * @throws IntrospectionException
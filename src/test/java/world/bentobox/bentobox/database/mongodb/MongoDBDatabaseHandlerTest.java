@@ -0,0 +1,181 @@
+package world.bentobox.bentobox.database.mongodb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.MongoIterable;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.WriteModel;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
+import world.bentobox.bentobox.database.DatabaseConnector;
+import world.bentobox.bentobox.database.DatabaseStats;
+import world.bentobox.bentobox.database.objects.Names;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Bukkit.class})
+public class MongoDBDatabaseHandlerTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private DatabaseConnector connector;
+    @Mock
+    private MongoDatabase database;
+    @Mock
+    private MongoCollection<Document> collection;
+    @Mock
+    private FindIterable<Document> found;
+
+    private MongoDBDatabaseHandler<Names> handler;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+        Settings settings = mock(Settings.class);
+        when(settings.getDatabasePrefix()).thenReturn("");
+        when(plugin.getSettings()).thenReturn(settings);
+        when(connector.createConnection(any())).thenReturn(database);
+        MongoIterable<String> collectionNames = mock(MongoIterable.class);
+        MongoCursor<String> cursor = mock(MongoCursor.class);
+        when(collectionNames.iterator()).thenReturn(cursor);
+        when(database.listCollectionNames()).thenReturn(collectionNames);
+        when(database.getCollection(anyString())).thenReturn(collection);
+        when(collection.find(any(Bson.class))).thenReturn(found);
+        when(found.limit(Mockito.anyInt())).thenReturn(found);
+        when(found.projection(any())).thenReturn(found);
+        MongoCursor<Document> documents = mock(MongoCursor.class);
+        when(found.iterator()).thenReturn(documents);
+        // Plugin is disabled, so writes are sent straight away
+        handler = new MongoDBDatabaseHandler<>(plugin, Names.class, connector);
+    }
+
+    @After
+    public void tearDown() {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    private static String getId(WriteModel<Document> model) {
+        return String.valueOf(((Document)((ReplaceOneModel<Document>)model).getFilter()).get("_id"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.mongodb.MongoDBDatabaseHandler#saveObjects(java.util.Collection)}.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSaveObjectsBulk() throws Exception {
+        List<Names> names = Arrays.asList(new Names("a", UUID.randomUUID()), new Names("b", UUID.randomUUID()), new Names("c", UUID.randomUUID()));
+        CompletableFuture<Boolean> result = handler.saveObjects(names);
+        assertTrue(result.get());
+        // One bulk write with all the objects
+        ArgumentCaptor<List<WriteModel<Document>>> captor = ArgumentCaptor.forClass(List.class);
+        verify(collection).bulkWrite(captor.capture(), any(BulkWriteOptions.class));
+        assertEquals(3, captor.getValue().size());
+        assertEquals("a", getId(captor.getValue().get(0)));
+        assertEquals("c", getId(captor.getValue().get(2)));
+        verify(collection, never()).bulkWrite(anyList());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.mongodb.MongoDBDatabaseHandler#saveObjects(java.util.Collection)}.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSaveObjectsFallback() throws Exception {
+        long retries = DatabaseStats.getStats(Names.class.getName()).getRetries();
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenThrow(new MongoException("bulk write failed"));
+        // Only one of the objects cannot be written
+        when(collection.bulkWrite(anyList())).thenAnswer(invocation -> {
+            List<WriteModel<Document>> models = invocation.getArgument(0, List.class);
+            if (getId(models.get(0)).equals("b")) {
+                throw new MongoException("bad object");
+            }
+            return null;
+        });
+        CompletableFuture<Boolean> a = handler.saveObject(new Names("a", UUID.randomUUID()));
+        CompletableFuture<Boolean> result = handler.saveObjects(Arrays.asList(new Names("b", UUID.randomUUID()), new Names("c", UUID.randomUUID())));
+        assertFalse(result.get());
+        // Each object is written on its own after the bulk write failed
+        verify(collection, Mockito.times(2)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        verify(collection, Mockito.times(3)).bulkWrite(anyList());
+        assertTrue(a.get());
+        verify(plugin).logError("Could not write object Names b bad object");
+        assertEquals(retries + 2, DatabaseStats.getStats(Names.class.getName()).getRetries());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.mongodb.MongoDBDatabaseHandler#loadObject(java.lang.String)}.
+     */
+    @Test
+    public void testLoadObjectAfterSave() throws Exception {
+        // Plugin is enabled, so writes wait in the async queue, which is not run here
+        when(plugin.isEnabled()).thenReturn(true);
+        PowerMockito.mockStatic(Bukkit.class);
+        BukkitScheduler scheduler = mock(BukkitScheduler.class);
+        when(scheduler.runTaskAsynchronously(any(), any(Runnable.class))).thenReturn(mock(BukkitTask.class));
+        when(Bukkit.getScheduler()).thenReturn(scheduler);
+        handler = new MongoDBDatabaseHandler<>(plugin, Names.class, connector);
+        UUID uuid = UUID.randomUUID();
+        handler.saveObject(new Names("tastybento", uuid));
+        verify(collection, never()).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        when(found.first()).thenReturn(new Document("_id", "tastybento").append("uuid", uuid.toString()));
+        Names loaded = handler.loadObject("tastybento");
+        assertEquals(uuid, loaded.getUuid());
+        // The save is written before the object is read
+        InOrder inOrder = Mockito.inOrder(collection);
+        inOrder.verify(collection).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        inOrder.verify(collection).find(any(Bson.class));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.mongodb.MongoDBDatabaseHandler#loadObjects(java.util.Collection)}.
+     */
+    @Test
+    public void testLoadObjectsFields() {
+        handler.loadObjects(Collections.singletonList("uniqueId"));
+        ArgumentCaptor<Bson> captor = ArgumentCaptor.forClass(Bson.class);
+        verify(found).projection(captor.capture());
+        // The uniqueId is the _id in MongoDB
+        assertTrue(captor.getValue().toString().contains("_id"));
+        assertFalse(captor.getValue().toString().contains("uniqueId"));
+    }
+}
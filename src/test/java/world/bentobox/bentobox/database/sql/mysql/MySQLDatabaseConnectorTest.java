@@ -96,7 +96,8 @@ public class MySQLDatabaseConnectorTest {
         DriverManager.getConnection(any(), any(), any());
         MySQLDatabaseConnector dc = new MySQLDatabaseConnector(dbSettings);
         dc.createConnection(null);
-        verify(logger).severe("Could not connect to the database! No suitable driver found for jdbc:mysql://localhost:1234/bentobox?autoReconnect=true&useSSL=false&allowMultiQueries=true&useUnicode=true&characterEncoding=UTF-8");
+        verify(logger).severe("Could not connect to the database! No suitable driver found for jdbc:mysql://localhost:1234/bentobox?autoReconnect=true&useSSL=false&allowMultiQueries=true&useUnicode=true&characterEncoding=UTF-8"
+                + "&cachePrepStmts=true&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048&useServerPrepStmts=true&rewriteBatchedStatements=true");
     }
 
     /**
@@ -106,7 +107,8 @@ public class MySQLDatabaseConnectorTest {
     public void testGetConnectionUrl() {
         MySQLDatabaseConnector dc = new MySQLDatabaseConnector(dbSettings);
         assertEquals("jdbc:mysql://localhost:1234/bentobox"
-                + "?autoReconnect=true&useSSL=false&allowMultiQueries=true&useUnicode=true&characterEncoding=UTF-8", dc.getConnectionUrl());
+                + "?autoReconnect=true&useSSL=false&allowMultiQueries=true&useUnicode=true&characterEncoding=UTF-8"
+                + "&cachePrepStmts=true&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048&useServerPrepStmts=true&rewriteBatchedStatements=true", dc.getConnectionUrl());
     }
 
     /**
@@ -0,0 +1,145 @@
+package world.bentobox.bentobox.database.sql.sqlite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.database.objects.Names;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Bukkit.class})
+public class SQLiteDatabaseConnectorTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private Logger logger;
+
+    private File dataFolder;
+    private SQLiteDatabaseConnector connector;
+
+    @Before
+    public void setUp() throws Exception {
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.getLogger()).thenReturn(logger);
+        dataFolder = Files.createTempDirectory("bentobox").toFile();
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        connector = spy(new SQLiteDatabaseConnector(plugin));
+        // Each connection is a new mock
+        doAnswer(invocation -> {
+            Connection connection = mock(Connection.class);
+            when(connection.createStatement()).thenReturn(mock(Statement.class));
+            return connection;
+        }).when(connector).openConnection();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        connector.closeConnection(Names.class);
+        connector.closeConnection(Island.class);
+        Files.walk(dataFolder.toPath()).sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.sqlite.SQLiteDatabaseConnector#getConnectionUrl()}.
+     */
+    @Test
+    public void testGetConnectionUrl() {
+        assertEquals("jdbc:sqlite:" + new File(dataFolder, "database").getAbsolutePath() + File.separator + "database.db", connector.getConnectionUrl());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.sqlite.SQLiteDatabaseConnector#createConnection(java.lang.Class)}.
+     */
+    @Test
+    public void testCreateConnection() throws Exception {
+        Object connection = connector.createConnection(Names.class);
+        assertNotNull(connection);
+        assertNotNull(connector.getWriter());
+        // One connection for reading and one for the writer, shared by all the types
+        assertEquals(connection, connector.createConnection(Island.class));
+        verify(connector, times(2)).openConnection();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.sqlite.SQLiteDatabaseConnector#closeConnection(java.lang.Class)}.
+     */
+    @Test
+    public void testCloseConnection() throws Exception {
+        Connection connection = (Connection)connector.createConnection(Names.class);
+        connector.createConnection(Island.class);
+        SQLiteWriter writer = connector.getWriter();
+        connector.closeConnection(Names.class);
+        // Still used by islands
+        assertNotNull(connector.getWriter());
+        verify(connection, Mockito.never()).close();
+        connector.closeConnection(Island.class);
+        assertNull(connector.getWriter());
+        verify(connection).close();
+        // The old writer is closed
+        assertFalse(writer.submit(w -> {}).get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.sqlite.SQLiteDatabaseConnector#createConnection(java.lang.Class)}.
+     */
+    @Test
+    public void testCreateConnectionAfterClose() throws Exception {
+        Object connection = connector.createConnection(Names.class);
+        connector.closeConnection(Names.class);
+        // Reopening makes a new connection and a new writer
+        Object reopened = connector.createConnection(Names.class);
+        assertNotSame(connection, reopened);
+        SQLiteWriter writer = connector.getWriter();
+        assertNotNull(writer);
+        assertTrue(writer.submit(w -> {}).get(5, TimeUnit.SECONDS));
+        verify(connector, times(4)).openConnection();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.sqlite.SQLiteDatabaseConnector#createConnection(java.lang.Class)}.
+     */
+    @Test
+    public void testCreateConnectionFailed() throws Exception {
+        doAnswer(invocation -> {
+            throw new SQLException("locked");
+        }).when(connector).openConnection();
+        assertNull(connector.createConnection(Names.class));
+        assertNull(connector.getWriter());
+        verify(logger).severe("Could not connect to the database! locked");
+    }
+}
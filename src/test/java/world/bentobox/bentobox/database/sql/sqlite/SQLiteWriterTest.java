@@ -0,0 +1,179 @@
+package world.bentobox.bentobox.database.sql.sqlite;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Bukkit.class})
+public class SQLiteWriterTest {
+
+    @Mock
+    private Connection connection;
+    @Mock
+    private Statement statement;
+    @Mock
+    private PreparedStatement preparedStatement;
+    @Mock
+    private Logger logger;
+
+    private SQLiteWriter writer;
+
+    @Before
+    public void setUp() throws Exception {
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.getLogger()).thenReturn(logger);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        writer = new SQLiteWriter(connection);
+    }
+
+    @After
+    public void tearDown() {
+        writer.close();
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.sqlite.SQLiteWriter#submit(world.bentobox.bentobox.database.sql.sqlite.SQLiteWriter.Write)}.
+     */
+    @Test
+    public void testSubmit() throws Exception {
+        CompletableFuture<Boolean> result = writer.submit(w -> w.getPreparedStatement("insert").executeUpdate());
+        assertTrue(result.get(5, TimeUnit.SECONDS));
+        InOrder inOrder = Mockito.inOrder(connection, preparedStatement);
+        inOrder.verify(connection).setAutoCommit(false);
+        inOrder.verify(preparedStatement).executeUpdate();
+        inOrder.verify(connection).commit();
+        inOrder.verify(connection).setAutoCommit(true);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.sqlite.SQLiteWriter#submit(world.bentobox.bentobox.database.sql.sqlite.SQLiteWriter.Write)}.
+     */
+    @Test
+    public void testSubmitBatched() throws Exception {
+        // The first write holds the writer until the others are queued
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> first = writer.submit(w -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(writer.submit(w -> w.getPreparedStatement("insert").executeUpdate()));
+        }
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<Boolean> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS));
+        }
+        // One commit for the first write and one for the ten that were waiting
+        verify(connection, times(2)).commit();
+        verify(preparedStatement, times(10)).executeUpdate();
+        // The statement is prepared once
+        verify(connection).prepareStatement("insert");
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.sqlite.SQLiteWriter#submit(world.bentobox.bentobox.database.sql.sqlite.SQLiteWriter.Write)}.
+     */
+    @Test
+    public void testSubmitWriteFailed() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> first = writer.submit(w -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<Boolean> failed = writer.submit(w -> {
+            throw new SQLException("bad write");
+        });
+        CompletableFuture<Boolean> saved = writer.submit(w -> w.getPreparedStatement("insert").executeUpdate());
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertFalse(failed.get(5, TimeUnit.SECONDS));
+        // The other writes are still committed
+        assertTrue(saved.get(5, TimeUnit.SECONDS));
+        verify(logger).severe("Could not write to the database bad write");
+        verify(connection, never()).rollback();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.sqlite.SQLiteWriter#submit(world.bentobox.bentobox.database.sql.sqlite.SQLiteWriter.Write)}.
+     */
+    @Test
+    public void testSubmitCommitFailed() throws Exception {
+        doThrow(new SQLException("disk full")).when(connection).commit();
+        CompletableFuture<Boolean> result = writer.submit(w -> w.getPreparedStatement("insert").executeUpdate());
+        assertFalse(result.get(5, TimeUnit.SECONDS));
+        verify(connection).rollback();
+        verify(logger).severe("Could not commit 1 writes to the database disk full");
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.sqlite.SQLiteWriter#close()}.
+     */
+    @Test
+    public void testClose() throws Exception {
+        CompletableFuture<Boolean> result = writer.submit(w -> w.getPreparedStatement("insert").executeUpdate());
+        writer.close();
+        // Queued writes are committed before the writer closes
+        assertTrue(result.isDone());
+        assertTrue(result.get());
+        // The log is emptied into the database
+        verify(statement).execute("PRAGMA wal_checkpoint(TRUNCATE)");
+        verify(preparedStatement).close();
+        verify(connection).close();
+        // Writes after closing are refused
+        assertFalse(writer.submit(w -> w.getPreparedStatement("insert").executeUpdate()).get());
+        verify(logger).severe("Could not write to the database: the SQLite writer is closed");
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.sqlite.SQLiteWriter#close()}.
+     */
+    @Test
+    public void testCloseNothingWritten() throws Exception {
+        writer.close();
+        // Nothing to checkpoint
+        verify(statement, never()).execute(anyString());
+        verify(connection).close();
+    }
+}
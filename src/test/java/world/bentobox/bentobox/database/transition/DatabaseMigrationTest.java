@@ -0,0 +1,174 @@
+package world.bentobox.bentobox.database.transition;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.database.AbstractDatabaseHandler;
+import world.bentobox.bentobox.database.objects.Names;
+
+public class DatabaseMigrationTest {
+
+    private BentoBox plugin;
+    private AbstractDatabaseHandler<Names> from;
+    private AbstractDatabaseHandler<Names> to;
+    private File dataFolder;
+    private File checkpointFile;
+    private List<Names> names;
+    private DatabaseMigration<Names> migration;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() throws Exception {
+        dataFolder = Files.createTempDirectory("bentobox").toFile();
+        checkpointFile = new File(new File(new File(dataFolder, "database"), "migration"), Names.class.getName() + ".yml");
+        plugin = mock(BentoBox.class);
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        from = mock(AbstractDatabaseHandler.class);
+        to = mock(AbstractDatabaseHandler.class);
+        names = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            names.add(new Names("name" + i, UUID.randomUUID()));
+        }
+        when(to.saveObjects(anyCollection())).thenReturn(CompletableFuture.completedFuture(true));
+        // The destination has what was saved
+        when(to.loadObjects()).thenReturn(names);
+        // Runs on this thread
+        migration = new DatabaseMigration<>(plugin, Names.class, from, to, Runnable::run);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.walk(dataFolder.toPath()).sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.transition.DatabaseMigration#migrate(java.util.List)}.
+     */
+    @Test
+    public void testMigrate() throws Exception {
+        assertTrue(migration.migrate(names).get());
+        // Saved in batches
+        verify(to, times(3)).saveObjects(anyCollection());
+        verify(to, never()).saveObject(any());
+        verify(from, times(250)).deleteObject(any());
+        // Verified with one load
+        verify(to).loadObjects();
+        verify(to, never()).loadObject(anyString());
+        YamlConfiguration checkpoint = YamlConfiguration.loadConfiguration(checkpointFile);
+        assertEquals(250, checkpoint.getInt("migrated"));
+        assertTrue(checkpoint.getBoolean("completed"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.transition.DatabaseMigration#migrate(java.util.List)}.
+     */
+    @Test
+    public void testMigrateResume() throws Exception {
+        YamlConfiguration checkpoint = new YamlConfiguration();
+        checkpoint.set("migrated", 400);
+        checkpoint.set("completed", false);
+        checkpointFile.getParentFile().mkdirs();
+        checkpoint.save(checkpointFile);
+        assertTrue(migration.migrate(names).get());
+        verify(plugin).log("Resuming migration of Names: 400 objects were already migrated, 250 remaining.");
+        checkpoint = YamlConfiguration.loadConfiguration(checkpointFile);
+        assertEquals(650, checkpoint.getInt("migrated"));
+        assertTrue(checkpoint.getBoolean("completed"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.transition.DatabaseMigration#migrate(java.util.List)}.
+     */
+    @Test
+    public void testMigrateResumeCompleted() throws Exception {
+        YamlConfiguration checkpoint = new YamlConfiguration();
+        checkpoint.set("migrated", 400);
+        checkpoint.set("completed", true);
+        checkpointFile.getParentFile().mkdirs();
+        checkpoint.save(checkpointFile);
+        assertTrue(migration.migrate(names).get());
+        verify(plugin).log("Migrating 250 Names objects...");
+        assertEquals(250, YamlConfiguration.loadConfiguration(checkpointFile).getInt("migrated"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.transition.DatabaseMigration#migrate(java.util.List)}.
+     */
+    @Test
+    public void testMigrateSaveFailed() throws Exception {
+        Names notSaved = names.get(150);
+        when(to.saveObjects(anyCollection())).thenAnswer(invocation ->
+        CompletableFuture.completedFuture(!invocation.getArgument(0, Collection.class).contains(notSaved)));
+        assertFalse(migration.migrate(names).get());
+        verify(plugin).logError("Could not migrate 100 Names objects. They will be kept in the source database.");
+        // Only the objects of the saved batches are deleted from the source
+        verify(from, times(150)).deleteObject(any());
+        verify(from, never()).deleteObject(notSaved);
+        verify(from, never()).deleteObject(names.get(100));
+        verify(from).deleteObject(names.get(99));
+        YamlConfiguration checkpoint = YamlConfiguration.loadConfiguration(checkpointFile);
+        assertEquals(150, checkpoint.getInt("migrated"));
+        assertEquals(100, checkpoint.getInt("failed"));
+        assertFalse(checkpoint.getBoolean("completed"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.transition.DatabaseMigration#migrate(java.util.List)}.
+     */
+    @Test
+    public void testMigrateSaveException() throws Exception {
+        when(to.saveObjects(anyCollection())).thenThrow(new IllegalAccessException("no access"));
+        assertFalse(migration.migrate(names).get());
+        verify(from, never()).deleteObject(any());
+        assertFalse(YamlConfiguration.loadConfiguration(checkpointFile).getBoolean("completed"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.transition.DatabaseMigration#migrate(java.util.List)}.
+     */
+    @Test
+    public void testMigrateChecksumMismatch() throws Exception {
+        List<Names> destination = new ArrayList<>(names);
+        destination.set(5, new Names("name5", UUID.randomUUID()));
+        when(to.loadObjects()).thenReturn(destination);
+        assertFalse(migration.migrate(names).get());
+        verify(plugin).logError("Migrated Names name5 is different in the destination database!");
+        assertFalse(YamlConfiguration.loadConfiguration(checkpointFile).getBoolean("completed"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.transition.DatabaseMigration#migrate(java.util.List)}.
+     */
+    @Test
+    public void testMigrateMissingInDestination() throws Exception {
+        when(to.loadObjects()).thenReturn(names.subList(1, names.size()));
+        assertFalse(migration.migrate(names).get());
+        verify(plugin).logError("Migrated Names name0 cannot be found in the destination database!");
+    }
+}
@@ -10,6 +10,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.net.InetAddress;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -21,6 +22,7 @@ import java.util.UUID;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
@@ -346,4 +348,25 @@ public class JoinLeaveListenerTest {
         verify(island).removeRank(eq(RanksManager.COOP_RANK));
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.listeners.JoinLeaveListener#onPlayerPreLogin(org.bukkit.event.player.AsyncPlayerPreLoginEvent)}.
+     */
+    @Test
+    public void testOnPlayerPreLogin() {
+        AsyncPlayerPreLoginEvent event = new AsyncPlayerPreLoginEvent("tastybento", InetAddress.getLoopbackAddress(), player.getUniqueId());
+        jll.onPlayerPreLogin(event);
+        verify(pm).prefetch(eq(player.getUniqueId()), eq("tastybento"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.listeners.JoinLeaveListener#onPlayerPreLogin(org.bukkit.event.player.AsyncPlayerPreLoginEvent)}.
+     */
+    @Test
+    public void testOnPlayerPreLoginDisallowed() {
+        AsyncPlayerPreLoginEvent event = new AsyncPlayerPreLoginEvent("tastybento", InetAddress.getLoopbackAddress(), player.getUniqueId());
+        event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_BANNED, "banned");
+        jll.onPlayerPreLogin(event);
+        verify(pm, never()).prefetch(any(), any());
+    }
+
 }
@@ -12,6 +12,7 @@ import static org.mockito.Mockito.when;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -49,6 +50,7 @@ import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.IslandsManager;
 import world.bentobox.bentobox.managers.LocalesManager;
 import world.bentobox.bentobox.managers.PlayersManager;
+import world.bentobox.bentobox.managers.TickBudgetManager;
 import world.bentobox.bentobox.util.Util;
 
 /**
@@ -157,6 +159,8 @@ public class PortalTeleportationListenerTest {
 
         // Blueprints
         when(plugin.getBlueprintsManager()).thenReturn(bpm);
+        // Pasting
+        when(plugin.getTickBudgetManager()).thenReturn(mock(TickBudgetManager.class));
         @Nullable
         BlueprintBundle defaultBB = new BlueprintBundle();
         Blueprint bp = new Blueprint();
@@ -165,6 +169,7 @@ public class PortalTeleportationListenerTest {
         defaultBB.setBlueprint(World.Environment.THE_END, bp);
         when(bpm.getDefaultBlueprintBundle(any())).thenReturn(defaultBB);
         when(bpm.getBlueprints(any())).thenReturn(Collections.singletonMap("blueprintname", bp));
+        when(bpm.getLoadedBlueprintAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(bp));
         // Paster
 
     }
@@ -38,12 +38,14 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
 import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
 import world.bentobox.bentobox.api.configuration.WorldSettings;
 import world.bentobox.bentobox.api.events.BentoBoxReadyEvent;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.bentobox.managers.AddonsManager;
 import world.bentobox.bentobox.managers.IslandWorldManager;
+import world.bentobox.bentobox.managers.TickBudgetManager;
 import world.bentobox.bentobox.util.MyBiomeGrid;
 import world.bentobox.bentobox.util.Util;
 
@@ -78,6 +80,9 @@ public class CleanSuperFlatListenerTest {
         Whitebox.setInternalState(BentoBox.class, "instance", plugin);
 
         when(plugin.isLoaded()).thenReturn(true);
+        Settings settings = mock(Settings.class);
+        when(plugin.getSettings()).thenReturn(settings);
+        when(plugin.getTickBudgetManager()).thenReturn(new TickBudgetManager(plugin));
 
         // World
         when(world.getEnvironment()).thenReturn(World.Environment.NORMAL);
@@ -161,6 +166,7 @@ public class CleanSuperFlatListenerTest {
         ChunkLoadEvent e = new ChunkLoadEvent(chunk, false);
         l.onChunkLoad(e);
         verify(scheduler).runTaskTimer(any(), any(Runnable.class), Mockito.eq(0L), Mockito.eq(1L));
+        verify(chunk).addPluginChunkTicket(any());
     }
 
     /**
@@ -173,6 +179,7 @@ public class CleanSuperFlatListenerTest {
         ChunkLoadEvent e = new ChunkLoadEvent(chunk, false);
         l.onChunkLoad(e);
         verify(scheduler, never()).runTaskTimer(any(), any(Runnable.class), Mockito.eq(0L), Mockito.eq(1L));
+        verify(chunk, never()).addPluginChunkTicket(any());
     }
 
     /**
@@ -48,6 +48,7 @@ import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.IslandsManager;
+import world.bentobox.bentobox.managers.island.OccupancyIndex;
 import world.bentobox.bentobox.managers.LocalesManager;
 import world.bentobox.bentobox.managers.PlaceholdersManager;
 import world.bentobox.bentobox.managers.PlayersManager;
@@ -116,6 +117,8 @@ public class EnterExitListenerTest {
         // No island for player to begin with (set it later in the tests)
         IslandsManager im = mock(IslandsManager.class);
         when(plugin.getIslands()).thenReturn(im);
+        // Players are not tracked by the occupancy index yet
+        when(im.getOccupancy()).thenReturn(new OccupancyIndex());
 
         // Locales
         when(plugin.getLocalesManager()).thenReturn(lm);
@@ -6,6 +6,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -41,6 +42,7 @@ import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.IslandsManager;
+import world.bentobox.bentobox.managers.island.OnlineMembersCounter;
 import world.bentobox.bentobox.util.Util;
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({BentoBox.class, Util.class, Bukkit.class })
@@ -84,6 +86,7 @@ public class OfflineRedstoneListenerTest {
         // Island Manager
         when(plugin.getIslands()).thenReturn(im);
         when(im.getIsland(any(), any(UUID.class))).thenReturn(island);
+        when(im.getOnlineMembers()).thenReturn(new OnlineMembersCounter(u -> Bukkit.getPlayer(u) != null));
         Optional<Island> opIsland = Optional.ofNullable(island);
         when(im.getProtectedIslandAt(eq(inside))).thenReturn(opIsland);
 
@@ -207,7 +210,9 @@ public class OfflineRedstoneListenerTest {
         // Members are offline
         when(Bukkit.getPlayer(any(UUID.class))).thenReturn(null);
         // On island
-        when(island.onIsland(any())).thenReturn(true);
+        Player op = mock(Player.class);
+        when(op.isOp()).thenReturn(true);
+        when(island.getPlayersOnIsland()).thenReturn(Collections.singletonList(op));
 
         orl.onBlockRedstone(e);
         // Current remains 10
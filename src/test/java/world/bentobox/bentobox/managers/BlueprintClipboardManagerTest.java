@@ -2,6 +2,7 @@ package world.bentobox.bentobox.managers;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -24,6 +25,7 @@ import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.util.Vector;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -282,6 +284,27 @@ public class BlueprintClipboardManagerTest {
         assertEquals(2, bp.getBlocks().size());
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.BlueprintClipboardManager#loadBlueprint(java.lang.String)}.
+     * @throws IOException
+     */
+    @Test
+    public void testLoadBlueprintFileInZipNotExtracted() throws IOException {
+        blueprintFolder.mkdirs();
+        // Make a blueprint file
+        File configFile = new File(blueprintFolder, BLUEPRINT);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        Files.write(configFile.toPath(), bytes, StandardOpenOption.CREATE);
+        // Zip it
+        zip(configFile);
+        // Something is in the way of an extracted file
+        assertTrue(configFile.mkdirs());
+        BlueprintClipboardManager bcm = new BlueprintClipboardManager(plugin, blueprintFolder);
+        Blueprint bp = bcm.loadBlueprint(BLUEPRINT);
+        assertEquals(2, bp.getBlocks().size());
+        assertTrue(configFile.isDirectory());
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.managers.BlueprintClipboardManager#load(java.lang.String)}.
      * @throws IOException
@@ -455,4 +478,63 @@ public class BlueprintClipboardManagerTest {
         assertTrue(bp.exists());
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.BlueprintClipboardManager#saveBlueprint(world.bentobox.bentobox.blueprints.Blueprint)}.
+     * @throws IOException
+     */
+    @Test
+    public void testSaveBlueprintLoadCompact() throws IOException {
+        blueprintFolder.mkdirs();
+        // Make a blueprint file in the original form
+        File configFile = new File(blueprintFolder, BLUEPRINT);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        Files.write(configFile.toPath(), bytes, StandardOpenOption.CREATE);
+        // Zip it
+        zip(configFile);
+        BlueprintClipboardManager bcm = new BlueprintClipboardManager(plugin, blueprintFolder);
+        Blueprint bp = bcm.loadBlueprint(BLUEPRINT);
+        // Save it in the compact form and load it again
+        bp.setName("compact");
+        assertTrue(bcm.saveBlueprint(bp));
+        Blueprint compact = bcm.loadBlueprint("compact");
+        assertEquals("compact", compact.getName());
+        assertEquals(bp.getBedrock(), compact.getBedrock());
+        assertEquals(2, compact.getBlocks().size());
+        assertEquals("minecraft:stone", compact.getBlocks().get(new Vector(3, -5, 8)).getBlockData());
+        assertEquals("minecraft:diorite", compact.getBlocks().get(new Vector(6, -13, -20)).getBlockData());
+        assertTrue(compact.getAttached().isEmpty());
+        assertTrue(compact.getEntities().isEmpty());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.BlueprintClipboardManager#loadBlueprintMetadata(java.lang.String)}.
+     * @throws IOException
+     */
+    @Test
+    public void testLoadBlueprintMetadata() throws IOException {
+        blueprintFolder.mkdirs();
+        // Make a blueprint file in the original form
+        File configFile = new File(blueprintFolder, BLUEPRINT);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        Files.write(configFile.toPath(), bytes, StandardOpenOption.CREATE);
+        // Zip it
+        zip(configFile);
+        BlueprintClipboardManager bcm = new BlueprintClipboardManager(plugin, blueprintFolder);
+        Blueprint bp = bcm.loadBlueprintMetadata(BLUEPRINT);
+        assertEquals("blueprint", bp.getName());
+        assertEquals(new Vector(-2, -16, -1), bp.getBedrock());
+        assertNull(bp.getBlocks());
+        // Compact form
+        Blueprint full = bcm.loadBlueprint(BLUEPRINT);
+        full.setName("compact");
+        full.setIcon(Material.DIAMOND);
+        assertTrue(bcm.saveBlueprint(full));
+        Blueprint compact = bcm.loadBlueprintMetadata("compact");
+        assertEquals("compact", compact.getName());
+        assertEquals(Material.DIAMOND, compact.getIcon());
+        assertEquals(full.getxSize(), compact.getxSize());
+        assertEquals(full.getBedrock(), compact.getBedrock());
+        assertNull(compact.getBlocks());
+    }
+
 }
@@ -3,9 +3,14 @@ package world.bentobox.bentobox.managers;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -15,12 +20,15 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
@@ -44,8 +52,10 @@ import org.mockito.stubbing.Answer;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
 
 import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
 import world.bentobox.bentobox.api.addons.Addon;
 import world.bentobox.bentobox.api.addons.AddonDescription;
 import world.bentobox.bentobox.api.addons.GameModeAddon;
@@ -116,6 +126,10 @@ public class BlueprintsManagerTest {
         // Scheduler
         PowerMockito.mockStatic(Bukkit.class);
         when(Bukkit.getScheduler()).thenReturn(scheduler);
+        // Settings
+        Settings settings = mock(Settings.class);
+        when(settings.getBlueprintCacheSize()).thenReturn(64);
+        when(plugin.getSettings()).thenReturn(settings);
 
     }
 
@@ -319,7 +333,21 @@ public class BlueprintsManagerTest {
         bpm.loadBlueprintBundles(addon);
         // Load them again
         bpm.loadBlueprints(addon);
-        verify(plugin, Mockito.times(2)).log("Loaded blueprint 'bedrock' for name");
+        verify(plugin, Mockito.times(2)).log(startsWith("Loaded blueprint 'bedrock' for name in "));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.BlueprintsManager#isBlueprintsLoaded(world.bentobox.bentobox.api.addons.GameModeAddon)}.
+     */
+    @Test
+    public void testIsBlueprintsLoadedGameMode() {
+        BlueprintsManager bpm = new BlueprintsManager(plugin);
+        GameModeAddon other = mock(GameModeAddon.class);
+        // Loading does not start until the scheduler runs it
+        bpm.loadBlueprintBundles(addon);
+        assertFalse(bpm.isBlueprintsLoaded(addon));
+        assertTrue(bpm.isBlueprintsLoaded(other));
+        assertFalse(bpm.isBlueprintsLoaded());
     }
 
     /**
@@ -485,6 +513,67 @@ public class BlueprintsManagerTest {
         verify(plugin).logError("Blueprint bundle has no normal world blueprint, using default");
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.BlueprintsManager#paste(world.bentobox.bentobox.api.addons.GameModeAddon, world.bentobox.bentobox.database.objects.Island, java.lang.String, java.lang.Runnable, java.lang.Runnable)}.
+     */
+    @Test
+    public void testPasteLoadFailed() {
+        // Make bundle
+        BlueprintBundle bb = new BlueprintBundle();
+        bb.setIcon(Material.PAPER);
+        bb.setUniqueId("bundle");
+        bb.setDisplayName("A bundle");
+        bb.setBlueprint(World.Environment.NORMAL, defaultBp);
+        BlueprintsManager bpm = new BlueprintsManager(plugin);
+        bpm.addBlueprintBundle(addon, bb);
+        bpm.addBlueprint(addon, defaultBp);
+        // The blocks are not cached and there is no file to load them from
+        bpm.getBlueprintCache().clear();
+        // Blueprints are loaded on this thread
+        ExecutorService inline = mock(ExecutorService.class);
+        Mockito.doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(inline).execute(any(Runnable.class));
+        Whitebox.setInternalState(bpm, "loader", inline);
+        when(scheduler.runTask(eq(plugin), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return task;
+        });
+        Runnable pasted = mock(Runnable.class);
+        Runnable failed = mock(Runnable.class);
+        assertTrue(bpm.paste(addon, island, "bundle", pasted, failed));
+        verify(plugin).logError("Could not paste blueprint 'bedrock' for " + addon.getDescription().getName() + " because its blocks could not be loaded");
+        verify(failed).run();
+        verify(pasted, never()).run();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.BlueprintsManager#clear(world.bentobox.bentobox.api.addons.GameModeAddon, world.bentobox.bentobox.database.objects.Island, java.lang.String, java.lang.Runnable)}.
+     */
+    @Test
+    public void testClearFail() {
+        BlueprintsManager bpm = new BlueprintsManager(plugin);
+        assertFalse(bpm.clear(addon, island, "random", () -> {}));
+        verify(plugin).logError("Tried to clear 'random' but the bundle is not loaded!");
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.BlueprintsManager#clear(world.bentobox.bentobox.api.addons.GameModeAddon, world.bentobox.bentobox.database.objects.Island, java.lang.String, java.lang.Runnable)}.
+     */
+    @Test
+    public void testClearNothingPasted() {
+        BlueprintBundle bb = new BlueprintBundle();
+        bb.setUniqueId("bundle");
+        BlueprintsManager bpm = new BlueprintsManager(plugin);
+        bpm.addBlueprintBundle(addon, bb);
+        Runnable task = () -> {};
+        assertTrue(bpm.clear(addon, island, "bundle", task));
+        verify(scheduler).runTask(plugin, task);
+        // Nothing to log, as the bundle was not pasted either
+        verify(plugin, never()).logError(anyString());
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.managers.BlueprintsManager#validate(world.bentobox.bentobox.api.addons.GameModeAddon, java.lang.String)}.
      */
@@ -664,6 +753,94 @@ public class BlueprintsManagerTest {
         assertTrue(d.exists());
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.BlueprintsManager#getLoadedBlueprint(world.bentobox.bentobox.api.addons.GameModeAddon, java.lang.String)}.
+     */
+    @Test
+    public void testGetLoadedBlueprint() {
+        BlueprintsManager bpm = new BlueprintsManager(plugin);
+        bpm.saveBlueprint(addon, defaultBp);
+        bpm.loadBlueprints(addon);
+        // Only the metadata is loaded
+        Blueprint metadata = bpm.getBlueprints(addon).get("bedrock");
+        assertTrue(metadata.isMetadataOnly());
+        assertEquals(defaultBp.getDescription(), metadata.getDescription());
+        assertTrue(bpm.getBlueprintCache().getSizes().isEmpty());
+        // Blocks are loaded when needed
+        Blueprint bp = bpm.getLoadedBlueprint(addon, "bedrock");
+        assertEquals(1, bp.getBlocks().size());
+        assertSame(bp, bpm.getLoadedBlueprint(addon, "bedrock"));
+        assertEquals(1, bpm.getBlueprintCache().getSizes().size());
+        assertNull(bpm.getLoadedBlueprint(addon, "unknown"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.BlueprintsManager#getBlueprints(world.bentobox.bentobox.api.addons.GameModeAddon)}.
+     */
+    @Test
+    public void testGetBlueprintsBlocks() {
+        BlueprintsManager bpm = new BlueprintsManager(plugin);
+        bpm.saveBlueprint(addon, defaultBp);
+        bpm.loadBlueprints(addon);
+        Blueprint metadata = bpm.getBlueprints(addon).get("bedrock");
+        // The blocks are not read from the file when they are asked for
+        assertNull(metadata.getBlocks());
+        assertNull(metadata.getCompactBlocks());
+        assertTrue(bpm.getBlueprintCache().getSizes().isEmpty());
+        assertEquals(1, bpm.getLoadedBlueprint(addon, "bedrock").getBlocks().size());
+        assertTrue(metadata.isMetadataOnly());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.BlueprintsManager#getLoadedBlueprintAsync(world.bentobox.bentobox.api.addons.GameModeAddon, java.lang.String)}.
+     */
+    @Test
+    public void testGetLoadedBlueprintAsyncShared() throws Exception {
+        BlueprintsManager bpm = new BlueprintsManager(plugin);
+        bpm.saveBlueprint(addon, defaultBp);
+        bpm.loadBlueprints(addon);
+        // Loads wait until they are run here
+        List<Runnable> loads = new ArrayList<>();
+        ExecutorService queued = mock(ExecutorService.class);
+        Mockito.doAnswer(invocation -> loads.add(invocation.getArgument(0, Runnable.class))).when(queued).execute(any(Runnable.class));
+        Whitebox.setInternalState(bpm, "loader", queued);
+        when(scheduler.runTask(eq(plugin), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return task;
+        });
+        CompletableFuture<Blueprint> first = bpm.getLoadedBlueprintAsync(addon, "bedrock");
+        CompletableFuture<Blueprint> second = bpm.getLoadedBlueprintAsync(addon, "Bedrock");
+        // Both requests share one load
+        assertEquals(1, loads.size());
+        assertFalse(first.isDone());
+        loads.get(0).run();
+        assertEquals(1, first.get().getBlocks().size());
+        assertSame(first.get(), second.get());
+        verify(plugin).log(startsWith("Loaded blocks of blueprint 'bedrock'"));
+        // Now it is cached
+        assertSame(first.get(), bpm.getLoadedBlueprintAsync(addon, "bedrock").get());
+        assertEquals(1, loads.size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.BlueprintsManager#saveBlueprint(world.bentobox.bentobox.api.addons.GameModeAddon, world.bentobox.bentobox.blueprints.Blueprint)}.
+     */
+    @Test
+    public void testSaveBlueprintMetadata() {
+        BlueprintsManager bpm = new BlueprintsManager(plugin);
+        bpm.saveBlueprint(addon, defaultBp);
+        bpm.loadBlueprints(addon);
+        // Change the icon of the blueprint, as the management panel does
+        Blueprint metadata = bpm.getBlueprints(addon).get("bedrock");
+        metadata.setIcon(Material.DIAMOND);
+        assertTrue(bpm.saveBlueprint(addon, metadata));
+        // The blocks are kept
+        bpm.loadBlueprints(addon);
+        Blueprint bp = bpm.getLoadedBlueprint(addon, "bedrock");
+        assertEquals(Material.DIAMOND, bp.getIcon());
+        assertEquals(1, bp.getBlocks().size());
+    }
+
     /*
      * Utility methods
      */
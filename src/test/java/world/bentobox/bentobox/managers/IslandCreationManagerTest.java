@@ -0,0 +1,177 @@
+package world.bentobox.bentobox.managers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.managers.IslandCreationManager.Stage;
+import world.bentobox.bentobox.managers.IslandCreationManager.Timings;
+
+public class IslandCreationManagerTest {
+
+    private BentoBox plugin;
+    private Settings settings;
+    private IslandCreationManager icm;
+    private List<Runnable> started;
+
+    @Before
+    public void setUp() {
+        plugin = mock(BentoBox.class);
+        settings = mock(Settings.class);
+        when(plugin.getSettings()).thenReturn(settings);
+        when(settings.getMaxIslandsPasting()).thenReturn(2);
+        icm = new IslandCreationManager(plugin);
+        started = new ArrayList<>();
+    }
+
+    private User user() {
+        User user = mock(User.class);
+        when(user.getUniqueId()).thenReturn(UUID.randomUUID());
+        return user;
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandCreationManager#run(Stage, User, java.util.function.Consumer)}.
+     */
+    @Test
+    public void testRunNoLimit() {
+        for (int i = 0; i < 10; i++) {
+            icm.run(Stage.LOCATION, user(), started::add);
+        }
+        assertEquals(10, started.size());
+        assertEquals(10, icm.getRunning(Stage.LOCATION));
+        assertEquals(0, icm.getWaiting(Stage.LOCATION));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandCreationManager#run(Stage, User, java.util.function.Consumer)}.
+     */
+    @Test
+    public void testRunLimit() {
+        User first = user();
+        User third = user();
+        User fourth = user();
+        icm.run(Stage.PASTE, first, started::add);
+        icm.run(Stage.PASTE, user(), started::add);
+        icm.run(Stage.PASTE, third, started::add);
+        icm.run(Stage.PASTE, fourth, started::add);
+        assertEquals(2, started.size());
+        assertEquals(2, icm.getRunning(Stage.PASTE));
+        assertEquals(2, icm.getWaiting(Stage.PASTE));
+        verify(first, never()).sendMessage(anyString(), anyString(), anyString());
+        verify(third).sendMessage("commands.island.create.queued", "[number]", "1");
+        verify(fourth).sendMessage("commands.island.create.queued", "[number]", "2");
+        // First is done
+        started.get(0).run();
+        assertEquals(3, started.size());
+        assertEquals(1, icm.getWaiting(Stage.PASTE));
+        // The queue moved
+        verify(fourth).sendMessage("commands.island.create.queued", "[number]", "1");
+        verify(third).sendMessage(eq("commands.island.create.queued"), anyString(), anyString());
+        assertEquals(1, icm.getTimings(Stage.PASTE).getCount());
+        // Done is only counted once
+        started.get(0).run();
+        assertEquals(3, started.size());
+        assertEquals(1, icm.getTimings(Stage.PASTE).getCount());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandCreationManager#run(Stage, User, java.util.function.Consumer)}.
+     */
+    @Test
+    public void testRunDoneStraightAway() {
+        when(settings.getMaxIslandsPasting()).thenReturn(1);
+        for (int i = 0; i < 5; i++) {
+            icm.run(Stage.PASTE, user(), Runnable::run);
+        }
+        assertEquals(0, icm.getRunning(Stage.PASTE));
+        assertEquals(0, icm.getWaiting(Stage.PASTE));
+        assertEquals(5, icm.getTimings(Stage.PASTE).getCount());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandCreationManager#getLimit(Stage)}.
+     */
+    @Test
+    public void testGetLimit() {
+        when(settings.getMaxIslandsLocating()).thenReturn(1);
+        when(settings.getMaxIslandsTeleporting()).thenReturn(8);
+        assertEquals(1, icm.getLimit(Stage.LOCATION));
+        assertEquals(0, icm.getLimit(Stage.CHUNKS));
+        assertEquals(2, icm.getLimit(Stage.PASTE));
+        assertEquals(8, icm.getLimit(Stage.TELEPORT));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandCreationManager#record(Stage, long)}.
+     */
+    @Test
+    public void testRecord() {
+        icm.record(Stage.CHUNKS, 10);
+        icm.record(Stage.CHUNKS, 50);
+        icm.record(Stage.CHUNKS, 700);
+        icm.record(Stage.CHUNKS, 60000);
+        Timings timings = icm.getTimings(Stage.CHUNKS);
+        assertEquals(4, timings.getCount());
+        assertEquals(60000, timings.getMax());
+        assertEquals((10 + 50 + 700 + 60000) / 4, timings.getAverage());
+        assertArrayEquals(new long[] {1, 1, 0, 0, 1, 0, 0, 0, 0, 1}, timings.getBuckets());
+        assertEquals(timings.getBuckets().length, Timings.getBounds().length + 1);
+        // Other stages are not changed
+        assertEquals(0, icm.getTimings(Stage.PASTE).getCount());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandCreationManager#run(Stage, User, java.util.function.Consumer)}.
+     */
+    @Test
+    public void testRunNoUser() {
+        when(settings.getMaxIslandsPasting()).thenReturn(1);
+        icm.run(Stage.PASTE, null, started::add);
+        icm.run(Stage.PASTE, null, started::add);
+        assertEquals(1, icm.getWaiting(Stage.PASTE));
+        started.get(0).run();
+        assertEquals(2, started.size());
+        assertEquals(0, icm.getWaiting(Stage.PASTE));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandCreationManager#releaseTimedOut()}.
+     */
+    @Test
+    public void testReleaseTimedOut() {
+        when(settings.getMaxIslandsPasting()).thenReturn(1);
+        icm.run(Stage.PASTE, user(), started::add);
+        icm.run(Stage.PASTE, user(), started::add);
+        // Not timed out yet
+        icm.releaseTimedOut();
+        assertEquals(1, started.size());
+        verify(plugin, never()).logWarning(anyString());
+        // The first paste never finishes
+        icm.releaseTimedOut(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10));
+        verify(plugin).logWarning("An island took too long in the paste stage. It no longer holds a place in it.");
+        assertEquals(2, started.size());
+        assertEquals(1, icm.getRunning(Stage.PASTE));
+        assertEquals(0, icm.getWaiting(Stage.PASTE));
+        // Finishing late does not free the place of the second one
+        started.get(0).run();
+        assertEquals(1, icm.getRunning(Stage.PASTE));
+        assertEquals(0, icm.getTimings(Stage.PASTE).getCount());
+    }
+}
@@ -0,0 +1,258 @@
+package world.bentobox.bentobox.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Optional;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
+import world.bentobox.bentobox.api.addons.AddonDescription;
+import world.bentobox.bentobox.api.addons.GameModeAddon;
+import world.bentobox.bentobox.api.events.BentoBoxReadyEvent;
+import world.bentobox.bentobox.database.DatabaseSetup.DatabaseType;
+import world.bentobox.bentobox.database.objects.Island;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest( { Bukkit.class, BentoBox.class })
+public class IslandPoolManagerTest {
+
+    @Mock
+    private BentoBox plugin;
+    // Class under test
+    private IslandPoolManager ipm;
+    @Mock
+    private World world;
+    @Mock
+    private Island island;
+    @Mock
+    private PluginManager pim;
+    @Mock
+    private BukkitScheduler scheduler;
+    @Mock
+    private IslandWorldManager iwm;
+    @Mock
+    private IslandsManager im;
+    @Mock
+    private BlueprintsManager bpm;
+    @Mock
+    private AddonsManager am;
+    @Mock
+    private GameModeAddon gm;
+    @Mock
+    private Settings s;
+    @Mock
+    private TickBudgetManager tbm;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        // Bukkit
+        PowerMockito.mockStatic(Bukkit.class);
+        Server server = mock(Server.class);
+        when(server.getWorld(anyString())).thenReturn(world);
+        when(Bukkit.getServer()).thenReturn(server);
+        when(Bukkit.getPluginManager()).thenReturn(pim);
+        when(server.getPluginManager()).thenReturn(pim);
+        when(Bukkit.getScheduler()).thenReturn(scheduler);
+
+        // Clear any remaining database
+        clearDatabase();
+        // Set up plugin
+        plugin = mock(BentoBox.class);
+        Whitebox.setInternalState(BentoBox.class, "instance", plugin);
+        // Settings
+        when(plugin.getSettings()).thenReturn(s);
+        when(s.getDatabaseType()).thenReturn(DatabaseType.JSON);
+        when(s.getIslandPoolSize()).thenReturn(1);
+        // Game mode
+        AddonDescription desc = new AddonDescription.Builder("main", "BSkyBlock", "1.0").build();
+        when(gm.getDescription()).thenReturn(desc);
+        when(gm.getOverWorld()).thenReturn(world);
+        when(plugin.getAddonsManager()).thenReturn(am);
+        when(am.getGameModeAddons()).thenReturn(Collections.singletonList(gm));
+        // IWM
+        when(plugin.getIWM()).thenReturn(iwm);
+        when(iwm.getAddon(any())).thenReturn(Optional.of(gm));
+        // Islands
+        when(plugin.getIslands()).thenReturn(im);
+        when(im.getIslandById(anyString())).thenReturn(Optional.empty());
+        when(island.getUniqueId()).thenReturn("island1");
+        when(island.isUnowned()).thenReturn(true);
+        // Blueprints
+        when(plugin.getBlueprintsManager()).thenReturn(bpm);
+        // Tick budget
+        when(plugin.getTickBudgetManager()).thenReturn(tbm);
+        when(tbm.getJobs()).thenReturn(Collections.emptyList());
+
+        ipm = new IslandPoolManager(plugin);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        clearDatabase();
+        Mockito.framework().clearInlineMocks();
+    }
+
+    private void clearDatabase() throws Exception {
+        //remove any database data
+        File file = new File("database");
+        Path pathToBeDeleted = file.toPath();
+        if (file.exists()) {
+            Files.walk(pathToBeDeleted)
+            .sorted(Comparator.reverseOrder())
+            .map(Path::toFile)
+            .forEach(File::delete);
+        }
+    }
+
+    private void writePool(String json) throws Exception {
+        File folder = new File("database", "IslandPool");
+        folder.mkdirs();
+        Files.write(new File(folder, "BSkyBlock.json").toPath(), json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandPoolManager#onBentoBoxReady(world.bentobox.bentobox.api.events.BentoBoxReadyEvent)}.
+     */
+    @Test
+    public void testOnBentoBoxReady() throws Exception {
+        writePool("{\"uniqueId\":\"BSkyBlock\",\"islands\":[\"island1\",\"island2\"],\"pending\":[]}");
+        when(im.getIslandById(eq("island1"))).thenReturn(Optional.of(island));
+        ipm.onBentoBoxReady(new BentoBoxReadyEvent());
+        // island2 no longer exists
+        assertEquals(1, ipm.getSize(gm));
+        assertTrue(ipm.isPooled(island));
+        verify(plugin).log("There are 1 islands ready for new players in BSkyBlock.");
+        verify(scheduler).runTaskTimer(eq(plugin), any(Runnable.class), anyLong(), anyLong());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandPoolManager#onBentoBoxReady(world.bentobox.bentobox.api.events.BentoBoxReadyEvent)}.
+     */
+    @Test
+    public void testOnBentoBoxReadyPending() throws Exception {
+        writePool("{\"uniqueId\":\"BSkyBlock\",\"islands\":[],\"pending\":[\"island1\"]}");
+        when(im.getIslandById(eq("island1"))).thenReturn(Optional.of(island));
+        ipm.onBentoBoxReady(new BentoBoxReadyEvent());
+        // Partly pasted island is deleted
+        verify(im).deleteIsland(eq(island), eq(true), eq(null));
+        assertEquals(0, ipm.getSize(gm));
+        assertFalse(ipm.isPooled(island));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandPoolManager#onBentoBoxReady(world.bentobox.bentobox.api.events.BentoBoxReadyEvent)}.
+     */
+    @Test
+    public void testOnBentoBoxReadyDisabled() {
+        when(s.getIslandPoolSize()).thenReturn(0);
+        ipm.onBentoBoxReady(new BentoBoxReadyEvent());
+        verify(scheduler, never()).runTaskTimer(eq(plugin), any(Runnable.class), anyLong(), anyLong());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandPoolManager#take(org.bukkit.World)}.
+     */
+    @Test
+    public void testTake() throws Exception {
+        writePool("{\"uniqueId\":\"BSkyBlock\",\"islands\":[\"island1\"],\"pending\":[]}");
+        when(im.getIslandById(eq("island1"))).thenReturn(Optional.of(island));
+        ipm.onBentoBoxReady(new BentoBoxReadyEvent());
+        assertSame(island, ipm.take(world));
+        assertEquals(0, ipm.getSize(gm));
+        assertNull(ipm.take(world));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandPoolManager#take(org.bukkit.World)}.
+     */
+    @Test
+    public void testTakeOwned() throws Exception {
+        writePool("{\"uniqueId\":\"BSkyBlock\",\"islands\":[\"island1\"],\"pending\":[]}");
+        when(im.getIslandById(eq("island1"))).thenReturn(Optional.of(island));
+        ipm.onBentoBoxReady(new BentoBoxReadyEvent());
+        // Given to a player another way since loading
+        when(island.isUnowned()).thenReturn(false);
+        assertNull(ipm.take(world));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandPoolManager#take(org.bukkit.World)}.
+     */
+    @Test
+    public void testTakeNoPool() {
+        assertNull(ipm.take(world));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandPoolManager#check()}.
+     */
+    @Test
+    public void testCheckBusy() {
+        when(tbm.getJobs()).thenReturn(Collections.singletonList(mock(TickBudgetManager.Job.class)));
+        ipm.check();
+        verify(am, never()).getGameModeAddons();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandPoolManager#check()}.
+     */
+    @Test
+    public void testCheckBlueprintsNotLoaded() {
+        when(bpm.isBlueprintsLoaded(gm)).thenReturn(false);
+        ipm.check();
+        verify(bpm).isBlueprintsLoaded(gm);
+        verify(bpm, never()).validate(any(), any());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandPoolManager#check()}.
+     */
+    @Test
+    public void testCheckNoDefaultBundle() {
+        when(bpm.isBlueprintsLoaded(gm)).thenReturn(true);
+        ipm.check();
+        verify(bpm).validate(eq(gm), eq(BlueprintsManager.DEFAULT_BUNDLE_NAME));
+        verify(im, never()).createIsland(any());
+    }
+}
@@ -1,7 +1,9 @@
 package world.bentobox.bentobox.managers;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -14,14 +16,17 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
 
 import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.junit.After;
 import org.junit.Before;
@@ -36,6 +41,7 @@ import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.Settings;
 import world.bentobox.bentobox.api.addons.Addon;
 import world.bentobox.bentobox.api.addons.AddonDescription;
+import world.bentobox.bentobox.api.localization.TranslationTemplate;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.util.Util;
 
@@ -119,6 +125,37 @@ public class LocalesManagerTest {
         assertTrue(localeDir.exists());
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.LocalesManager#getAvailablePrefixes(User)}.
+     * @throws IOException
+     */
+    @Test
+    public void testGetAvailablePrefixes() throws IOException {
+        File localeDir = new File(plugin.getDataFolder(), LOCALE_FOLDER + File.separator + BENTOBOX);
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("prefixes.bentobox", "&6BentoBox");
+        yaml.save(new File(localeDir, Locale.US.toLanguageTag() + ".yml"));
+        yaml = new YamlConfiguration();
+        yaml.set("prefixes.french", "&6Français");
+        yaml.save(new File(localeDir, Locale.FRANCE.toLanguageTag() + ".yml"));
+        LocalesManager lm = new LocalesManager(plugin);
+        User user = mock(User.class);
+        when(user.getLocale()).thenReturn(Locale.FRANCE);
+        Set<String> prefixes = lm.getAvailablePrefixes(user);
+        assertEquals(2, prefixes.size());
+        assertTrue(prefixes.contains("bentobox"));
+        assertTrue(prefixes.contains("french"));
+        // Cached
+        assertSame(prefixes, lm.getAvailablePrefixes(user));
+        // Server locale only
+        when(user.getLocale()).thenReturn(Locale.GERMANY);
+        assertEquals(Collections.singleton("bentobox"), lm.getAvailablePrefixes(user));
+        // Loading locales again clears the cache
+        when(user.getLocale()).thenReturn(Locale.FRANCE);
+        lm.loadLocalesFromFile(BENTOBOX);
+        assertNotSame(prefixes, lm.getAvailablePrefixes(user));
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.managers.LocalesManager#get(java.lang.String)}.
      * @throws IOException
@@ -410,4 +447,35 @@ public class LocalesManagerTest {
         assertTrue(localeDir.exists());
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.LocalesManager#getTemplate(User, String)}.
+     * @throws IOException
+     */
+    @Test
+    public void testGetTemplate() throws IOException {
+        File localeDir = new File(plugin.getDataFolder(), LOCALE_FOLDER + File.separator + BENTOBOX);
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("prefixes.bentobox", "&6 BentoBox ");
+        yaml.set("test.prefixed", "[prefix_bentobox]&c Hello [name]");
+        yaml.save(new File(localeDir, Locale.US.toLanguageTag() + ".yml"));
+        yaml = new YamlConfiguration();
+        yaml.set("test.prefixed", "[prefix_bentobox]&c Bonjour [name]");
+        yaml.save(new File(localeDir, Locale.FRANCE.toLanguageTag() + ".yml"));
+        LocalesManager lm = new LocalesManager(plugin);
+        User user = mock(User.class);
+        when(user.getLocale()).thenReturn(Locale.FRANCE);
+        // Compiled when the locales were loaded, with the prefix of the server's locale
+        TranslationTemplate template = lm.getTemplate(user, "test.prefixed");
+        assertSame(template, lm.getTemplate(user, "test.prefixed"));
+        assertEquals(ChatColor.GOLD + "BentoBox " + ChatColor.RED + "Bonjour tastybento", template.format(Collections.emptyMap(), "[name]", "tastybento"));
+        // Server locale
+        when(user.getLocale()).thenReturn(Locale.GERMANY);
+        assertEquals(ChatColor.GOLD + "BentoBox " + ChatColor.RED + "Hello [name]", lm.getTemplate(user, "test.prefixed").format(Collections.emptyMap()));
+        assertNull(lm.getTemplate(user, "test.missing"));
+        // Prefixes are used as they are written
+        assertNull(lm.getTemplate(user, "prefixes.bentobox"));
+        // Texts set later are compiled too
+        lm.getLanguages().get(Locale.US).set("test.set", "[prefix_bentobox]Set");
+        assertEquals(ChatColor.GOLD + "BentoBox Set", lm.getTemplate(user, "test.set").format(Collections.emptyMap()));
+    }
 }
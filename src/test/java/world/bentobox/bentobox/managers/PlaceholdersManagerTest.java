@@ -1,13 +1,19 @@
 package world.bentobox.bentobox.managers;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.junit.After;
@@ -22,9 +28,15 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.addons.AddonDescription;
 import world.bentobox.bentobox.api.addons.GameModeAddon;
+import world.bentobox.bentobox.api.events.IslandBaseEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandEnterEvent;
 import world.bentobox.bentobox.api.hooks.Hook;
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.hooks.placeholders.PlaceholderAPIHook;
 import world.bentobox.bentobox.lists.GameModePlaceholder;
+import world.bentobox.bentobox.managers.island.OccupancyIndex;
+import world.bentobox.bentobox.managers.placeholders.CachedPlaceholder;
 
 /**
  * @author tastybento
@@ -43,6 +55,10 @@ public class PlaceholdersManagerTest {
     private HooksManager hm;
     @Mock
     private PlaceholderAPIHook hook;
+    @Mock
+    private IslandsManager im;
+    @Mock
+    private Island island;
 
     @Before
     public void setUp() throws Exception {
@@ -61,6 +77,10 @@ public class PlaceholdersManagerTest {
         when(hm.getHook(eq("PlaceholderAPI"))).thenReturn(optionalHook);
         when(hook.isPlaceholder(any(), any())).thenReturn(false);
 
+        // Islands
+        when(plugin.getIslands()).thenReturn(im);
+        when(im.getOccupancy()).thenReturn(new OccupancyIndex());
+
         // Placeholder manager
         pm = new PlaceholdersManager(plugin);
     }
@@ -92,4 +112,47 @@ public class PlaceholdersManagerTest {
         // 3 less registrations for this addon
         verify(hook, times(GameModePlaceholder.values().length - 3)).registerPlaceholder(any(), anyString(), any());
     }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlaceholdersManager#getPlaceholderStats()}.
+     */
+    @Test
+    public void testGetPlaceholderStats() {
+        pm.registerDefaultPlaceholders(addon);
+        assertEquals(GameModePlaceholder.values().length, pm.getPlaceholderStats().size());
+        assertTrue(pm.getPlaceholderStats().stream().allMatch(p -> p.getName().startsWith("bskyblock_")
+                && p.getTtl() == PlaceholdersManager.DEFAULT_PLACEHOLDER_TTL));
+        pm.unregisterPlaceholder(addon, GameModePlaceholder.ISLAND_NAME.getPlaceholder());
+        assertEquals(GameModePlaceholder.values().length - 1, pm.getPlaceholderStats().size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlaceholdersManager#onIslandEvent(IslandBaseEvent)}.
+     */
+    @Test
+    public void testOnIslandEvent() {
+        AtomicInteger count = new AtomicInteger();
+        pm.registerPlaceholder("test", u -> String.valueOf(count.incrementAndGet()), 60000L);
+        CachedPlaceholder placeholder = pm.getPlaceholderStats().get(0);
+        UUID member = UUID.randomUUID();
+        User user = mock(User.class);
+        when(user.getUniqueId()).thenReturn(member);
+        User other = mock(User.class);
+        when(other.getUniqueId()).thenReturn(UUID.randomUUID());
+        assertEquals("1", placeholder.onReplace(user));
+        assertEquals("2", placeholder.onReplace(other));
+
+        // Crossing an island border does not forget anything
+        IslandEnterEvent enter = mock(IslandEnterEvent.class);
+        when(enter.getPlayerUUID()).thenReturn(member);
+        when(enter.getIsland()).thenReturn(island);
+        pm.onIslandEvent(enter);
+        assertEquals("1", placeholder.onReplace(user));
+
+        // Other island events only forget the values of the players of the island
+        when(island.getMembers()).thenReturn(Collections.singletonMap(member, 1000));
+        pm.onIslandEvent(new IslandBaseEvent(island, null, false, null));
+        assertEquals("3", placeholder.onReplace(user));
+        assertEquals("2", placeholder.onReplace(other));
+    }
 }
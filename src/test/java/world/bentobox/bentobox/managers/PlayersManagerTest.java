@@ -5,9 +5,12 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
@@ -16,6 +19,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 import org.bukkit.Bukkit;
@@ -176,6 +180,8 @@ public class PlayersManagerTest {
         PlayersManager pm = new PlayersManager(plugin);
         pm.setHandler(db);
         pm.load();
+        // Players are loaded when they are used
+        verify(db, never()).loadObjects();
     }
 
     /**
@@ -352,4 +358,32 @@ public class PlayersManagerTest {
         //pm.save(uuid);
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#evictPlayers()}.
+     */
+    @Test
+    public void testGetPlayerWhileWritingBack() {
+        CompletableFuture<Boolean> saved = new CompletableFuture<>();
+        when(db.saveObjectAsync(any())).thenReturn(saved);
+        PlayersManager pm = new PlayersManager(plugin);
+        pm.setHandler(db);
+        Players player = pm.getPlayer(uuid);
+        player.setResets(world, 3);
+        pm.addPlayer(notUUID);
+        // Both players are evicted and the changed one is saved
+        assertEquals(2, pm.getPlayerCache().evictOverflow(1));
+        verify(db).saveObjectAsync(player);
+        // Used again before the save completed
+        assertTrue(pm.isKnown(uuid));
+        assertSame(player, pm.getPlayer(uuid));
+        assertEquals(3, pm.getResets(world, uuid));
+        verify(db, never()).loadObject(uuid.toString());
+        verify(db).objectExists(uuid.toString());
+        // Still has changes to save if it is evicted again
+        saved.complete(true);
+        pm.addPlayer(notUUID);
+        pm.getPlayerCache().evictOverflow(1);
+        verify(db, Mockito.times(2)).saveObjectAsync(player);
+    }
+
 }
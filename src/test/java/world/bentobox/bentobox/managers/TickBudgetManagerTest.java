@@ -0,0 +1,185 @@
+package world.bentobox.bentobox.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.eclipse.jdt.annotation.NonNull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Bukkit.class})
+public class TickBudgetManagerTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private BukkitScheduler scheduler;
+    @Mock
+    private BukkitTask task;
+    private TickBudgetManager tbm;
+    private ArgumentCaptor<Runnable> captor;
+
+    /**
+     * A job with a number of steps to do
+     */
+    private class CountingJob implements TickBudgetManager.Job {
+        private int steps;
+        private int done;
+        private boolean waiting;
+
+        CountingJob(int steps) {
+            this.steps = steps;
+        }
+
+        @NonNull
+        @Override
+        public String getDescription() {
+            return "Counting";
+        }
+
+        @Override
+        public long getRemaining() {
+            return (long)steps - done;
+        }
+
+        @Override
+        public boolean isWaiting() {
+            return waiting;
+        }
+
+        @Override
+        public boolean step() {
+            done++;
+            return done < steps;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Settings settings = mock(Settings.class);
+        when(settings.getMaxTickBudget()).thenReturn(25);
+        when(settings.getMinTickBudget()).thenReturn(2);
+        when(plugin.getSettings()).thenReturn(settings);
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.getScheduler()).thenReturn(scheduler);
+        when(scheduler.runTaskTimer(any(), any(Runnable.class), eq(0L), eq(1L))).thenReturn(task);
+        captor = ArgumentCaptor.forClass(Runnable.class);
+        tbm = new TickBudgetManager(plugin);
+    }
+
+    @After
+    public void tearDown() {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    private Runnable getTick() {
+        verify(scheduler).runTaskTimer(eq(plugin), captor.capture(), eq(0L), eq(1L));
+        return captor.getValue();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.TickBudgetManager#submit(world.bentobox.bentobox.managers.TickBudgetManager.Job)}.
+     */
+    @Test
+    public void testSubmit() {
+        CountingJob job = new CountingJob(3);
+        tbm.submit(job);
+        tbm.submit(new CountingJob(3));
+        // One task for all jobs
+        verify(scheduler).runTaskTimer(any(), any(Runnable.class), eq(0L), eq(1L));
+        assertEquals(2, tbm.getJobs().size());
+        assertEquals(25D, tbm.getBudget(), 0D);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.TickBudgetManager#submit(world.bentobox.bentobox.managers.TickBudgetManager.Job)}.
+     */
+    @Test
+    public void testTick() {
+        CountingJob job = new CountingJob(3);
+        CountingJob other = new CountingJob(3);
+        tbm.submit(job);
+        tbm.submit(other);
+        Runnable tick = getTick();
+        tick.run();
+        // Small jobs are done within the budget
+        assertEquals(3, job.done);
+        assertEquals(3, other.done);
+        assertTrue(tbm.getJobs().isEmpty());
+        // Nothing left to do
+        tick.run();
+        verify(task).cancel();
+        // A new job starts a new task
+        tbm.submit(new CountingJob(1));
+        verify(scheduler, times(2)).runTaskTimer(any(), any(Runnable.class), eq(0L), eq(1L));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.TickBudgetManager.Job#isWaiting()}.
+     */
+    @Test
+    public void testTickWaiting() {
+        CountingJob job = new CountingJob(3);
+        job.waiting = true;
+        tbm.submit(job);
+        Runnable tick = getTick();
+        tick.run();
+        assertEquals(0, job.done);
+        job.waiting = false;
+        tick.run();
+        assertEquals(3, job.done);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.TickBudgetManager#cancel(world.bentobox.bentobox.managers.TickBudgetManager.Job)}.
+     */
+    @Test
+    public void testCancel() {
+        CountingJob job = new CountingJob(3);
+        tbm.submit(job);
+        tbm.cancel(job);
+        getTick().run();
+        assertEquals(0, job.done);
+        assertTrue(tbm.getJobs().isEmpty());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.TickBudgetManager.Job#step()}.
+     */
+    @Test
+    public void testTickFailure() {
+        TickBudgetManager.Job job = mock(TickBudgetManager.Job.class);
+        when(job.getDescription()).thenReturn("Failing");
+        when(job.step()).thenThrow(new IllegalStateException("broken"));
+        CountingJob other = new CountingJob(2);
+        tbm.submit(job);
+        tbm.submit(other);
+        getTick().run();
+        verify(plugin).logError(anyString());
+        // Other jobs go on
+        assertEquals(2, other.done);
+        assertTrue(tbm.getJobs().isEmpty());
+    }
+}
@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,6 +24,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
@@ -32,6 +34,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
 import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
 import world.bentobox.bentobox.api.addons.GameModeAddon;
 import world.bentobox.bentobox.api.events.island.IslandEvent;
 import world.bentobox.bentobox.api.events.island.IslandEvent.IslandCreateEvent;
@@ -42,7 +45,10 @@ import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBundle;
 import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.managers.BlueprintsManager;
+import world.bentobox.bentobox.managers.IslandCreationManager;
+import world.bentobox.bentobox.managers.IslandCreationManager.Stage;
 import world.bentobox.bentobox.managers.IslandDeletionManager;
+import world.bentobox.bentobox.managers.IslandPoolManager;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.IslandsManager;
 import world.bentobox.bentobox.managers.PlayersManager;
@@ -122,6 +128,9 @@ public class NewIslandTest {
         when(bpb.getUniqueId()).thenReturn(NAME);
         when(bpm.getBlueprintBundles(any())).thenReturn(Collections.singletonMap(NAME, bpb));
         when(plugin.getBlueprintsManager()).thenReturn(bpm);
+        // Island creation stages, with no limits
+        when(plugin.getSettings()).thenReturn(mock(Settings.class));
+        when(plugin.getIslandCreationManager()).thenReturn(new IslandCreationManager(plugin));
 
         // User
         when(user.getPermissionValue(Mockito.anyString(), Mockito.anyInt())).thenReturn(20);
@@ -256,7 +265,7 @@ public class NewIslandTest {
         // Verifications
         verify(im).save(eq(island));
         verify(island).setFlagsDefaults();
-        verify(bpm).paste(eq(addon), eq(island), eq(NAME), any(Runnable.class));
+        verify(bpm).paste(eq(addon), eq(island), eq(NAME), any(Runnable.class), any(Runnable.class));
         verify(builder).build();
         verify(bpb).getUniqueId();
         verify(ice).getBlueprintBundle();
@@ -333,4 +342,104 @@ public class NewIslandTest {
         verify(plugin).logError("New island for user tastybento was not reserved!");
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.NewIsland#builder()}.
+     * @throws Exception
+     */
+    @Test
+    public void testBuilderPooled() throws Exception {
+        Settings s = mock(Settings.class);
+        when(s.getIslandPoolSize()).thenReturn(1);
+        when(plugin.getSettings()).thenReturn(s);
+        IslandPoolManager ipm = mock(IslandPoolManager.class);
+        when(ipm.take(any())).thenReturn(island);
+        when(plugin.getIslandPoolManager()).thenReturn(ipm);
+        IslandCache cache = mock(IslandCache.class);
+        when(im.getIslandCache()).thenReturn(cache);
+        when(island.getCenter()).thenReturn(location);
+        when(bpm.getBlueprintBundles(any())).thenReturn(Collections.singletonMap(BlueprintsManager.DEFAULT_BUNDLE_NAME, bpb));
+        when(bpb.getUniqueId()).thenReturn(BlueprintsManager.DEFAULT_BUNDLE_NAME);
+        NewIsland.builder().addon(addon).player(user).reason(Reason.CREATE).build().get();
+        // Verifications
+        verify(cache).setOwner(eq(island), eq(uuid));
+        verify(im, never()).createIsland(any(), any());
+        verify(im).save(eq(island));
+        // Already pasted
+        verify(bpm, never()).paste(any(), any(), any(), any(), any());
+        verify(scheduler).runTask(any(BentoBox.class), any(Runnable.class));
+        verify(pm).setHomeLocation(eq(user), any(), eq(1));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.NewIsland#builder()}.
+     * @throws Exception
+     */
+    @Test
+    public void testBuilderReservedPooled() throws Exception {
+        Settings s = mock(Settings.class);
+        when(s.getIslandPoolSize()).thenReturn(1);
+        when(plugin.getSettings()).thenReturn(s);
+        IslandPoolManager ipm = mock(IslandPoolManager.class);
+        when(plugin.getIslandPoolManager()).thenReturn(ipm);
+        when(im.hasIsland(any(), any(User.class))).thenReturn(true);
+        when(island.getCenter()).thenReturn(location);
+        when(bpm.getBlueprintBundles(any())).thenReturn(Collections.singletonMap(BlueprintsManager.DEFAULT_BUNDLE_NAME, bpb));
+        when(bpb.getUniqueId()).thenReturn(BlueprintsManager.DEFAULT_BUNDLE_NAME);
+        NewIsland.builder().addon(addon).player(user).reason(Reason.CREATE).build().get();
+        // Verifications
+        verify(island).setReserved(eq(false));
+        verify(ipm, never()).take(any());
+        // The reserved island has nothing on it yet
+        verify(bpm).paste(eq(addon), eq(island), eq(BlueprintsManager.DEFAULT_BUNDLE_NAME), any(Runnable.class), any(Runnable.class));
+        verify(bpm, never()).clear(any(), any(), any(), any());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.NewIsland#builder()}.
+     * @throws Exception
+     */
+    @Test
+    public void testBuilderPooledBundleChanged() throws Exception {
+        Settings s = mock(Settings.class);
+        when(s.getIslandPoolSize()).thenReturn(1);
+        when(plugin.getSettings()).thenReturn(s);
+        IslandPoolManager ipm = mock(IslandPoolManager.class);
+        when(ipm.take(any())).thenReturn(island);
+        when(plugin.getIslandPoolManager()).thenReturn(ipm);
+        IslandCache cache = mock(IslandCache.class);
+        when(im.getIslandCache()).thenReturn(cache);
+        when(island.getCenter()).thenReturn(location);
+        when(bpm.clear(any(), any(), any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(3, Runnable.class).run();
+            return true;
+        });
+        // A listener changes the bundle to another one
+        NewIsland.builder().addon(addon).player(user).reason(Reason.CREATE).build().get();
+        // Verifications
+        verify(cache).setOwner(eq(island), eq(uuid));
+        // The default bundle is removed before the new one is pasted
+        InOrder inOrder = Mockito.inOrder(bpm);
+        inOrder.verify(bpm).clear(eq(addon), eq(island), eq(BlueprintsManager.DEFAULT_BUNDLE_NAME), any(Runnable.class));
+        inOrder.verify(bpm).paste(eq(addon), eq(island), eq(NAME), any(Runnable.class), any(Runnable.class));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.NewIsland#builder()}.
+     * @throws Exception
+     */
+    @Test
+    public void testBuilderPasteFailed() throws Exception {
+        IslandCreationManager icm = new IslandCreationManager(plugin);
+        when(plugin.getIslandCreationManager()).thenReturn(icm);
+        // The blocks of the blueprint could not be loaded
+        when(bpm.paste(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(4, Runnable.class).run();
+            return true;
+        });
+        NewIsland.builder().addon(addon).name(NAME).player(user).reason(Reason.CREATE).build().get();
+        verify(user).sendMessage("commands.island.create.unable-create-island");
+        assertEquals(0, icm.getRunning(Stage.PASTE));
+        assertEquals(1, icm.getTimings(Stage.PASTE).getCount());
+    }
+
 }
@@ -0,0 +1,81 @@
+package world.bentobox.bentobox.managers.island;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import world.bentobox.bentobox.database.objects.Island;
+
+public class OccupancyIndexTest {
+
+    private OccupancyIndex index;
+    private Island island;
+    private Island island2;
+    private UUID uuid;
+
+    @Before
+    public void setUp() {
+        index = new OccupancyIndex();
+        island = mock(Island.class);
+        island2 = mock(Island.class);
+        uuid = UUID.randomUUID();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.OccupancyIndex#update(java.util.UUID, world.bentobox.bentobox.database.objects.Island)}.
+     */
+    @Test
+    public void testUpdate() {
+        assertFalse(index.isTracked(uuid));
+        assertTrue(index.update(uuid, null));
+        assertTrue(index.isTracked(uuid));
+        assertNull(index.getIsland(uuid));
+        assertFalse(index.update(uuid, null));
+        assertTrue(index.update(uuid, island));
+        assertSame(island, index.getIsland(uuid));
+        assertTrue(index.hasOccupants(island));
+        assertFalse(index.update(uuid, island));
+        // Move to another island
+        assertTrue(index.update(uuid, island2));
+        assertFalse(index.hasOccupants(island));
+        assertTrue(index.getOccupants(island).isEmpty());
+        assertEquals(1, index.getOccupants(island2).size());
+        assertTrue(index.getOccupants(island2).contains(uuid));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.OccupancyIndex#remove(java.util.UUID)}.
+     */
+    @Test
+    public void testRemove() {
+        UUID other = UUID.randomUUID();
+        index.update(uuid, island);
+        index.update(other, island);
+        assertEquals(2, index.getOccupants(island).size());
+        index.remove(uuid);
+        assertFalse(index.isTracked(uuid));
+        assertEquals(1, index.getOccupants(island).size());
+        index.remove(other);
+        assertFalse(index.hasOccupants(island));
+        assertEquals(0, index.size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.OccupancyIndex#clear()}.
+     */
+    @Test
+    public void testClear() {
+        index.update(uuid, island);
+        index.clear();
+        assertFalse(index.isTracked(uuid));
+        assertFalse(index.hasOccupants(island));
+    }
+}
@@ -0,0 +1,123 @@
+package world.bentobox.bentobox.managers.island;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+import world.bentobox.bentobox.database.objects.Island;
+
+public class OnlineMembersCounterTest {
+
+    private OnlineMembersCounter counter;
+    private Island island;
+    private UUID owner;
+    private UUID member;
+    private Set<UUID> online;
+
+    @Before
+    public void setUp() {
+        online = new HashSet<>();
+        counter = new OnlineMembersCounter(online::contains);
+        owner = UUID.randomUUID();
+        member = UUID.randomUUID();
+        island = mock(Island.class);
+        when(island.getMemberSet(anyInt())).thenReturn(ImmutableSet.of(owner, member));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.OnlineMembersCounter#getOnlineMembers(world.bentobox.bentobox.database.objects.Island)}.
+     */
+    @Test
+    public void testGetOnlineMembers() {
+        assertEquals(0, counter.getOnlineMembers(island));
+        assertFalse(counter.hasOnlineMembers(island));
+        // Count is kept until a member joins
+        online.add(owner);
+        assertEquals(0, counter.getOnlineMembers(island));
+        verify(island).getMemberSet(anyInt());
+        counter.playerJoined(owner);
+        assertEquals(1, counter.getOnlineMembers(island));
+        assertTrue(counter.hasOnlineMembers(island));
+        verify(island, times(2)).getMemberSet(anyInt());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.OnlineMembersCounter#playerJoined(UUID)}.
+     */
+    @Test
+    public void testPlayerJoinedNotMember() {
+        assertEquals(0, counter.getOnlineMembers(island));
+        // Players who are not members do not cause a count
+        counter.playerJoined(UUID.randomUUID());
+        verify(island).getMemberSet(anyInt());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.OnlineMembersCounter#playerQuit(UUID)}.
+     */
+    @Test
+    public void testPlayerQuit() {
+        online.add(owner);
+        online.add(member);
+        assertEquals(2, counter.getOnlineMembers(island));
+        // The player is still online while quitting
+        counter.playerQuit(member);
+        assertEquals(1, counter.getOnlineMembers(island));
+        online.remove(member);
+        counter.playerQuit(owner);
+        assertEquals(0, counter.getOnlineMembers(island));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.OnlineMembersCounter#update(world.bentobox.bentobox.database.objects.Island)}.
+     */
+    @Test
+    public void testUpdate() {
+        online.add(owner);
+        online.add(member);
+        assertEquals(2, counter.getOnlineMembers(island));
+        // Member leaves the team
+        when(island.getMemberSet(anyInt())).thenReturn(ImmutableSet.of(owner));
+        assertEquals(2, counter.getOnlineMembers(island));
+        counter.update(island);
+        assertEquals(1, counter.getOnlineMembers(island));
+        // The former member is no longer tied to the island
+        counter.playerJoined(member);
+        verify(island, times(2)).getMemberSet(anyInt());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.OnlineMembersCounter#update(world.bentobox.bentobox.database.objects.Island)}.
+     */
+    @Test
+    public void testUpdateNotCounted() {
+        counter.update(island);
+        verify(island, never()).getMemberSet(anyInt());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.OnlineMembersCounter#clear()}.
+     */
+    @Test
+    public void testClear() {
+        assertEquals(0, counter.getOnlineMembers(island));
+        online.add(owner);
+        counter.clear();
+        assertEquals(1, counter.getOnlineMembers(island));
+    }
+}
@@ -0,0 +1,93 @@
+package world.bentobox.bentobox.managers.placeholders;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import world.bentobox.bentobox.api.user.User;
+
+public class CachedPlaceholderTest {
+
+    private int count;
+    private User user;
+    private UUID uuid;
+
+    @Before
+    public void setUp() {
+        count = 0;
+        uuid = UUID.randomUUID();
+        user = mock(User.class);
+        when(user.getUniqueId()).thenReturn(uuid);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.placeholders.CachedPlaceholder#onReplace(world.bentobox.bentobox.api.user.User)}.
+     */
+    @Test
+    public void testOnReplaceCached() {
+        CachedPlaceholder p = new CachedPlaceholder("bskyblock_test", u -> String.valueOf(++count), 60000);
+        assertEquals("1", p.onReplace(user));
+        assertEquals("1", p.onReplace(user));
+        assertEquals(2, p.getRequests());
+        assertEquals(50D, p.getHitRate(), 0.01D);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.placeholders.CachedPlaceholder#onReplace(world.bentobox.bentobox.api.user.User)}.
+     */
+    @Test
+    public void testOnReplaceNotCached() {
+        CachedPlaceholder p = new CachedPlaceholder("bskyblock_test", u -> String.valueOf(++count), 0);
+        assertEquals("1", p.onReplace(user));
+        assertEquals("2", p.onReplace(user));
+        // Null users are never cached
+        p = new CachedPlaceholder("bskyblock_test", u -> String.valueOf(++count), 60000);
+        assertEquals("3", p.onReplace(null));
+        assertEquals("4", p.onReplace(null));
+        assertEquals(0D, p.getHitRate(), 0.01D);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.placeholders.CachedPlaceholder#invalidate()}.
+     */
+    @Test
+    public void testInvalidate() {
+        CachedPlaceholder p = new CachedPlaceholder("bskyblock_test", u -> String.valueOf(++count), 60000);
+        assertEquals("1", p.onReplace(user));
+        p.invalidate();
+        assertEquals("2", p.onReplace(user));
+        p.invalidate(uuid);
+        assertEquals("3", p.onReplace(user));
+        p.invalidate(UUID.randomUUID());
+        assertEquals("3", p.onReplace(user));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.placeholders.CachedPlaceholder#invalidate(java.util.UUID)}.
+     */
+    @Test
+    public void testInvalidateWhileReplacing() {
+        CachedPlaceholder[] p = new CachedPlaceholder[1];
+        p[0] = new CachedPlaceholder("bskyblock_test", u -> {
+            count++;
+            // The island changes while the value is worked out
+            if (count == 1 || count == 3) {
+                p[0].invalidate(uuid);
+            }
+            return String.valueOf(count);
+        }, 60000);
+        assertEquals("1", p[0].onReplace(user));
+        // The value worked out before the invalidation is not kept
+        assertEquals("2", p[0].onReplace(user));
+        assertEquals("2", p[0].onReplace(user));
+        p[0].invalidate(uuid);
+        assertEquals("3", p[0].onReplace(user));
+        assertEquals("4", p[0].onReplace(user));
+        assertEquals("4", p[0].onReplace(user));
+    }
+}
@@ -0,0 +1,125 @@
+package world.bentobox.bentobox.managers.player;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import world.bentobox.bentobox.database.objects.Players;
+
+public class PlayerCacheTest {
+
+    private PlayerCache cache;
+    private Set<UUID> pinned;
+    private List<Players> saved;
+
+    @Before
+    public void setUp() {
+        pinned = new HashSet<>();
+        saved = new ArrayList<>();
+        cache = new PlayerCache(pinned::contains, saved::add);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.player.PlayerCache#get(java.util.UUID)}.
+     */
+    @Test
+    public void testGetHitRate() {
+        UUID uuid = UUID.randomUUID();
+        Players players = mock(Players.class);
+        assertNull(cache.get(uuid));
+        cache.put(uuid, players, false);
+        assertSame(players, cache.get(uuid));
+        assertSame(players, cache.get(uuid));
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(66.67D, cache.getHitRate(), 0.01D);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.player.PlayerCache#evictIdle(long)}.
+     */
+    @Test
+    public void testEvictIdle() throws InterruptedException {
+        UUID clean = UUID.randomUUID();
+        UUID dirty = UUID.randomUUID();
+        UUID online = UUID.randomUUID();
+        Players dirtyPlayer = mock(Players.class);
+        cache.put(clean, mock(Players.class), false);
+        cache.put(dirty, dirtyPlayer, true);
+        cache.put(online, mock(Players.class), true);
+        pinned.add(online);
+        assertEquals(0, cache.evictIdle(0));
+        Thread.sleep(20);
+        assertEquals(2, cache.evictIdle(10));
+        assertFalse(cache.contains(clean));
+        assertFalse(cache.contains(dirty));
+        assertTrue(cache.contains(online));
+        // Only the changed player is written back
+        assertEquals(1, saved.size());
+        assertSame(dirtyPlayer, saved.get(0));
+        assertEquals(2, cache.getEvictions());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.player.PlayerCache#evictOverflow(int)}.
+     */
+    @Test
+    public void testEvictOverflow() throws InterruptedException {
+        UUID first = UUID.randomUUID();
+        cache.put(first, mock(Players.class), false);
+        Thread.sleep(5);
+        for (int i = 0; i < 10; i++) {
+            cache.put(UUID.randomUUID(), mock(Players.class), false);
+        }
+        assertEquals(0, cache.evictOverflow(0));
+        assertEquals(0, cache.evictOverflow(20));
+        assertEquals(2, cache.evictOverflow(10));
+        assertEquals(9, cache.size());
+        // Least recently used is evicted first
+        assertFalse(cache.contains(first));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.player.PlayerCache#markClean(java.util.UUID)}.
+     */
+    @Test
+    public void testMarkDirtyClean() throws InterruptedException {
+        UUID uuid = UUID.randomUUID();
+        cache.put(uuid, mock(Players.class), false);
+        cache.markDirty(uuid);
+        cache.markClean(uuid);
+        Thread.sleep(5);
+        assertEquals(1, cache.evictIdle(1));
+        assertTrue(saved.isEmpty());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.player.PlayerCache#evictIdle(long)}.
+     */
+    @Test
+    public void testWriteBackBeforeRemoval() throws InterruptedException {
+        UUID uuid = UUID.randomUUID();
+        List<Boolean> cachedWhenWritten = new ArrayList<>();
+        cache = new PlayerCache(pinned::contains, p -> cachedWhenWritten.add(cache.contains(uuid)));
+        cache.put(uuid, mock(Players.class), true);
+        Thread.sleep(5);
+        assertEquals(1, cache.evictIdle(1));
+        // The player is still in the cache while it is being written back
+        assertEquals(1, cachedWhenWritten.size());
+        assertTrue(cachedWhenWritten.get(0));
+        assertFalse(cache.contains(uuid));
+    }
+
+}
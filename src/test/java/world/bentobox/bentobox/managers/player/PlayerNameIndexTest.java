@@ -0,0 +1,96 @@
+package world.bentobox.bentobox.managers.player;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PlayerNameIndexTest {
+
+    private PlayerNameIndex index;
+    private UUID uuid;
+
+    @Before
+    public void setUp() {
+        index = new PlayerNameIndex();
+        uuid = UUID.randomUUID();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.player.PlayerNameIndex#get(java.lang.String)}.
+     */
+    @Test
+    public void testGetIgnoresCase() {
+        index.put("tastybento", uuid);
+        assertEquals(uuid, index.get("TastyBento"));
+        assertNull(index.get("tastybento123"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.player.PlayerNameIndex#put(java.lang.String, java.util.UUID)}.
+     */
+    @Test
+    public void testPutNameChange() {
+        index.put("tastybento", uuid);
+        index.put("poslovitch", uuid);
+        assertNull(index.get("tastybento"));
+        assertEquals(uuid, index.get("poslovitch"));
+        assertEquals(1, index.size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.player.PlayerNameIndex#putIfAbsent(java.lang.String, java.util.UUID)}.
+     */
+    @Test
+    public void testPutIfAbsent() {
+        index.put("tastybento", uuid);
+        index.putIfAbsent("TASTYBENTO", UUID.randomUUID());
+        assertEquals(uuid, index.get("tastybento"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.player.PlayerNameIndex#putIfAbsent(java.lang.String, java.util.UUID)}.
+     */
+    @Test
+    public void testPutIfAbsentNameChange() {
+        // Loaded from the database, then the player logs in with a new name
+        index.putIfAbsent("tastybento", uuid);
+        index.put("poslovitch", uuid);
+        assertNull(index.get("tastybento"));
+        assertEquals(uuid, index.get("poslovitch"));
+        assertEquals(1, index.size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.player.PlayerNameIndex#putIfAbsent(java.lang.String, java.util.UUID)}.
+     */
+    @Test
+    public void testPutIfAbsentCurrentNameKnown() {
+        // An old name loaded after the player was seen does not come back
+        index.put("poslovitch", uuid);
+        index.putIfAbsent("tastybento", uuid);
+        assertNull(index.get("tastybento"));
+        assertEquals(1, index.size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.player.PlayerNameIndex#getNames(java.lang.String, int)}.
+     */
+    @Test
+    public void testGetNames() {
+        index.put("tastybento", UUID.randomUUID());
+        index.put("Tasty", UUID.randomUUID());
+        index.put("tab", UUID.randomUUID());
+        index.put("BONNe", UUID.randomUUID());
+        assertEquals(Arrays.asList("tab", "Tasty", "tastybento"), index.getNames("ta", 10));
+        assertEquals(Arrays.asList("Tasty", "tastybento"), index.getNames("TAS", 10));
+        assertEquals(Arrays.asList("tab"), index.getNames("ta", 1));
+        assertTrue(index.getNames("x", 10).isEmpty());
+    }
+
+}